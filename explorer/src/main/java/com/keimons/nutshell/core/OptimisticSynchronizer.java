@@ -49,6 +49,7 @@ public interface OptimisticSynchronizer {
 	 * <p>
 	 * 验证{@link #acquireRead()}获取的状态，用于判断期间是否发生{@link #acquireWrite()}，从而导致状态过期。
 	 * 注意，这个方法没有返回值！乐观同步器不会单独的存在，通常会和其它组件联合工作的。
+	 * 状态未过期时，实现可以休眠等待，也可以自旋后直接返回，调用者需要重新读取状态。
 	 *
 	 * @param stamp 即将验证的状态
 	 */
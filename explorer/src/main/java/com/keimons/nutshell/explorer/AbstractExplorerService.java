@@ -1,8 +1,11 @@
 package com.keimons.nutshell.explorer;
 
 import com.keimons.nutshell.explorer.support.AbortPolicy;
+import com.keimons.nutshell.explorer.support.FenceTimer;
 
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 任务执行器的抽象实现
@@ -119,6 +122,23 @@ public abstract class AbstractExplorerService implements ExplorerService {
 	 */
 	protected volatile int state = RUNNING;
 
+	/**
+	 * 被拒绝的任务数量
+	 */
+	private final LongAdder rejectedTasks = new LongAdder();
+
+	/**
+	 * 定时器
+	 * <p>
+	 * 第一次添加定时任务时创建，执行器关闭时停止。
+	 */
+	private volatile FenceTimer timer;
+
+	/**
+	 * 定时器是否已停止
+	 */
+	private boolean timerStopped;
+
 	/**
 	 * 哈希任务执行器
 	 *
@@ -135,6 +155,82 @@ public abstract class AbstractExplorerService implements ExplorerService {
 		this.threadFactory = threadFactory;
 	}
 
+	/**
+	 * 拒绝任务
+	 * <p>
+	 * 记录被拒绝的任务数量，并调用拒绝策略。
+	 *
+	 * @param task   任务
+	 * @param fences 执行屏障
+	 */
+	protected void reject(Runnable task, Object... fences) {
+		rejectedTasks.increment();
+		rejectedHandler.rejectedExecution(this, task, fences);
+	}
+
+	/**
+	 * 返回被拒绝的任务数量
+	 *
+	 * @return 被拒绝的任务数量
+	 */
+	protected long getRejectedTasks() {
+		return rejectedTasks.sum();
+	}
+
+	/**
+	 * 返回定时器，第一次调用时创建
+	 *
+	 * @return 定时器
+	 */
+	protected FenceTimer timer() {
+		FenceTimer timer = this.timer;
+		if (timer == null) {
+			synchronized (this) {
+				timer = this.timer;
+				if (timer == null) {
+					timer = new FenceTimer(this);
+					if (timerStopped) {
+						timer.stop();
+					}
+					this.timer = timer;
+				}
+			}
+		}
+		return timer;
+	}
+
+	/**
+	 * 停止定时器，未到期的定时任务全部丢弃
+	 */
+	protected void stopTimer() {
+		synchronized (this) {
+			timerStopped = true;
+			if (timer != null) {
+				timer.stop();
+			}
+		}
+	}
+
+	@Override
+	public Timeout schedule(Runnable task, long delay, TimeUnit unit, Object fence) {
+		return timer().schedule(task, delay, unit, fence);
+	}
+
+	@Override
+	public Timeout schedule(Runnable task, long delay, TimeUnit unit, Object... fences) {
+		return timer().schedule(task, delay, unit, fences);
+	}
+
+	@Override
+	public Timeout scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit, Object fence) {
+		return timer().scheduleAtFixedRate(task, initialDelay, period, unit, fence);
+	}
+
+	@Override
+	public Timeout scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit, Object... fences) {
+		return timer().scheduleAtFixedRate(task, initialDelay, period, unit, fences);
+	}
+
 	@Override
 	public String getName() {
 		return name;
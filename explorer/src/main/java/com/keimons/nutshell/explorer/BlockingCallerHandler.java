@@ -11,12 +11,25 @@ package com.keimons.nutshell.explorer;
  */
 public interface BlockingCallerHandler extends RejectedExplorerHandler {
 
+	/**
+	 * 返回阻塞调用者线程的最长时间
+	 * <p>
+	 * 超过这个时间依然没有空余位置时，阻塞失败。
+	 *
+	 * @return 最长阻塞时间（纳秒），小于{@code 0}时一直阻塞，直到有空余位置或者线程池关闭
+	 */
+	default long getTimeout() {
+		return -1;
+	}
+
 	/**
 	 * 阻塞失败
 	 * <p>
 	 * 阻塞调用者线程失败时调用，发生如下情况：
 	 * <ul>
 	 *     <li>线程池已关闭</li>
+	 *     <li>阻塞超时</li>
+	 *     <li>调用者线程被中断</li>
 	 * </ul>
 	 *
 	 * @param explorer 执行线程
@@ -1,8 +1,97 @@
 package com.keimons.nutshell.explorer;
 
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
-public interface CompletedFuture<V> extends Future<V> {
+/**
+ * 可在执行器中延续的异步计算结果
+ * <p>
+ * 在{@link CompletionStage}的基础上，增加了带有执行屏障的后续阶段{@code then**On}。
+ * 当前阶段完成后，后续阶段以新的执行屏障重新提交到执行器中，而不是在完成当前阶段的线程中直接执行。
+ * 等待当前阶段完成的过程中，不会占用或阻塞任何线程：
+ * <pre>{@code
+ *     explorer.submitAsync(() -> player.getUnionId(), player.getPlayerId())
+ *             .thenApplyOn(unionId -> union.join(player), unionId)
+ *             .thenAcceptOn(joined -> reply(player, joined), player.getPlayerId());
+ * }</pre>
+ * 当前阶段异常完成时，后续阶段不再提交，直接以相同的异常完成。
+ * 后续阶段被执行器拒绝时，以{@link RejectedExecutionException}异常完成。
+ * <p>
+ * 注意：后续阶段通常由执行器的工作线程提交，如果执行器的拒绝策略会阻塞调用者线程，
+ * 在事件总线已满时，工作线程也会被阻塞。
+ *
+ * @param <V> 返回值类型
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public interface CompletedFuture<V> extends Future<V>, CompletionStage<V> {
 
-	void thenRun(Runnable object);
+	/**
+	 * 等待完成并返回结果
+	 * <p>
+	 * 与{@link #get()}不同，异常完成时抛出非受检的{@link java.util.concurrent.CompletionException}。
+	 *
+	 * @return 计算结果
+	 */
+	V join();
+
+	/**
+	 * 当前阶段正常完成后，在执行器中执行给定的任务
+	 *
+	 * @param task  任务
+	 * @param fence 执行屏障
+	 * @return 后续阶段
+	 */
+	CompletedFuture<Void> thenRunOn(Runnable task, Object fence);
+
+	/**
+	 * 当前阶段正常完成后，在执行器中执行给定的任务
+	 *
+	 * @param task   任务
+	 * @param fences 执行屏障
+	 * @return 后续阶段
+	 */
+	CompletedFuture<Void> thenRunOn(Runnable task, Object... fences);
+
+	/**
+	 * 当前阶段正常完成后，在执行器中消费当前阶段的结果
+	 *
+	 * @param action 消费者
+	 * @param fence  执行屏障
+	 * @return 后续阶段
+	 */
+	CompletedFuture<Void> thenAcceptOn(Consumer<? super V> action, Object fence);
+
+	/**
+	 * 当前阶段正常完成后，在执行器中消费当前阶段的结果
+	 *
+	 * @param action 消费者
+	 * @param fences 执行屏障
+	 * @return 后续阶段
+	 */
+	CompletedFuture<Void> thenAcceptOn(Consumer<? super V> action, Object... fences);
+
+	/**
+	 * 当前阶段正常完成后，在执行器中以当前阶段的结果计算后续阶段的结果
+	 *
+	 * @param fn    计算函数
+	 * @param fence 执行屏障
+	 * @param <U>   后续阶段的返回值类型
+	 * @return 后续阶段
+	 */
+	<U> CompletedFuture<U> thenApplyOn(Function<? super V, ? extends U> fn, Object fence);
+
+	/**
+	 * 当前阶段正常完成后，在执行器中以当前阶段的结果计算后续阶段的结果
+	 *
+	 * @param fn     计算函数
+	 * @param fences 执行屏障
+	 * @param <U>    后续阶段的返回值类型
+	 * @return 后续阶段
+	 */
+	<U> CompletedFuture<U> thenApplyOn(Function<? super V, ? extends U> fn, Object... fences);
 }
@@ -0,0 +1,48 @@
+package com.keimons.nutshell.explorer;
+
+/**
+ * 执行器的JMX管理接口
+ * <p>
+ * 通过{@link Explorers#registerMXBean(ExplorerService)}注册，属性来自{@link ExplorerService#getMetrics()}，
+ * 时间单位都是微秒。每条轨道的属性以数组表示，下标是轨道，用于发现负载不均衡的轨道。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public interface ExplorerMXBean {
+
+	String getName();
+
+	int getThreads();
+
+	long getCompletedTasks();
+
+	long getCachedTasks();
+
+	long getBarriers();
+
+	long getOvertakes();
+
+	long getRejectedTasks();
+
+	long getCoalescedTasks();
+
+	long getWaitTimeP50();
+
+	long getWaitTimeP99();
+
+	long getWaitTimeMax();
+
+	long getWorkTimeP50();
+
+	long getWorkTimeP99();
+
+	long getWorkTimeMax();
+
+	long[] getTrackCompletedTasks();
+
+	long[] getTrackWaitTimeP99();
+
+	long[] getTrackWorkTimeP99();
+}
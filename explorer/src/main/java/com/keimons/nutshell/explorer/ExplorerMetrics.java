@@ -0,0 +1,273 @@
+package com.keimons.nutshell.explorer;
+
+/**
+ * 执行器指标快照
+ * <p>
+ * 由{@link ExplorerService#getMetrics()}返回，包含每条轨道（执行器线程）的指标。
+ * 指标在执行器线程上记录，快照是弱一致的，适用于监控和调优线程数量，不适用于精确统计。
+ * 时间单位都是纳秒。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class ExplorerMetrics {
+
+	/**
+	 * 执行器名称
+	 */
+	private final String name;
+
+	/**
+	 * 每条轨道的指标
+	 */
+	private final TrackMetrics[] tracks;
+
+	/**
+	 * 被拒绝的任务数量
+	 */
+	private final long rejectedTasks;
+
+	/**
+	 * 被合并的任务数量
+	 */
+	private final long coalescedTasks;
+
+	public ExplorerMetrics(String name, TrackMetrics[] tracks, long rejectedTasks) {
+		this(name, tracks, rejectedTasks, 0);
+	}
+
+	public ExplorerMetrics(String name, TrackMetrics[] tracks, long rejectedTasks, long coalescedTasks) {
+		this.name = name;
+		this.tracks = tracks;
+		this.rejectedTasks = rejectedTasks;
+		this.coalescedTasks = coalescedTasks;
+	}
+
+	/**
+	 * 返回执行器名称
+	 *
+	 * @return 执行器名称
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * 返回每条轨道的指标
+	 *
+	 * @return 每条轨道的指标，下标是轨道
+	 */
+	public TrackMetrics[] getTracks() {
+		return tracks.clone();
+	}
+
+	/**
+	 * 返回被拒绝的任务数量
+	 *
+	 * @return 被拒绝的任务数量
+	 */
+	public long getRejectedTasks() {
+		return rejectedTasks;
+	}
+
+	/**
+	 * 返回被合并的任务数量
+	 * <p>
+	 * 合并提交的任务，与尚未开始执行的相同合并键和执行屏障的任务合并时计数，这些任务不会单独执行。
+	 *
+	 * @return 被合并的任务数量
+	 */
+	public long getCoalescedTasks() {
+		return coalescedTasks;
+	}
+
+	/**
+	 * 返回所有轨道已完成的任务数量
+	 *
+	 * @return 已完成的任务数量
+	 */
+	public long getCompletedTasks() {
+		long sum = 0;
+		for (TrackMetrics track : tracks) {
+			sum += track.completedTasks;
+		}
+		return sum;
+	}
+
+	/**
+	 * 返回所有轨道被缓存的任务数量
+	 *
+	 * @return 被缓存的任务数量
+	 */
+	public long getCachedTasks() {
+		long sum = 0;
+		for (TrackMetrics track : tracks) {
+			sum += track.cachedTasks;
+		}
+		return sum;
+	}
+
+	/**
+	 * 返回所有轨道产生的屏障数量
+	 *
+	 * @return 屏障数量
+	 */
+	public long getBarriers() {
+		long sum = 0;
+		for (TrackMetrics track : tracks) {
+			sum += track.barriers;
+		}
+		return sum;
+	}
+
+	/**
+	 * 返回所有轨道越障执行的任务数量
+	 *
+	 * @return 越障执行的任务数量
+	 */
+	public long getOvertakes() {
+		long sum = 0;
+		for (TrackMetrics track : tracks) {
+			sum += track.overtakes;
+		}
+		return sum;
+	}
+
+	/**
+	 * 返回所有轨道合并后的等待时间
+	 *
+	 * @return 等待时间（纳秒）
+	 */
+	public Histogram getWaitTime() {
+		Histogram histogram = new Histogram();
+		for (TrackMetrics track : tracks) {
+			histogram.add(track.waitTime);
+		}
+		return histogram;
+	}
+
+	/**
+	 * 返回所有轨道合并后的执行时间
+	 *
+	 * @return 执行时间（纳秒）
+	 */
+	public Histogram getWorkTime() {
+		Histogram histogram = new Histogram();
+		for (TrackMetrics track : tracks) {
+			histogram.add(track.workTime);
+		}
+		return histogram;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder(name)
+				.append(": completed=").append(getCompletedTasks())
+				.append(", cached=").append(getCachedTasks())
+				.append(", barriers=").append(getBarriers())
+				.append(", overtakes=").append(getOvertakes())
+				.append(", rejected=").append(rejectedTasks)
+				.append(", coalesced=").append(coalescedTasks);
+		for (TrackMetrics track : tracks) {
+			builder.append(System.lineSeparator()).append(track);
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * 轨道指标
+	 */
+	public static class TrackMetrics {
+
+		/**
+		 * 轨道
+		 */
+		private final int track;
+
+		/**
+		 * 已完成的任务数量
+		 */
+		private final long completedTasks;
+
+		/**
+		 * 被缓存的任务数量
+		 * <p>
+		 * 任务被屏障或者之前的缓存任务阻塞，缓存在执行器本地。
+		 */
+		private final long cachedTasks;
+
+		/**
+		 * 产生的屏障数量
+		 * <p>
+		 * 多轨道的任务被当前轨道拦截，等待其它轨道到达。
+		 */
+		private final long barriers;
+
+		/**
+		 * 越障执行的任务数量
+		 * <p>
+		 * 任务越过之前被缓存的任务执行。
+		 */
+		private final long overtakes;
+
+		/**
+		 * 等待时间：从提交任务到开始执行
+		 */
+		private final Histogram waitTime;
+
+		/**
+		 * 执行时间
+		 */
+		private final Histogram workTime;
+
+		public TrackMetrics(int track, long completedTasks, long cachedTasks, long barriers, long overtakes, Histogram waitTime, Histogram workTime) {
+			this.track = track;
+			this.completedTasks = completedTasks;
+			this.cachedTasks = cachedTasks;
+			this.barriers = barriers;
+			this.overtakes = overtakes;
+			this.waitTime = waitTime;
+			this.workTime = workTime;
+		}
+
+		public int getTrack() {
+			return track;
+		}
+
+		public long getCompletedTasks() {
+			return completedTasks;
+		}
+
+		public long getCachedTasks() {
+			return cachedTasks;
+		}
+
+		public long getBarriers() {
+			return barriers;
+		}
+
+		public long getOvertakes() {
+			return overtakes;
+		}
+
+		public Histogram getWaitTime() {
+			return waitTime;
+		}
+
+		public Histogram getWorkTime() {
+			return workTime;
+		}
+
+		@Override
+		public String toString() {
+			return "track-" + track +
+					": completed=" + completedTasks +
+					", cached=" + cachedTasks +
+					", barriers=" + barriers +
+					", overtakes=" + overtakes +
+					", wait[" + waitTime + "]" +
+					", work[" + workTime + "]";
+		}
+	}
+}
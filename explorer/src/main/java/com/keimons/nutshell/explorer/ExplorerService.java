@@ -1,13 +1,19 @@
 package com.keimons.nutshell.explorer;
 
+import com.keimons.nutshell.explorer.support.ExplorerFuture;
 import com.keimons.nutshell.explorer.support.ReorderExplorer;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * 探索者任务执行器
@@ -85,8 +91,84 @@ public interface ExplorerService {
 	 */
 	void execute(Runnable task, Object fence);
 
+	/**
+	 * 提交任务
+	 * <p>
+	 * 任务同时带有多个执行屏障，只有所有执行屏障都不被其它任务占用时，才会执行这个任务。
+	 *
+	 * @param task   任务
+	 * @param fences 执行屏障
+	 * @throws UnsupportedOperationException 部分实现可能不支持此操作
+	 */
 	default void execute(Runnable task, Object... fences) {
+		throw new UnsupportedOperationException();
+	}
 
+	/**
+	 * 提交带参数的任务
+	 * <p>
+	 * 消息处理器通常形如{@code handler.join(player, message)}，使用{@link Runnable}提交时，
+	 * 每一条消息都会产生一个捕获参数的lambda。带参数的提交方式将函数和参数分开传递，
+	 * 实现可以将参数存放在可复用的节点中，避免每个任务的对象分配。
+	 * <p>
+	 * 默认实现将函数和参数包装为{@link Runnable}。
+	 *
+	 * @param task  任务
+	 * @param arg   参数
+	 * @param fence 执行屏障
+	 * @param <A>   参数类型
+	 */
+	default <A> void execute(Consumer<? super A> task, A arg, Object fence) {
+		Objects.requireNonNull(task);
+		execute(() -> task.accept(arg), fence);
+	}
+
+	/**
+	 * 提交带参数的任务
+	 *
+	 * @param task   任务
+	 * @param arg    参数
+	 * @param fences 执行屏障
+	 * @param <A>    参数类型
+	 * @throws UnsupportedOperationException 部分实现可能不支持此操作
+	 * @see #execute(Consumer, Object, Object)
+	 */
+	default <A> void execute(Consumer<? super A> task, A arg, Object... fences) {
+		Objects.requireNonNull(task);
+		execute(() -> task.accept(arg), fences);
+	}
+
+	/**
+	 * 提交带两个参数的任务
+	 *
+	 * @param task  任务
+	 * @param arg0  第一个参数
+	 * @param arg1  第二个参数
+	 * @param fence 执行屏障
+	 * @param <A>   第一个参数类型
+	 * @param <B>   第二个参数类型
+	 * @see #execute(Consumer, Object, Object)
+	 */
+	default <A, B> void execute(BiConsumer<? super A, ? super B> task, A arg0, B arg1, Object fence) {
+		Objects.requireNonNull(task);
+		execute(() -> task.accept(arg0, arg1), fence);
+	}
+
+	/**
+	 * 提交带两个参数的任务
+	 *
+	 * @param task   任务
+	 * @param arg0   第一个参数
+	 * @param arg1   第二个参数
+	 * @param fences 执行屏障
+	 * @param <A>    第一个参数类型
+	 * @param <B>    第二个参数类型
+	 * @throws UnsupportedOperationException 部分实现可能不支持此操作
+	 * @see #execute(Consumer, Object, Object)
+	 */
+	default <A, B> void execute(BiConsumer<? super A, ? super B> task, A arg0, B arg1, Object... fences) {
+		Objects.requireNonNull(task);
+		execute(() -> task.accept(arg0, arg1), fences);
 	}
 
 	/**
@@ -155,6 +237,151 @@ public interface ExplorerService {
 		throw new UnsupportedOperationException();
 	}
 
+	/**
+	 * 异步提交任务
+	 * <p>
+	 * 与{@link #submit(Runnable, Object)}不同，返回的结果不需要通过阻塞线程来等待，
+	 * 可以继续以新的执行屏障串联后续阶段，参考{@link CompletedFuture}。
+	 *
+	 * @param task  任务
+	 * @param fence 执行屏障
+	 * @return 待完成任务的异步计算的结果
+	 */
+	default CompletedFuture<Void> submitAsync(Runnable task, Object fence) {
+		ExplorerFuture<Void> future = new ExplorerFuture<>(this, Executors.callable(task, null));
+		execute(future, fence);
+		return future;
+	}
+
+	/**
+	 * 异步提交任务
+	 *
+	 * @param task   任务
+	 * @param fences 执行屏障
+	 * @return 待完成任务的异步计算的结果
+	 * @throws UnsupportedOperationException 部分实现可能不支持此操作
+	 * @see #submitAsync(Runnable, Object)
+	 */
+	default CompletedFuture<Void> submitAsync(Runnable task, Object... fences) {
+		ExplorerFuture<Void> future = new ExplorerFuture<>(this, Executors.callable(task, null));
+		execute(future, fences);
+		return future;
+	}
+
+	/**
+	 * 异步提交任务
+	 *
+	 * @param <T>   返回值类型
+	 * @param task  任务
+	 * @param fence 执行屏障
+	 * @return 待完成任务的异步计算的结果
+	 * @see #submitAsync(Runnable, Object)
+	 */
+	default <T> CompletedFuture<T> submitAsync(Callable<T> task, Object fence) {
+		if (task == null) {
+			throw new NullPointerException();
+		}
+		ExplorerFuture<T> future = new ExplorerFuture<>(this, task);
+		execute(future, fence);
+		return future;
+	}
+
+	/**
+	 * 异步提交任务
+	 *
+	 * @param <T>    返回值类型
+	 * @param task   任务
+	 * @param fences 执行屏障
+	 * @return 待完成任务的异步计算的结果
+	 * @throws UnsupportedOperationException 部分实现可能不支持此操作
+	 * @see #submitAsync(Runnable, Object)
+	 */
+	default <T> CompletedFuture<T> submitAsync(Callable<T> task, Object... fences) {
+		if (task == null) {
+			throw new NullPointerException();
+		}
+		ExplorerFuture<T> future = new ExplorerFuture<>(this, task);
+		execute(future, fences);
+		return future;
+	}
+
+	/**
+	 * 延迟执行任务
+	 * <p>
+	 * 任务到期时带着执行屏障投递到执行器，与执行屏障上的普通任务一起排序。
+	 *
+	 * @param task  任务
+	 * @param delay 延迟时间
+	 * @param unit  延迟时间的单位
+	 * @param fence 执行屏障
+	 * @return 定时任务
+	 * @throws UnsupportedOperationException 部分实现可能不支持此操作
+	 */
+	default Timeout schedule(Runnable task, long delay, TimeUnit unit, Object fence) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * 延迟执行任务
+	 *
+	 * @param task   任务
+	 * @param delay  延迟时间
+	 * @param unit   延迟时间的单位
+	 * @param fences 执行屏障
+	 * @return 定时任务
+	 * @throws UnsupportedOperationException 部分实现可能不支持此操作
+	 * @see #schedule(Runnable, long, TimeUnit, Object)
+	 */
+	default Timeout schedule(Runnable task, long delay, TimeUnit unit, Object... fences) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * 周期执行任务
+	 * <p>
+	 * 以固定的频率投递任务，相同执行屏障的任务串行执行，所以同一个周期任务不会并发执行。
+	 *
+	 * @param task         任务
+	 * @param initialDelay 首次执行的延迟时间
+	 * @param period       周期
+	 * @param unit         时间单位
+	 * @param fence        执行屏障
+	 * @return 定时任务
+	 * @throws UnsupportedOperationException 部分实现可能不支持此操作
+	 */
+	default Timeout scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit, Object fence) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * 周期执行任务
+	 *
+	 * @param task         任务
+	 * @param initialDelay 首次执行的延迟时间
+	 * @param period       周期
+	 * @param unit         时间单位
+	 * @param fences       执行屏障
+	 * @return 定时任务
+	 * @throws UnsupportedOperationException 部分实现可能不支持此操作
+	 * @see #scheduleAtFixedRate(Runnable, long, long, TimeUnit, Object)
+	 */
+	default Timeout scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit, Object... fences) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * 返回执行器指标的快照
+	 * <p>
+	 * 包括每条轨道的等待时间和执行时间的直方图，以及缓存、屏障、越障和拒绝的任务数量，
+	 * 参考{@link Explorers#registerMXBean(ExplorerService)}。
+	 *
+	 * @return 指标快照
+	 * @throws UnsupportedOperationException 部分实现可能不支持此操作
+	 */
+	default ExplorerMetrics getMetrics() {
+		throw new UnsupportedOperationException();
+	}
+
 	boolean isShutdown();
 
 	/**
@@ -1,5 +1,15 @@
 package com.keimons.nutshell.explorer;
 
+import com.keimons.nutshell.explorer.support.ExplorerMonitor;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -12,10 +22,92 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class Explorers {
 
+	/**
+	 * {@code Executors.newVirtualThreadPerTaskExecutor()}，运行环境不支持时为{@code null}
+	 */
+	private static final MethodHandle VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutor();
+
 	public static ThreadFactory defaultThreadFactory() {
 		return new DefaultThreadFactory();
 	}
 
+	/**
+	 * 虚拟线程线程池
+	 * <p>
+	 * 每个任务使用一个新的虚拟线程执行，任务阻塞时只挂起虚拟线程，不占用平台线程。
+	 * 编译目标是Java 17，通过反射查找{@code Executors.newVirtualThreadPerTaskExecutor()}，
+	 * 运行环境不支持虚拟线程时（Java 21之前，或未启用预览特性），退化为按需创建的平台线程池，
+	 * 阻塞的任务仍然只阻塞相同执行屏障的任务，但每个阻塞的任务占用一个平台线程。
+	 *
+	 * @return 线程池，由调用者关闭
+	 * @see #isVirtualThreadSupported()
+	 */
+	public static ExecutorService virtualThreadExecutor() {
+		if (VIRTUAL_THREAD_EXECUTOR != null) {
+			try {
+				return (ExecutorService) VIRTUAL_THREAD_EXECUTOR.invoke();
+			} catch (Throwable e) {
+				// 未启用预览特性
+			}
+		}
+		return Executors.newCachedThreadPool(new DefaultThreadFactory(true));
+	}
+
+	/**
+	 * 返回运行环境是否支持虚拟线程
+	 *
+	 * @return {@code true}支持虚拟线程，{@code false}不支持虚拟线程
+	 */
+	public static boolean isVirtualThreadSupported() {
+		if (VIRTUAL_THREAD_EXECUTOR != null) {
+			try {
+				((ExecutorService) VIRTUAL_THREAD_EXECUTOR.invoke()).shutdown();
+				return true;
+			} catch (Throwable e) {
+				// 未启用预览特性
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 注册执行器的JMX管理接口
+	 * <p>
+	 * 对象名称是{@code com.keimons.nutshell.explorer:type=<执行器类名>,name=<执行器名称>}，
+	 * 同一个类型的执行器需要使用不同的名称。执行器关闭时不会自动注销，参考{@link #unregisterMXBean(ObjectName)}。
+	 *
+	 * @param explorer 执行器，需要支持{@link ExplorerService#getMetrics()}
+	 * @return 对象名称
+	 * @throws JMException 注册失败，例如名称已经存在
+	 * @see ExplorerMXBean
+	 */
+	public static ObjectName registerMXBean(ExplorerService explorer) throws JMException {
+		ObjectName name = new ObjectName("com.keimons.nutshell.explorer:type=" + explorer.getClass().getSimpleName() +
+				",name=" + ObjectName.quote(explorer.getName()));
+		ManagementFactory.getPlatformMBeanServer().registerMBean(new ExplorerMonitor(explorer), name);
+		return name;
+	}
+
+	/**
+	 * 注销执行器的JMX管理接口
+	 *
+	 * @param name 对象名称
+	 * @throws JMException 注销失败，例如名称不存在
+	 */
+	public static void unregisterMXBean(ObjectName name) throws JMException {
+		ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+	}
+
+	private static MethodHandle findVirtualThreadExecutor() {
+		try {
+			return MethodHandles.publicLookup().findStatic(
+					Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class)
+			);
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
 	private static class DefaultThreadFactory implements ThreadFactory {
 
 		private static final AtomicInteger poolNumber = new AtomicInteger(0);
@@ -26,7 +118,14 @@ public class Explorers {
 
 		private final String namePrefix;
 
+		private final boolean daemon;
+
 		DefaultThreadFactory() {
+			this(false);
+		}
+
+		DefaultThreadFactory(boolean daemon) {
+			this.daemon = daemon;
 			group = Thread.currentThread().getThreadGroup();
 			namePrefix = "explorer-" +
 					poolNumber.getAndIncrement() +
@@ -37,8 +136,8 @@ public class Explorers {
 			Thread t = new Thread(group, r,
 					namePrefix + threadNumber.getAndIncrement(),
 					0);
-			if (t.isDaemon()) {
-				t.setDaemon(false);
+			if (t.isDaemon() != daemon) {
+				t.setDaemon(daemon);
 			}
 			if (t.getPriority() != Thread.NORM_PRIORITY) {
 				t.setPriority(Thread.NORM_PRIORITY);
@@ -0,0 +1,99 @@
+package com.keimons.nutshell.explorer;
+
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+
+import java.util.Objects;
+
+/**
+ * 带有读写模式的执行屏障
+ * <p>
+ * 默认情况下，所有的执行屏障都是写屏障（独占），相同执行屏障的任务严格按照提交顺序依次执行。
+ * 对于只读的任务，可以使用读屏障（共享）：
+ * <pre>{@code
+ *     explorer.execute(task, Fence.read(unionId), playerId);
+ * }</pre>
+ * 读屏障之间互不阻塞，相邻的只读任务可以并行执行；读屏障和写屏障之间互相阻塞，
+ * 写屏障之前的读任务全部执行完成后，才会执行写任务，写任务执行完成后，才会执行之后的读任务。
+ * <p>
+ * 读写模式仅由{@link ReorderExplorer}支持，执行器以{@link #key()}路由和比较执行屏障。
+ * 对于其它执行器，它是一个普通的执行屏障，哈希值与{@link #key()}相同，所以路由的结果不变。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public final class Fence {
+
+	/**
+	 * 执行屏障
+	 */
+	private final Object key;
+
+	/**
+	 * 是否读屏障
+	 */
+	private final boolean read;
+
+	private Fence(Object key, boolean read) {
+		this.key = Objects.requireNonNull(key);
+		this.read = read;
+	}
+
+	/**
+	 * 读屏障（共享）
+	 *
+	 * @param key 执行屏障
+	 * @return 读屏障
+	 */
+	public static Fence read(Object key) {
+		return new Fence(key, true);
+	}
+
+	/**
+	 * 写屏障（独占）
+	 * <p>
+	 * 与直接使用{@code key}作为执行屏障是等价的。
+	 *
+	 * @param key 执行屏障
+	 * @return 写屏障
+	 */
+	public static Fence write(Object key) {
+		return new Fence(key, false);
+	}
+
+	/**
+	 * 返回执行屏障
+	 *
+	 * @return 执行屏障
+	 */
+	public Object key() {
+		return key;
+	}
+
+	/**
+	 * 返回是否读屏障
+	 *
+	 * @return {@code true}读屏障，{@code false}写屏障
+	 */
+	public boolean isRead() {
+		return read;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		return o instanceof Fence fence && read == fence.read && key.equals(fence.key);
+	}
+
+	@Override
+	public int hashCode() {
+		return key.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return (read ? "read(" : "write(") + key + ")";
+	}
+}
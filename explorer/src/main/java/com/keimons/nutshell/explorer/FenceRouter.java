@@ -0,0 +1,71 @@
+package com.keimons.nutshell.explorer;
+
+import com.keimons.nutshell.explorer.support.AdaptiveFenceRouter;
+import com.keimons.nutshell.explorer.support.ConsistentHashFenceRouter;
+import com.keimons.nutshell.explorer.support.HashFenceRouter;
+
+/**
+ * 屏障路由
+ * <p>
+ * 决定执行屏障落在哪一条轨道上。同一个屏障的任务，必须落在同一条轨道上，这是任务能够按照屏障串行执行的基础。
+ * 提供以下实现：
+ * <ul>
+ *     <li>{@link HashFenceRouter}扰动哈希，线程数量是2的幂时使用掩码，这也是默认的路由。</li>
+ *     <li>{@link ConsistentHashFenceRouter}一致性哈希。</li>
+ *     <li>{@link AdaptiveFenceRouter}自适应路由，将热点屏障迁移到空闲的轨道。</li>
+ *     <li>自定义路由。</li>
+ * </ul>
+ * 路由由生产者线程调用，必须是线程安全的。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public interface FenceRouter {
+
+	/**
+	 * 计算执行屏障所在的轨道
+	 * <p>
+	 * 任务发布前，为任务的每一个执行屏障调用一次。
+	 *
+	 * @param fence 执行屏障
+	 * @return 轨道，取值范围{@code [0, nThreads)}
+	 */
+	int route(Object fence);
+
+	/**
+	 * 执行屏障的任务完成
+	 * <p>
+	 * 与{@link #route(Object)}一一对应，任务执行完成（或发布失败）后，为任务的每一个执行屏障调用一次。
+	 * 无状态的路由不需要关心这个方法。
+	 *
+	 * @param fence 执行屏障
+	 */
+	default void complete(Object fence) {
+		// do nothing
+	}
+
+	/**
+	 * 计算{@code long}执行屏障所在的轨道
+	 * <p>
+	 * 必须与相同值的{@link Long}执行屏障落在同一条轨道上。默认装箱后调用{@link #route(Object)}，
+	 * 无状态的路由应该覆盖这个方法，避免装箱。
+	 *
+	 * @param fence 执行屏障
+	 * @return 轨道，取值范围{@code [0, nThreads)}
+	 */
+	default int route(long fence) {
+		return route((Object) fence);
+	}
+
+	/**
+	 * {@code long}执行屏障的任务完成
+	 * <p>
+	 * 与{@link #route(long)}一一对应，默认装箱后调用{@link #complete(Object)}。
+	 *
+	 * @param fence 执行屏障
+	 */
+	default void complete(long fence) {
+		complete((Object) fence);
+	}
+}
@@ -0,0 +1,208 @@
+package com.keimons.nutshell.explorer;
+
+import com.keimons.nutshell.explorer.utils.MiscUtils;
+
+import java.lang.invoke.VarHandle;
+
+/**
+ * 直方图
+ * <p>
+ * 对数线性分桶（HDR风格）：每个2的幂区间划分为{@link #SUB_BUCKET_COUNT}个等宽的子桶，
+ * 相对误差不超过{@code 1/64}，覆盖{@code long}的全部正数范围，桶数量固定，记录时不产生对象分配。
+ * <p>
+ * 只允许一个线程记录（通常是执行器线程），其它线程可以随时通过{@link #copy()}读取快照。
+ * 记录时先更新总和、最大值和桶，最后以release语义更新记录数量；快照先以acquire语义读取记录数量，
+ * 快照的记录数量以内的值一定已经计入总和、最大值和桶。记录与读取并发时，正在记录的值可能已经计入总和、
+ * 最大值和桶，但不计入记录数量。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public final class Histogram {
+
+	private static final VarHandle CC = MiscUtils.findVarHandle(Histogram.class, "count", long.class);
+
+	/**
+	 * 子桶数量的位数
+	 */
+	private static final int SUB_BUCKET_BITS = 6;
+
+	/**
+	 * 每个2的幂区间的子桶数量
+	 */
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+
+	/**
+	 * 桶数量
+	 * <p>
+	 * 小于{@link #SUB_BUCKET_COUNT}的值每个值一个桶，之后每个2的幂区间{@link #SUB_BUCKET_COUNT}个桶。
+	 */
+	private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) << SUB_BUCKET_BITS;
+
+	/**
+	 * 每个桶的记录数量
+	 */
+	private final long[] counts;
+
+	/**
+	 * 记录数量
+	 */
+	private long count;
+
+	/**
+	 * 记录的值的总和
+	 */
+	private long total;
+
+	/**
+	 * 记录的最大值
+	 */
+	private long max;
+
+	public Histogram() {
+		this.counts = new long[BUCKET_COUNT];
+	}
+
+	private Histogram(long[] counts, long count, long total, long max) {
+		this.counts = counts;
+		this.count = count;
+		this.total = total;
+		this.max = max;
+	}
+
+	/**
+	 * 返回值所在的桶
+	 *
+	 * @param value 值（非负数）
+	 * @return 桶的下标
+	 */
+	private static int bucket(long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		int shift = Long.SIZE - SUB_BUCKET_BITS - 1 - Long.numberOfLeadingZeros(value);
+		return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & SUB_BUCKET_MASK);
+	}
+
+	/**
+	 * 返回桶中的最大值
+	 *
+	 * @param bucket 桶的下标
+	 * @return 桶中的最大值
+	 */
+	private static long highestValue(int bucket) {
+		if (bucket < SUB_BUCKET_COUNT) {
+			return bucket;
+		}
+		int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+		long lowest = (long) (SUB_BUCKET_COUNT + (bucket & SUB_BUCKET_MASK)) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+
+	/**
+	 * 记录一个值
+	 * <p>
+	 * 负数（例如时钟回拨）按照{@code 0}记录。
+	 *
+	 * @param value 值
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		total += value;
+		if (value > max) {
+			max = value;
+		}
+		counts[bucket(value)]++;
+		CC.setRelease(this, count + 1);
+	}
+
+	/**
+	 * 合并另一个直方图
+	 *
+	 * @param other 直方图
+	 */
+	public void add(Histogram other) {
+		long[] counts = this.counts;
+		long[] values = other.counts;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] += values[i];
+		}
+		count += other.count;
+		total += other.total;
+		max = Math.max(max, other.max);
+	}
+
+	/**
+	 * 返回直方图的快照
+	 *
+	 * @return 快照
+	 */
+	public Histogram copy() {
+		long count = (long) CC.getAcquire(this);
+		return new Histogram(counts.clone(), count, total, max);
+	}
+
+	/**
+	 * 返回记录数量
+	 *
+	 * @return 记录数量
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * 返回记录的最大值
+	 *
+	 * @return 最大值，没有记录时返回{@code 0}
+	 */
+	public long getMax() {
+		return max;
+	}
+
+	/**
+	 * 返回记录的平均值
+	 *
+	 * @return 平均值，没有记录时返回{@code 0}
+	 */
+	public double getMean() {
+		return count == 0 ? 0 : (double) total / count;
+	}
+
+	/**
+	 * 返回百分位上的值
+	 * <p>
+	 * 返回值是所在桶中的最大值，不超过记录的最大值。
+	 *
+	 * @param percentile 百分位（{@code 0 ~ 100}）
+	 * @return 百分位上的值，没有记录时返回{@code 0}
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long count = this.count;
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+		long sum = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			sum += counts[i];
+			if (sum >= rank) {
+				return Math.min(highestValue(i), max);
+			}
+		}
+		return max;
+	}
+
+	@Override
+	public String toString() {
+		return "count=" + count +
+				", p50=" + getValueAtPercentile(50) +
+				", p99=" + getValueAtPercentile(99) +
+				", max=" + max;
+	}
+}
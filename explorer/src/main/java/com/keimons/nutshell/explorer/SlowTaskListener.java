@@ -0,0 +1,34 @@
+package com.keimons.nutshell.explorer;
+
+/**
+ * 慢任务监听器
+ * <p>
+ * 任务在执行器线程上的执行时间超过阈值时，守望线程采集执行器线程的调用栈，生成{@link SlowTaskReport}并通知监听器。
+ * 每次执行最多通知一次。监听器在守望线程上调用，不应该阻塞，否则会推迟其它慢任务的报告。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+@FunctionalInterface
+public interface SlowTaskListener {
+
+	/**
+	 * 输出到{@link Debug#warn(String)}的监听器
+	 * <p>
+	 * 执行器默认使用的监听器，只有开启调试时才会输出。
+	 */
+	SlowTaskListener WARN = report -> Debug.warn(report.toString());
+
+	/**
+	 * 打印到标准错误输出的监听器
+	 */
+	SlowTaskListener STDERR = report -> System.err.println(report);
+
+	/**
+	 * 发现慢任务
+	 *
+	 * @param report 慢任务报告
+	 */
+	void onSlowTask(SlowTaskReport report);
+}
@@ -0,0 +1,146 @@
+package com.keimons.nutshell.explorer;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 慢任务报告
+ * <p>
+ * 任务执行超过阈值时，执行器线程的快照。快照在守望线程上采集，采集前后任务没有变化时才会生成报告，
+ * 调用栈是采集时执行器线程正在执行的位置。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class SlowTaskReport {
+
+	/**
+	 * 执行器名称
+	 */
+	private final String name;
+
+	/**
+	 * 执行器线程名称
+	 */
+	private final String threadName;
+
+	/**
+	 * 轨道
+	 */
+	private final int track;
+
+	/**
+	 * 执行中的任务
+	 */
+	private final Runnable task;
+
+	/**
+	 * 任务持有的执行屏障
+	 */
+	private final Object[] fences;
+
+	/**
+	 * 已执行时间（纳秒）
+	 */
+	private final long elapsed;
+
+	/**
+	 * 执行器线程的调用栈
+	 */
+	private final StackTraceElement[] stackTrace;
+
+	/**
+	 * 被任务持有的执行屏障阻塞的缓存任务数量
+	 */
+	private final int blockedTasks;
+
+	/**
+	 * 这条轨道尚未读取的任务数量
+	 */
+	private final long pendingTasks;
+
+	public SlowTaskReport(String name, String threadName, int track, Runnable task, Object[] fences, long elapsed,
+						  StackTraceElement[] stackTrace, int blockedTasks, long pendingTasks) {
+		this.name = name;
+		this.threadName = threadName;
+		this.track = track;
+		this.task = task;
+		this.fences = fences;
+		this.elapsed = elapsed;
+		this.stackTrace = stackTrace;
+		this.blockedTasks = blockedTasks;
+		this.pendingTasks = pendingTasks;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getThreadName() {
+		return threadName;
+	}
+
+	public int getTrack() {
+		return track;
+	}
+
+	public Runnable getTask() {
+		return task;
+	}
+
+	public Object[] getFences() {
+		return fences.clone();
+	}
+
+	/**
+	 * 返回采集时任务已经执行的时间
+	 *
+	 * @return 已执行时间（纳秒）
+	 */
+	public long getElapsed() {
+		return elapsed;
+	}
+
+	public StackTraceElement[] getStackTrace() {
+		return stackTrace.clone();
+	}
+
+	/**
+	 * 返回被阻塞的任务数量
+	 * <p>
+	 * 缓存在这条轨道上，与执行中的任务有相同执行屏障（读屏障之间除外）的任务数量。
+	 *
+	 * @return 被阻塞的任务数量
+	 */
+	public int getBlockedTasks() {
+		return blockedTasks;
+	}
+
+	/**
+	 * 返回排队的任务数量
+	 * <p>
+	 * 事件总线上这条轨道还没有读取的事件数量，包含落在其它轨道上的事件。
+	 *
+	 * @return 排队的任务数量
+	 */
+	public long getPendingTasks() {
+		return pendingTasks;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder()
+				.append("slow task on ").append(name).append(" track-").append(track)
+				.append(" [").append(threadName).append("]: ")
+				.append(TimeUnit.NANOSECONDS.toMillis(elapsed)).append("ms")
+				.append(", fences=").append(Arrays.toString(fences))
+				.append(", blocked=").append(blockedTasks)
+				.append(", pending=").append(pendingTasks)
+				.append(", task=").append(task);
+		for (StackTraceElement element : stackTrace) {
+			builder.append(System.lineSeparator()).append("\tat ").append(element);
+		}
+		return builder.toString();
+	}
+}
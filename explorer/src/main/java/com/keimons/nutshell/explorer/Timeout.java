@@ -0,0 +1,39 @@
+package com.keimons.nutshell.explorer;
+
+/**
+ * 定时任务
+ * <p>
+ * 定时任务到期时，带着执行屏障投递到执行器，与普通任务一样排序执行。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ * @see ExplorerService#schedule(Runnable, long, java.util.concurrent.TimeUnit, Object)
+ */
+public interface Timeout {
+
+	/**
+	 * 取消定时任务
+	 * <p>
+	 * 已经投递到执行器但尚未执行的周期任务，取消后也不再执行。
+	 *
+	 * @return {@code true}取消成功，{@code false}任务已经到期或已经取消
+	 */
+	boolean cancel();
+
+	/**
+	 * 返回定时任务是否已取消
+	 *
+	 * @return {@code true}已取消，{@code false}未取消
+	 */
+	boolean isCancelled();
+
+	/**
+	 * 返回定时任务是否已到期
+	 * <p>
+	 * 周期任务永远不会到期，直到被取消。
+	 *
+	 * @return {@code true}已经投递到执行器，{@code false}未到期
+	 */
+	boolean isExpired();
+}
@@ -0,0 +1,48 @@
+package com.keimons.nutshell.explorer;
+
+import com.keimons.nutshell.core.OptimisticSynchronizer;
+import com.keimons.nutshell.explorer.support.AdaptiveWaitStrategy;
+import com.keimons.nutshell.explorer.support.BlockingWaitStrategy;
+import com.keimons.nutshell.explorer.support.BusySpinWaitStrategy;
+import com.keimons.nutshell.explorer.support.TimedParkWaitStrategy;
+import com.keimons.nutshell.explorer.support.YieldingWaitStrategy;
+
+/**
+ * 等待策略
+ * <p>
+ * 执行器没有可以处理的任务时，{@link OptimisticSynchronizer#validate(int)}通过等待策略决定如何等待。提供以下实现：
+ * <ul>
+ *     <li>{@link BlockingWaitStrategy}立即休眠，等待生产者唤醒，这也是默认的等待策略。</li>
+ *     <li>{@link BusySpinWaitStrategy}忙等待，延迟最低，独占CPU。</li>
+ *     <li>{@link YieldingWaitStrategy}自旋后让出CPU。</li>
+ *     <li>{@link TimedParkWaitStrategy}限时休眠。</li>
+ *     <li>{@link AdaptiveWaitStrategy}自旋、让出CPU后休眠。</li>
+ * </ul>
+ * 只有执行器进入休眠时，生产者才需要唤醒它。执行器自旋时，生产者跳过唤醒，避免{@code unpark}的系统调用。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public interface WaitStrategy {
+
+	/**
+	 * 不休眠
+	 */
+	long SPIN = 0;
+
+	/**
+	 * 休眠，直到被生产者唤醒
+	 */
+	long PARK = -1;
+
+	/**
+	 * 空闲等待
+	 * <p>
+	 * 执行器每次发现没有可以处理的任务时调用，策略可以在这个方法中自旋或让出CPU，返回后，执行器会重新检查事件总线。
+	 *
+	 * @param round 连续空闲的次数，从{@code 0}开始，执行器发现新任务后重置
+	 * @return 休眠时长（纳秒）：{@link #SPIN}不休眠，{@link #PARK}休眠直到被唤醒，大于{@code 0}时限时休眠
+	 */
+	long idle(int round);
+}
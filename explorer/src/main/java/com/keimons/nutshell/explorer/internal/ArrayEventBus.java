@@ -0,0 +1,379 @@
+package com.keimons.nutshell.explorer.internal;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * 数组事件总线
+ * <p>
+ * 与{@link DefaultEventBus}的行为完全一致，区别在于缓冲区的布局。{@link DefaultEventBus}中每个位置都是一个独立的节点对象，
+ * 节点中的每个字段都是{@code @Contended}的，每个位置需要数百字节，并且访问事件需要额外的一次指针跳转。
+ * 这个事件总线使用两个平行数组（结构数组）存储事件：
+ * <ul>
+ *     <li>{@code long[] sequences}，事件序列和状态，状态压缩在事件序列的最低位。</li>
+ *     <li>{@code Object[] events}，事件。</li>
+ * </ul>
+ * 数组元素通过{@link VarHandle}访问，只在数组的两端填充，避免与相邻的对象伪共享。相邻位置的伪共享是可以接受的，
+ * 发布者总是顺序写入，消费者总是顺序读取。
+ * <p>
+ * 位置的状态压缩在事件序列中：
+ * <pre>
+ *     空闲：sequence << 1
+ *     占用：sequence << 1 | 1
+ * </pre>
+ * 事件序列和状态在同一次cas中更新，{@link #getEvent(long)}只需要比较一次，就能同时确认事件序列和状态。
+ * 发布者只能锁定上一轮事件序列（{@code sequence - capacity}）已经移除的位置，锁定失败时，
+ * 可以准确区分事件总线已满（上一轮的事件尚未移除）和位置被其它发布者锁定。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ArrayEventBus<T> implements EventBus<T> {
+
+	private static final VarHandle SS = MethodHandles.arrayElementVarHandle(long[].class);
+
+	private static final VarHandle EE = MethodHandles.arrayElementVarHandle(Object[].class);
+
+	/**
+	 * 默认最大队列长度
+	 */
+	private static final long DEFAULT_LIMIT = Long.MAX_VALUE;
+
+	/**
+	 * 数组两端的填充（元素数量）
+	 * <p>
+	 * {@code 16}个{@code long}或者至少{@code 16}个引用，不小于{@code 64}字节的缓存行（考虑相邻缓存行预取，取{@code 128}字节）。
+	 */
+	private static final int PAD = 16;
+
+	/**
+	 * 占用标记
+	 */
+	private static final long FULL = 1L;
+
+	/**
+	 * 容量
+	 */
+	private final int capacity;
+
+	/**
+	 * 索引比特位标记
+	 * <p>
+	 * 通常是{@code capacity - 1}，通过{@code writerIndex & mark}获取真实的写入位置。
+	 */
+	private final int mark;
+
+	/**
+	 * 事件序列和状态
+	 */
+	private final long[] sequences;
+
+	/**
+	 * 事件
+	 */
+	private final Object[] events;
+
+	/**
+	 * 当前的写入位置
+	 *
+	 * @see DefaultEventBus#writerIndex
+	 */
+	volatile long writerIndex;
+
+	/**
+	 * 允许写入的最后一个位置
+	 *
+	 * @see DefaultEventBus#limitIndex
+	 */
+	volatile long limitIndex = DEFAULT_LIMIT;
+
+	/**
+	 * 是否已关闭
+	 * <p>
+	 * 发布者锁定写入位置后检查关闭标记，{@link #limitIndex}在正在写入的发布者完成后设置。
+	 */
+	volatile boolean closed;
+
+	/**
+	 * 数组事件总线
+	 *
+	 * @param capacity 容量，向上取整到2的幂
+	 */
+	public ArrayEventBus(int capacity) {
+		capacity = powerOfTwo(capacity);
+		this.capacity = capacity;
+		this.mark = capacity - 1;
+		this.sequences = new long[PAD + capacity + PAD];
+		// 压缩指针时，引用只占用4字节，填充加倍
+		this.events = new Object[(PAD << 1) + capacity + (PAD << 1)];
+		for (int i = 0; i < capacity; i++) {
+			// 第一轮的事件序列i，等待的是第零轮事件序列i - capacity的空闲标记
+			sequences[sequenceIndex(i)] = free(i);
+		}
+	}
+
+	/**
+	 * 将容量向上取整到2的幂
+	 * <p>
+	 * 位置通过{@code sequence & (capacity - 1)}计算，空闲标记依赖{@code sequence - capacity}与位置一一对应，
+	 * 容量不是2的幂时，不同轮次的事件序列会映射到错误的位置，发布者永远等不到空闲标记。
+	 *
+	 * @param capacity 容量
+	 * @return 不小于容量的最小的2的幂
+	 */
+	static int powerOfTwo(int capacity) {
+		if (capacity <= 0 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("capacity: " + capacity);
+		}
+		return capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+	}
+
+	private static int sequenceIndex(int offset) {
+		return PAD + offset;
+	}
+
+	private static int eventIndex(int offset) {
+		return (PAD << 1) + offset;
+	}
+
+	@Override
+	public long writerIndex() {
+		return writerIndex;
+	}
+
+	/**
+	 * 返回事件序列的空闲标记
+	 * <p>
+	 * 事件序列{@code sequence}占用的位置，上一轮是事件序列{@code sequence - capacity}，
+	 * 只有上一轮的事件已经移除，才能占用这个位置。
+	 *
+	 * @param sequence 事件序列
+	 * @return 空闲标记
+	 */
+	private long free(long sequence) {
+		return (sequence - capacity) << 1;
+	}
+
+	/**
+	 * 锁定写入位置
+	 * <p>
+	 * 只有位置上是这个事件序列的空闲标记时，才能锁定。过期的发布者（写入位置已经更新）不能锁定已经被移除的位置，
+	 * 锁定失败时，位置上要么是上一轮的事件，要么是其它发布者已经锁定了这个位置。
+	 *
+	 * @param sequence 写入位置
+	 * @return {@code true}锁定成功，{@code false}锁定失败
+	 */
+	private boolean lock(long sequence) {
+		return SS.compareAndSet(sequences, sequenceIndex((int) (sequence & mark)), free(sequence), sequence << 1 | FULL);
+	}
+
+	/**
+	 * 回滚锁定的写入位置
+	 *
+	 * @param sequence 写入位置
+	 */
+	private void unlock(long sequence) {
+		SS.setVolatile(sequences, sequenceIndex((int) (sequence & mark)), free(sequence));
+	}
+
+	/**
+	 * 返回位置是否被上一轮的事件占用
+	 *
+	 * @param sequence 事件序列
+	 * @return {@code true}上一轮的事件尚未移除，{@code false}位置空闲或者被其它发布者锁定
+	 */
+	private boolean isFull(long sequence) {
+		long value = (long) SS.getVolatile(sequences, sequenceIndex((int) (sequence & mark)));
+		return value == (free(sequence) | FULL);
+	}
+
+	@Override
+	public boolean publishEvent(T event) {
+		return publishEvent(event, true);
+	}
+
+	@Override
+	public boolean tryPublishEvent(T event) {
+		return publishEvent(event, false);
+	}
+
+	/**
+	 * 发布一个事件
+	 *
+	 * @param event 事件
+	 * @param wait  事件总线已满时是否等待
+	 * @return {@code true}发布成功，{@code false}发布失败
+	 */
+	private boolean publishEvent(T event, boolean wait) {
+		while (true) {
+			long sequence = writerIndex;
+			int offset = (int) (sequence & mark);
+			if (lock(sequence)) {
+				// recheck
+				if (sequence != writerIndex) {
+					// rollback state
+					unlock(sequence);
+					continue;
+				}
+				if (closed) {
+					// 已关闭，释放写入位置
+					unlock(sequence);
+					return false;
+				}
+				EE.setRelease(events, eventIndex(offset), event);
+				published(sequence, event);
+				writerIndex = sequence + 1;
+				return true;
+			} else if (isFull(sequence)) {
+				if (!wait) {
+					return false;
+				}
+				// 等待消费者移除事件
+				Thread.yield();
+			} else {
+				// 其它发布者已经锁定这个位置，或者写入位置已经更新
+				Thread.onSpinWait();
+			}
+		}
+	}
+
+	@Override
+	public boolean publishEvents(T[] events, int offset, int length) {
+		return publishEvents(events, offset, length, true);
+	}
+
+	@Override
+	public boolean tryPublishEvents(T[] events, int offset, int length) {
+		return publishEvents(events, offset, length, false);
+	}
+
+	/**
+	 * 批量发布事件
+	 *
+	 * @param events 事件
+	 * @param offset 第一个事件的位置
+	 * @param length 事件数量
+	 * @param wait   空闲位置不足时是否等待
+	 * @return {@code true}发布成功，{@code false}发布失败
+	 */
+	private boolean publishEvents(T[] events, int offset, int length, boolean wait) {
+		if (length > capacity) {
+			throw new IllegalArgumentException("length: " + length + ", capacity: " + capacity);
+		}
+		if (length <= 0) {
+			return true;
+		}
+		while (true) {
+			long sequence = writerIndex;
+			if (lock(sequence)) {
+				// recheck
+				if (sequence != writerIndex) {
+					// rollback state
+					unlock(sequence);
+					continue;
+				}
+				if (closed) {
+					// 已关闭，释放写入位置
+					unlock(sequence);
+					return false;
+				}
+				// 已经竞争到写入位置，其它生产者只能等待写入位置的更新，依次占用后续的位置
+				for (int i = 1; i < length; i++) {
+					while (!lock(sequence + i)) {
+						if (!wait) {
+							// 空闲位置不足，按照相反的顺序回滚，最后释放写入位置
+							for (int j = i - 1; j >= 0; j--) {
+								unlock(sequence + j);
+							}
+							return false;
+						}
+						// 等待消费者移除事件
+						Thread.yield();
+					}
+				}
+				for (int i = 0; i < length; i++) {
+					EE.setRelease(this.events, eventIndex((int) ((sequence + i) & mark)), events[offset + i]);
+					published(sequence + i, events[offset + i]);
+				}
+				// 一次更新写入位置，所有事件同时可见
+				writerIndex = sequence + length;
+				return true;
+			} else if (isFull(sequence)) {
+				if (!wait) {
+					return false;
+				}
+				// 等待消费者移除事件
+				Thread.yield();
+			} else {
+				// 其它发布者已经锁定这个位置，或者写入位置已经更新
+				Thread.onSpinWait();
+			}
+		}
+	}
+
+	/**
+	 * 事件已写入
+	 * <p>
+	 * 事件写入缓冲区之后，写入位置更新之前调用，调用时发布者依然占有写入位置，所以同一时刻只有一个线程调用此方法，
+	 * 写入位置的更新保证了此方法中的修改对于消费者可见。
+	 *
+	 * @param sequence 事件序列
+	 * @param event    事件
+	 */
+	protected void published(long sequence, T event) {
+		// do nothing
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public @Nullable T getEvent(long sequence) {
+		int offset = (int) (sequence & mark);
+		// 访问顺序：事件 -> 事件序列，与写入顺序相反
+		Object event = EE.getAcquire(events, eventIndex(offset));
+		long value = (long) SS.getAcquire(sequences, sequenceIndex(offset));
+		// check version
+		if (value != (sequence << 1 | FULL)) {
+			return null;
+		}
+		return (T) event;
+	}
+
+	@Override
+	public void removeEvent(long sequence) {
+		int offset = (int) (sequence & mark);
+		EE.setRelease(events, eventIndex(offset), null);
+		SS.setVolatile(sequences, sequenceIndex(offset), sequence << 1);
+	}
+
+	@Override
+	public boolean eof(long readerIndex) {
+		return readerIndex >= limitIndex;
+	}
+
+	@Override
+	public void shutdown() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		// 事件总线已满时，写入位置被上一轮的事件占用，无法锁定。所以不锁定写入位置，
+		// 而是等待已经锁定写入位置的发布者完成，之后锁定写入位置的发布者一定能看到关闭标记
+		while (true) {
+			long sequence = writerIndex;
+			long value = (long) SS.getVolatile(sequences, sequenceIndex((int) (sequence & mark)));
+			if (value == (sequence << 1 | FULL)) {
+				// 发布者正在写入
+				Thread.onSpinWait();
+				continue;
+			}
+			// recheck
+			if (sequence == writerIndex) {
+				limitIndex = sequence;
+				return;
+			}
+		}
+	}
+}
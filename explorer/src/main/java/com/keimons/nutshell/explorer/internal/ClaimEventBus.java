@@ -0,0 +1,687 @@
+package com.keimons.nutshell.explorer.internal;
+
+import com.keimons.nutshell.explorer.utils.MiscUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 先占用后发布的事件总线
+ * <p>
+ * {@link ArrayEventBus}和{@link DefaultEventBus}中，发布者通过cas锁定写入位置，锁定后再检查写入位置是否已经改变，
+ * 竞争失败的发布者调用{@link Thread#yield()}让出CPU。发布者较多时，大量的cas失败和让出CPU会严重影响吞吐量。
+ * <p>
+ * 这个事件总线参考了LMAX Disruptor的多生产者协议，将发布分为两步：
+ * <ol>
+ *     <li><b>占用</b>，通过{@code getAndIncrement}占用一个事件序列，不会失败；</li>
+ *     <li><b>发布</b>，写入事件，设置位置的可用标记（事件序列）。</li>
+ * </ol>
+ * 多个发布者可以同时写入不同的位置。事件序列不一定按照顺序发布，而消费者必须按照顺序读取，
+ * 所以，发布者设置可用标记之后，向后推进连续可用的位置{@link #writerIndex()}，消费者只读取写入位置之前的事件。
+ * <p>
+ * 发布者唤醒消费者时，事件必须已经对于消费者可见，否则，消费者可能在事件可见之前验证版本并休眠，丢失唤醒。
+ * 所以，{@link #publishEvent(Object)}等到事件可见（之前的事件序列都已发布）后才返回。占用是无等待的，
+ * 发布者只需要等待之前已经占用的发布者完成写入。
+ * <p>
+ * 位置的可用标记与{@link ArrayEventBus}相同，压缩在事件序列中：
+ * <pre>
+ *     空闲：sequence << 1
+ *     可用：sequence << 1 | 1
+ * </pre>
+ * 事件序列{@code sequence}只能写入空闲标记为{@code sequence - capacity}的位置，即上一轮的事件已经被移除。
+ * <p>
+ * <b>溢出</b>
+ * <p>
+ * 启用溢出时，环形缓冲区只需要按照平稳的负载设置容量，突发的事件溢出到按照轮次划分的溢出段中：
+ * <ul>
+ *     <li>发布者占用事件序列后，如果位置空闲（之前轮次的事件都已移除），锁定位置并写入事件，否则写入这一轮的溢出段，发布者从不等待；</li>
+ *     <li>每个溢出段容纳一轮（{@code capacity}个）事件序列，溢出段按照轮次记录在可以扩容的目录中，需要时创建；</li>
+ *     <li>消费者依然按照事件序列读取，位置上不是这个事件序列时，通过轮次在目录中找到溢出段；</li>
+ *     <li>一段中的事件序列都已发布，并且溢出的事件都已移除后，这一段被释放，目录随之收缩。</li>
+ * </ul>
+ * 启用溢出后，事件总线永远不会已满，拒绝策略只在关闭后生效。
+ * <p>
+ * 注意：事件序列并不是按照全局顺序追加的，所以不能与{@link LaneEventBus}的通道一起使用。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ClaimEventBus<T> implements EventBus<T> {
+
+	private static final VarHandle SS = MethodHandles.arrayElementVarHandle(long[].class);
+
+	private static final VarHandle EE = MethodHandles.arrayElementVarHandle(Object[].class);
+
+	private static final VarHandle DD = MethodHandles.arrayElementVarHandle(Segment[].class);
+
+	/**
+	 * 溢出段目录的初始长度
+	 */
+	private static final int INITIAL_DIRECTORY = 8;
+
+	/**
+	 * 数组两端的填充（元素数量）
+	 */
+	private static final int PAD = 16;
+
+	/**
+	 * 可用标记
+	 */
+	private static final long FULL = 1L;
+
+	/**
+	 * 关闭标记
+	 * <p>
+	 * 关闭时设置在占用位置上，之后的占用都会失败，关闭前的占用位置就是允许写入的最后一个位置。
+	 */
+	private static final long CLOSED = 1L << 62;
+
+	/**
+	 * 默认最大队列长度
+	 */
+	private static final long DEFAULT_LIMIT = Long.MAX_VALUE;
+
+	/**
+	 * 等待之前的事件发布时，自旋的次数
+	 */
+	private static final int SPINS = 64;
+
+	/**
+	 * 容量
+	 */
+	private final int capacity;
+
+	/**
+	 * 索引比特位标记
+	 */
+	private final int mark;
+
+	/**
+	 * 事件序列和可用标记
+	 */
+	private final long[] sequences;
+
+	/**
+	 * 事件
+	 */
+	private final Object[] events;
+
+	/**
+	 * 占用位置
+	 * <p>
+	 * 下一个可以占用的事件序列。
+	 */
+	private final Sequence cursor = new Sequence();
+
+	/**
+	 * 写入位置
+	 * <p>
+	 * 写入位置之前的事件序列都已经发布。
+	 */
+	private final Sequence published = new Sequence();
+
+	/**
+	 * 允许写入的最后一个位置
+	 */
+	private volatile long limitIndex = DEFAULT_LIMIT;
+
+	/**
+	 * 是否启用溢出
+	 */
+	private final boolean elastic;
+
+	/**
+	 * 轮次的比特位数
+	 * <p>
+	 * 事件序列{@code sequence}的轮次是{@code sequence >> shift}。
+	 */
+	private final int shift;
+
+	/**
+	 * 溢出段目录
+	 * <p>
+	 * 没有溢出的事件时为{@code null}。
+	 */
+	private volatile @Nullable Directory directory;
+
+	/**
+	 * 溢出段锁
+	 * <p>
+	 * 溢出段的创建和释放都需要加锁，查找不需要。
+	 */
+	private final ReentrantLock segmentLock = new ReentrantLock();
+
+	public ClaimEventBus(int capacity) {
+		this(capacity, false);
+	}
+
+	/**
+	 * 先占用后发布的事件总线
+	 *
+	 * @param capacity 环形缓冲区的容量，向上取整到2的幂
+	 * @param elastic  是否启用溢出，启用时环形缓冲区已满的事件写入溢出段
+	 */
+	public ClaimEventBus(int capacity, boolean elastic) {
+		// 位置、空闲标记和轮次都依赖2的幂，参考ArrayEventBus#powerOfTwo(int)
+		capacity = ArrayEventBus.powerOfTwo(capacity);
+		this.capacity = capacity;
+		this.elastic = elastic;
+		this.shift = Integer.numberOfTrailingZeros(capacity);
+		this.mark = capacity - 1;
+		this.sequences = new long[PAD + capacity + PAD];
+		this.events = new Object[(PAD << 1) + capacity + (PAD << 1)];
+		for (int i = 0; i < capacity; i++) {
+			// 第一轮的事件序列i，等待的是第零轮事件序列i - capacity的空闲标记
+			sequences[PAD + i] = (long) (i - capacity) << 1;
+		}
+	}
+
+	private static int sequenceIndex(int offset) {
+		return PAD + offset;
+	}
+
+	private static int eventIndex(int offset) {
+		return (PAD << 1) + offset;
+	}
+
+	@Override
+	public long writerIndex() {
+		return published.value;
+	}
+
+	/**
+	 * 返回事件序列的位置是否空闲
+	 *
+	 * @param sequence 事件序列
+	 * @return {@code true}空闲，{@code false}上一轮的事件尚未移除
+	 */
+	private boolean isFree(long sequence) {
+		long value = (long) SS.getVolatile(sequences, sequenceIndex((int) (sequence & mark)));
+		return value == (sequence - capacity) << 1;
+	}
+
+	/**
+	 * 尝试占用连续的事件序列
+	 * <p>
+	 * 只有所有的位置都空闲时，才会占用，占用后写入不需要等待。启用溢出时，总是可以占用。
+	 *
+	 * @param n 事件序列数量，不能超过事件总线的容量
+	 * @return 第一个事件序列，如果事件总线已关闭或者空闲位置不足，返回{@code -1}
+	 */
+	public long tryClaim(int n) {
+		if (n <= 0 || n > capacity) {
+			throw new IllegalArgumentException("n: " + n + ", capacity: " + capacity);
+		}
+		while (true) {
+			long sequence = cursor.value;
+			if ((sequence & CLOSED) != 0) {
+				return -1;
+			}
+			for (int i = 0; !elastic && i < n; i++) {
+				if (!isFree(sequence + i)) {
+					return -1;
+				}
+			}
+			if (cursor.compareAndSet(sequence, sequence + n)) {
+				return sequence;
+			}
+		}
+	}
+
+	/**
+	 * 发布已占用的事件序列
+	 * <p>
+	 * 所有事件同时可见，返回时，事件已经对于消费者可见。
+	 *
+	 * @param sequence 第一个事件序列（{@link #tryClaim(int)}的返回值）
+	 * @param events   事件
+	 * @param offset   第一个事件的位置
+	 * @param length   事件数量，与占用的事件序列数量相同
+	 */
+	public void publish(long sequence, T[] events, int offset, int length) {
+		if (elastic) {
+			// 先锁定所有可以锁定的位置，再按照相反的顺序写入，第一个事件最后写入
+			for (int i = 0; i < length; i++) {
+				reserve(sequence + i);
+			}
+			for (int i = length - 1; i >= 0; i--) {
+				offer(sequence + i, events[offset + i]);
+			}
+			advance();
+			await(sequence + length - 1);
+			return;
+		}
+		for (int i = 0; i < length; i++) {
+			EE.setRelease(this.events, eventIndex((int) ((sequence + i) & mark)), events[offset + i]);
+		}
+		// 最后设置第一个位置的可用标记，写入位置的推进在第一个位置停止，直到所有位置都可用
+		for (int i = length - 1; i >= 0; i--) {
+			long next = sequence + i;
+			SS.setVolatile(sequences, sequenceIndex((int) (next & mark)), next << 1 | FULL);
+		}
+		advance();
+		await(sequence + length - 1);
+	}
+
+	@Override
+	public boolean publishEvent(T event) {
+		long sequence = cursor.getAndIncrement();
+		if ((sequence & CLOSED) != 0) {
+			return false;
+		}
+		// 等待上一轮的事件移除
+		while (!elastic && !isFree(sequence)) {
+			Thread.yield();
+		}
+		publish(sequence, event);
+		return true;
+	}
+
+	@Override
+	public boolean tryPublishEvent(T event) {
+		if (elastic) {
+			return publishEvent(event);
+		}
+		long sequence = tryClaim(1);
+		if (sequence < 0) {
+			return false;
+		}
+		publish(sequence, event);
+		return true;
+	}
+
+	/**
+	 * 发布已占用的事件序列
+	 *
+	 * @param sequence 事件序列
+	 * @param event    事件
+	 */
+	private void publish(long sequence, T event) {
+		if (elastic) {
+			reserve(sequence);
+			offer(sequence, event);
+		} else {
+			int offset = (int) (sequence & mark);
+			EE.setRelease(events, eventIndex(offset), event);
+			SS.setVolatile(sequences, sequenceIndex(offset), sequence << 1 | FULL);
+		}
+		advance();
+		await(sequence);
+	}
+
+	/**
+	 * 尝试锁定事件序列的位置
+	 * <p>
+	 * 启用溢出时，位置上不一定是上一轮的事件序列（上一轮的事件可能写入了溢出段），
+	 * 只要位置空闲，任何一轮的事件序列都可以锁定。锁定后位置上是这个事件序列的可用标记，但是事件尚未写入，
+	 * 所以，启用溢出时，只有位置上的事件不为空，事件才是可用的。
+	 *
+	 * @param sequence 事件序列
+	 * @return {@code true}锁定成功，{@code false}位置上的事件尚未移除，事件需要写入溢出段
+	 */
+	private boolean reserve(long sequence) {
+		int index = sequenceIndex((int) (sequence & mark));
+		long value = (long) SS.getVolatile(sequences, index);
+		return (value & FULL) == 0 && SS.compareAndSet(sequences, index, value, sequence << 1 | FULL);
+	}
+
+	/**
+	 * 写入事件
+	 * <p>
+	 * 位置已经被这个事件序列锁定时，写入位置，否则写入溢出段。写入后事件立即可用。
+	 *
+	 * @param sequence 事件序列
+	 * @param event    事件
+	 */
+	private void offer(long sequence, T event) {
+		int offset = (int) (sequence & mark);
+		long value = (long) SS.getVolatile(sequences, sequenceIndex(offset));
+		if (value == (sequence << 1 | FULL)) {
+			EE.setVolatile(events, eventIndex(offset), event);
+		} else {
+			Segment segment = segment(sequence);
+			// 先增加数量再写入，释放时，一段中的事件序列都已发布，数量不会再增加
+			segment.pending.incrementAndGet();
+			EE.setVolatile(segment.events, offset, event);
+		}
+	}
+
+	@Override
+	public boolean publishEvents(T[] events, int offset, int length) {
+		if (length > capacity) {
+			throw new IllegalArgumentException("length: " + length + ", capacity: " + capacity);
+		}
+		if (length <= 0) {
+			return true;
+		}
+		while (true) {
+			long sequence = tryClaim(length);
+			if (sequence >= 0) {
+				publish(sequence, events, offset, length);
+				return true;
+			}
+			if ((cursor.value & CLOSED) != 0) {
+				return false;
+			}
+			// 等待消费者移除事件
+			Thread.yield();
+		}
+	}
+
+	@Override
+	public boolean tryPublishEvents(T[] events, int offset, int length) {
+		if (length > capacity) {
+			throw new IllegalArgumentException("length: " + length + ", capacity: " + capacity);
+		}
+		if (length <= 0) {
+			return true;
+		}
+		long sequence = tryClaim(length);
+		if (sequence < 0) {
+			return false;
+		}
+		publish(sequence, events, offset, length);
+		return true;
+	}
+
+	/**
+	 * 推进写入位置
+	 * <p>
+	 * 向后推进连续可用的位置。每个发布者设置可用标记之后都会调用，可用标记的写入和写入位置的读取都是volatile语义，
+	 * 所以，最后一个设置可用标记的发布者一定能看到之前所有的可用标记，写入位置不会停在可用的位置之前。
+	 */
+	private void advance() {
+		while (true) {
+			long current = published.value;
+			long next = current;
+			while (isPublished(next)) {
+				next++;
+			}
+			if (next == current) {
+				return;
+			}
+			if (published.compareAndSet(current, next)) {
+				// 写入位置越过了一轮，这一轮的溢出段可能已经可以释放
+				if (directory != null && (current >> shift) != (next >> shift)) {
+					release();
+				}
+				return;
+			}
+		}
+	}
+
+	private boolean isPublished(long sequence) {
+		int offset = (int) (sequence & mark);
+		long value = (long) SS.getVolatile(sequences, sequenceIndex(offset));
+		if (!elastic) {
+			return value == (sequence << 1 | FULL);
+		}
+		if (value == (sequence << 1 | FULL)) {
+			return EE.getVolatile(events, eventIndex(offset)) != null;
+		}
+		Segment segment = find(sequence);
+		return segment != null && EE.getVolatile(segment.events, offset) != null;
+	}
+
+	/**
+	 * 等待事件可见
+	 * <p>
+	 * 之前占用的发布者还没有完成写入时，写入位置停留在它的事件序列上。
+	 *
+	 * @param sequence 事件序列
+	 */
+	private void await(long sequence) {
+		for (int spins = 0; published.value <= sequence; spins++) {
+			if (spins < SPINS) {
+				Thread.onSpinWait();
+			} else {
+				Thread.yield();
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public @Nullable T getEvent(long sequence) {
+		int offset = (int) (sequence & mark);
+		// 访问顺序：事件 -> 事件序列，与写入顺序相反
+		Object event = EE.getAcquire(events, eventIndex(offset));
+		long value = (long) SS.getAcquire(sequences, sequenceIndex(offset));
+		// check version
+		if (value == (sequence << 1 | FULL)) {
+			return (T) event;
+		}
+		if (elastic) {
+			Segment segment = find(sequence);
+			if (segment != null) {
+				return (T) EE.getAcquire(segment.events, offset);
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void removeEvent(long sequence) {
+		int offset = (int) (sequence & mark);
+		if (elastic && (long) SS.getVolatile(sequences, sequenceIndex(offset)) != (sequence << 1 | FULL)) {
+			// 事件在溢出段中，段中的事件移除之前，段不会被释放
+			Segment segment = find(sequence);
+			EE.setVolatile(segment.events, offset, null);
+			if (segment.pending.decrementAndGet() == 0) {
+				release();
+			}
+			return;
+		}
+		EE.setRelease(events, eventIndex(offset), null);
+		SS.setVolatile(sequences, sequenceIndex(offset), sequence << 1);
+	}
+
+	/**
+	 * 查找事件序列所在的溢出段
+	 *
+	 * @param sequence 事件序列
+	 * @return 溢出段，不存在或者已经释放时返回{@code null}
+	 */
+	private @Nullable Segment find(long sequence) {
+		Directory directory = this.directory;
+		if (directory == null) {
+			return null;
+		}
+		long index = (sequence >> shift) - directory.first;
+		if (index < 0 || index >= directory.segments.length) {
+			return null;
+		}
+		return (Segment) DD.getAcquire(directory.segments, (int) index);
+	}
+
+	/**
+	 * 返回事件序列所在的溢出段，不存在时创建
+	 *
+	 * @param sequence 事件序列
+	 * @return 溢出段
+	 */
+	private Segment segment(long sequence) {
+		Segment segment = find(sequence);
+		if (segment != null) {
+			return segment;
+		}
+		final ReentrantLock lock = this.segmentLock;
+		lock.lock();
+		try {
+			long lap = sequence >> shift;
+			Directory directory = this.directory;
+			if (directory == null) {
+				directory = new Directory(lap, new Segment[INITIAL_DIRECTORY]);
+			} else if (lap < directory.first || lap >= directory.first + directory.segments.length) {
+				// 目录扩容，同时容纳已有的溢出段和新的轮次
+				long first = Math.min(directory.first, lap);
+				long last = Math.max(directory.first + directory.segments.length, lap + 1);
+				Segment[] segments = new Segment[(int) Math.max(directory.segments.length << 1, last - first)];
+				System.arraycopy(directory.segments, 0, segments, (int) (directory.first - first), directory.segments.length);
+				directory = new Directory(first, segments);
+			}
+			int index = (int) (lap - directory.first);
+			segment = directory.segments[index];
+			if (segment == null) {
+				segment = new Segment(capacity);
+				DD.setRelease(directory.segments, index, segment);
+			}
+			this.directory = directory;
+			return segment;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 释放溢出段
+	 * <p>
+	 * 释放所有事件序列都已发布，并且溢出的事件都已移除的溢出段。目录前部空闲过半时收缩，全部空闲时移除。
+	 * 持有旧目录的消费者只会读到已经释放的溢出段，其中的事件都已移除。
+	 */
+	private void release() {
+		final ReentrantLock lock = this.segmentLock;
+		lock.lock();
+		try {
+			Directory directory = this.directory;
+			if (directory == null) {
+				return;
+			}
+			Segment[] segments = directory.segments;
+			// 写入位置所在的轮次尚未全部发布
+			long sealed = Math.min(segments.length, (published.value >> shift) - directory.first);
+			for (int i = 0; i < sealed; i++) {
+				Segment segment = segments[i];
+				if (segment != null && segment.pending.get() == 0) {
+					DD.setRelease(segments, i, null);
+				}
+			}
+			int free = 0;
+			while (free < segments.length && segments[free] == null) {
+				free++;
+			}
+			if (free == segments.length) {
+				this.directory = null;
+			} else if (free >= segments.length >> 1) {
+				Segment[] copy = new Segment[segments.length];
+				System.arraycopy(segments, free, copy, 0, segments.length - free);
+				this.directory = new Directory(directory.first + free, copy);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 返回溢出段的数量
+	 *
+	 * @return 溢出段的数量
+	 */
+	public int segments() {
+		Directory directory = this.directory;
+		int count = 0;
+		if (directory != null) {
+			for (int i = 0; i < directory.segments.length; i++) {
+				if (DD.getAcquire(directory.segments, i) != null) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public boolean eof(long readerIndex) {
+		return readerIndex >= limitIndex;
+	}
+
+	@Override
+	public void shutdown() {
+		long sequence = cursor.getAndBitwiseOr(CLOSED);
+		if ((sequence & CLOSED) == 0) {
+			limitIndex = sequence;
+		}
+	}
+
+	/**
+	 * 溢出段
+	 * <p>
+	 * 容纳一轮事件序列中溢出的事件，事件在段中的位置与在环形缓冲区中的位置相同。
+	 */
+	private static final class Segment {
+
+		/**
+		 * 溢出的事件
+		 */
+		final Object[] events;
+
+		/**
+		 * 尚未移除的事件数量
+		 */
+		final AtomicInteger pending = new AtomicInteger();
+
+		Segment(int capacity) {
+			this.events = new Object[capacity];
+		}
+	}
+
+	/**
+	 * 溢出段目录
+	 * <p>
+	 * 下标{@code i}是第{@code first + i}轮的溢出段。目录的范围不变，扩容和收缩时创建新的目录。
+	 */
+	private static final class Directory {
+
+		/**
+		 * 第一个溢出段的轮次
+		 */
+		final long first;
+
+		/**
+		 * 溢出段
+		 */
+		final Segment[] segments;
+
+		Directory(long first, Segment[] segments) {
+			this.first = first;
+			this.segments = segments;
+		}
+	}
+
+	/**
+	 * 填充的事件序列
+	 * <p>
+	 * 占用位置由所有发布者竞争，写入位置由所有消费者读取，两端填充避免与其它字段伪共享。
+	 * {@code @Contended}需要{@code -XX:-RestrictContended}才能生效，所以通过继承手动填充。
+	 */
+	private static class LhsPadding {
+		protected long p1, p2, p3, p4, p5, p6, p7;
+	}
+
+	private static class Value extends LhsPadding {
+		protected volatile long value;
+	}
+
+	private static final class Sequence extends Value {
+
+		private static final VarHandle VV = MiscUtils.findVarHandle(Value.class, "value", long.class);
+
+		protected long p9, p10, p11, p12, p13, p14, p15;
+
+		long getAndIncrement() {
+			return (long) VV.getAndAdd(this, 1L);
+		}
+
+		long getAndBitwiseOr(long mask) {
+			return (long) VV.getAndBitwiseOr(this, mask);
+		}
+
+		boolean compareAndSet(long expected, long newValue) {
+			return VV.compareAndSet(this, expected, newValue);
+		}
+	}
+}
@@ -123,6 +123,22 @@ public class DefaultEventBus<T> implements EventBus<T> {
 
 	@Override
 	public boolean publishEvent(T event) {
+		return publishEvent(event, true);
+	}
+
+	@Override
+	public boolean tryPublishEvent(T event) {
+		return publishEvent(event, false);
+	}
+
+	/**
+	 * 发布一个事件
+	 *
+	 * @param event 事件
+	 * @param wait  事件总线已满时是否等待
+	 * @return {@code true}发布成功，{@code false}发布失败
+	 */
+	private boolean publishEvent(T event, boolean wait) {
 		while (true) {
 			long sequence = writerIndex;
 			int offset = (int) (sequence & mark);
@@ -142,12 +158,98 @@ public class DefaultEventBus<T> implements EventBus<T> {
 				writerIndex = sequence + 1;
 				return true;
 			} else {
-				// TODO 调用拒绝策略
+				if (!wait && isFull(node, sequence)) {
+					return false;
+				}
+				Thread.yield();
+			}
+		}
+	}
+
+	@Override
+	public boolean publishEvents(T[] events, int offset, int length) {
+		return publishEvents(events, offset, length, true);
+	}
+
+	@Override
+	public boolean tryPublishEvents(T[] events, int offset, int length) {
+		return publishEvents(events, offset, length, false);
+	}
+
+	/**
+	 * 批量发布事件
+	 *
+	 * @param events 事件
+	 * @param offset 第一个事件的位置
+	 * @param length 事件数量
+	 * @param wait   空闲位置不足时是否等待
+	 * @return {@code true}发布成功，{@code false}发布失败
+	 */
+	private boolean publishEvents(T[] events, int offset, int length, boolean wait) {
+		if (length > capacity) {
+			throw new IllegalArgumentException("length: " + length + ", capacity: " + capacity);
+		}
+		if (length <= 0) {
+			return true;
+		}
+		while (true) {
+			long sequence = writerIndex;
+			int offset0 = (int) (sequence & mark);
+			Node<T> node = buffer[offset0];
+			if (node.casState(Node.STATE_FREE, Node.STATE_FULL)) {
+				// recheck
+				if (sequence != writerIndex) {
+					// rollback state
+					node.state = Node.STATE_FREE;
+					continue;
+				}
+				if (sequence >= limitIndex) {
+					return false;
+				}
+				// 已经竞争到写入位置，其它生产者只能等待写入位置的更新，依次占用后续的位置
+				for (int i = 1; i < length; i++) {
+					Node<T> next = buffer[(int) ((sequence + i) & mark)];
+					while (!next.casState(Node.STATE_FREE, Node.STATE_FULL)) {
+						if (!wait) {
+							// 空闲位置不足，按照相反的顺序回滚，最后释放写入位置
+							for (int j = i - 1; j >= 0; j--) {
+								buffer[(int) ((sequence + j) & mark)].state = Node.STATE_FREE;
+							}
+							return false;
+						}
+						Thread.yield();
+					}
+				}
+				for (int i = 0; i < length; i++) {
+					Node<T> next = buffer[(int) ((sequence + i) & mark)];
+					next.sequence = sequence + i;
+					next.event = events[offset + i];
+				}
+				// 一次更新写入位置，所有事件同时可见
+				writerIndex = sequence + length;
+				return true;
+			} else {
+				if (!wait && isFull(node, sequence)) {
+					return false;
+				}
 				Thread.yield();
 			}
 		}
 	}
 
+	/**
+	 * 返回节点是否被上一轮的事件占用
+	 * <p>
+	 * 锁定失败时，节点可能被上一轮的事件占用，也可能被其它发布者锁定，被锁定的节点上还没有写入事件。
+	 *
+	 * @param node     节点
+	 * @param sequence 事件序列
+	 * @return {@code true}上一轮的事件尚未移除
+	 */
+	private boolean isFull(Node<T> node, long sequence) {
+		return node.sequence == sequence - capacity && node.event != null && node.state == Node.STATE_FULL;
+	}
+
 	@Override
 	public @Nullable T getEvent(long sequence) {
 		int offset = (int) (sequence & mark);
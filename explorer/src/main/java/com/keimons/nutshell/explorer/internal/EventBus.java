@@ -103,12 +103,49 @@ public interface EventBus<T> {
 
 	/**
 	 * 发布一个事件
+	 * <p>
+	 * 事件总线已满时，等待消费者移除事件。
 	 *
 	 * @param event 事件
 	 * @return {@code true}发布成功，{@code false}发布失败
 	 */
 	boolean publishEvent(T event);
 
+	/**
+	 * 尝试发布一个事件
+	 * <p>
+	 * 事件总线已满时不等待，直接返回，由调用者决定等待或拒绝。
+	 *
+	 * @param event 事件
+	 * @return {@code true}发布成功，{@code false}事件总线已满或已关闭
+	 */
+	boolean tryPublishEvent(T event);
+
+	/**
+	 * 批量发布事件
+	 * <p>
+	 * 一次性占用连续的位置，发布所有事件，事件要么全部发布成功，要么全部发布失败。
+	 * 所有事件对于消费者是同时可见的。
+	 *
+	 * @param events 事件
+	 * @param offset 第一个事件的位置
+	 * @param length 事件数量，不能超过事件总线的容量
+	 * @return {@code true}发布成功，{@code false}发布失败
+	 */
+	boolean publishEvents(T[] events, int offset, int length);
+
+	/**
+	 * 尝试批量发布事件
+	 * <p>
+	 * 空闲位置不足以容纳所有事件时不等待，直接返回，不会发布任何事件。
+	 *
+	 * @param events 事件
+	 * @param offset 第一个事件的位置
+	 * @param length 事件数量，不能超过事件总线的容量
+	 * @return {@code true}发布成功，{@code false}空闲位置不足或事件总线已关闭
+	 */
+	boolean tryPublishEvents(T[] events, int offset, int length);
+
 	/**
 	 * 返回事件序列对应的事件
 	 * <p>
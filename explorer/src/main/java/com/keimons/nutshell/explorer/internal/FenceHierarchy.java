@@ -0,0 +1,127 @@
+package com.keimons.nutshell.explorer.internal;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 执行屏障层级
+ * <p>
+ * 记录子屏障到父屏障的绑定关系，例如玩家到组织。只支持两层：父屏障不能再绑定到其它父屏障，子屏障也不能作为父屏障。
+ * 绑定和解绑是少见的操作，使用对象锁串行化；查询由生产者线程在发布任务时调用，是无锁的。
+ * 没有任何绑定时，查询只读取一个{@code volatile}字段。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class FenceHierarchy {
+
+	/**
+	 * 子屏障 -> 父屏障
+	 */
+	private final ConcurrentHashMap<Object, Object> parents = new ConcurrentHashMap<>();
+
+	/**
+	 * 父屏障 -> 子屏障数量
+	 * <p>
+	 * 仅在持有对象锁时修改。
+	 */
+	private final Map<Object, Integer> children = new HashMap<>();
+
+	/**
+	 * 父屏障
+	 * <p>
+	 * {@link #children}的快照，供无锁读取。
+	 */
+	private volatile Map<Object, Integer> snapshot = Map.of();
+
+	/**
+	 * 绑定数量
+	 */
+	private volatile int size;
+
+	/**
+	 * 绑定子屏障到父屏障
+	 * <p>
+	 * 重复绑定到同一个父屏障时，没有额外的效果。
+	 *
+	 * @param child  子屏障
+	 * @param parent 父屏障
+	 * @throws IllegalArgumentException 子屏障是父屏障，或者父屏障是子屏障
+	 * @throws IllegalStateException    子屏障已经绑定到其它父屏障
+	 */
+	public synchronized void bind(Object child, Object parent) {
+		if (child.equals(parent) || children.containsKey(child) || parents.containsKey(parent)) {
+			throw new IllegalArgumentException("only two levels supported, child: " + child + ", parent: " + parent);
+		}
+		Object old = parents.putIfAbsent(child, parent);
+		if (old != null) {
+			if (!old.equals(parent)) {
+				throw new IllegalStateException("child " + child + " already bound to " + old);
+			}
+			return;
+		}
+		children.merge(parent, 1, Integer::sum);
+		snapshot = Map.copyOf(children);
+		size++;
+	}
+
+	/**
+	 * 解除子屏障的绑定
+	 *
+	 * @param child 子屏障
+	 * @return {@code true}解除成功，{@code false}子屏障没有绑定
+	 */
+	public synchronized boolean unbind(Object child) {
+		Object parent = parents.remove(child);
+		if (parent == null) {
+			return false;
+		}
+		children.computeIfPresent(parent, (k, v) -> v == 1 ? null : v - 1);
+		snapshot = Map.copyOf(children);
+		size--;
+		return true;
+	}
+
+	/**
+	 * 返回是否没有任何绑定
+	 *
+	 * @return {@code true}没有绑定，{@code false}有绑定
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * 返回执行屏障是否位于层级中（父屏障或子屏障）
+	 *
+	 * @param fence 执行屏障
+	 * @return {@code true}位于层级中，{@code false}普通的执行屏障
+	 */
+	public boolean contains(Object fence) {
+		return size > 0 && (parents.containsKey(fence) || snapshot.containsKey(fence));
+	}
+
+	/**
+	 * 返回执行屏障是否为父屏障
+	 *
+	 * @param fence 执行屏障
+	 * @return {@code true}父屏障，{@code false}不是父屏障
+	 */
+	public boolean isParent(Object fence) {
+		return size > 0 && snapshot.containsKey(fence);
+	}
+
+	/**
+	 * 返回子屏障绑定的父屏障
+	 *
+	 * @param fence 执行屏障
+	 * @return 父屏障，没有绑定时返回{@code null}
+	 */
+	public @Nullable Object parent(Object fence) {
+		return size > 0 ? parents.get(fence) : null;
+	}
+}
@@ -0,0 +1,727 @@
+package com.keimons.nutshell.explorer.internal;
+
+import java.util.Arrays;
+
+/**
+ * 执行屏障计数表
+ * <p>
+ * 开放寻址（线性探测）的哈希多重集合，记录执行屏障以及屏障出现的次数。屏障使用{@link Object#equals(Object)}比较。
+ * 移除时采用后移删除，不会留下墓碑，查找的代价不会随着添加和移除而劣化。
+ * <p>
+ * 执行屏障分为读屏障和写屏障，表中同时记录写屏障出现的次数。读屏障只与写屏障冲突，
+ * 使用{@link #containsWrite(Object)}判断；写屏障与所有屏障冲突，使用{@link #contains(Object)}判断。
+ * <p>
+ * 全局屏障与所有执行屏障冲突，只记录出现的次数，使用{@link #containsGlobal()}判断。
+ * <p>
+ * 表中记录执行屏障的哈希值，探测时先比较哈希值，只有哈希值相同时才调用{@link Object#equals(Object)}。
+ * 调用者可以预先计算执行屏障的哈希值{@link #hash(Object)}，避免每次查找都重新计算。
+ * <p>
+ * 表中同时维护所有执行屏障的签名（64位的布隆过滤器，每个执行屏障占用1位，参考{@link #signature(int)}）。
+ * 节点的签名与表的签名不相交时，节点的所有执行屏障都不在表中，使用{@link #intersects(long)}判断，
+ * 不需要逐个查找执行屏障。
+ * <p>
+ * {@code long}执行屏障记录在独立的原始类型表中，使用{@code ==}比较，不会装箱。方法名带有{@code Long}后缀，
+ * 避免{@code int}执行屏障被拓宽为{@code long}。
+ * {@link Long}执行屏障与相同值的{@code long}执行屏障是同一个执行屏障，同样记录在原始类型表中。
+ * <p>
+ * 非线程安全，仅由单个线程使用。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class FenceTable {
+
+	/**
+	 * 执行屏障
+	 */
+	private Object[] keys;
+
+	/**
+	 * 执行屏障的哈希值
+	 */
+	private int[] hashes;
+
+	/**
+	 * 执行屏障出现的次数
+	 */
+	private int[] counts;
+
+	/**
+	 * 执行屏障作为写屏障出现的次数
+	 */
+	private int[] writes;
+
+	/**
+	 * 掩码
+	 */
+	private int mask;
+
+	/**
+	 * 清空前添加过执行屏障的位置
+	 * <p>
+	 * 后移删除只会把执行屏障移动到添加过执行屏障的位置上，所以清空时只需要清除这些位置，
+	 * 代价与添加的次数有关，而与容量无关。记录的位置超过容量的一半时，不再记录，清空时清除整个表。
+	 */
+	private int[] slots;
+
+	/**
+	 * 记录的位置数量，为{@code -1}时，不再记录
+	 */
+	private int slotCount;
+
+	/**
+	 * 执行屏障数量（不含重复）
+	 */
+	private int size;
+
+	/**
+	 * 全局屏障出现的次数
+	 */
+	private int globals;
+
+	/**
+	 * {@code long}执行屏障
+	 */
+	private long[] longKeys;
+
+	/**
+	 * {@code long}执行屏障出现的次数，为{@code 0}时，位置为空
+	 */
+	private int[] longCounts;
+
+	/**
+	 * {@code long}执行屏障作为写屏障出现的次数
+	 */
+	private int[] longWrites;
+
+	/**
+	 * {@code long}执行屏障的掩码
+	 */
+	private int longMask;
+
+	/**
+	 * 清空前添加过{@code long}执行屏障的位置，参考{@link #slots}
+	 */
+	private int[] longSlots;
+
+	/**
+	 * 记录的{@code long}执行屏障位置数量，为{@code -1}时，不再记录
+	 */
+	private int longSlotCount;
+
+	/**
+	 * {@code long}执行屏障数量（不含重复）
+	 */
+	private int longSize;
+
+	/**
+	 * 所有执行屏障的签名
+	 */
+	private long signature;
+
+	/**
+	 * 签名中每一位对应的执行屏障数量（不含重复），为{@code 0}时，清除签名中的这一位
+	 */
+	private final int[] signatureCounts = new int[Long.SIZE];
+
+	public FenceTable() {
+		this(16);
+	}
+
+	/**
+	 * 执行屏障计数表
+	 *
+	 * @param capacity 初始容量，向上取整到2的幂
+	 */
+	public FenceTable(int capacity) {
+		int n = Integer.highestOneBit(Math.max(capacity, 4) - 1) << 1;
+		this.keys = new Object[n];
+		this.hashes = new int[n];
+		this.counts = new int[n];
+		this.writes = new int[n];
+		this.mask = n - 1;
+		this.slots = new int[n >> 1];
+		this.longKeys = new long[n];
+		this.longCounts = new int[n];
+		this.longWrites = new int[n];
+		this.longMask = n - 1;
+		this.longSlots = new int[n >> 1];
+	}
+
+	/**
+	 * 返回执行屏障的哈希值
+	 * <p>
+	 * {@link Long}执行屏障与相同值的{@code long}执行屏障有相同的哈希值。
+	 *
+	 * @param fence 执行屏障
+	 * @return 哈希值
+	 */
+	public static int hash(Object fence) {
+		if (fence instanceof Long v) {
+			return hash(v.longValue());
+		}
+		int h = fence.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * 返回{@code long}执行屏障的哈希值
+	 *
+	 * @param fence 执行屏障
+	 * @return 哈希值
+	 */
+	public static int hash(long fence) {
+		int h = Long.hashCode(fence) * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * 返回执行屏障的签名
+	 * <p>
+	 * 使用哈希值的高6位选择64位中的1位，低位用于在表中定位，两者相互独立。
+	 * 多个执行屏障的签名按位或，得到节点的签名。
+	 *
+	 * @param hash 执行屏障的哈希值
+	 * @return 签名
+	 */
+	public static long signature(int hash) {
+		return 1L << (hash >>> 26);
+	}
+
+	/**
+	 * 返回签名是否与表中的执行屏障相交
+	 * <p>
+	 * 返回{@code false}时，签名对应的执行屏障都不在表中；返回{@code true}时，需要逐个查找执行屏障。
+	 *
+	 * @param signature 签名
+	 * @return {@code true}可能相交，{@code false}一定不相交
+	 */
+	public boolean intersects(long signature) {
+		return (this.signature & signature) != 0;
+	}
+
+	/**
+	 * 返回是否包含执行屏障
+	 *
+	 * @param fence 执行屏障
+	 * @return {@code true}包含，{@code false}不包含
+	 */
+	public boolean contains(Object fence) {
+		return contains(fence, hash(fence));
+	}
+
+	/**
+	 * 返回是否包含执行屏障
+	 *
+	 * @param fence 执行屏障
+	 * @param hash  执行屏障的哈希值，参考{@link #hash(Object)}
+	 * @return {@code true}包含，{@code false}不包含
+	 */
+	public boolean contains(Object fence, int hash) {
+		if (fence instanceof Long v) {
+			return containsLong(v.longValue());
+		}
+		if (size == 0) {
+			return false;
+		}
+		Object[] keys = this.keys;
+		int[] hashes = this.hashes;
+		for (int i = hash & mask; ; i = (i + 1) & mask) {
+			Object key = keys[i];
+			if (key == null) {
+				return false;
+			}
+			if (key == fence || (hashes[i] == hash && key.equals(fence))) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * 返回是否包含写屏障
+	 *
+	 * @param fence 执行屏障
+	 * @return {@code true}包含，{@code false}不包含或者仅作为读屏障出现
+	 */
+	public boolean containsWrite(Object fence) {
+		return containsWrite(fence, hash(fence));
+	}
+
+	/**
+	 * 返回是否包含写屏障
+	 *
+	 * @param fence 执行屏障
+	 * @param hash  执行屏障的哈希值，参考{@link #hash(Object)}
+	 * @return {@code true}包含，{@code false}不包含或者仅作为读屏障出现
+	 */
+	public boolean containsWrite(Object fence, int hash) {
+		if (fence instanceof Long v) {
+			return containsWriteLong(v.longValue());
+		}
+		if (size == 0) {
+			return false;
+		}
+		Object[] keys = this.keys;
+		int[] hashes = this.hashes;
+		for (int i = hash & mask; ; i = (i + 1) & mask) {
+			Object key = keys[i];
+			if (key == null) {
+				return false;
+			}
+			if (key == fence || (hashes[i] == hash && key.equals(fence))) {
+				return writes[i] > 0;
+			}
+		}
+	}
+
+	/**
+	 * 添加写屏障
+	 *
+	 * @param fence 执行屏障
+	 * @see #add(Object, boolean)
+	 */
+	public void add(Object fence) {
+		add(fence, false);
+	}
+
+	/**
+	 * 添加执行屏障
+	 * <p>
+	 * 执行屏障已存在时，增加出现的次数。
+	 *
+	 * @param fence 执行屏障
+	 * @param read  是否读屏障
+	 */
+	public void add(Object fence, boolean read) {
+		add(fence, hash(fence), read);
+	}
+
+	/**
+	 * 添加执行屏障
+	 *
+	 * @param fence 执行屏障
+	 * @param hash  执行屏障的哈希值，参考{@link #hash(Object)}
+	 * @param read  是否读屏障
+	 * @see #add(Object, boolean)
+	 */
+	public void add(Object fence, int hash, boolean read) {
+		if (fence instanceof Long v) {
+			addLong(v.longValue(), read);
+			return;
+		}
+		Object[] keys = this.keys;
+		int[] hashes = this.hashes;
+		int i = hash & mask;
+		for (; ; i = (i + 1) & mask) {
+			Object key = keys[i];
+			if (key == null) {
+				break;
+			}
+			if (key == fence || (hashes[i] == hash && key.equals(fence))) {
+				counts[i]++;
+				if (!read) {
+					writes[i]++;
+				}
+				return;
+			}
+		}
+		keys[i] = fence;
+		hashes[i] = hash;
+		counts[i] = 1;
+		writes[i] = read ? 0 : 1;
+		mark(hash);
+		if (slotCount >= 0) {
+			slotCount = slotCount < slots.length ? record(slots, slotCount, i) : -1;
+		}
+		// 负载因子0.5
+		if (++size << 1 > keys.length) {
+			resize();
+		}
+	}
+
+	/**
+	 * 移除写屏障
+	 *
+	 * @param fence 执行屏障
+	 * @see #remove(Object, boolean)
+	 */
+	public void remove(Object fence) {
+		remove(fence, false);
+	}
+
+	/**
+	 * 移除执行屏障
+	 * <p>
+	 * 减少出现的次数，次数归零时移除执行屏障。
+	 *
+	 * @param fence 执行屏障
+	 * @param read  是否读屏障，必须与添加时一致
+	 */
+	public void remove(Object fence, boolean read) {
+		remove(fence, hash(fence), read);
+	}
+
+	/**
+	 * 移除执行屏障
+	 *
+	 * @param fence 执行屏障
+	 * @param hash  执行屏障的哈希值，参考{@link #hash(Object)}
+	 * @param read  是否读屏障，必须与添加时一致
+	 * @see #remove(Object, boolean)
+	 */
+	public void remove(Object fence, int hash, boolean read) {
+		if (fence instanceof Long v) {
+			removeLong(v.longValue(), read);
+			return;
+		}
+		Object[] keys = this.keys;
+		int[] hashes = this.hashes;
+		int i = hash & mask;
+		for (; ; i = (i + 1) & mask) {
+			Object key = keys[i];
+			if (key == null) {
+				return;
+			}
+			if (key == fence || (hashes[i] == hash && key.equals(fence))) {
+				break;
+			}
+		}
+		if (!read) {
+			writes[i]--;
+		}
+		if (--counts[i] > 0) {
+			return;
+		}
+		unmark(hash);
+		// 后移删除：将后续探测链上的元素前移，填补空位
+		int mask = this.mask;
+		for (int j = (i + 1) & mask; ; j = (j + 1) & mask) {
+			Object key = keys[j];
+			if (key == null) {
+				break;
+			}
+			int home = hashes[j] & mask;
+			// 元素的理想位置不在(i, j]区间内时，可以前移到i
+			if (i <= j ? (home <= i || home > j) : (home <= i && home > j)) {
+				keys[i] = key;
+				hashes[i] = hashes[j];
+				counts[i] = counts[j];
+				writes[i] = writes[j];
+				i = j;
+			}
+		}
+		keys[i] = null;
+		counts[i] = 0;
+		writes[i] = 0;
+		size--;
+	}
+
+	/**
+	 * 返回是否包含{@code long}执行屏障
+	 *
+	 * @param fence 执行屏障
+	 * @return {@code true}包含，{@code false}不包含
+	 * @see #contains(Object)
+	 */
+	public boolean containsLong(long fence) {
+		if (longSize == 0) {
+			return false;
+		}
+		long[] keys = this.longKeys;
+		int[] counts = this.longCounts;
+		for (int i = hash(fence) & longMask; ; i = (i + 1) & longMask) {
+			if (counts[i] == 0) {
+				return false;
+			}
+			if (keys[i] == fence) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * 返回是否包含{@code long}写屏障
+	 *
+	 * @param fence 执行屏障
+	 * @return {@code true}包含，{@code false}不包含或者仅作为读屏障出现
+	 * @see #containsWrite(Object)
+	 */
+	public boolean containsWriteLong(long fence) {
+		if (longSize == 0) {
+			return false;
+		}
+		long[] keys = this.longKeys;
+		int[] counts = this.longCounts;
+		for (int i = hash(fence) & longMask; ; i = (i + 1) & longMask) {
+			if (counts[i] == 0) {
+				return false;
+			}
+			if (keys[i] == fence) {
+				return longWrites[i] > 0;
+			}
+		}
+	}
+
+	/**
+	 * 添加{@code long}执行屏障
+	 *
+	 * @param fence 执行屏障
+	 * @param read  是否读屏障
+	 * @see #add(Object, boolean)
+	 */
+	public void addLong(long fence, boolean read) {
+		long[] keys = this.longKeys;
+		int[] counts = this.longCounts;
+		int i = hash(fence) & longMask;
+		for (; counts[i] != 0; i = (i + 1) & longMask) {
+			if (keys[i] == fence) {
+				counts[i]++;
+				if (!read) {
+					longWrites[i]++;
+				}
+				return;
+			}
+		}
+		keys[i] = fence;
+		counts[i] = 1;
+		longWrites[i] = read ? 0 : 1;
+		mark(hash(fence));
+		if (longSlotCount >= 0) {
+			longSlotCount = longSlotCount < longSlots.length ? record(longSlots, longSlotCount, i) : -1;
+		}
+		// 负载因子0.5
+		if (++longSize << 1 > keys.length) {
+			resizeLong();
+		}
+	}
+
+	/**
+	 * 移除{@code long}执行屏障
+	 *
+	 * @param fence 执行屏障
+	 * @param read  是否读屏障，必须与添加时一致
+	 * @see #remove(Object, boolean)
+	 */
+	public void removeLong(long fence, boolean read) {
+		long[] keys = this.longKeys;
+		int[] counts = this.longCounts;
+		int[] writes = this.longWrites;
+		int mask = this.longMask;
+		int i = hash(fence) & mask;
+		for (; ; i = (i + 1) & mask) {
+			if (counts[i] == 0) {
+				return;
+			}
+			if (keys[i] == fence) {
+				break;
+			}
+		}
+		if (!read) {
+			writes[i]--;
+		}
+		if (--counts[i] > 0) {
+			return;
+		}
+		unmark(hash(fence));
+		// 后移删除，参考remove(Object, boolean)
+		for (int j = (i + 1) & mask; counts[j] != 0; j = (j + 1) & mask) {
+			int home = hash(keys[j]) & mask;
+			if (i <= j ? (home <= i || home > j) : (home <= i && home > j)) {
+				keys[i] = keys[j];
+				counts[i] = counts[j];
+				writes[i] = writes[j];
+				i = j;
+			}
+		}
+		counts[i] = 0;
+		writes[i] = 0;
+		longSize--;
+	}
+
+	/**
+	 * 记录新的执行屏障的签名
+	 *
+	 * @param hash 执行屏障的哈希值
+	 */
+	private void mark(int hash) {
+		int bit = hash >>> 26;
+		if (signatureCounts[bit]++ == 0) {
+			signature |= 1L << bit;
+		}
+	}
+
+	/**
+	 * 移除执行屏障的签名
+	 *
+	 * @param hash 执行屏障的哈希值
+	 */
+	private void unmark(int hash) {
+		int bit = hash >>> 26;
+		if (--signatureCounts[bit] == 0) {
+			signature &= ~(1L << bit);
+		}
+	}
+
+	/**
+	 * 添加全局屏障
+	 */
+	public void addGlobal() {
+		globals++;
+	}
+
+	/**
+	 * 移除全局屏障
+	 */
+	public void removeGlobal() {
+		globals--;
+	}
+
+	/**
+	 * 返回是否包含全局屏障
+	 *
+	 * @return {@code true}包含，{@code false}不包含
+	 */
+	public boolean containsGlobal() {
+		return globals > 0;
+	}
+
+	/**
+	 * 返回执行屏障数量（不含重复）
+	 *
+	 * @return 执行屏障数量
+	 */
+	public int size() {
+		return size + longSize;
+	}
+
+	/**
+	 * 返回是否没有任何执行屏障（包括全局屏障）
+	 *
+	 * @return {@code true}没有执行屏障，{@code false}有执行屏障
+	 */
+	public boolean isEmpty() {
+		return size == 0 && longSize == 0 && globals == 0;
+	}
+
+	/**
+	 * 清空所有执行屏障
+	 * <p>
+	 * 只清除上次清空后添加过执行屏障的位置，表在突发流量中扩容后，清空的代价不会随之增长。
+	 */
+	public void clear() {
+		globals = 0;
+		if (size > 0) {
+			Object[] keys = this.keys;
+			if (slotCount < 0) {
+				Arrays.fill(keys, null);
+			} else {
+				int[] slots = this.slots;
+				for (int i = 0; i < slotCount; i++) {
+					keys[slots[i]] = null;
+				}
+			}
+			size = 0;
+		}
+		slotCount = 0;
+		if (longSize > 0) {
+			int[] counts = this.longCounts;
+			int[] writes = this.longWrites;
+			if (longSlotCount < 0) {
+				Arrays.fill(counts, 0);
+				Arrays.fill(writes, 0);
+			} else {
+				int[] slots = this.longSlots;
+				for (int i = 0; i < longSlotCount; i++) {
+					counts[slots[i]] = 0;
+					writes[slots[i]] = 0;
+				}
+			}
+			longSize = 0;
+		}
+		longSlotCount = 0;
+		if (signature != 0) {
+			Arrays.fill(signatureCounts, 0);
+			signature = 0;
+		}
+	}
+
+	private void resize() {
+		Object[] oldKeys = this.keys;
+		int[] oldHashes = this.hashes;
+		int[] oldCounts = this.counts;
+		int[] oldWrites = this.writes;
+		int n = oldKeys.length << 1;
+		Object[] keys = new Object[n];
+		int[] hashes = new int[n];
+		int[] counts = new int[n];
+		int[] writes = new int[n];
+		int[] slots = new int[n >> 1];
+		int mask = n - 1;
+		slotCount = 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			Object key = oldKeys[i];
+			if (key != null) {
+				int hash = oldHashes[i];
+				int j = hash & mask;
+				while (keys[j] != null) {
+					j = (j + 1) & mask;
+				}
+				keys[j] = key;
+				hashes[j] = hash;
+				counts[j] = oldCounts[i];
+				writes[j] = oldWrites[i];
+				slotCount = record(slots, slotCount, j);
+			}
+		}
+		this.keys = keys;
+		this.hashes = hashes;
+		this.counts = counts;
+		this.writes = writes;
+		this.mask = mask;
+		this.slots = slots;
+	}
+
+	private void resizeLong() {
+		long[] oldKeys = this.longKeys;
+		int[] oldCounts = this.longCounts;
+		int[] oldWrites = this.longWrites;
+		int n = oldKeys.length << 1;
+		long[] keys = new long[n];
+		int[] counts = new int[n];
+		int[] writes = new int[n];
+		int[] slots = new int[n >> 1];
+		int mask = n - 1;
+		longSlotCount = 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldCounts[i] != 0) {
+				int j = hash(oldKeys[i]) & mask;
+				while (counts[j] != 0) {
+					j = (j + 1) & mask;
+				}
+				keys[j] = oldKeys[i];
+				counts[j] = oldCounts[i];
+				writes[j] = oldWrites[i];
+				longSlotCount = record(slots, longSlotCount, j);
+			}
+		}
+		this.longKeys = keys;
+		this.longCounts = counts;
+		this.longWrites = writes;
+		this.longMask = mask;
+		this.longSlots = slots;
+	}
+
+	/**
+	 * 记录添加过执行屏障的位置
+	 *
+	 * @param slots 位置
+	 * @param count 记录的位置数量
+	 * @param index 添加执行屏障的位置
+	 * @return 记录后的位置数量
+	 */
+	private static int record(int[] slots, int count, int index) {
+		slots[count] = index;
+		return count + 1;
+	}
+}
@@ -0,0 +1,258 @@
+package com.keimons.nutshell.explorer.internal;
+
+import com.keimons.nutshell.explorer.utils.MiscUtils;
+import jdk.internal.vm.annotation.Contended;
+
+import java.lang.invoke.VarHandle;
+
+/**
+ * 带有通道的事件总线
+ * <p>
+ * {@link ArrayEventBus}中，每个消费者都要读取事件总线上的所有事件，并丢弃不属于自己的事件，
+ * 任务命中率仅有{@code 1/nLanes}，消费者越多，每个消费者读取的无用缓存行越多。
+ * <p>
+ * 这个事件总线在发布事件时，同时将事件序列追加到事件所在的每一个通道中，消费者只读取自己的通道，
+ * 通过通道中的事件序列访问事件总线，不再访问不属于自己的事件：
+ * <pre>
+ *                                   writerIndex
+ *                                   |
+ *           +-------+-------+-------+-------+
+ * EventBus  | task0 | task1 | task2 | task3 |
+ *           +-------+-------+-------+-------+
+ *           +---+---+                             +---------------------+
+ * LaneA ->  | 0 | 2 |                         --> | Thread-1, readIndex |
+ *           +---+---+---+                         |---------------------|
+ * LaneB ->  | 1 | 2 | 3 |                     --> | Thread-2, readIndex |
+ *           +---+---+---+                         +---------------------+
+ * </pre>
+ * 事件总线依然维护全局的事件序列，通道中的事件序列是在持有写入位置期间按照全局顺序追加的，
+ * 所以，每个消费者读取到的事件顺序与读取整个事件总线完全一致，交叉投递问题的处理方式不受影响。
+ * <p>
+ * 通道是一个可扩容的环形缓冲区，初始容量为{@code capacity / nLanes}，通道已满时，发布者扩容通道，
+ * 最大扩容至事件总线的容量。通道中的事件在被消费者读取前，始终占据事件总线上的位置，
+ * 所以，通道中未读取的事件数量不会超过事件总线的容量。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class LaneEventBus<T> extends ArrayEventBus<T> {
+
+	/**
+	 * 通道最小容量
+	 */
+	private static final int MIN_LANE_CAPACITY = 16;
+
+	/**
+	 * 通道选择器
+	 */
+	private final Selector<? super T> selector;
+
+	/**
+	 * 通道
+	 */
+	private final Lane[] lanes;
+
+	/**
+	 * 事件所在的通道
+	 * <p>
+	 * 仅在持有写入位置期间使用。
+	 */
+	private final int[] selected;
+
+	/**
+	 * 带有通道的事件总线
+	 *
+	 * @param capacity 容量
+	 * @param nLanes   通道数量
+	 * @param selector 通道选择器
+	 */
+	public LaneEventBus(int capacity, int nLanes, Selector<? super T> selector) {
+		super(capacity);
+		if (nLanes <= 0) {
+			throw new IllegalArgumentException("nLanes: " + nLanes);
+		}
+		this.selector = selector;
+		this.selected = new int[nLanes];
+		this.lanes = new Lane[nLanes];
+		// 通道的容量必须是2的幂
+		int maxCapacity = Math.max(Integer.highestOneBit(capacity - 1) << 1, MIN_LANE_CAPACITY);
+		int laneCapacity = Math.min(Math.max(Integer.highestOneBit(capacity / nLanes), MIN_LANE_CAPACITY), maxCapacity);
+		for (int i = 0; i < nLanes; i++) {
+			lanes[i] = new Lane(laneCapacity, maxCapacity);
+		}
+	}
+
+	@Override
+	protected void published(long sequence, T event) {
+		int[] selected = this.selected;
+		int count = selector.select(event, selected);
+		for (int i = 0; i < count; i++) {
+			lanes[selected[i]].append(sequence);
+		}
+	}
+
+	/**
+	 * 返回通道
+	 *
+	 * @param lane 通道编号
+	 * @return 通道
+	 */
+	public Lane lane(int lane) {
+		return lanes[lane];
+	}
+
+	/**
+	 * 通道选择器
+	 * <p>
+	 * 返回事件所在的通道，事件将会追加到这些通道中。
+	 *
+	 * @param <T> 事件类型
+	 */
+	@FunctionalInterface
+	public interface Selector<T> {
+
+		/**
+		 * 选择事件所在的通道
+		 *
+		 * @param event 事件
+		 * @param lanes 事件所在的通道（输出参数），不能包含重复的通道
+		 * @return 通道数量
+		 */
+		int select(T event, int[] lanes);
+	}
+
+	/**
+	 * 通道
+	 * <p>
+	 * 单生产者-单消费者的事件序列缓冲区，生产者是持有写入位置的发布者，消费者是通道所属的消费线程。
+	 * 消费者在{@link #writerIndex()}之前读取事件序列，每次读取之后，通过{@link #readerIndex(long)}更新读取位置，
+	 * 读取位置仅用于通道的扩容，生产者会缓存读取位置，通道已满时才会重新读取。
+	 */
+	public static final class Lane {
+
+		private static final VarHandle WW = MiscUtils.findVarHandle(Lane.class, "writerIndex", long.class);
+
+		private static final VarHandle RR = MiscUtils.findVarHandle(Lane.class, "readerIndex", long.class);
+
+		/**
+		 * 最大容量
+		 */
+		private final int maxCapacity;
+
+		/**
+		 * 事件序列
+		 * <p>
+		 * 扩容时替换为新的缓冲区，旧的缓冲区不再写入，消费者仍然可以从旧的缓冲区中读取扩容前写入的事件序列。
+		 */
+		private volatile long[] sequences;
+
+		/**
+		 * 写入位置
+		 */
+		@Contended
+		private volatile long writerIndex;
+
+		/**
+		 * 读取位置
+		 */
+		@Contended
+		private volatile long readerIndex;
+
+		/**
+		 * 生产者缓存的读取位置
+		 */
+		private long cachedReaderIndex;
+
+		/**
+		 * 生产者的写入位置
+		 * <p>
+		 * 与{@link #writerIndex}相同，仅由生产者访问，避免volatile读取。
+		 */
+		private long tail;
+
+		/**
+		 * 生产者的缓冲区
+		 * <p>
+		 * 与{@link #sequences}相同，仅由生产者访问，避免volatile读取。
+		 */
+		private long[] buffer;
+
+		private Lane(int capacity, int maxCapacity) {
+			this.buffer = this.sequences = new long[capacity];
+			this.maxCapacity = maxCapacity;
+		}
+
+		/**
+		 * 追加事件序列
+		 *
+		 * @param sequence 事件序列
+		 */
+		private void append(long sequence) {
+			long writerIndex = this.tail;
+			long[] sequences = this.buffer;
+			if (writerIndex - cachedReaderIndex >= sequences.length) {
+				while (writerIndex - (cachedReaderIndex = readerIndex) >= sequences.length) {
+					if (sequences.length < maxCapacity) {
+						sequences = grow(sequences, writerIndex);
+						break;
+					}
+					Thread.yield();
+				}
+			}
+			sequences[(int) (writerIndex & (sequences.length - 1))] = sequence;
+			this.tail = writerIndex + 1;
+			WW.setRelease(this, writerIndex + 1);
+		}
+
+		/**
+		 * 扩容
+		 * <p>
+		 * 复制旧的缓冲区中所有的事件序列，新的缓冲区在写入位置更新前发布。
+		 *
+		 * @param sequences   旧的缓冲区
+		 * @param writerIndex 写入位置
+		 * @return 新的缓冲区
+		 */
+		private long[] grow(long[] sequences, long writerIndex) {
+			long[] newSequences = new long[sequences.length << 1];
+			int oldMask = sequences.length - 1, newMask = newSequences.length - 1;
+			for (long i = writerIndex - sequences.length; i < writerIndex; i++) {
+				newSequences[(int) (i & newMask)] = sequences[(int) (i & oldMask)];
+			}
+			this.buffer = this.sequences = newSequences;
+			return newSequences;
+		}
+
+		/**
+		 * 返回写入位置
+		 *
+		 * @return 写入位置
+		 */
+		public long writerIndex() {
+			return writerIndex;
+		}
+
+		/**
+		 * 返回事件序列
+		 * <p>
+		 * 必须在{@link #writerIndex()}之后调用，并且{@code index < writerIndex()}。
+		 *
+		 * @param index 通道中的位置
+		 * @return 事件序列
+		 */
+		public long sequence(long index) {
+			long[] sequences = this.sequences;
+			return sequences[(int) (index & (sequences.length - 1))];
+		}
+
+		/**
+		 * 更新读取位置
+		 *
+		 * @param readerIndex 读取位置，之前的事件序列已经读取完成
+		 */
+		public void readerIndex(long readerIndex) {
+			RR.setRelease(this, readerIndex);
+		}
+	}
+}
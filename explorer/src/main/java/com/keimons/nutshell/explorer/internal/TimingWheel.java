@@ -0,0 +1,271 @@
+package com.keimons.nutshell.explorer.internal;
+
+import java.util.function.Consumer;
+
+/**
+ * 分层时间轮
+ * <p>
+ * 共有{@code levels}层，每层{@code 2^bits}个槽位，第{@code i}层每个槽位的跨度是{@code 2^(bits * i)}个刻度。
+ * 节点根据到期时间与当前时间的差值放入对应的层，低层的槽位每经过一轮，高层的一个槽位降级（重新放入更低的层），
+ * 最终在第{@code 0}层到期。超出时间轮范围的节点放入最高层，降级时重新计算位置。
+ * <p>
+ * 每个槽位是一个侵入式的双向链表，节点的添加和移除都是{@code O(1)}，推进一个刻度的代价与到期和降级的节点数量成正比。
+ * 同一个槽位中的节点按照放入的顺序到期，但经由不同层到达同一个槽位的节点，不保证到期顺序。
+ * <p>
+ * 非线程安全，仅由单个线程使用。
+ *
+ * @param <T> 节点类型
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class TimingWheel<T extends TimingWheel.Node> {
+
+	/**
+	 * 每层槽位数量的位数
+	 */
+	private final int bits;
+
+	/**
+	 * 层数
+	 */
+	private final int levels;
+
+	/**
+	 * 槽位掩码
+	 */
+	private final int mask;
+
+	/**
+	 * 时间轮的范围（刻度）
+	 */
+	private final long range;
+
+	/**
+	 * 槽位，第{@code i}层第{@code j}个槽位位于{@code (i << bits) + j}
+	 */
+	private final Node[] heads;
+
+	/**
+	 * 槽位的尾节点
+	 */
+	private final Node[] tails;
+
+	/**
+	 * 当前刻度
+	 */
+	private long now;
+
+	/**
+	 * 节点数量
+	 */
+	private int size;
+
+	/**
+	 * 分层时间轮
+	 *
+	 * @param bits   每层槽位数量的位数
+	 * @param levels 层数
+	 * @param now    当前刻度
+	 */
+	public TimingWheel(int bits, int levels, long now) {
+		if (bits <= 0 || levels <= 0 || bits * levels >= Long.SIZE - 1) {
+			throw new IllegalArgumentException("bits: " + bits + ", levels: " + levels);
+		}
+		this.bits = bits;
+		this.levels = levels;
+		this.mask = (1 << bits) - 1;
+		this.range = 1L << (bits * levels);
+		this.heads = new Node[levels << bits];
+		this.tails = new Node[levels << bits];
+		this.now = now;
+	}
+
+	/**
+	 * 返回当前刻度
+	 *
+	 * @return 当前刻度
+	 */
+	public long now() {
+		return now;
+	}
+
+	/**
+	 * 返回节点数量
+	 *
+	 * @return 节点数量
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 添加节点
+	 * <p>
+	 * 已经到期的节点在下一个刻度到期。
+	 *
+	 * @param node 节点，{@link Node#deadline}是到期刻度
+	 */
+	public void add(T node) {
+		if (((Node) node).slot >= 0) {
+			throw new IllegalStateException("node already added");
+		}
+		link(node, now + 1);
+		size++;
+	}
+
+	/**
+	 * 移除节点
+	 *
+	 * @param node 节点
+	 * @return {@code true}移除成功，{@code false}节点不在时间轮中
+	 */
+	public boolean remove(T node) {
+		if (((Node) node).slot < 0) {
+			return false;
+		}
+		unlink(node);
+		size--;
+		return true;
+	}
+
+	/**
+	 * 推进时间轮
+	 * <p>
+	 * 逐个刻度推进到指定的刻度，到期的节点在移出时间轮之后交给{@code expired}，{@code expired}可以重新添加节点。
+	 *
+	 * @param tick    目标刻度
+	 * @param expired 到期节点的处理
+	 */
+	@SuppressWarnings("unchecked")
+	public void advance(long tick, Consumer<? super T> expired) {
+		while (now < tick) {
+			if (size == 0) {
+				// 没有节点时直接跳到目标刻度
+				now = tick;
+				return;
+			}
+			long t = ++now;
+			// 低层的槽位转完一轮，从高到低依次降级高层的槽位
+			int level = 1;
+			while (level < levels && (t & ((1L << (bits * level)) - 1)) == 0) {
+				level++;
+			}
+			for (int i = level - 1; i >= 1; i--) {
+				int index = (i << bits) + (int) ((t >>> (bits * i)) & mask);
+				Node node = heads[index];
+				heads[index] = tails[index] = null;
+				while (node != null) {
+					Node next = node.next;
+					node.prev = node.next = null;
+					// 降级时，当前刻度到期的节点放入第0层当前的槽位，随后到期
+					link(node, t);
+					node = next;
+				}
+			}
+			int index = (int) (t & mask);
+			Node node = heads[index];
+			heads[index] = tails[index] = null;
+			while (node != null) {
+				Node next = node.next;
+				node.prev = node.next = null;
+				node.slot = -1;
+				size--;
+				expired.accept((T) node);
+				node = next;
+			}
+		}
+	}
+
+	/**
+	 * 根据到期时间将节点放入槽位
+	 *
+	 * @param node 节点
+	 * @param min  最早的到期刻度
+	 */
+	private void link(Node node, long min) {
+		long deadline = Math.max(node.deadline, min);
+		long delta = deadline - now;
+		if (delta >= range) {
+			// 超出范围，放入最高层，降级时重新计算位置
+			deadline = now + range - 1;
+			delta = range - 1;
+		}
+		int level = 0;
+		while (delta >= 1L << (bits * (level + 1))) {
+			level++;
+		}
+		int index = (level << bits) + (int) ((deadline >>> (bits * level)) & mask);
+		Node tail = tails[index];
+		node.slot = index;
+		node.prev = tail;
+		if (tail == null) {
+			heads[index] = node;
+		} else {
+			tail.next = node;
+		}
+		tails[index] = node;
+	}
+
+	/**
+	 * 将节点移出槽位
+	 *
+	 * @param node 节点
+	 */
+	private void unlink(Node node) {
+		Node prev = node.prev;
+		Node next = node.next;
+		if (prev == null) {
+			heads[node.slot] = next;
+		} else {
+			prev.next = next;
+		}
+		if (next == null) {
+			tails[node.slot] = prev;
+		} else {
+			next.prev = prev;
+		}
+		node.prev = node.next = null;
+		node.slot = -1;
+	}
+
+	/**
+	 * 时间轮的节点
+	 */
+	public static class Node {
+
+		/**
+		 * 到期刻度
+		 */
+		protected long deadline;
+
+		/**
+		 * 所在的槽位，不在时间轮中时为{@code -1}
+		 */
+		private int slot = -1;
+
+		private Node prev;
+
+		private Node next;
+
+		/**
+		 * 返回到期刻度
+		 *
+		 * @return 到期刻度
+		 */
+		public long getDeadline() {
+			return deadline;
+		}
+
+		/**
+		 * 设置到期刻度
+		 * <p>
+		 * 只能在节点不在时间轮中时设置。
+		 *
+		 * @param deadline 到期刻度
+		 */
+		public void setDeadline(long deadline) {
+			this.deadline = deadline;
+		}
+	}
+}
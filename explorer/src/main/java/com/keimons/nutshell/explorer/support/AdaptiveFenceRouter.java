@@ -0,0 +1,319 @@
+package com.keimons.nutshell.explorer.support;
+
+import com.keimons.nutshell.explorer.FenceRouter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 自适应路由
+ * <p>
+ * 在基础路由之上，观察每条轨道积压的任务数量，将繁忙轨道上的热点屏障迁移到空闲的轨道上。
+ * <p>
+ * 迁移必须保证同一个屏障的任务依然是串行执行的：如果屏障仍有未完成的任务，那么迁移后的任务可能先于迁移前的任务执行。
+ * 所以，只有在屏障没有未完成的任务时（安全点），才能迁移屏障。未完成的任务数量记录在条带计数器中，
+ * 不同的屏障可能共享同一个条带，条带计数器为{@code 0}，则屏障一定没有未完成的任务。迁移时，锁定条带，
+ * 锁定期间的路由等待迁移完成，迁移后的路由一定能看到新的轨道。热点屏障通常一直有积压的任务，检查时不是安全点，
+ * 此时记录一个待迁移的屏障，等到它的条带计数器在{@link #complete(Object)}中归零时再迁移。
+ * <p>
+ * 热点屏障的统计（每条轨道上出现次数最多的屏障）是非精确的，它只影响迁移哪一个屏障，不影响正确性。
+ * 已迁移的屏障数量是有上限的，达到上限后，不再迁移。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class AdaptiveFenceRouter implements FenceRouter {
+
+	/**
+	 * 默认的积压阈值
+	 * <p>
+	 * 轨道积压的任务数量超过阈值，才会考虑迁移。
+	 */
+	public static final int DEFAULT_THRESHOLD = 1024;
+
+	/**
+	 * 默认最大迁移数量
+	 */
+	public static final int DEFAULT_MAX_MIGRATIONS = 4096;
+
+	/**
+	 * 条带数量
+	 */
+	private static final int STRIPES = 1024;
+
+	/**
+	 * 条带锁定
+	 */
+	private static final int LOCKED = -1;
+
+	/**
+	 * 检查间隔（掩码）
+	 * <p>
+	 * 每条轨道每发布{@code 1024}个任务，检查一次是否需要迁移。
+	 */
+	private static final int CHECK_MASK = 1023;
+
+	/**
+	 * 计数器填充，避免伪共享
+	 */
+	private static final int PAD = 16;
+
+	/**
+	 * 基础路由
+	 */
+	private final FenceRouter router;
+
+	/**
+	 * 轨道数量
+	 */
+	private final int nThreads;
+
+	/**
+	 * 积压阈值
+	 */
+	private final int threshold;
+
+	/**
+	 * 最大迁移数量
+	 */
+	private final int maxMigrations;
+
+	/**
+	 * 条带计数器
+	 * <p>
+	 * 记录屏障未完成的任务数量，为{@link #LOCKED}时，条带中的屏障正在迁移。
+	 */
+	private final AtomicIntegerArray stripes = new AtomicIntegerArray(STRIPES);
+
+	/**
+	 * 每条轨道已发布的任务数量
+	 */
+	private final AtomicLongArray published;
+
+	/**
+	 * 每条轨道已完成的任务数量
+	 */
+	private final AtomicLongArray completed;
+
+	/**
+	 * 每条轨道的热点屏障（候选）
+	 */
+	private final Object[] candidates;
+
+	/**
+	 * 热点屏障的票数
+	 */
+	private final int[] votes;
+
+	/**
+	 * 已迁移的屏障
+	 */
+	private final ConcurrentHashMap<Object, Integer> migrations = new ConcurrentHashMap<>();
+
+	/**
+	 * 待迁移的屏障
+	 * <p>
+	 * 屏障仍有未完成的任务，等待条带计数器归零后迁移。
+	 */
+	private final AtomicReference<Migration> pending = new AtomicReference<>();
+
+	/**
+	 * 是否正在检查迁移
+	 */
+	private final AtomicBoolean balancing = new AtomicBoolean();
+
+	public AdaptiveFenceRouter(int nThreads) {
+		this(new HashFenceRouter(nThreads), nThreads, DEFAULT_THRESHOLD, DEFAULT_MAX_MIGRATIONS);
+	}
+
+	public AdaptiveFenceRouter(FenceRouter router, int nThreads, int threshold, int maxMigrations) {
+		if (nThreads <= 0) {
+			throw new IllegalArgumentException("nThreads: " + nThreads);
+		}
+		this.router = router;
+		this.nThreads = nThreads;
+		this.threshold = threshold;
+		this.maxMigrations = maxMigrations;
+		this.published = new AtomicLongArray(nThreads * PAD);
+		this.completed = new AtomicLongArray(nThreads * PAD);
+		this.candidates = new Object[nThreads];
+		this.votes = new int[nThreads];
+	}
+
+	@Override
+	public int route(Object fence) {
+		int stripe = stripe(fence);
+		for (; ; ) {
+			int v = stripes.get(stripe);
+			if (v != LOCKED && stripes.compareAndSet(stripe, v, v + 1)) {
+				break;
+			}
+			Thread.onSpinWait();
+		}
+		int track = track(fence);
+		vote(track, fence);
+		if ((published.getAndIncrement(track * PAD) & CHECK_MASK) == CHECK_MASK) {
+			rebalance();
+		}
+		return track;
+	}
+
+	@Override
+	public void complete(Object fence) {
+		// 屏障仍有未完成的任务，不会被迁移，所以轨道与路由时一致
+		completed.getAndIncrement(track(fence) * PAD);
+		int stripe = stripe(fence);
+		if (stripes.decrementAndGet(stripe) == 0) {
+			Migration migration = pending.get();
+			if (migration != null && migration.stripe == stripe) {
+				migrate(migration);
+			}
+		}
+	}
+
+	/**
+	 * 轨道积压的任务数量
+	 *
+	 * @param track 轨道
+	 * @return 积压的任务数量
+	 */
+	public long backlog(int track) {
+		return published.get(track * PAD) - completed.get(track * PAD);
+	}
+
+	/**
+	 * 已迁移的屏障数量
+	 *
+	 * @return 已迁移的屏障数量
+	 */
+	public int migrations() {
+		return migrations.size();
+	}
+
+	private int track(Object fence) {
+		if (!migrations.isEmpty()) {
+			Integer track = migrations.get(fence);
+			if (track != null) {
+				return track;
+			}
+		}
+		return router.route(fence);
+	}
+
+	private static int stripe(Object fence) {
+		return ConsistentHashFenceRouter.mix(fence.hashCode()) & (STRIPES - 1);
+	}
+
+	/**
+	 * 投票选出轨道上出现次数最多的屏障
+	 * <p>
+	 * 多数投票算法，并发时允许丢失选票。
+	 *
+	 * @param track 轨道
+	 * @param fence 执行屏障
+	 */
+	private void vote(int track, Object fence) {
+		Object candidate = candidates[track];
+		if (candidate == fence || fence.equals(candidate)) {
+			votes[track]++;
+		} else if (votes[track] > 0) {
+			votes[track]--;
+		} else {
+			candidates[track] = fence;
+			votes[track] = 1;
+		}
+	}
+
+	/**
+	 * 检查并迁移热点屏障
+	 * <p>
+	 * 将积压最多的轨道上的热点屏障迁移到积压最少的轨道上，如果热点屏障仍有未完成的任务，等待条带计数器归零。
+	 * 新的热点屏障会替换尚未完成迁移的屏障。
+	 */
+	private void rebalance() {
+		if (!balancing.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			int hot = 0, cold = 0;
+			long max = Long.MIN_VALUE, min = Long.MAX_VALUE;
+			for (int track = 0; track < nThreads; track++) {
+				long backlog = backlog(track);
+				if (backlog > max) {
+					max = backlog;
+					hot = track;
+				}
+				if (backlog < min) {
+					min = backlog;
+					cold = track;
+				}
+			}
+			if (max < threshold || max <= min << 1 || migrations.size() >= maxMigrations) {
+				return;
+			}
+			Object fence = candidates[hot];
+			if (fence == null || track(fence) != hot) {
+				return;
+			}
+			Migration migration = new Migration(fence, stripe(fence), cold);
+			pending.set(migration);
+			// 屏障没有未完成的任务时立即迁移，否则等待条带计数器归零
+			migrate(migration);
+			candidates[hot] = null;
+			votes[hot] = 0;
+		} finally {
+			balancing.set(false);
+		}
+	}
+
+	/**
+	 * 在安全点迁移屏障
+	 * <p>
+	 * 条带计数器不为{@code 0}时，不是安全点，屏障保持待迁移状态。
+	 *
+	 * @param migration 待迁移的屏障
+	 */
+	private void migrate(Migration migration) {
+		if (!stripes.compareAndSet(migration.stripe, 0, LOCKED)) {
+			return;
+		}
+		try {
+			if (pending.compareAndSet(migration, null) && migrations.size() < maxMigrations) {
+				migrations.put(migration.fence, migration.track);
+			}
+		} finally {
+			stripes.set(migration.stripe, 0);
+		}
+	}
+
+	/**
+	 * 待迁移的屏障
+	 */
+	private static final class Migration {
+
+		/**
+		 * 执行屏障
+		 */
+		final Object fence;
+
+		/**
+		 * 屏障所在的条带
+		 */
+		final int stripe;
+
+		/**
+		 * 迁移的目标轨道
+		 */
+		final int track;
+
+		Migration(Object fence, int stripe, int track) {
+			this.fence = fence;
+			this.stripe = stripe;
+			this.track = track;
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package com.keimons.nutshell.explorer.support;
+
+import com.keimons.nutshell.explorer.WaitStrategy;
+
+/**
+ * 自适应等待
+ * <p>
+ * 先自旋，再让出CPU，最后休眠直到被唤醒。短暂的空闲不会进入休眠，生产者不需要唤醒执行器，
+ * 长时间的空闲不会占用CPU。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class AdaptiveWaitStrategy implements WaitStrategy {
+
+	/**
+	 * 默认自旋次数
+	 */
+	public static final int DEFAULT_SPINS = 200;
+
+	/**
+	 * 默认让出CPU次数
+	 */
+	public static final int DEFAULT_YIELDS = 100;
+
+	/**
+	 * 自旋次数
+	 */
+	private final int spins;
+
+	/**
+	 * 自旋和让出CPU的总次数
+	 */
+	private final int yields;
+
+	public AdaptiveWaitStrategy() {
+		this(DEFAULT_SPINS, DEFAULT_YIELDS);
+	}
+
+	public AdaptiveWaitStrategy(int spins, int yields) {
+		this.spins = spins;
+		this.yields = spins + yields;
+	}
+
+	@Override
+	public long idle(int round) {
+		if (round < spins) {
+			Thread.onSpinWait();
+			return SPIN;
+		}
+		if (round < yields) {
+			Thread.yield();
+			return SPIN;
+		}
+		return PARK;
+	}
+}
@@ -4,9 +4,12 @@ import com.keimons.nutshell.explorer.BlockingCallerHandler;
 import com.keimons.nutshell.explorer.ExplorerService;
 
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 阻塞线程
+ * <p>
+ * 队列已满时阻塞调用者线程，直到有空余位置。可以指定最长阻塞时间，超时后抛出异常。
  *
  * @author houyn[monkey@keimons.com]
  * @version 1.0
@@ -14,6 +17,36 @@ import java.util.concurrent.RejectedExecutionException;
  */
 public class BlockPolicy implements BlockingCallerHandler {
 
+	/**
+	 * 最长阻塞时间（纳秒）
+	 */
+	private final long timeout;
+
+	/**
+	 * 一直阻塞，直到有空余位置或者线程池关闭
+	 */
+	public BlockPolicy() {
+		this.timeout = -1;
+	}
+
+	/**
+	 * 阻塞指定的时间
+	 *
+	 * @param timeout 最长阻塞时间
+	 * @param unit    时间单位
+	 */
+	public BlockPolicy(long timeout, TimeUnit unit) {
+		if (timeout < 0) {
+			throw new IllegalArgumentException("timeout: " + timeout);
+		}
+		this.timeout = unit.toNanos(timeout);
+	}
+
+	@Override
+	public long getTimeout() {
+		return timeout;
+	}
+
 	@Override
 	public void rejectedExecution(ExplorerService explorer, Runnable task, Object... fences) {
 		throw new RejectedExecutionException("Task " + task.toString() + " rejected from " + explorer.getName());
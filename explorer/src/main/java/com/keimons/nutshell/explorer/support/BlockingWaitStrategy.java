@@ -0,0 +1,20 @@
+package com.keimons.nutshell.explorer.support;
+
+import com.keimons.nutshell.explorer.WaitStrategy;
+
+/**
+ * 阻塞等待
+ * <p>
+ * 没有任务时立即休眠，等待生产者唤醒。不占用CPU，但是每次从空闲到繁忙，生产者都需要一次{@code unpark}。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+
+	@Override
+	public long idle(int round) {
+		return PARK;
+	}
+}
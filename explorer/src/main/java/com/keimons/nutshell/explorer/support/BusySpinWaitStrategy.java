@@ -0,0 +1,21 @@
+package com.keimons.nutshell.explorer.support;
+
+import com.keimons.nutshell.explorer.WaitStrategy;
+
+/**
+ * 忙等待
+ * <p>
+ * 执行器从不休眠，延迟最低，生产者永远不需要唤醒执行器。每个执行器独占一个CPU核心，仅适用于线程数量小于CPU核心数量的场景。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+
+	@Override
+	public long idle(int round) {
+		Thread.onSpinWait();
+		return SPIN;
+	}
+}
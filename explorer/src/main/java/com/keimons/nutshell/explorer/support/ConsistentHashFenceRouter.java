@@ -0,0 +1,105 @@
+package com.keimons.nutshell.explorer.support;
+
+import com.keimons.nutshell.explorer.FenceRouter;
+
+import java.util.Arrays;
+
+/**
+ * 一致性哈希路由
+ * <p>
+ * 每条轨道在哈希环上拥有多个虚拟节点，屏障落在哈希环上顺时针方向的第一个虚拟节点所属的轨道上。
+ * 哈希值经过充分的混淆，即使是{@code record Point(int x, int y)}这类哈希值高度相关的屏障，也能均匀分布。
+ * 轨道数量变化时，只有少量屏障需要更换轨道。
+ * <p>
+ * 哈希环在构造时生成，此后只读，路由时只需要一次二分查找。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class ConsistentHashFenceRouter implements FenceRouter {
+
+	/**
+	 * 默认每条轨道的虚拟节点数量
+	 */
+	public static final int DEFAULT_VIRTUAL_NODES = 160;
+
+	/**
+	 * 哈希环（有序）
+	 */
+	private final int[] points;
+
+	/**
+	 * 虚拟节点所属的轨道
+	 */
+	private final int[] tracks;
+
+	public ConsistentHashFenceRouter(int nThreads) {
+		this(nThreads, DEFAULT_VIRTUAL_NODES);
+	}
+
+	public ConsistentHashFenceRouter(int nThreads, int virtualNodes) {
+		if (nThreads <= 0 || virtualNodes <= 0) {
+			throw new IllegalArgumentException("nThreads: " + nThreads + ", virtualNodes: " + virtualNodes);
+		}
+		int size = nThreads * virtualNodes;
+		long[] nodes = new long[size];
+		for (int track = 0, index = 0; track < nThreads; track++) {
+			for (int i = 0; i < virtualNodes; i++) {
+				int point = mix(track * 0x9E3779B9 + i);
+				// 高32位存储位置，低32位存储轨道，排序后位置有序
+				nodes[index++] = ((long) point << 32) | track;
+			}
+		}
+		Arrays.sort(nodes);
+		this.points = new int[size];
+		this.tracks = new int[size];
+		for (int i = 0; i < size; i++) {
+			points[i] = (int) (nodes[i] >> 32);
+			tracks[i] = (int) nodes[i];
+		}
+	}
+
+	/**
+	 * 哈希混淆（murmur3 fmix32）
+	 *
+	 * @param h 哈希值
+	 * @return 混淆后的哈希值
+	 */
+	static int mix(int h) {
+		h ^= h >>> 16;
+		h *= 0x85EBCA6B;
+		h ^= h >>> 13;
+		h *= 0xC2B2AE35;
+		h ^= h >>> 16;
+		return h;
+	}
+
+	@Override
+	public int route(Object fence) {
+		return track(fence.hashCode());
+	}
+
+	@Override
+	public int route(long fence) {
+		return track(Long.hashCode(fence));
+	}
+
+	@Override
+	public void complete(long fence) {
+		// do nothing
+	}
+
+	private int track(int hashCode) {
+		int point = mix(hashCode);
+		int index = Arrays.binarySearch(points, point);
+		if (index < 0) {
+			index = -index - 1;
+			if (index >= points.length) {
+				// 环形，回到起点
+				index = 0;
+			}
+		}
+		return tracks[index];
+	}
+}
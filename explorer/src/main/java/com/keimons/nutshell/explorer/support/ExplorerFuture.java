@@ -0,0 +1,150 @@
+package com.keimons.nutshell.explorer.support;
+
+import com.keimons.nutshell.explorer.CompletedFuture;
+import com.keimons.nutshell.explorer.ExplorerService;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 执行器中的异步计算结果
+ * <p>
+ * 它既是{@link CompletableFuture}，也是提交到执行器中的任务，执行时计算结果并完成这个阶段，
+ * 类似于{@link java.util.concurrent.FutureTask}。由{@link CompletableFuture}派生的阶段同样是{@code ExplorerFuture}，
+ * 但它们没有任务，只能由前一阶段完成。
+ * <p>
+ * 任务执行之前，如果这个阶段已经完成（例如已经被取消），则不再执行任务。
+ *
+ * @param <V> 返回值类型
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class ExplorerFuture<V> extends CompletableFuture<V> implements CompletedFuture<V>, Runnable {
+
+	/**
+	 * 执行后续阶段的执行器
+	 */
+	private final ExplorerService explorer;
+
+	/**
+	 * 计算结果的任务
+	 * <p>
+	 * 派生的阶段没有任务。
+	 */
+	@Nullable
+	private final Callable<? extends V> task;
+
+	/**
+	 * 执行器中的异步计算结果
+	 *
+	 * @param explorer 执行后续阶段的执行器
+	 * @param task     计算结果的任务
+	 */
+	public ExplorerFuture(ExplorerService explorer, @Nullable Callable<? extends V> task) {
+		this.explorer = explorer;
+		this.task = task;
+	}
+
+	@Override
+	public void run() {
+		if (task != null && !isDone()) {
+			try {
+				complete(task.call());
+			} catch (Throwable e) {
+				completeExceptionally(e);
+			}
+		}
+	}
+
+	@Override
+	public <U> CompletableFuture<U> newIncompleteFuture() {
+		return new ExplorerFuture<>(explorer, null);
+	}
+
+	@Override
+	public CompletedFuture<Void> thenRunOn(Runnable task, Object fence) {
+		return then(value -> {
+			task.run();
+			return null;
+		}, fence, null);
+	}
+
+	@Override
+	public CompletedFuture<Void> thenRunOn(Runnable task, Object... fences) {
+		return then(value -> {
+			task.run();
+			return null;
+		}, null, fences);
+	}
+
+	@Override
+	public CompletedFuture<Void> thenAcceptOn(Consumer<? super V> action, Object fence) {
+		return then(value -> {
+			action.accept(value);
+			return null;
+		}, fence, null);
+	}
+
+	@Override
+	public CompletedFuture<Void> thenAcceptOn(Consumer<? super V> action, Object... fences) {
+		return then(value -> {
+			action.accept(value);
+			return null;
+		}, null, fences);
+	}
+
+	@Override
+	public <U> CompletedFuture<U> thenApplyOn(Function<? super V, ? extends U> fn, Object fence) {
+		return then(fn, fence, null);
+	}
+
+	@Override
+	public <U> CompletedFuture<U> thenApplyOn(Function<? super V, ? extends U> fn, Object... fences) {
+		return then(fn, null, fences);
+	}
+
+	/**
+	 * 当前阶段完成后，将后续阶段提交到执行器中
+	 *
+	 * @param fn     计算函数
+	 * @param fence  执行屏障，当{@code fences}为{@code null}时使用
+	 * @param fences 执行屏障
+	 * @param <U>    后续阶段的返回值类型
+	 * @return 后续阶段
+	 */
+	private <U> ExplorerFuture<U> then(Function<? super V, ? extends U> fn, Object fence, Object[] fences) {
+		if (fn == null) {
+			throw new NullPointerException();
+		}
+		ExplorerFuture<U> next = new ExplorerFuture<>(explorer, null);
+		whenComplete((value, error) -> {
+			if (error != null) {
+				next.completeExceptionally(error);
+				return;
+			}
+			Runnable task = () -> {
+				if (!next.isDone()) {
+					try {
+						next.complete(fn.apply(value));
+					} catch (Throwable e) {
+						next.completeExceptionally(e);
+					}
+				}
+			};
+			try {
+				if (fences == null) {
+					explorer.execute(task, fence);
+				} else {
+					explorer.execute(task, fences);
+				}
+			} catch (Throwable e) {
+				next.completeExceptionally(e);
+			}
+		});
+		return next;
+	}
+}
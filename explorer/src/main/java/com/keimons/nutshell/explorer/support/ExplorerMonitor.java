@@ -0,0 +1,164 @@
+package com.keimons.nutshell.explorer.support;
+
+import com.keimons.nutshell.explorer.ExplorerMXBean;
+import com.keimons.nutshell.explorer.ExplorerMetrics;
+import com.keimons.nutshell.explorer.ExplorerService;
+import com.keimons.nutshell.explorer.Histogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 执行器的JMX管理接口实现
+ * <p>
+ * JMX客户端每次刷新会读取多个属性，指标快照缓存{@link #REFRESH_INTERVAL}，避免每个属性都复制一次直方图。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class ExplorerMonitor implements ExplorerMXBean {
+
+	/**
+	 * 指标快照的刷新间隔（纳秒）
+	 */
+	private static final long REFRESH_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+	private final ExplorerService explorer;
+
+	private ExplorerMetrics metrics;
+
+	private Histogram waitTime;
+
+	private Histogram workTime;
+
+	private long refreshTime;
+
+	public ExplorerMonitor(ExplorerService explorer) {
+		this.explorer = explorer;
+	}
+
+	private synchronized ExplorerMetrics metrics() {
+		long now = System.nanoTime();
+		if (metrics == null || now - refreshTime >= REFRESH_INTERVAL) {
+			metrics = explorer.getMetrics();
+			waitTime = metrics.getWaitTime();
+			workTime = metrics.getWorkTime();
+			refreshTime = now;
+		}
+		return metrics;
+	}
+
+	private synchronized Histogram waitTime() {
+		metrics();
+		return waitTime;
+	}
+
+	private synchronized Histogram workTime() {
+		metrics();
+		return workTime;
+	}
+
+	private static long micros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+
+	@Override
+	public String getName() {
+		return explorer.getName();
+	}
+
+	@Override
+	public int getThreads() {
+		return explorer.size();
+	}
+
+	@Override
+	public long getCompletedTasks() {
+		return metrics().getCompletedTasks();
+	}
+
+	@Override
+	public long getCachedTasks() {
+		return metrics().getCachedTasks();
+	}
+
+	@Override
+	public long getBarriers() {
+		return metrics().getBarriers();
+	}
+
+	@Override
+	public long getOvertakes() {
+		return metrics().getOvertakes();
+	}
+
+	@Override
+	public long getRejectedTasks() {
+		return metrics().getRejectedTasks();
+	}
+
+	@Override
+	public long getCoalescedTasks() {
+		return metrics().getCoalescedTasks();
+	}
+
+	@Override
+	public long getWaitTimeP50() {
+		return micros(waitTime().getValueAtPercentile(50));
+	}
+
+	@Override
+	public long getWaitTimeP99() {
+		return micros(waitTime().getValueAtPercentile(99));
+	}
+
+	@Override
+	public long getWaitTimeMax() {
+		return micros(waitTime().getMax());
+	}
+
+	@Override
+	public long getWorkTimeP50() {
+		return micros(workTime().getValueAtPercentile(50));
+	}
+
+	@Override
+	public long getWorkTimeP99() {
+		return micros(workTime().getValueAtPercentile(99));
+	}
+
+	@Override
+	public long getWorkTimeMax() {
+		return micros(workTime().getMax());
+	}
+
+	@Override
+	public long[] getTrackCompletedTasks() {
+		ExplorerMetrics.TrackMetrics[] tracks = metrics().getTracks();
+		long[] values = new long[tracks.length];
+		for (int i = 0; i < tracks.length; i++) {
+			values[i] = tracks[i].getCompletedTasks();
+		}
+		return values;
+	}
+
+	@Override
+	public long[] getTrackWaitTimeP99() {
+		ExplorerMetrics.TrackMetrics[] tracks = metrics().getTracks();
+		long[] values = new long[tracks.length];
+		for (int i = 0; i < tracks.length; i++) {
+			values[i] = micros(tracks[i].getWaitTime().getValueAtPercentile(99));
+		}
+		return values;
+	}
+
+	@Override
+	public long[] getTrackWorkTimeP99() {
+		ExplorerMetrics.TrackMetrics[] tracks = metrics().getTracks();
+		long[] values = new long[tracks.length];
+		for (int i = 0; i < tracks.length; i++) {
+			values[i] = micros(tracks[i].getWorkTime().getValueAtPercentile(99));
+		}
+		return values;
+	}
+}
@@ -0,0 +1,437 @@
+package com.keimons.nutshell.explorer.support;
+
+import com.keimons.nutshell.explorer.ExplorerService;
+import com.keimons.nutshell.explorer.Timeout;
+import com.keimons.nutshell.explorer.internal.TimingWheel;
+import com.keimons.nutshell.explorer.utils.MiscUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 执行屏障定时器
+ * <p>
+ * 定时任务到期时，带着执行屏障直接投递到执行器，与执行屏障上的普通任务一起排序，不经过额外的线程池。
+ * 定时任务存放在{@link TimingWheel}中，由一个守护线程推进：
+ * <ul>
+ *     <li>添加和取消都是{@code O(1)}：生产者只把定时任务压入无锁栈，由定时器线程批量放入或移出时间轮。</li>
+ *     <li>没有定时任务时，定时器线程一直休眠，直到添加定时任务；有定时任务时，每个刻度唤醒一次。</li>
+ * </ul>
+ * 定时器线程负责投递到期的任务，执行器的拒绝策略阻塞调用者时，会阻塞所有定时任务的投递。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class FenceTimer {
+
+	/**
+	 * 默认刻度（纳秒）
+	 */
+	public static final long DEFAULT_TICK = TimeUnit.MILLISECONDS.toNanos(1);
+
+	/**
+	 * 每层槽位数量的位数
+	 */
+	private static final int WHEEL_BITS = 8;
+
+	/**
+	 * 时间轮层数，默认刻度下范围约为49天
+	 */
+	private static final int WHEEL_LEVELS = 4;
+
+	private static final AtomicInteger TIMER_INDEX = new AtomicInteger();
+
+	private static final VarHandle AA = MiscUtils.findVarHandle(FenceTimer.class, "added", TimerTask.class);
+
+	private static final VarHandle CC = MiscUtils.findVarHandle(FenceTimer.class, "cancelled", TimerTask.class);
+
+	/**
+	 * 执行器
+	 */
+	private final ExplorerService explorer;
+
+	/**
+	 * 刻度（纳秒）
+	 */
+	private final long tick;
+
+	/**
+	 * 启动时间（纳秒）
+	 */
+	private final long startTime;
+
+	/**
+	 * 时间轮（仅由定时器线程访问）
+	 */
+	private final TimingWheel<TimerTask> wheel;
+
+	/**
+	 * 到期任务的处理
+	 */
+	private final Consumer<TimerTask> expire = this::expire;
+
+	/**
+	 * 定时器线程
+	 */
+	private final Thread thread;
+
+	/**
+	 * 等待放入时间轮的定时任务（无锁栈）
+	 */
+	private volatile TimerTask added;
+
+	/**
+	 * 等待移出时间轮的定时任务（无锁栈）
+	 */
+	private volatile TimerTask cancelled;
+
+	/**
+	 * 定时器线程是否无限期休眠
+	 */
+	private volatile boolean idle;
+
+	private volatile boolean running = true;
+
+	/**
+	 * 未到期的定时任务数量
+	 */
+	private final LongAdder size = new LongAdder();
+
+	public FenceTimer(ExplorerService explorer) {
+		this(explorer, DEFAULT_TICK, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * 执行屏障定时器
+	 *
+	 * @param explorer 执行器
+	 * @param tick     刻度，定时任务的精度
+	 * @param unit     刻度的单位
+	 */
+	public FenceTimer(ExplorerService explorer, long tick, TimeUnit unit) {
+		if (tick <= 0) {
+			throw new IllegalArgumentException("tick: " + tick);
+		}
+		this.explorer = explorer;
+		this.tick = unit.toNanos(tick);
+		this.startTime = System.nanoTime();
+		this.wheel = new TimingWheel<>(WHEEL_BITS, WHEEL_LEVELS, 0);
+		this.thread = new Thread(this::run, "FenceTimer-" + TIMER_INDEX.getAndIncrement());
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	/**
+	 * 延迟执行任务
+	 *
+	 * @param task  任务
+	 * @param delay 延迟时间
+	 * @param unit  延迟时间的单位
+	 * @param fence 执行屏障
+	 * @return 定时任务
+	 * @throws RejectedExecutionException 定时器已停止
+	 */
+	public Timeout schedule(Runnable task, long delay, TimeUnit unit, Object fence) {
+		if (task == null || fence == null) {
+			throw new NullPointerException();
+		}
+		return add(new TimerTask(task, fence, null, deadline(delay, unit), 0));
+	}
+
+	/**
+	 * 延迟执行任务
+	 *
+	 * @param task   任务
+	 * @param delay  延迟时间
+	 * @param unit   延迟时间的单位
+	 * @param fences 执行屏障
+	 * @return 定时任务
+	 * @throws RejectedExecutionException 定时器已停止
+	 */
+	public Timeout schedule(Runnable task, long delay, TimeUnit unit, Object... fences) {
+		if (task == null) {
+			throw new NullPointerException();
+		}
+		checkFences(fences);
+		return add(fences.length == 1
+				? new TimerTask(task, fences[0], null, deadline(delay, unit), 0)
+				: new TimerTask(task, null, fences, deadline(delay, unit), 0));
+	}
+
+	/**
+	 * 周期执行任务
+	 * <p>
+	 * 以固定的频率投递任务，投递落后时（例如定时器线程被拒绝策略阻塞），会连续投递以追赶进度。
+	 * 相同执行屏障的任务串行执行，所以同一个周期任务不会并发执行。
+	 *
+	 * @param task         任务
+	 * @param initialDelay 首次执行的延迟时间
+	 * @param period       周期
+	 * @param unit         时间单位
+	 * @param fence        执行屏障
+	 * @return 定时任务
+	 * @throws RejectedExecutionException 定时器已停止
+	 */
+	public Timeout scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit, Object fence) {
+		if (task == null || fence == null) {
+			throw new NullPointerException();
+		}
+		return add(new TimerTask(task, fence, null, deadline(initialDelay, unit), period(period, unit)));
+	}
+
+	/**
+	 * 周期执行任务
+	 *
+	 * @param task         任务
+	 * @param initialDelay 首次执行的延迟时间
+	 * @param period       周期
+	 * @param unit         时间单位
+	 * @param fences       执行屏障
+	 * @return 定时任务
+	 * @throws RejectedExecutionException 定时器已停止
+	 * @see #scheduleAtFixedRate(Runnable, long, long, TimeUnit, Object)
+	 */
+	public Timeout scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit, Object... fences) {
+		if (task == null) {
+			throw new NullPointerException();
+		}
+		checkFences(fences);
+		return add(fences.length == 1
+				? new TimerTask(task, fences[0], null, deadline(initialDelay, unit), period(period, unit))
+				: new TimerTask(task, null, fences, deadline(initialDelay, unit), period(period, unit)));
+	}
+
+	/**
+	 * 返回未到期的定时任务数量（包括周期任务）
+	 *
+	 * @return 定时任务数量
+	 */
+	public long size() {
+		return size.sum();
+	}
+
+	/**
+	 * 停止定时器
+	 * <p>
+	 * 未到期的定时任务全部丢弃，之后添加定时任务抛出{@link RejectedExecutionException}。
+	 */
+	public void stop() {
+		running = false;
+		LockSupport.unpark(thread);
+	}
+
+	private static void checkFences(Object[] fences) {
+		if (fences.length == 0) {
+			throw new IllegalArgumentException("fences is empty");
+		}
+		for (Object fence : fences) {
+			if (fence == null) {
+				throw new NullPointerException();
+			}
+		}
+	}
+
+	/**
+	 * 返回当前刻度
+	 */
+	private long now() {
+		return (System.nanoTime() - startTime) / tick;
+	}
+
+	/**
+	 * 返回到期刻度（向上取整）
+	 */
+	private long deadline(long delay, TimeUnit unit) {
+		long nanos = Math.max(0, unit.toNanos(delay));
+		return (System.nanoTime() - startTime + nanos + tick - 1) / tick;
+	}
+
+	/**
+	 * 返回周期刻度（至少一个刻度）
+	 */
+	private long period(long period, TimeUnit unit) {
+		if (period <= 0) {
+			throw new IllegalArgumentException("period: " + period);
+		}
+		return Math.max(1, unit.toNanos(period) / tick);
+	}
+
+	private Timeout add(TimerTask task) {
+		if (!running) {
+			throw new RejectedExecutionException("FenceTimer stopped");
+		}
+		size.increment();
+		TimerTask head;
+		do {
+			head = added;
+			task.nextAdded = head;
+		} while (!AA.compareAndSet(this, head, task));
+		if (idle) {
+			LockSupport.unpark(thread);
+		}
+		return task;
+	}
+
+	private void cancel(TimerTask task) {
+		size.decrement();
+		TimerTask head;
+		do {
+			head = cancelled;
+			task.nextCancelled = head;
+		} while (!CC.compareAndSet(this, head, task));
+	}
+
+	private void run() {
+		while (running) {
+			long now = now();
+			// 先放入再移出，放入之前已取消的任务直接跳过
+			TimerTask task = (TimerTask) AA.getAndSet(this, null);
+			TimerTask reversed = null;
+			while (task != null) {
+				TimerTask next = task.nextAdded;
+				task.nextAdded = reversed;
+				reversed = task;
+				task = next;
+			}
+			while (reversed != null) {
+				TimerTask next = reversed.nextAdded;
+				reversed.nextAdded = null;
+				if (reversed.state != TimerTask.CANCELLED) {
+					wheel.add(reversed);
+				}
+				reversed = next;
+			}
+			task = (TimerTask) CC.getAndSet(this, null);
+			while (task != null) {
+				TimerTask next = task.nextCancelled;
+				task.nextCancelled = null;
+				wheel.remove(task);
+				task = next;
+			}
+			wheel.advance(now, expire);
+			if (wheel.size() == 0) {
+				// 没有定时任务时无限期休眠，先声明休眠再检查，不会丢失唤醒
+				idle = true;
+				if (added == null && running) {
+					LockSupport.park(this);
+				}
+				idle = false;
+			} else {
+				LockSupport.parkNanos(this, startTime + (now + 1) * tick - System.nanoTime());
+			}
+		}
+	}
+
+	/**
+	 * 定时任务到期，投递到执行器
+	 *
+	 * @param task 定时任务
+	 */
+	private void expire(TimerTask task) {
+		if (task.period > 0) {
+			if (task.state == TimerTask.CANCELLED) {
+				return;
+			}
+			task.setDeadline(task.getDeadline() + task.period);
+			wheel.add(task);
+		} else {
+			if (!TimerTask.SS.compareAndSet(task, TimerTask.WAITING, TimerTask.EXPIRED)) {
+				return;
+			}
+			size.decrement();
+		}
+		try {
+			if (task.fences == null) {
+				explorer.execute(task, task.fence);
+			} else {
+				explorer.execute(task, task.fences);
+			}
+		} catch (Throwable e) {
+			// 执行器拒绝，忽略本次投递
+		}
+	}
+
+	/**
+	 * 定时任务
+	 */
+	private class TimerTask extends TimingWheel.Node implements Timeout, Runnable {
+
+		private static final VarHandle SS = MiscUtils.findVarHandle(TimerTask.class, "state", int.class);
+
+		private static final int WAITING = 0;
+
+		private static final int CANCELLED = 1;
+
+		private static final int EXPIRED = 2;
+
+		private final Runnable task;
+
+		/**
+		 * 执行屏障（单个）
+		 */
+		private final @Nullable Object fence;
+
+		/**
+		 * 执行屏障（多个）
+		 */
+		private final @Nullable Object[] fences;
+
+		/**
+		 * 周期（刻度），{@code 0}表示只执行一次
+		 */
+		private final long period;
+
+		private volatile int state;
+
+		private TimerTask nextAdded;
+
+		private TimerTask nextCancelled;
+
+		private TimerTask(Runnable task, @Nullable Object fence, @Nullable Object[] fences, long deadline, long period) {
+			this.task = task;
+			this.fence = fence;
+			this.fences = fences;
+			this.deadline = deadline;
+			this.period = period;
+		}
+
+		@Override
+		public boolean cancel() {
+			if (SS.compareAndSet(this, WAITING, CANCELLED)) {
+				FenceTimer.this.cancel(this);
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return state == CANCELLED;
+		}
+
+		@Override
+		public boolean isExpired() {
+			return state == EXPIRED;
+		}
+
+		@Override
+		public void run() {
+			// 周期任务投递之后取消，不再执行
+			if (state != CANCELLED) {
+				task.run();
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "TimerTask(" + task + ")";
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.keimons.nutshell.explorer.support;
+
+import com.keimons.nutshell.explorer.FenceRouter;
+
+/**
+ * 扰动哈希路由
+ * <p>
+ * 与{@link java.util.HashMap}相同，将哈希值的高16位扰动到低16位，避免只有高位不同的哈希值落在同一条轨道上。
+ * 线程数量是2的幂时，使用掩码计算轨道，否则取模。负数的哈希值同样能够得到正确的轨道。
+ * <p>
+ * 连续的ID（例如：玩家ID）会均匀的分布在所有轨道上。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class HashFenceRouter implements FenceRouter {
+
+	/**
+	 * 轨道数量
+	 */
+	private final int nThreads;
+
+	/**
+	 * 轨道掩码
+	 * <p>
+	 * 轨道数量不是2的幂时，为{@code -1}。
+	 */
+	private final int mask;
+
+	public HashFenceRouter(int nThreads) {
+		if (nThreads <= 0) {
+			throw new IllegalArgumentException("nThreads: " + nThreads);
+		}
+		this.nThreads = nThreads;
+		this.mask = (nThreads & (nThreads - 1)) == 0 ? nThreads - 1 : -1;
+	}
+
+	/**
+	 * 扰动哈希
+	 *
+	 * @param h 哈希值
+	 * @return 扰动后的哈希值
+	 */
+	static int spread(int h) {
+		return h ^ (h >>> 16);
+	}
+
+	@Override
+	public int route(Object fence) {
+		return track(fence.hashCode());
+	}
+
+	@Override
+	public int route(long fence) {
+		return track(Long.hashCode(fence));
+	}
+
+	@Override
+	public void complete(long fence) {
+		// do nothing
+	}
+
+	private int track(int hashCode) {
+		int h = spread(hashCode);
+		return mask >= 0 ? h & mask : (h & 0x7FFFFFFF) % nThreads;
+	}
+}
@@ -2,9 +2,15 @@ package com.keimons.nutshell.explorer.support;
 
 import com.keimons.nutshell.explorer.AbstractExplorerService;
 import com.keimons.nutshell.explorer.ConsumerFuture;
+import com.keimons.nutshell.explorer.ExplorerMetrics;
+import com.keimons.nutshell.explorer.Explorers;
+import com.keimons.nutshell.explorer.Histogram;
 import com.keimons.nutshell.explorer.RejectedExplorerHandler;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayDeque;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.*;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
@@ -23,8 +29,24 @@ public class QueueExplorer extends AbstractExplorerService {
 	 */
 	private final AbstractExecutor[] executors;
 
+	/**
+	 * 任务执行线程池
+	 * <p>
+	 * 为{@code null}时，使用固定数量的线程，执行屏障按照哈希落在线程上。否则，每个执行屏障拥有自己的串行队列，
+	 * 队列中有任务时，在线程池中串行执行，任务阻塞时只阻塞相同执行屏障的任务。
+	 */
+	private final @Nullable Executor executor;
+
+	/**
+	 * 执行屏障的串行队列
+	 * <p>
+	 * 只在使用线程池时使用，队列为空时移除。
+	 */
+	private final ConcurrentHashMap<Object, SerialQueue> queues = new ConcurrentHashMap<>();
+
 	public QueueExplorer(String name, int nThreads, RejectedExplorerHandler rejectedHandler) {
 		super(name, nThreads, rejectedHandler, Executors.defaultThreadFactory());
+		this.executor = null;
 		executors = new AbstractExecutor[nThreads];
 		for (int i = 0; i < nThreads; i++) {
 			UnboundedExecutor executor = new UnboundedExecutor();
@@ -33,10 +55,29 @@ public class QueueExplorer extends AbstractExplorerService {
 		}
 	}
 
+	/**
+	 * 使用线程池的哈希队列执行器
+	 * <p>
+	 * 不创建线程，线程数量为{@code 0}。
+	 *
+	 * @param name            执行器名称
+	 * @param rejectedHandler 被拒绝执行任务的处理句柄
+	 * @param executor        任务执行线程池，由调用者管理，参考{@link Explorers#virtualThreadExecutor()}
+	 */
+	public QueueExplorer(String name, RejectedExplorerHandler rejectedHandler, Executor executor) {
+		super(name, 0, rejectedHandler, Executors.defaultThreadFactory());
+		this.executor = Objects.requireNonNull(executor);
+		this.executors = new AbstractExecutor[0];
+	}
+
 	@Override
 	public void execute(Runnable task, Object fence) {
 		if (!running) {
-			rejectedHandler.rejectedExecution(this, task, fence);
+			reject(task, fence);
+		}
+		if (executor != null) {
+			serial(task, fence, false);
+			return;
 		}
 		executors[fence.hashCode() % nThreads].execute(task, fence);
 	}
@@ -44,11 +85,52 @@ public class QueueExplorer extends AbstractExplorerService {
 	@Override
 	public void executeNow(Runnable task, Object fence) {
 		if (!running) {
-			rejectedHandler.rejectedExecution(this, task, fence);
+			reject(task, fence);
+		}
+		if (executor != null) {
+			serial(task, fence, true);
+			return;
 		}
 		executors[fence.hashCode() % nThreads].executeNow(task, fence);
 	}
 
+	/**
+	 * 任务加入执行屏障的串行队列
+	 * <p>
+	 * 队列未在执行时，交给线程池执行。
+	 *
+	 * @param task  任务
+	 * @param fence 执行屏障
+	 * @param first 是否插入队首
+	 */
+	private void serial(Runnable task, Object fence, boolean first) {
+		for (; ; ) {
+			SerialQueue queue = queues.computeIfAbsent(fence, SerialQueue::new);
+			boolean start;
+			synchronized (queue) {
+				if (queue.removed) {
+					// 队列已移除，重新创建
+					continue;
+				}
+				if (first) {
+					queue.tasks.addFirst(task);
+				} else {
+					queue.tasks.addLast(task);
+				}
+				start = !queue.scheduled;
+				queue.scheduled = true;
+			}
+			if (start) {
+				try {
+					executor.execute(queue);
+				} catch (RejectedExecutionException e) {
+					queue.run();
+				}
+			}
+			return;
+		}
+	}
+
 	@Override
 	public Future<?> submit(Runnable task, Object fence) {
 		RunnableFuture<Void> future = new FutureTask<>(task, null);
@@ -77,6 +159,24 @@ public class QueueExplorer extends AbstractExplorerService {
 		return future;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 任务直接存放在队列中，没有发布时间，不统计等待时间。没有缓存、屏障和越障，这些数量总是{@code 0}。
+	 * 使用线程池时，没有固定的线程，只统计被拒绝的任务数量。
+	 */
+	@Override
+	public ExplorerMetrics getMetrics() {
+		ExplorerMetrics.TrackMetrics[] tracks = new ExplorerMetrics.TrackMetrics[executors.length];
+		for (int track = 0; track < executors.length; track++) {
+			AbstractExecutor executor = executors[track];
+			tracks[track] = new ExplorerMetrics.TrackMetrics(
+					track, executor.completedTasks, 0, 0, 0, new Histogram(), executor.workTime.copy()
+			);
+		}
+		return new ExplorerMetrics(name, tracks, getRejectedTasks());
+	}
+
 	@Override
 	public boolean isShutdown() {
 		return !running;
@@ -94,12 +194,63 @@ public class QueueExplorer extends AbstractExplorerService {
 
 	@Override
 	public void shutdown(ConsumerFuture<List<Runnable>> runnable) {
+		stopTimer();
 		running = false;
 		for (AbstractExecutor executor : executors) {
 			executor.shutdown();
 		}
 	}
 
+	/**
+	 * 执行屏障的串行队列
+	 * <p>
+	 * 在线程池的一个线程中依次执行队列中的所有任务，队列为空时结束，并从{@link #queues}中移除。
+	 */
+	private final class SerialQueue implements Runnable {
+
+		private final Object fence;
+
+		/**
+		 * 等待执行的任务（持有对象锁时访问）
+		 */
+		private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+		/**
+		 * 是否已交给线程池（持有对象锁时访问）
+		 */
+		private boolean scheduled;
+
+		/**
+		 * 是否已移除（持有对象锁时访问）
+		 */
+		private boolean removed;
+
+		private SerialQueue(Object fence) {
+			this.fence = fence;
+		}
+
+		@Override
+		public void run() {
+			for (; ; ) {
+				Runnable task;
+				synchronized (this) {
+					task = tasks.pollFirst();
+					if (task == null) {
+						scheduled = false;
+						removed = true;
+						queues.remove(fence, this);
+						return;
+					}
+				}
+				try {
+					task.run();
+				} catch (Throwable e) {
+					// ignore
+				}
+			}
+		}
+	}
+
 	/**
 	 * 消息执行队列
 	 *
@@ -121,6 +272,16 @@ public class QueueExplorer extends AbstractExplorerService {
 		 */
 		protected final Condition notFull = lock.newCondition();
 
+		/**
+		 * 已完成的任务数量
+		 */
+		private long completedTasks;
+
+		/**
+		 * 执行时间
+		 */
+		private final Histogram workTime = new Histogram();
+
 		/**
 		 * 执行器
 		 * <p>
@@ -173,7 +334,7 @@ public class QueueExplorer extends AbstractExplorerService {
 							notFull.await();
 							// 线程被唤醒后，先检查线程池是否关闭，线程池关闭时，也会唤醒所有等待中的线程
 							if (!running) {
-								rejectedHandler.rejectedExecution(QueueExplorer.this, task, fence);
+								QueueExplorer.this.reject(task, fence);
 								return;
 							}
 						}
@@ -185,7 +346,7 @@ public class QueueExplorer extends AbstractExplorerService {
 					Thread.currentThread().interrupt();
 				}
 			} else {
-				rejectedHandler.rejectedExecution(QueueExplorer.this, task, fence);
+				QueueExplorer.this.reject(task, fence);
 			}
 		}
 
@@ -222,7 +383,13 @@ public class QueueExplorer extends AbstractExplorerService {
 						try {
 							runnable = next();
 							beforeExecute();
-							runnable.run();
+							long startTime = System.nanoTime();
+							try {
+								runnable.run();
+							} finally {
+								completedTasks++;
+								workTime.record(System.nanoTime() - startTime);
+							}
 						} catch (Throwable e) {
 							// ignore
 						}
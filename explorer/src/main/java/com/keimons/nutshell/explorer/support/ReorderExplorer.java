@@ -4,24 +4,45 @@ import com.keimons.nutshell.core.OptimisticSynchronizer;
 import com.keimons.nutshell.core.Ripper;
 import com.keimons.nutshell.core.RunnableInterceptor;
 import com.keimons.nutshell.explorer.AbstractExplorerService;
+import com.keimons.nutshell.explorer.BlockingCallerHandler;
 import com.keimons.nutshell.explorer.ConsumerFuture;
+import com.keimons.nutshell.explorer.Debug;
+import com.keimons.nutshell.explorer.ExplorerMetrics;
 import com.keimons.nutshell.explorer.Explorers;
+import com.keimons.nutshell.explorer.Fence;
+import com.keimons.nutshell.explorer.FenceRouter;
+import com.keimons.nutshell.explorer.Histogram;
 import com.keimons.nutshell.explorer.RejectedExplorerHandler;
-import com.keimons.nutshell.explorer.internal.DefaultEventBus;
+import com.keimons.nutshell.explorer.SlowTaskListener;
+import com.keimons.nutshell.explorer.SlowTaskReport;
+import com.keimons.nutshell.explorer.WaitStrategy;
+import com.keimons.nutshell.explorer.internal.ArrayEventBus;
+import com.keimons.nutshell.explorer.internal.ClaimEventBus;
 import com.keimons.nutshell.explorer.internal.EventBus;
+import com.keimons.nutshell.explorer.internal.FenceHierarchy;
+import com.keimons.nutshell.explorer.internal.FenceTable;
+import com.keimons.nutshell.explorer.internal.LaneEventBus;
 import com.keimons.nutshell.explorer.utils.MiscUtils;
 import jdk.internal.vm.annotation.Contended;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.invoke.VarHandle;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * 线程撕裂者
@@ -85,6 +106,36 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 	 */
 	public static final int DEFAULT_THREAD_CAPACITY = 2048;
 
+	/**
+	 * 默认单次批量发布的最大任务数量
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 256;
+
+	/**
+	 * 选项：使用{@link ClaimEventBus}
+	 * <p>
+	 * 生产者通过序列计数器先占用位置，再写入任务，不需要锁定位置，适用于多个生产者同时发布的场景。
+	 * 生产者较少时，占用和发布的额外开销高于锁定位置，所以默认不使用。不能与{@link #LANES}同时使用。
+	 */
+	public static final int CLAIM = 1;
+
+	/**
+	 * 选项：启用溢出，包含{@link #CLAIM}
+	 * <p>
+	 * 事件总线已满的任务写入溢出段，发布从不等待，负载下降后溢出段被释放，事件总线的容量只需要满足平稳的负载。
+	 */
+	public static final int ELASTIC = CLAIM | 2;
+
+	/**
+	 * 选项：使用{@link LaneEventBus}
+	 * <p>
+	 * 执行器读取事件总线上的所有事件，任务命中率仅有{@code 1/nThreads}，线程数量较多时，
+	 * 每个执行器读取的无用缓存行随之增多。使用通道时，执行器只读取自己的通道，代价是每次发布需要额外写入通道。
+	 * 只有执行器运行在不同的核心上时才可能获益，单核心上32个线程反而更慢，所以默认不使用，
+	 * 是否使用应以实际的测量为准，参考{@code ManyWalkersTest}。
+	 */
+	public static final int LANES = 4;
+
 	public static final AtomicInteger EXPLORER_WATCHER_INDEX = new AtomicInteger();
 
 	/**
@@ -93,9 +144,40 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 	public static final String DEFAULT_NAME = "ReorderedExplorer";
 
 	/**
-	 * 超时时间
+	 * 默认被拒绝任务的处理策略
+	 * <p>
+	 * 事件总线已满时，阻塞调用者线程，直到有空余位置。
+	 */
+	public static final RejectedExplorerHandler DEFAULT_REJECTED_HANDLER = new BlockPolicy();
+
+	/**
+	 * 生产者阻塞之前让出CPU的次数
+	 * <p>
+	 * 执行器通常很快就能移除事件，短暂让出CPU就能等到空余位置，避免每次都进入条件队列（每次入队都会分配节点）。
+	 */
+	private static final int PUBLISH_YIELDS = 64;
+
+	/**
+	 * 全局任务的执行屏障
+	 */
+	private static final Object[] NO_FENCES = new Object[0];
+
+	/**
+	 * 默认的慢任务阈值（毫秒）
+	 */
+	private static final long DEFAULT_SLOW_THRESHOLD = 2000;
+
+	/**
+	 * 慢任务阈值（纳秒）
+	 * <p>
+	 * 任务执行超过阈值时，由守望线程通知{@link #slowTaskListener}，参考{@link #setSlowTaskListener(long, TimeUnit, SlowTaskListener)}。
+	 */
+	private volatile long slowThreshold = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SLOW_THRESHOLD);
+
+	/**
+	 * 慢任务监听器
 	 */
-	private final int time;
+	private volatile SlowTaskListener slowTaskListener = SlowTaskListener.WARN;
 
 	private final Lock main = new ReentrantLock();
 
@@ -103,6 +185,8 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 	 * 事件总线
 	 * <p>
 	 * 所有任务都发布在事件总线上，如果事件总线不能发布任务，任务发布失败，则队列已满。
+	 * 使用{@link #LANES}时，任务同时追加到所在轨道的通道中，每个执行器只读取自己的通道。
+	 * 启用溢出时，事件总线已满的任务写入溢出段，事件总线永远不会已满。
 	 */
 	private final EventBus<RunnableInterceptor> eventBus;
 
@@ -113,18 +197,227 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 
 	private final Sync[] syncs;
 
+	/**
+	 * 屏障路由
+	 * <p>
+	 * 决定执行屏障落在哪一条轨道上。
+	 */
+	private final FenceRouter router;
+
+	/**
+	 * 执行屏障层级
+	 * <p>
+	 * 父屏障的任务与所有子屏障的任务互斥，参考{@link #bind(Object, Object)}。
+	 */
+	private final FenceHierarchy hierarchy = new FenceHierarchy();
+
+	/**
+	 * 等待策略
+	 * <p>
+	 * 执行器没有可以处理的任务时，决定如何等待。
+	 */
+	private final WaitStrategy waitStrategy;
+
 	/**
 	 * 守望线程
 	 */
 	private final Watcher watcher;
 
+	/**
+	 * 每个回收站最多保留的已归还节点数量
+	 * <p>
+	 * 与事件总线的容量相同，平稳的负载下归还的节点总能放回回收站。突发流量过后（例如启用溢出时），
+	 * 超出的节点被丢弃，回收站不会一直保留峰值时的节点数量。
+	 */
+	private final int recyclerCapacity;
+
+	/**
+	 * 单屏障节点回收站
+	 * <p>
+	 * 每个生产者线程拥有自己的回收站，节点由生产者线程取出，执行完成后由消费者线程归还。
+	 */
+	private final ThreadLocal<Recycler<InterceptorTask1>> recyclers1 = ThreadLocal.withInitial(this::newRecycler);
+
+	/**
+	 * 双屏障节点回收站
+	 */
+	private final ThreadLocal<Recycler<InterceptorTask2>> recyclers2 = ThreadLocal.withInitial(this::newRecycler);
+
+	/**
+	 * 三屏障节点回收站
+	 */
+	private final ThreadLocal<Recycler<InterceptorTask3>> recyclers3 = ThreadLocal.withInitial(this::newRecycler);
+
+	/**
+	 * 多屏障节点回收站
+	 */
+	private final ThreadLocal<Recycler<InterceptorTaskX>> recyclersX = ThreadLocal.withInitial(this::newRecycler);
+
+	/**
+	 * 单{@code long}屏障节点回收站
+	 */
+	private final ThreadLocal<Recycler<LongInterceptorTask1>> longRecyclers1 = ThreadLocal.withInitial(this::newRecycler);
+
+	/**
+	 * 双{@code long}屏障节点回收站
+	 */
+	private final ThreadLocal<Recycler<LongInterceptorTask2>> longRecyclers2 = ThreadLocal.withInitial(this::newRecycler);
+
+	/**
+	 * 多{@code long}屏障节点回收站
+	 */
+	private final ThreadLocal<Recycler<LongInterceptorTaskX>> longRecyclersX = ThreadLocal.withInitial(this::newRecycler);
+
+	/**
+	 * 单次批量发布的最大任务数量
+	 */
+	private final int batchSize;
+
+	/**
+	 * 批量发布
+	 * <p>
+	 * 每个生产者线程拥有自己的批量发布缓冲区。
+	 */
+	private final ThreadLocal<Batch> batches = ThreadLocal.withInitial(Batch::new);
+
+	/**
+	 * 最长阻塞时间（纳秒）
+	 * <p>
+	 * 事件总线已满时，阻塞调用者线程的最长时间，小于{@code 0}时一直阻塞。
+	 * 拒绝策略不是{@link BlockingCallerHandler}时，不阻塞调用者线程，直接调用拒绝策略。
+	 */
+	private final long blockingTimeout;
+
+	/**
+	 * 生产者锁
+	 * <p>
+	 * 事件总线已满时，生产者在{@link #notFull}上等待，执行器移除事件后唤醒。
+	 */
+	private final ReentrantLock producerLock = new ReentrantLock();
+
+	private final Condition notFull = producerLock.newCondition();
+
+	/**
+	 * 等待空余位置的生产者数量
+	 * <p>
+	 * 生产者先增加等待数量，再尝试发布；执行器先移除事件，再读取等待数量，两边都是volatile语义，不会丢失唤醒。
+	 * 没有生产者等待时，执行器只需要一次volatile读取。
+	 */
+	private volatile int waiters;
+
+	/**
+	 * 生产者阻塞次数
+	 */
+	private final LongAdder blockedCount = new LongAdder();
+
+	/**
+	 * 生产者阻塞时长（纳秒）
+	 */
+	private final LongAdder blockedTime = new LongAdder();
+
+	/**
+	 * 尚未开始执行的合并任务
+	 * <p>
+	 * 以合并键和执行屏障为键，任务开始执行时移除，参考{@link #executeCoalesce(Runnable, Object, Object)}。
+	 */
+	private final ConcurrentHashMap<CoalescingKey, Coalescing> coalescings = new ConcurrentHashMap<>();
+
+	/**
+	 * 被合并的任务数量
+	 */
+	private final LongAdder coalescedTasks = new LongAdder();
+
+	/**
+	 * 放入优先队列的任务数量
+	 * <p>
+	 * 优先任务不经过事件总线，但执行完成后同样计入执行器的已完成任务数量，关闭时一同计入需要完成的任务数量。
+	 */
+	private final LongAdder urgentTasks = new LongAdder();
+
+	/**
+	 * 任务执行线程池
+	 * <p>
+	 * 为{@code null}时，执行器直接执行任务。否则，执行器只负责任务的排序，任务在线程池中执行，
+	 * 执行期间执行屏障保持拦截，任务阻塞时只阻塞相同执行屏障的任务，参考{@link Explorers#virtualThreadExecutor()}。
+	 */
+	private final @Nullable Executor executor;
+
 	public ReorderExplorer(int nThreads) {
-		this(DEFAULT_NAME, nThreads, nThreads * DEFAULT_THREAD_CAPACITY, DefaultRejectedHandler, Explorers.defaultThreadFactory());
+		this(DEFAULT_NAME, nThreads, nThreads * DEFAULT_THREAD_CAPACITY, DEFAULT_REJECTED_HANDLER, Explorers.defaultThreadFactory());
+	}
+
+	public ReorderExplorer(int nThreads, FenceRouter router) {
+		this(DEFAULT_NAME, nThreads, nThreads * DEFAULT_THREAD_CAPACITY, DEFAULT_REJECTED_HANDLER, Explorers.defaultThreadFactory(), router);
+	}
+
+	public ReorderExplorer(int nThreads, Executor executor) {
+		this(DEFAULT_NAME, nThreads, nThreads * DEFAULT_THREAD_CAPACITY, DEFAULT_REJECTED_HANDLER, Explorers.defaultThreadFactory(), new HashFenceRouter(nThreads), new BlockingWaitStrategy(), 0, executor);
+	}
+
+	public ReorderExplorer(int nThreads, WaitStrategy waitStrategy) {
+		this(DEFAULT_NAME, nThreads, nThreads * DEFAULT_THREAD_CAPACITY, DEFAULT_REJECTED_HANDLER, Explorers.defaultThreadFactory(), new HashFenceRouter(nThreads), waitStrategy);
 	}
 
 	public ReorderExplorer(String name, int nThreads, int capacity, RejectedExplorerHandler rejectedHandler, ThreadFactory threadFactory) {
+		this(name, nThreads, capacity, rejectedHandler, threadFactory, new HashFenceRouter(nThreads));
+	}
+
+	public ReorderExplorer(String name, int nThreads, int capacity, RejectedExplorerHandler rejectedHandler, ThreadFactory threadFactory, FenceRouter router) {
+		this(name, nThreads, capacity, rejectedHandler, threadFactory, router, new BlockingWaitStrategy());
+	}
+
+	public ReorderExplorer(String name, int nThreads, int capacity, RejectedExplorerHandler rejectedHandler, ThreadFactory threadFactory, FenceRouter router, WaitStrategy waitStrategy) {
+		this(name, nThreads, capacity, rejectedHandler, threadFactory, router, waitStrategy, 0);
+	}
+
+	/**
+	 * 重排序线程池
+	 *
+	 * @param name            线程池名称
+	 * @param nThreads        线程数量
+	 * @param capacity        事件总线的容量
+	 * @param rejectedHandler 被拒绝执行任务的处理句柄
+	 * @param threadFactory   线程工厂
+	 * @param router          屏障路由
+	 * @param waitStrategy    等待策略
+	 * @param options         选项，{@link #CLAIM}、{@link #ELASTIC}和{@link #LANES}的组合，没有选项时为{@code 0}
+	 */
+	public ReorderExplorer(String name, int nThreads, int capacity, RejectedExplorerHandler rejectedHandler, ThreadFactory threadFactory, FenceRouter router, WaitStrategy waitStrategy, int options) {
+		this(name, nThreads, capacity, rejectedHandler, threadFactory, router, waitStrategy, options, null);
+	}
+
+	/**
+	 * 重排序线程池
+	 *
+	 * @param name            线程池名称
+	 * @param nThreads        线程数量
+	 * @param capacity        事件总线的容量
+	 * @param rejectedHandler 被拒绝执行任务的处理句柄
+	 * @param threadFactory   线程工厂
+	 * @param router          屏障路由
+	 * @param waitStrategy    等待策略
+	 * @param options         选项
+	 * @param executor        任务执行线程池，为{@code null}时由执行器直接执行任务。线程池由调用者管理，
+	 *                        线程池拒绝任务时，由执行器直接执行
+	 */
+	public ReorderExplorer(String name, int nThreads, int capacity, RejectedExplorerHandler rejectedHandler, ThreadFactory threadFactory, FenceRouter router, WaitStrategy waitStrategy, int options, @Nullable Executor executor) {
 		super(name, nThreads, rejectedHandler, threadFactory);
-		this.eventBus = new DefaultEventBus<>(capacity);
+		this.router = router;
+		this.executor = executor;
+		this.waitStrategy = waitStrategy;
+		if ((options & CLAIM) != 0 && (options & LANES) != 0) {
+			throw new IllegalArgumentException("options: " + options);
+		}
+		if ((options & CLAIM) != 0) {
+			this.eventBus = new ClaimEventBus<>(capacity, (options & ELASTIC) == ELASTIC);
+		} else if ((options & LANES) != 0) {
+			this.eventBus = new LaneEventBus<>(capacity, nThreads, this::tracks);
+		} else {
+			this.eventBus = new ArrayEventBus<>(capacity);
+		}
+		this.batchSize = Math.min(DEFAULT_BATCH_SIZE, capacity);
+		this.recyclerCapacity = capacity;
+		this.blockingTimeout = blockingCaller ? ((BlockingCallerHandler) rejectedHandler).getTimeout() : 0;
 		this.walkers = new Walker[nThreads];
 		this.syncs = new Sync[nThreads];
 		for (int track = 0; track < nThreads; track++) {
@@ -134,7 +427,95 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 			syncs[track] = walker.sync;
 		}
 		this.watcher = new Watcher();
-		this.time = 2000;
+	}
+
+	/**
+	 * 创建生产者线程的节点回收站
+	 *
+	 * @param <T> 节点类型
+	 * @return 节点回收站
+	 */
+	private <T extends AbstractInterceptorTask> Recycler<T> newRecycler() {
+		return new Recycler<>(recyclerCapacity);
+	}
+
+	/**
+	 * 返回节点所在的轨道（不含重复）
+	 *
+	 * @param node   节点
+	 * @param tracks 节点所在的轨道（输出参数）
+	 * @return 轨道数量
+	 */
+	private int tracks(RunnableInterceptor node, int[] tracks) {
+		if (node instanceof InterceptorTask1 task) {
+			tracks[0] = task.track;
+			return 1;
+		}
+		if (node instanceof InterceptorTask2 task) {
+			tracks[0] = task.track0;
+			return addTrack(tracks, 1, task.track1);
+		}
+		if (node instanceof InterceptorTask3 task) {
+			tracks[0] = task.track0;
+			int count = addTrack(tracks, 1, task.track1);
+			return addTrack(tracks, count, task.track2);
+		}
+		if (node instanceof InterceptorTaskX task) {
+			System.arraycopy(task.tracks, 0, tracks, 0, task.trackCount);
+			return task.trackCount;
+		}
+		if (node instanceof LongInterceptorTask1 task) {
+			tracks[0] = task.track;
+			return 1;
+		}
+		if (node instanceof LongInterceptorTask2 task) {
+			tracks[0] = task.track0;
+			return addTrack(tracks, 1, task.track1);
+		}
+		if (node instanceof LongInterceptorTaskX task) {
+			System.arraycopy(task.tracks, 0, tracks, 0, task.trackCount);
+			return task.trackCount;
+		}
+		int count = 0;
+		for (int track = 0; track < nThreads; track++) {
+			if (node.isTrack(track)) {
+				tracks[count++] = track;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 返回执行屏障是否为读屏障
+	 *
+	 * @param fence 执行屏障
+	 * @return {@code true}读屏障，{@code false}写屏障
+	 * @see Fence
+	 */
+	private static boolean isReadFence(Object fence) {
+		return fence instanceof Fence f && f.isRead();
+	}
+
+	/**
+	 * 返回用于路由和比较的执行屏障
+	 * <p>
+	 * 读写屏障以其中的{@link Fence#key()}路由和比较，读屏障和写屏障互相阻塞。
+	 *
+	 * @param fence 执行屏障
+	 * @return 执行屏障
+	 */
+	private static Object fenceKey(Object fence) {
+		return fence instanceof Fence f ? f.key() : fence;
+	}
+
+	private static int addTrack(int[] tracks, int count, int track) {
+		for (int i = 0; i < count; i++) {
+			if (tracks[i] == track) {
+				return count;
+			}
+		}
+		tracks[count] = track;
+		return count + 1;
 	}
 
 	private void weakUp(int track) {
@@ -142,12 +523,185 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 		sync.acquireWrite();
 	}
 
+	/**
+	 * 发布节点
+	 * <p>
+	 * 事件总线已满时，如果拒绝策略是{@link BlockingCallerHandler}，阻塞调用者线程，直到有空余位置、超时或者线程池关闭，
+	 * 否则直接返回发布失败，由调用者执行拒绝策略。
+	 *
+	 * @param node 节点
+	 * @return {@code true}发布成功，{@code false}发布失败
+	 */
+	private boolean publish(RunnableInterceptor node) {
+		return eventBus.tryPublishEvent(node) || awaitPublish(node, null, 0);
+	}
+
+	/**
+	 * 批量发布节点
+	 *
+	 * @param nodes  节点
+	 * @param length 节点数量
+	 * @return {@code true}发布成功，{@code false}发布失败
+	 * @see #publish(RunnableInterceptor)
+	 */
+	private boolean publish(RunnableInterceptor[] nodes, int length) {
+		return eventBus.tryPublishEvents(nodes, 0, length) || awaitPublish(null, nodes, length);
+	}
+
+	/**
+	 * 阻塞调用者线程，等待空余位置并发布
+	 *
+	 * @param node   节点，为{@code null}时批量发布
+	 * @param nodes  批量发布的节点
+	 * @param length 批量发布的节点数量
+	 * @return {@code true}发布成功，{@code false}不阻塞、超时、线程池关闭或者调用者线程被中断
+	 */
+	private boolean awaitPublish(@Nullable RunnableInterceptor node, RunnableInterceptor[] nodes, int length) {
+		if (!blockingCaller || state > RUNNING) {
+			return false;
+		}
+		long start = System.nanoTime();
+		boolean timed = blockingTimeout >= 0;
+		for (int i = 0; i < PUBLISH_YIELDS && state == RUNNING; i++) {
+			Thread.yield();
+			if (tryPublish(node, nodes, length)) {
+				return true;
+			}
+		}
+		long nanos = timed ? blockingTimeout - (System.nanoTime() - start) : blockingTimeout;
+		final ReentrantLock lock = this.producerLock;
+		lock.lock();
+		try {
+			waiters++;
+			try {
+				// 增加等待数量之后重新尝试，执行器在此之前移除的事件，一定能在这里看到
+				while (state == RUNNING) {
+					if (tryPublish(node, nodes, length)) {
+						return true;
+					}
+					if (!timed) {
+						notFull.await();
+					} else if (nanos > 0) {
+						nanos = notFull.awaitNanos(nanos);
+					} else {
+						return false;
+					}
+				}
+				return false;
+			} finally {
+				waiters--;
+			}
+		} catch (InterruptedException e) {
+			// 恢复中断状态
+			Thread.currentThread().interrupt();
+			return false;
+		} finally {
+			lock.unlock();
+			blockedCount.increment();
+			blockedTime.add(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * 尝试发布节点
+	 *
+	 * @param node   节点，为{@code null}时批量发布
+	 * @param nodes  批量发布的节点
+	 * @param length 批量发布的节点数量
+	 * @return {@code true}发布成功，{@code false}事件总线已满
+	 */
+	private boolean tryPublish(@Nullable RunnableInterceptor node, RunnableInterceptor[] nodes, int length) {
+		return node == null ? eventBus.tryPublishEvents(nodes, 0, length) : eventBus.tryPublishEvent(node);
+	}
+
+	/**
+	 * 唤醒所有等待空余位置的生产者
+	 */
+	private void signalProducers() {
+		final ReentrantLock lock = this.producerLock;
+		lock.lock();
+		try {
+			notFull.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 移除事件
+	 * <p>
+	 * 有生产者等待空余位置时，唤醒生产者。
+	 *
+	 * @param sequence 事件序列
+	 */
+	private void removeEvent(long sequence) {
+		eventBus.removeEvent(sequence);
+		if (waiters > 0) {
+			signalProducers();
+		}
+	}
+
+	/**
+	 * 绑定子屏障到父屏障
+	 * <p>
+	 * 父屏障的任务与所有子屏障的任务互斥，例如，组织的解散、改名等操作需要排除组织中所有玩家的任务：
+	 * <pre>{@code
+	 *     explorer.bind(playerId, unionId);
+	 *     explorer.execute(disband, unionId); // 与该组织所有玩家的任务互斥
+	 * }</pre>
+	 * 子屏障的任务隐含一个父屏障上的读屏障，子屏障的任务之间互不阻塞，仍然完全并行，只有父屏障的任务等待时才会被阻塞。
+	 * 父屏障的任务位于所有轨道上，并且总是写屏障（父屏障上的读屏障按照写屏障处理），
+	 * 它的代价与线程数量成正比，而不是与子屏障数量成正比，适用于较少发生的整体操作。
+	 * <p>
+	 * 只支持两层，父屏障不能再绑定到其它父屏障。绑定关系只对之后提交的任务生效，
+	 * 绑定之前提交的子屏障任务，不保证与之后提交的父屏障任务的顺序，应该在提交子屏障的任务之前绑定。
+	 *
+	 * @param child  子屏障
+	 * @param parent 父屏障
+	 * @throws IllegalArgumentException 子屏障是父屏障，或者父屏障是子屏障
+	 * @throws IllegalStateException    子屏障已经绑定到其它父屏障
+	 */
+	public void bind(Object child, Object parent) {
+		hierarchy.bind(fenceKey(Objects.requireNonNull(child)), fenceKey(Objects.requireNonNull(parent)));
+	}
+
+	/**
+	 * 解除子屏障的绑定
+	 * <p>
+	 * 与绑定一样，只对之后提交的任务生效。
+	 *
+	 * @param child 子屏障
+	 * @return {@code true}解除成功，{@code false}子屏障没有绑定
+	 */
+	public boolean unbind(Object child) {
+		return hierarchy.unbind(fenceKey(Objects.requireNonNull(child)));
+	}
+
+	/**
+	 * 返回生产者因为事件总线已满而阻塞的次数
+	 *
+	 * @return 阻塞次数
+	 */
+	public long getBlockedCount() {
+		return blockedCount.sum();
+	}
+
+	/**
+	 * 返回生产者因为事件总线已满而阻塞的总时长
+	 *
+	 * @param unit 时间单位
+	 * @return 阻塞总时长
+	 */
+	public long getBlockedTime(TimeUnit unit) {
+		return unit.convert(blockedTime.sum(), TimeUnit.NANOSECONDS);
+	}
+
 	@Override
 	public void execute(RunnableInterceptor task) {
-		if (eventBus.publishEvent(task)) {
+		if (publish(task)) {
 			task.weakUp();
 		} else {
-			rejectedHandler.rejectedExecution(this, task, task.getFences());
+			reject(task, task.getFences());
 		}
 	}
 
@@ -157,13 +711,15 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 			throw new NullPointerException();
 		}
 		if (state > RUNNING) {
-			rejectedHandler.rejectedExecution(this, task, fence);
+			reject(task, fence);
 		} else {
-			RunnableInterceptor runnableInterceptor = new InterceptorTask1(task, fence);
-			if (eventBus.publishEvent(runnableInterceptor)) {
+			AbstractInterceptorTask runnableInterceptor = interceptor(task, fence);
+			if (publish(runnableInterceptor)) {
 				runnableInterceptor.weakUp();
 			} else {
-				rejectedHandler.rejectedExecution(this, task, fence);
+				runnableInterceptor.complete();
+				runnableInterceptor.discard();
+				reject(task, fence);
 			}
 		}
 	}
@@ -173,13 +729,15 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 			throw new NullPointerException();
 		}
 		if (state > RUNNING) {
-			rejectedHandler.rejectedExecution(this, task, fence0, fence1);
+			reject(task, fence0, fence1);
 		} else {
-			RunnableInterceptor runnableInterceptor = new InterceptorTask2(task, fence0, fence1);
-			if (eventBus.publishEvent(runnableInterceptor)) {
+			AbstractInterceptorTask runnableInterceptor = interceptor(task, fence0, fence1);
+			if (publish(runnableInterceptor)) {
 				runnableInterceptor.weakUp();
 			} else {
-				rejectedHandler.rejectedExecution(this, task, fence0, fence1);
+				runnableInterceptor.complete();
+				runnableInterceptor.discard();
+				reject(task, fence0, fence1);
 			}
 		}
 	}
@@ -189,13 +747,15 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 			throw new NullPointerException();
 		}
 		if (state > RUNNING) {
-			rejectedHandler.rejectedExecution(this, task, fence0, fence1, fence2);
+			reject(task, fence0, fence1, fence2);
 		} else {
-			RunnableInterceptor runnableInterceptor = new InterceptorTask3(task, fence0, fence1, fence2);
-			if (eventBus.publishEvent(runnableInterceptor)) {
+			AbstractInterceptorTask runnableInterceptor = interceptor(task, fence0, fence1, fence2);
+			if (publish(runnableInterceptor)) {
 				runnableInterceptor.weakUp();
 			} else {
-				rejectedHandler.rejectedExecution(this, task, fence0, fence1, fence2);
+				runnableInterceptor.complete();
+				runnableInterceptor.discard();
+				reject(task, fence0, fence1, fence2);
 			}
 		}
 	}
@@ -210,152 +770,1047 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 			}
 		}
 		if (state > RUNNING) {
-			rejectedHandler.rejectedExecution(this, task, fences);
+			reject(task, fences);
 		} else {
-			RunnableInterceptor runnableInterceptor = new InterceptorTaskX(task, fences);
-			if (eventBus.publishEvent(runnableInterceptor)) {
+			InterceptorTaskX runnableInterceptor = interceptorX(task, fences);
+			if (publish(runnableInterceptor)) {
 				runnableInterceptor.weakUp();
 			} else {
-				rejectedHandler.rejectedExecution(this, task, fences);
+				runnableInterceptor.complete();
+				runnableInterceptor.discard();
+				reject(task, fences);
 			}
 		}
 	}
 
+	/**
+	 * 执行带参数的任务
+	 * <p>
+	 * 函数和参数存放在节点中，随节点复用，稳态运行时不产生对象分配。
+	 * 函数应该是无捕获的（例如静态方法引用或{@code static final}常量），否则每次提交时依然会创建函数对象。
+	 * 任务被拒绝时，才会将函数和参数包装为{@link Runnable}交给拒绝策略。
+	 *
+	 * @param task  任务
+	 * @param arg   参数
+	 * @param fence 执行屏障
+	 * @param <A>   参数类型
+	 */
 	@Override
-	public Future<?> submit(Runnable task, Object fence) {
-		RunnableFuture<Void> future = new FutureTask<>(task, null);
-		execute(future, fence);
-		return future;
+	public <A> void execute(Consumer<? super A> task, A arg, Object fence) {
+		if (task == null || fence == null) {
+			throw new NullPointerException();
+		}
+		if (state > RUNNING || !publish0(interceptor(null, fence).bind(task, arg))) {
+			reject(() -> task.accept(arg), fence);
+		}
 	}
 
-	public Future<?> submit(Runnable task, Object fence1, Object fence2) {
-		RunnableFuture<Void> future = new FutureTask<>(task, null);
-		execute(future, fence1, fence2);
-		return future;
-	}
-
-	public Future<?> submit(Runnable task, Object fence1, Object fence2, Object fence3) {
-		RunnableFuture<Void> future = new FutureTask<>(task, null);
-		execute(future, fence1, fence2, fence3);
-		return future;
+	/**
+	 * 执行带参数的任务
+	 *
+	 * @param task   任务
+	 * @param arg    参数
+	 * @param fence0 执行屏障
+	 * @param fence1 执行屏障
+	 * @param <A>    参数类型
+	 * @see #execute(Consumer, Object, Object)
+	 */
+	public <A> void execute(Consumer<? super A> task, A arg, Object fence0, Object fence1) {
+		if (task == null || fence0 == null || fence1 == null) {
+			throw new NullPointerException();
+		}
+		if (state > RUNNING || !publish0(interceptor(null, fence0, fence1).bind(task, arg))) {
+			reject(() -> task.accept(arg), fence0, fence1);
+		}
 	}
 
-	public Future<?> submit(Runnable task, Object... fences) {
-		switch (fences.length) {
-			case 0: {
-				throw new RuntimeException();
-			}
-			case 1: {
-				return submit(task, fences[0]);
-			}
-			case 2: {
-				return submit(task, fences[0], fences[1]);
-			}
-			case 3: {
-				return submit(task, fences[0], fences[1], fences[2]);
-			}
-			default: {
-				RunnableFuture<Void> future = new FutureTask<>(task, null);
-				execute(future, fences);
-				return future;
+	/**
+	 * 执行带参数的任务
+	 *
+	 * @param task   任务
+	 * @param arg    参数
+	 * @param fences 执行屏障
+	 * @param <A>    参数类型
+	 * @see #execute(Consumer, Object, Object)
+	 */
+	@Override
+	public <A> void execute(Consumer<? super A> task, A arg, Object... fences) {
+		if (task == null) {
+			throw new NullPointerException();
+		}
+		for (int i = 0, count = fences.length; i < count; i++) {
+			if (fences[i] == null) {
+				throw new NullPointerException();
 			}
 		}
+		if (state > RUNNING || !publish0(interceptor(null, fences).bind(task, arg))) {
+			reject(() -> task.accept(arg), fences);
+		}
 	}
 
+	/**
+	 * 执行带两个参数的任务
+	 * <p>
+	 * 适用于{@code handler.join(player, message)}形式的消息处理器，参考{@link #execute(Consumer, Object, Object)}。
+	 *
+	 * @param task  任务
+	 * @param arg0  第一个参数
+	 * @param arg1  第二个参数
+	 * @param fence 执行屏障
+	 * @param <A>   第一个参数类型
+	 * @param <B>   第二个参数类型
+	 */
 	@Override
-	public <T> Future<T> submit(Callable<T> task, Object fence) {
-		FutureTask<T> future = new FutureTask<>(task);
-		execute(future, fence);
-		return future;
+	public <A, B> void execute(BiConsumer<? super A, ? super B> task, A arg0, B arg1, Object fence) {
+		if (task == null || fence == null) {
+			throw new NullPointerException();
+		}
+		if (state > RUNNING || !publish0(interceptor(null, fence).bind(task, arg0, arg1))) {
+			reject(() -> task.accept(arg0, arg1), fence);
+		}
 	}
 
-	@Override
-	public boolean isShutdown() {
-		return !running;
+	/**
+	 * 执行带两个参数的任务
+	 *
+	 * @param task   任务
+	 * @param arg0   第一个参数
+	 * @param arg1   第二个参数
+	 * @param fence0 执行屏障
+	 * @param fence1 执行屏障
+	 * @param <A>    第一个参数类型
+	 * @param <B>    第二个参数类型
+	 * @see #execute(BiConsumer, Object, Object, Object)
+	 */
+	public <A, B> void execute(BiConsumer<? super A, ? super B> task, A arg0, B arg1, Object fence0, Object fence1) {
+		if (task == null || fence0 == null || fence1 == null) {
+			throw new NullPointerException();
+		}
+		if (state > RUNNING || !publish0(interceptor(null, fence0, fence1).bind(task, arg0, arg1))) {
+			reject(() -> task.accept(arg0, arg1), fence0, fence1);
+		}
 	}
 
+	/**
+	 * 执行带两个参数的任务
+	 *
+	 * @param task   任务
+	 * @param arg0   第一个参数
+	 * @param arg1   第二个参数
+	 * @param fences 执行屏障
+	 * @param <A>    第一个参数类型
+	 * @param <B>    第二个参数类型
+	 * @see #execute(BiConsumer, Object, Object, Object)
+	 */
 	@Override
-	public void close() {
-		close(null);
+	public <A, B> void execute(BiConsumer<? super A, ? super B> task, A arg0, B arg1, Object... fences) {
+		if (task == null) {
+			throw new NullPointerException();
+		}
+		for (int i = 0, count = fences.length; i < count; i++) {
+			if (fences[i] == null) {
+				throw new NullPointerException();
+			}
+		}
+		if (state > RUNNING || !publish0(interceptor(null, fences).bind(task, arg0, arg1))) {
+			reject(() -> task.accept(arg0, arg1), fences);
+		}
 	}
 
-	@Override
-	public void close(RunnableFuture<?> onClose) {
-		main.lock();
-		try {
-			if (onClose != null) {
-				watcher.tasks.add(onClose);
+	/**
+	 * 发布节点并唤醒轨道
+	 * <p>
+	 * 发布失败时，通知路由任务已完成并将节点归还到回收站。
+	 *
+	 * @param node 节点
+	 * @return {@code true}发布成功，{@code false}发布失败
+	 */
+	private boolean publish0(AbstractInterceptorTask node) {
+		if (publish(node)) {
+			node.weakUp();
+			return true;
+		}
+		node.complete();
+		node.discard();
+		return false;
+	}
+
+	/**
+	 * 执行任务（{@code long}执行屏障）
+	 * <p>
+	 * 与{@link #execute(Runnable, Object)}相同，{@code long}执行屏障与相同值的{@link Long}执行屏障是同一个执行屏障。
+	 * 节点以原始类型存储执行屏障，路由、执行器比较和记录执行屏障时都不会装箱，也不会调用{@link Object#equals(Object)}，
+	 * 适用于玩家ID、公会ID等数值ID。
+	 * <p>
+	 * 没有使用{@code execute}重载，因为{@code int}执行屏障会被拓宽为{@code long}，改变{@link Integer}执行屏障的语义。
+	 *
+	 * @param task  任务
+	 * @param fence 执行屏障
+	 */
+	public void executeLong(Runnable task, long fence) {
+		if (task == null) {
+			throw new NullPointerException();
+		}
+		if (state > RUNNING) {
+			reject(task, fence);
+		} else {
+			AbstractInterceptorTask runnableInterceptor = longInterceptor(task, fence);
+			if (publish(runnableInterceptor)) {
+				runnableInterceptor.weakUp();
+			} else {
+				runnableInterceptor.complete();
+				runnableInterceptor.discard();
+				reject(task, fence);
 			}
-			if (state == RUNNING) {
-				state = CLOSE;
+		}
+	}
+
+	/**
+	 * 执行任务（{@code long}执行屏障）
+	 *
+	 * @param task   任务
+	 * @param fence0 执行屏障
+	 * @param fence1 执行屏障
+	 * @see #executeLong(Runnable, long)
+	 */
+	public void executeLong(Runnable task, long fence0, long fence1) {
+		if (task == null) {
+			throw new NullPointerException();
+		}
+		if (state > RUNNING) {
+			reject(task, fence0, fence1);
+		} else {
+			AbstractInterceptorTask runnableInterceptor = longInterceptor(task, fence0, fence1);
+			if (publish(runnableInterceptor)) {
+				runnableInterceptor.weakUp();
+			} else {
+				runnableInterceptor.complete();
+				runnableInterceptor.discard();
+				reject(task, fence0, fence1);
 			}
-			eventBus.shutdown();
-		} finally {
-			main.unlock();
 		}
-		// recheck 确保任务能够顺利执行
-		if (state >= TERMINATED && onClose != null) {
-			if (watcher.tasks.remove(onClose)) {
-				onClose.run();
+	}
+
+	/**
+	 * 执行任务（{@code long}执行屏障）
+	 * <p>
+	 * 执行屏障复制到节点中，调用者可以复用数组。
+	 *
+	 * @param task   任务
+	 * @param fences 执行屏障
+	 * @see #executeLong(Runnable, long)
+	 */
+	public void executeLong(Runnable task, long... fences) {
+		if (task == null) {
+			throw new NullPointerException();
+		}
+		switch (fences.length) {
+			case 0 -> throw new IllegalArgumentException("fences is empty");
+			case 1 -> executeLong(task, fences[0]);
+			case 2 -> executeLong(task, fences[0], fences[1]);
+			default -> {
+				if (state > RUNNING) {
+					reject(task, boxed(fences));
+				} else {
+					AbstractInterceptorTask runnableInterceptor = longInterceptorX(task, fences);
+					if (publish(runnableInterceptor)) {
+						runnableInterceptor.weakUp();
+					} else {
+						runnableInterceptor.complete();
+						runnableInterceptor.discard();
+						reject(task, boxed(fences));
+					}
+				}
 			}
 		}
 	}
 
+	private static Object[] boxed(long[] fences) {
+		return boxed(fences, fences.length);
+	}
+
 	/**
-	 * // 我们再三考虑决定，移除对于shutdown的支持。
-	 * // 因为对于支持重排序的线程池来说，所有任务已经结束。
+	 * 装箱执行屏障，用于拒绝任务和诊断
 	 *
-	 * @throws UnsupportedOperationException 不支持的{@code shutdown()}调用
+	 * @param fences 执行屏障
+	 * @param length 执行屏障数量
+	 * @return 装箱后的执行屏障
+	 */
+	private static Object[] boxed(long[] fences, int length) {
+		Object[] objects = new Object[length];
+		for (int i = 0; i < length; i++) {
+			objects[i] = fences[i];
+		}
+		return objects;
+	}
+
+	/**
+	 * 提交任务（立即执行）
+	 * <p>
+	 * 任务不经过事件总线，直接放入执行屏障所在轨道的优先队列，执行器在读取事件总线之前读取优先队列。
+	 * 任务越过相同执行屏障上所有尚未执行的任务（包括被缓存的任务和事件总线上尚未读取的任务），
+	 * 但不会越过正在执行、挂起或者作为屏障拦截中的任务，优先队列中的任务之间保持提交顺序。
+	 * 适用于踢人、GM指令、断线清理等需要插队的少量任务。
+	 * <p>
+	 * 优先队列是无界的，不受事件总线容量的限制。执行屏障是父屏障（位于所有轨道）时，
+	 * 任务不能放入单个轨道的优先队列，退化为{@link #execute(Runnable, Object)}。
+	 *
+	 * @param task  任务
+	 * @param fence 执行屏障
 	 */
 	@Override
-	public void shutdown(@Nullable ConsumerFuture<List<Runnable>> consumer) {
-		main.lock();
-		try {
-			if (state == CLOSE) {
-				throw new IllegalStateException("Explorer closing.");
+	public void executeNow(Runnable task, Object fence) {
+		if (task == null || fence == null) {
+			throw new NullPointerException();
+		}
+		if (state > RUNNING) {
+			reject(task, fence);
+		} else {
+			AbstractInterceptorTask runnableInterceptor = interceptor(task, fence);
+			int track = urgentTrack(runnableInterceptor);
+			if (track >= 0) {
+				Walker walker = walkers[track];
+				// 先于放入优先队列计数，已完成的任务数量不会超过需要完成的任务数量
+				urgentTasks.increment();
+				walker.urgent(runnableInterceptor);
+				// recheck 执行器可能已经退出，撤回未被读取的节点
+				if (state > RUNNING && walker.urgents.remove(runnableInterceptor)) {
+					urgentTasks.decrement();
+					runnableInterceptor.complete();
+					runnableInterceptor.discard();
+					reject(task, fence);
+				}
+			} else if (publish(runnableInterceptor)) {
+				runnableInterceptor.weakUp();
+			} else {
+				runnableInterceptor.complete();
+				runnableInterceptor.discard();
+				reject(task, fence);
 			}
-			if (state == RUNNING) {
-				state = SHUTDOWN;
+		}
+	}
+
+	/**
+	 * 返回优先节点所在的轨道
+	 *
+	 * @param runnableInterceptor 节点
+	 * @return 轨道，节点位于多条轨道时，返回{@code -1}
+	 */
+	private static int urgentTrack(AbstractInterceptorTask runnableInterceptor) {
+		if (runnableInterceptor instanceof InterceptorTask1 task) {
+			return task.track;
+		}
+		if (runnableInterceptor instanceof InterceptorTaskX task && task.trackCount == 1) {
+			return task.tracks[0];
+		}
+		return -1;
+	}
+
+	/**
+	 * 执行全局任务
+	 * <p>
+	 * 全局任务是所有轨道上的屏障：每个执行器都在这个任务的位置停下，之前的任务（包括被缓存的任务）全部执行完成后，
+	 * 由最后到达的执行器执行这个任务，执行完成后所有执行器继续执行之后的任务。适用于每日重置、全量存档等操作。
+	 * <p>
+	 * 全局任务没有执行屏障，代价与线程数量成正比。执行期间所有执行器都处于停顿状态，停顿时间取决于最慢的执行器到达的时间和任务本身的执行时间。
+	 *
+	 * @param task 任务
+	 */
+	public void executeGlobal(Runnable task) {
+		if (task == null) {
+			throw new NullPointerException();
+		}
+		if (state > RUNNING) {
+			reject(task, NO_FENCES);
+		} else {
+			InterceptorTaskX runnableInterceptor = interceptorGlobal(task);
+			if (publish(runnableInterceptor)) {
+				runnableInterceptor.weakUp();
+			} else {
+				runnableInterceptor.complete();
+				runnableInterceptor.discard();
+				reject(task, NO_FENCES);
 			}
-			eventBus.shutdown();
-			for (Walker walker : walkers) {
-				if (!walker.thread.isInterrupted()) {
-					walker.thread.interrupt();
+		}
+	}
+
+	/**
+	 * 合并执行任务
+	 * <p>
+	 * 持久化、推送玩家状态等任务，在开始执行之前可能被同一个执行屏障提交多次，每一次执行的都是相同的工作。
+	 * 合并提交的任务带有合并键，相同合并键和执行屏障的任务已提交但尚未开始执行时，新的任务替换它，不再单独排队。
+	 * 替换后的任务在原任务的位置执行，可能早于在两次提交之间、相同执行屏障上的其它任务。
+	 * 否则，与{@link #execute(Runnable, Object)}相同。
+	 * <p>
+	 * 任务开始执行后不再参与合并，之后提交的任务重新排队。合并的次数记录在{@link ExplorerMetrics#getCoalescedTasks()}中。
+	 *
+	 * @param task  任务
+	 * @param key   合并键
+	 * @param fence 执行屏障
+	 */
+	public void executeCoalesce(Runnable task, Object key, Object fence) {
+		executeCoalesce(task, key, fence, null);
+	}
+
+	/**
+	 * 合并执行任务
+	 * <p>
+	 * 与{@link #executeCoalesce(Runnable, Object, Object)}相同，相同合并键和执行屏障的任务尚未开始执行时，
+	 * 使用{@code merger}合并已提交的任务和新的任务，例如将两次增量存档合并为一次。
+	 * 并发提交时，合并函数可能被调用多次，只有一次的结果生效，所以合并函数不应该有副作用。
+	 *
+	 * @param task   任务
+	 * @param key    合并键
+	 * @param fence  执行屏障
+	 * @param merger 合并函数，参数依次是已提交的任务和新的任务，为{@code null}时，新的任务替换已提交的任务
+	 */
+	public void executeCoalesce(Runnable task, Object key, Object fence, @Nullable BinaryOperator<Runnable> merger) {
+		if (task == null || key == null || fence == null) {
+			throw new NullPointerException();
+		}
+		if (state > RUNNING) {
+			reject(task, fence);
+			return;
+		}
+		CoalescingKey id = new CoalescingKey(key, fence);
+		for (; ; ) {
+			Coalescing coalescing = coalescings.get(id);
+			if (coalescing != null) {
+				if (coalescing.merge(task, merger)) {
+					coalescedTasks.increment();
+					return;
 				}
+				// 任务已经开始执行
+				coalescings.remove(id, coalescing);
+				continue;
 			}
-			if (consumer != null) {
-				consumer.accept(null);
+			coalescing = new Coalescing(coalescings, id, task);
+			if (coalescings.putIfAbsent(id, coalescing) == null) {
+				if (!publish0(interceptor(coalescing, fence))) {
+					// 取出任务之后的合并都会失败并重新排队，已合并的任务随同被拒绝
+					coalescings.remove(id, coalescing);
+					Runnable rejected = coalescing.take();
+					if (rejected != null) {
+						reject(rejected, fence);
+					}
+				}
+				return;
 			}
-		} finally {
-			main.unlock();
 		}
-		// recheck 确保任务能够顺利执行
-		if (state >= TERMINATED && consumer != null) {
-			if (watcher.tasks.remove(consumer)) {
-				consumer.accept(Collections.emptyList());
-			}
+	}
+
+	/**
+	 * 执行可挂起的任务
+	 * <p>
+	 * 任务返回一个{@link CompletionStage}（例如访问远程服务或数据库），阶段未完成时，任务挂起：
+	 * 执行屏障继续拦截，相同执行屏障的任务不能执行，但执行器不会等待，而是继续执行其它执行屏障的任务。
+	 * 阶段完成后，由原来的执行器在相同的执行屏障下执行{@code resume}，之后才释放执行屏障。
+	 * <p>
+	 * 阶段已经完成时，直接执行{@code resume}，不会挂起。{@code task}抛出的异常传递给{@code resume}。
+	 * 挂起期间不占用线程，但仍然占用执行屏障，挂起时间越长，相同执行屏障上积压的任务越多。
+	 *
+	 * @param task   任务，返回异步操作的阶段
+	 * @param resume 阶段完成后执行的任务，参数为阶段的结果和异常
+	 * @param fence  执行屏障
+	 * @param <T>    阶段的结果类型
+	 */
+	public <T> void executeSuspend(Supplier<? extends CompletionStage<T>> task, BiConsumer<? super T, ? super Throwable> resume, Object fence) {
+		if (task == null || resume == null) {
+			throw new NullPointerException();
 		}
+		execute(new Suspension<T>(task, resume), fence);
 	}
 
-	// region Walker
+	/**
+	 * 执行可挂起的任务
+	 *
+	 * @param task   任务，返回异步操作的阶段
+	 * @param resume 阶段完成后执行的任务，参数为阶段的结果和异常
+	 * @param fences 执行屏障
+	 * @param <T>    阶段的结果类型
+	 * @see #executeSuspend(Supplier, BiConsumer, Object)
+	 */
+	public <T> void executeSuspend(Supplier<? extends CompletionStage<T>> task, BiConsumer<? super T, ? super Throwable> resume, Object... fences) {
+		if (task == null || resume == null) {
+			throw new NullPointerException();
+		}
+		Suspension<T> suspension = new Suspension<>(task, resume);
+		switch (fences.length) {
+			case 0 -> throw new IllegalArgumentException("fences is empty");
+			case 1 -> execute(suspension, fences[0]);
+			case 2 -> execute(suspension, fences[0], fences[1]);
+			case 3 -> execute(suspension, fences[0], fences[1], fences[2]);
+			default -> execute(suspension, fences);
+		}
+	}
 
 	/**
-	 * 支持重排序的环轨执行器
+	 * 批量执行任务
 	 * <p>
-	 * 轨道缓冲区意在既不添加派发线程，又能处理交叉投递问题。{@code IO线程 -> 派发线程 -> work线程}的模式能够避免任务的交叉投递，但是增加了一次额外的派发。
-	 * 取消{@code 派发线程}，则有可能产生交叉投递问题。按照顺序投递（KeyC + KeyA也按照先投递KeyA，再投递KeyC），也可能产生的交叉投递问题如下：
-	 * <pre>
-	 * IO-Thread-1, commit task1: KeyA + KeyB
-	 * IO-Thread-2, commit task2: KeyB + KeyC
-	 * IO-Thread-3, commit task3: KeyA + KeyC
-	 * </pre>
-	 * KeyA，KeyB，KeyC分别投递到队列：QueueA，QueueB，QueueC。在某一个时刻，任务投递情况如下：
-	 * <ul>
-	 *     <li>IO-Thread-3，投递task3到QueueA</li>
-	 *     <li>IO-Thread-1，投递task1到QueueA</li>
-	 *     <li>IO-Thread-1，投递task1到QueueB</li>
-	 *     <li>IO-Thread-2，投递task2到QueueB</li>
-	 *     <li>IO-Thread-2，投递task2到QueueC</li>
+	 * 每个任务带有一个执行屏障，{@code tasks[i]}的执行屏障是{@code fences[i]}。
+	 *
+	 * @param tasks  任务
+	 * @param fences 执行屏障
+	 * @see #executeBatch(Runnable[], Object[], int, int)
+	 */
+	public void executeBatch(Runnable[] tasks, Object[] fences) {
+		executeBatch(tasks, fences, 0, tasks.length);
+	}
+
+	/**
+	 * 批量执行任务
+	 * <p>
+	 * 任务在事件总线上占用连续的位置，一次发布，发布完成后，每条轨道最多唤醒一次。
+	 * 任务数量超过单次发布的上限时，分多次发布。
+	 *
+	 * @param tasks  任务
+	 * @param fences 执行屏障
+	 * @param offset 第一个任务的位置
+	 * @param length 任务数量
+	 */
+	public void executeBatch(Runnable[] tasks, Object[] fences, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, tasks.length);
+		Objects.checkFromIndexSize(offset, length, fences.length);
+		for (int i = offset, limit = offset + length; i < limit; i++) {
+			if (tasks[i] == null || fences[i] == null) {
+				throw new NullPointerException();
+			}
+		}
+		if (state > RUNNING) {
+			for (int i = offset, limit = offset + length; i < limit; i++) {
+				reject(tasks[i], fences[i]);
+			}
+			return;
+		}
+		Batch batch = batches.get();
+		for (int i = offset, limit = offset + length; i < limit; i++) {
+			batch.add(interceptor(tasks[i], fences[i]));
+		}
+		batch.flush();
+	}
+
+	/**
+	 * 批量执行任务
+	 * <p>
+	 * 每个任务带有一个或多个执行屏障，{@code tasks[i]}的执行屏障是{@code fences[i]}。
+	 *
+	 * @param tasks  任务
+	 * @param fences 执行屏障
+	 * @see #executeBatch(Runnable[], Object[], int, int)
+	 */
+	public void executeBatch(Runnable[] tasks, Object[][] fences) {
+		if (tasks.length != fences.length) {
+			throw new IllegalArgumentException("tasks: " + tasks.length + ", fences: " + fences.length);
+		}
+		for (int i = 0; i < tasks.length; i++) {
+			if (tasks[i] == null || fences[i].length == 0) {
+				throw new NullPointerException();
+			}
+			for (Object fence : fences[i]) {
+				if (fence == null) {
+					throw new NullPointerException();
+				}
+			}
+		}
+		if (state > RUNNING) {
+			for (int i = 0; i < tasks.length; i++) {
+				reject(tasks[i], fences[i]);
+			}
+			return;
+		}
+		Batch batch = batches.get();
+		for (int i = 0; i < tasks.length; i++) {
+			Runnable task = tasks[i];
+			Object[] v = fences[i];
+			switch (v.length) {
+				case 1 -> batch.add(interceptor(task, v[0]));
+				case 2 -> batch.add(interceptor(task, v[0], v[1]));
+				case 3 -> batch.add(interceptor(task, v[0], v[1], v[2]));
+				default -> batch.add(interceptorX(task, v));
+			}
+		}
+		batch.flush();
+	}
+
+	/**
+	 * 从回收站中取出单屏障节点并初始化
+	 * <p>
+	 * 执行屏障位于执行屏障层级中时，需要附加隐含的父屏障，使用多屏障节点。
+	 */
+	private AbstractInterceptorTask interceptor(Runnable task, Object fence) {
+		if (hierarchy.contains(fenceKey(fence))) {
+			return interceptorX(task, new Object[]{fence});
+		}
+		Recycler<InterceptorTask1> recycler = recyclers1.get();
+		InterceptorTask1 runnableInterceptor = recycler.acquire();
+		if (runnableInterceptor == null) {
+			runnableInterceptor = new InterceptorTask1(recycler);
+		}
+		runnableInterceptor.init(task, fence);
+		return runnableInterceptor;
+	}
+
+	/**
+	 * 从回收站中取出双屏障节点并初始化
+	 */
+	private AbstractInterceptorTask interceptor(Runnable task, Object fence0, Object fence1) {
+		if (hierarchy.contains(fenceKey(fence0)) || hierarchy.contains(fenceKey(fence1))) {
+			return interceptorX(task, new Object[]{fence0, fence1});
+		}
+		Recycler<InterceptorTask2> recycler = recyclers2.get();
+		InterceptorTask2 runnableInterceptor = recycler.acquire();
+		if (runnableInterceptor == null) {
+			runnableInterceptor = new InterceptorTask2(recycler);
+		}
+		runnableInterceptor.init(task, fence0, fence1);
+		return runnableInterceptor;
+	}
+
+	/**
+	 * 从回收站中取出三屏障节点并初始化
+	 */
+	private AbstractInterceptorTask interceptor(Runnable task, Object fence0, Object fence1, Object fence2) {
+		if (hierarchy.contains(fenceKey(fence0)) || hierarchy.contains(fenceKey(fence1)) || hierarchy.contains(fenceKey(fence2))) {
+			return interceptorX(task, new Object[]{fence0, fence1, fence2});
+		}
+		Recycler<InterceptorTask3> recycler = recyclers3.get();
+		InterceptorTask3 runnableInterceptor = recycler.acquire();
+		if (runnableInterceptor == null) {
+			runnableInterceptor = new InterceptorTask3(recycler);
+		}
+		runnableInterceptor.init(task, fence0, fence1, fence2);
+		return runnableInterceptor;
+	}
+
+	/**
+	 * 按照执行屏障数量，从回收站中取出节点并初始化
+	 */
+	private AbstractInterceptorTask interceptor(Runnable task, Object[] fences) {
+		return switch (fences.length) {
+			case 1 -> interceptor(task, fences[0]);
+			case 2 -> interceptor(task, fences[0], fences[1]);
+			case 3 -> interceptor(task, fences[0], fences[1], fences[2]);
+			default -> interceptorX(task, fences);
+		};
+	}
+
+	/**
+	 * 从回收站中取出多屏障节点并初始化
+	 */
+	private InterceptorTaskX interceptorX(Runnable task, Object[] fences) {
+		Recycler<InterceptorTaskX> recycler = recyclersX.get();
+		InterceptorTaskX runnableInterceptor = recycler.acquire();
+		if (runnableInterceptor == null) {
+			runnableInterceptor = new InterceptorTaskX(recycler);
+		}
+		runnableInterceptor.init(task, fences);
+		return runnableInterceptor;
+	}
+
+	/**
+	 * 从回收站中取出单{@code long}屏障节点并初始化
+	 * <p>
+	 * 执行屏障位于执行屏障层级中时，装箱后使用多屏障节点，执行屏障层级为空时不会装箱。
+	 */
+	private AbstractInterceptorTask longInterceptor(Runnable task, long fence) {
+		if (!hierarchy.isEmpty() && hierarchy.contains(fence)) {
+			return interceptorX(task, new Object[]{fence});
+		}
+		Recycler<LongInterceptorTask1> recycler = longRecyclers1.get();
+		LongInterceptorTask1 runnableInterceptor = recycler.acquire();
+		if (runnableInterceptor == null) {
+			runnableInterceptor = new LongInterceptorTask1(recycler);
+		}
+		runnableInterceptor.init(task, fence);
+		return runnableInterceptor;
+	}
+
+	/**
+	 * 从回收站中取出双{@code long}屏障节点并初始化
+	 */
+	private AbstractInterceptorTask longInterceptor(Runnable task, long fence0, long fence1) {
+		if (!hierarchy.isEmpty() && (hierarchy.contains(fence0) || hierarchy.contains(fence1))) {
+			return interceptorX(task, new Object[]{fence0, fence1});
+		}
+		Recycler<LongInterceptorTask2> recycler = longRecyclers2.get();
+		LongInterceptorTask2 runnableInterceptor = recycler.acquire();
+		if (runnableInterceptor == null) {
+			runnableInterceptor = new LongInterceptorTask2(recycler);
+		}
+		runnableInterceptor.init(task, fence0, fence1);
+		return runnableInterceptor;
+	}
+
+	/**
+	 * 从回收站中取出多{@code long}屏障节点并初始化
+	 */
+	private AbstractInterceptorTask longInterceptorX(Runnable task, long[] fences) {
+		if (!hierarchy.isEmpty()) {
+			for (long fence : fences) {
+				if (hierarchy.contains(fence)) {
+					return interceptorX(task, boxed(fences));
+				}
+			}
+		}
+		Recycler<LongInterceptorTaskX> recycler = longRecyclersX.get();
+		LongInterceptorTaskX runnableInterceptor = recycler.acquire();
+		if (runnableInterceptor == null) {
+			runnableInterceptor = new LongInterceptorTaskX(recycler);
+		}
+		runnableInterceptor.init(task, fences);
+		return runnableInterceptor;
+	}
+
+	/**
+	 * 从回收站中取出多屏障节点并初始化为全局任务
+	 */
+	private InterceptorTaskX interceptorGlobal(Runnable task) {
+		Recycler<InterceptorTaskX> recycler = recyclersX.get();
+		InterceptorTaskX runnableInterceptor = recycler.acquire();
+		if (runnableInterceptor == null) {
+			runnableInterceptor = new InterceptorTaskX(recycler);
+		}
+		runnableInterceptor.initGlobal(task);
+		return runnableInterceptor;
+	}
+
+	@Override
+	public Future<?> submit(Runnable task, Object fence) {
+		RunnableFuture<Void> future = new FutureTask<>(task, null);
+		execute(future, fence);
+		return future;
+	}
+
+	public Future<?> submit(Runnable task, Object fence1, Object fence2) {
+		RunnableFuture<Void> future = new FutureTask<>(task, null);
+		execute(future, fence1, fence2);
+		return future;
+	}
+
+	public Future<?> submit(Runnable task, Object fence1, Object fence2, Object fence3) {
+		RunnableFuture<Void> future = new FutureTask<>(task, null);
+		execute(future, fence1, fence2, fence3);
+		return future;
+	}
+
+	public Future<?> submit(Runnable task, Object... fences) {
+		switch (fences.length) {
+			case 0: {
+				throw new RuntimeException();
+			}
+			case 1: {
+				return submit(task, fences[0]);
+			}
+			case 2: {
+				return submit(task, fences[0], fences[1]);
+			}
+			case 3: {
+				return submit(task, fences[0], fences[1], fences[2]);
+			}
+			default: {
+				RunnableFuture<Void> future = new FutureTask<>(task, null);
+				execute(future, fences);
+				return future;
+			}
+		}
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task, Object fence) {
+		FutureTask<T> future = new FutureTask<>(task);
+		execute(future, fence);
+		return future;
+	}
+
+	@Override
+	public Future<?> submitNow(Runnable task, Object fence) {
+		RunnableFuture<Void> future = new FutureTask<>(task, null);
+		executeNow(future, fence);
+		return future;
+	}
+
+	@Override
+	public <T> Future<T> submitNow(Callable<T> task, Object fence) {
+		FutureTask<T> future = new FutureTask<>(task);
+		executeNow(future, fence);
+		return future;
+	}
+
+	/**
+	 * 批量提交任务
+	 *
+	 * @param tasks  任务
+	 * @param fences 执行屏障
+	 * @return 任务的执行结果
+	 * @see #executeBatch(Runnable[], Object[])
+	 */
+	public Future<?>[] submitBatch(Runnable[] tasks, Object[] fences) {
+		FutureTask<?>[] futures = new FutureTask<?>[tasks.length];
+		for (int i = 0; i < tasks.length; i++) {
+			futures[i] = new FutureTask<>(tasks[i], null);
+		}
+		executeBatch(futures, fences);
+		return futures;
+	}
+
+	/**
+	 * 批量提交任务
+	 *
+	 * @param tasks  任务
+	 * @param fences 执行屏障
+	 * @return 任务的执行结果
+	 * @see #executeBatch(Runnable[], Object[][])
+	 */
+	public Future<?>[] submitBatch(Runnable[] tasks, Object[][] fences) {
+		FutureTask<?>[] futures = new FutureTask<?>[tasks.length];
+		for (int i = 0; i < tasks.length; i++) {
+			futures[i] = new FutureTask<>(tasks[i], null);
+		}
+		executeBatch(futures, fences);
+		return futures;
+	}
+
+	/**
+	 * 设置慢任务监听器
+	 * <p>
+	 * 任务在执行器线程上执行超过阈值时，守望线程采集执行器线程的调用栈、任务持有的执行屏障，
+	 * 以及被这些执行屏障阻塞的任务数量，生成{@link SlowTaskReport}通知监听器，每次执行最多通知一次。
+	 * 默认阈值是2秒，默认监听器是{@link SlowTaskListener#WARN}，只有开启调试时才会输出，
+	 * 需要打印到标准错误输出时使用{@link SlowTaskListener#STDERR}。
+	 * <p>
+	 * 交给线程池执行的任务和挂起期间的任务不受监控。
+	 *
+	 * @param threshold 慢任务阈值
+	 * @param unit      阈值的时间单位
+	 * @param listener  慢任务监听器
+	 */
+	public void setSlowTaskListener(long threshold, TimeUnit unit, SlowTaskListener listener) {
+		if (threshold <= 0) {
+			throw new IllegalArgumentException("threshold: " + threshold);
+		}
+		this.slowTaskListener = Objects.requireNonNull(listener);
+		this.slowThreshold = unit.toNanos(threshold);
+		// 守望线程按照旧的阈值休眠，唤醒后重新计算
+		LockSupport.unpark(watcher.thread);
+	}
+
+	@Override
+	public ExplorerMetrics getMetrics() {
+		ExplorerMetrics.TrackMetrics[] tracks = new ExplorerMetrics.TrackMetrics[nThreads];
+		for (int track = 0; track < nThreads; track++) {
+			tracks[track] = walkers[track].metrics();
+		}
+		return new ExplorerMetrics(name, tracks, getRejectedTasks(), coalescedTasks.sum());
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return !running;
+	}
+
+	@Override
+	public void close() {
+		close(null);
+	}
+
+	@Override
+	public void close(RunnableFuture<?> onClose) {
+		stopTimer();
+		main.lock();
+		try {
+			if (onClose != null) {
+				watcher.tasks.add(onClose);
+			}
+			if (state == RUNNING) {
+				state = CLOSE;
+			}
+			eventBus.shutdown();
+		} finally {
+			main.unlock();
+		}
+		signalProducers();
+		LockSupport.unpark(watcher.thread);
+		// recheck 确保任务能够顺利执行
+		if (state >= TERMINATED && onClose != null) {
+			if (watcher.tasks.remove(onClose)) {
+				onClose.run();
+			}
+		}
+	}
+
+	/**
+	 * // 我们再三考虑决定，移除对于shutdown的支持。
+	 * // 因为对于支持重排序的线程池来说，所有任务已经结束。
+	 *
+	 * @throws UnsupportedOperationException 不支持的{@code shutdown()}调用
+	 */
+	@Override
+	public void shutdown(@Nullable ConsumerFuture<List<Runnable>> consumer) {
+		stopTimer();
+		main.lock();
+		try {
+			if (state == CLOSE) {
+				throw new IllegalStateException("Explorer closing.");
+			}
+			if (state == RUNNING) {
+				state = SHUTDOWN;
+			}
+			eventBus.shutdown();
+			for (Walker walker : walkers) {
+				if (!walker.thread.isInterrupted()) {
+					walker.thread.interrupt();
+				}
+			}
+			if (consumer != null) {
+				consumer.accept(null);
+			}
+		} finally {
+			main.unlock();
+		}
+		signalProducers();
+		LockSupport.unpark(watcher.thread);
+		// recheck 确保任务能够顺利执行
+		if (state >= TERMINATED && consumer != null) {
+			if (watcher.tasks.remove(consumer)) {
+				consumer.accept(Collections.emptyList());
+			}
+		}
+	}
+
+	/**
+	 * 批量发布缓冲区
+	 * <p>
+	 * 缓存生产者线程准备发布的节点，缓冲区已满或批量结束时，一次发布到事件总线，每条轨道最多唤醒一次。
+	 * 仅由所属的生产者线程访问。
+	 */
+	private class Batch {
+
+		/**
+		 * 等待发布的节点
+		 */
+		private final RunnableInterceptor[] nodes = new RunnableInterceptor[batchSize];
+
+		/**
+		 * 等待发布的节点数量
+		 */
+		private int size;
+
+		/**
+		 * 轨道标记
+		 * <p>
+		 * 标记等于当前批次时，轨道已经记录，避免重复唤醒。
+		 */
+		private final int[] marks = new int[nThreads];
+
+		/**
+		 * 当前批次
+		 */
+		private int epoch;
+
+		/**
+		 * 需要唤醒的轨道
+		 */
+		private final int[] tracks = new int[nThreads];
+
+		/**
+		 * 增加节点，缓冲区已满时，发布所有节点
+		 *
+		 * @param node 节点
+		 */
+		void add(AbstractInterceptorTask node) {
+			nodes[size++] = node;
+			if (size >= nodes.length) {
+				flush();
+			}
+		}
+
+		/**
+		 * 发布所有节点
+		 */
+		void flush() {
+			int size = this.size;
+			if (size <= 0) {
+				return;
+			}
+			RunnableInterceptor[] nodes = this.nodes;
+			this.size = 0;
+			if (publish(nodes, size)) {
+				if (++epoch == 0) {
+					Arrays.fill(marks, 0);
+					epoch = 1;
+				}
+				// 节点的轨道只会由当前生产者线程修改，发布后依然可以安全读取
+				int count = 0;
+				for (int i = 0; i < size; i++) {
+					count = mark(nodes[i], count);
+					nodes[i] = null;
+				}
+				for (int i = 0; i < count; i++) {
+					weakUp(tracks[i]);
+				}
+			} else {
+				Runnable[] tasks = new Runnable[size];
+				Object[][] fences = new Object[size][];
+				for (int i = 0; i < size; i++) {
+					AbstractInterceptorTask node = (AbstractInterceptorTask) nodes[i];
+					tasks[i] = node.task;
+					fences[i] = node.getFences();
+					node.complete();
+					node.discard();
+					nodes[i] = null;
+				}
+				for (int i = 0; i < size; i++) {
+					reject(tasks[i], fences[i]);
+				}
+			}
+		}
+
+		private int mark(RunnableInterceptor node, int count) {
+			if (node instanceof InterceptorTask1 task) {
+				count = mark(task.track, count);
+			} else if (node instanceof InterceptorTask2 task) {
+				count = mark(task.track0, count);
+				count = mark(task.track1, count);
+			} else if (node instanceof InterceptorTask3 task) {
+				count = mark(task.track0, count);
+				count = mark(task.track1, count);
+				count = mark(task.track2, count);
+			} else if (node instanceof InterceptorTaskX task) {
+				for (int i = 0; i < task.trackCount; i++) {
+					count = mark(task.tracks[i], count);
+				}
+			}
+			return count;
+		}
+
+		private int mark(int track, int count) {
+			if (marks[track] != epoch) {
+				marks[track] = epoch;
+				tracks[count++] = track;
+			}
+			return count;
+		}
+	}
+
+	// region Walker
+
+	/**
+	 * 支持重排序的环轨执行器
+	 * <p>
+	 * 轨道缓冲区意在既不添加派发线程，又能处理交叉投递问题。{@code IO线程 -> 派发线程 -> work线程}的模式能够避免任务的交叉投递，但是增加了一次额外的派发。
+	 * 取消{@code 派发线程}，则有可能产生交叉投递问题。按照顺序投递（KeyC + KeyA也按照先投递KeyA，再投递KeyC），也可能产生的交叉投递问题如下：
+	 * <pre>
+	 * IO-Thread-1, commit task1: KeyA + KeyB
+	 * IO-Thread-2, commit task2: KeyB + KeyC
+	 * IO-Thread-3, commit task3: KeyA + KeyC
+	 * </pre>
+	 * KeyA，KeyB，KeyC分别投递到队列：QueueA，QueueB，QueueC。在某一个时刻，任务投递情况如下：
+	 * <ul>
+	 *     <li>IO-Thread-3，投递task3到QueueA</li>
+	 *     <li>IO-Thread-1，投递task1到QueueA</li>
+	 *     <li>IO-Thread-1，投递task1到QueueB</li>
+	 *     <li>IO-Thread-2，投递task2到QueueB</li>
+	 *     <li>IO-Thread-2，投递task2到QueueC</li>
 	 *     <li>IO-Thread-3，投递task3到QueueC</li>
 	 * </ul>
 	 * 此时，各个队列中的任务：
@@ -366,396 +1821,2257 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 	 * </pre>
 	 * 此时任务出现交叉，产生死锁。在不添加派发线程的前提下，升级环形队列，增加一个维度，每个线程仅仅读取指定槽位的Key，如果当前位置为空，则表示没有任务，跳过执行。示意如下：
 	 * <pre>
-	 *           writeIndex
-	 *           |
-	 *           +---------------------------+    +---------------------+
-	 * QueueA -> | Key1 | Key1 |      | Key1 | -> | Thread-1, readIndex |
-	 *           |------+------+------+------|    |---------------------|
-	 * QueueB -> |      | Key2 | Key2 |      | -> | Thread-2, readIndex |
-	 *           |------+------+------+------|    |---------------------|
-	 * QueueC -> | Key3 |      | Key3 |      | -> | Thread-3, readIndex |
-	 *           +---------------------------+    +---------------------+
-	 *              |      |      |      |
-	 *            task3  task1  task2  task0
+	 *           writeIndex
+	 *           |
+	 *           +---------------------------+    +---------------------+
+	 * QueueA -> | Key1 | Key1 |      | Key1 | -> | Thread-1, readIndex |
+	 *           |------+------+------+------|    |---------------------|
+	 * QueueB -> |      | Key2 | Key2 |      | -> | Thread-2, readIndex |
+	 *           |------+------+------+------|    |---------------------|
+	 * QueueC -> | Key3 |      | Key3 |      | -> | Thread-3, readIndex |
+	 *           +---------------------------+    +---------------------+
+	 *              |      |      |      |
+	 *            task3  task1  task2  task0
+	 * </pre>
+	 * 由IO线程生成任务信息（节点取自IO线程的回收站，执行完成后归还）并发布在环形Buffer总线上。环形buffer中发布的，不再是单个任务，而是包含Key组的任务，Key组中可能包含一个或多个Key。
+	 * 仅仅维护一个全局的{@code writeIndex}，每个线程维护自己的{@code readIndex}，只要{@code readIndex < writeIndex}
+	 * 则可以继续向下读取，如果当前位置为空，则表明此任务不是这个线程关注的任务，跳过执行，联合{@link RunnableInterceptor}使用。
+	 * <p>
+	 * 轨道缓冲区同时也是总线队列，所有任务都是发布在总线上。
+	 * <p>
+	 * 其它：
+	 * <ul>
+	 *     <li>任务发布，环形Buffer总线上发布由IO线程生成的任务。</li>
+	 *     <li>占用更多空间（n * ThreadCount），队列利用率下降。</li>
+	 *     <li>任务命中率降至{@code 1/nThreads}。</li>
+	 *     <li>充分利用cpu缓存行能力下降。</li>
+	 * </ul>
+	 * 使用{@link #LANES}时，任务的序列按照全局顺序追加到所在轨道的通道中，
+	 * 线程只读取自己的通道，跳过不属于自己的位置，读取顺序与逐个读取总线完全一致（参考{@link LaneEventBus}）。
+	 *
+	 * @author houyn[monkey@keimons.com]
+	 * @version 1.0
+	 * @since 17
+	 **/
+	private class Walker implements Runnable {
+
+		private static final VarHandle CC = MiscUtils.findVarHandle(Walker.class, "completedTasks", long.class);
+
+		@Contended
+		protected Thread thread;
+
+		/**
+		 * 线程运行轨道
+		 * <p>
+		 * 线程会有自己的运行轨道，并且，只会处理落在这个轨道上的节点。节点可以由多个线程处理，
+		 * 如果节点由当前线程处理，才会进行后续操作。
+		 */
+		private final int track;
+
+		/**
+		 * 此执行器事件总线的读取位置
+		 * <p>
+		 * 执行器总是读取事件总线上的所有事件，尽管读出来的事件可能为空。使用通道时，执行器只读取通道中的事件，
+		 * 通道读完时，读取位置推进到事件总线的写入位置，用于判断是否已达队尾。
+		 */
+		private long readerIndex;
+
+		/**
+		 * 此执行器的通道
+		 * <p>
+		 * 通道中按照全局顺序记录了落在这条轨道上的事件序列，为{@code null}时，不使用通道。
+		 */
+		private final @Nullable LaneEventBus.Lane lane;
+
+		/**
+		 * 通道的读取位置
+		 */
+		private long laneIndex;
+
+		/**
+		 * 乐观锁
+		 * <p>
+		 * 乐观锁是一个很精妙的设计，通过这个锁，可以防止事件发布到消息队列，但是没能唤醒对应的处理器。
+		 * Explorer尝试了很多种实现，最终选定乐观锁的解决方案。它的性能要远高于{@link Condition}。
+		 */
+		private final Sync sync;
+
+		/**
+		 * 缓存队列写入位置
+		 */
+		private int cacheIndex;
+
+		/**
+		 * 缓存队列
+		 * <p>
+		 * 被屏障拦截的节点，缓存在执行器本地，等待拦截器释放后，再执行缓存的消息。缓存队列是有序的。
+		 */
+		private RunnableInterceptor[] caches = new RunnableInterceptor[8];
+
+		/**
+		 * 缓存节点的执行屏障
+		 * <p>
+		 * 包含缓存队列和就绪队列中所有节点的执行屏障。
+		 */
+		private final FenceTable cacheFences = new FenceTable();
+
+		/**
+		 * 执行屏障写入位置
+		 */
+		private int barrierIndex;
+
+		/**
+		 * 执行屏障
+		 * <p>
+		 * 如果一个任务将由多个线程执行，那么当线程拦截器成功时，该节点就变成了执行屏障。
+		 * 当有屏障存在时，节点必须能够重排序到所有屏障节点和所有缓存节点之前。屏障之间是无序的。
+		 */
+		private RunnableInterceptor[] barriers = new RunnableInterceptor[8];
+
+		/**
+		 * 屏障节点的执行屏障
+		 */
+		private final FenceTable barrierFences = new FenceTable();
+
+		/**
+		 * 最后一次检查屏障时的版本
+		 * <p>
+		 * 屏障释放时，一定会变更版本，版本未变更时，不需要检查屏障。
+		 */
+		private int barrierStamp = -1;
+
+		/**
+		 * 是否需要检查缓存队列
+		 * <p>
+		 * 屏障释放或缓存节点执行后，缓存队列中的节点才有可能就绪。
+		 */
+		private boolean dirty;
+
+		/**
+		 * 就绪队列读取位置
+		 */
+		private int readyHead;
+
+		/**
+		 * 就绪队列写入位置
+		 */
+		private int readyTail;
+
+		/**
+		 * 就绪队列
+		 * <p>
+		 * 缓存队列中已经可以由当前线程执行的节点，按照缓存的顺序执行。
+		 */
+		private RunnableInterceptor[] readies = new RunnableInterceptor[8];
+
+		/**
+		 * 检查缓存队列时使用的临时表
+		 * <p>
+		 * 记录排在前面的、仍未执行的缓存节点的执行屏障，后面的缓存节点不能越过它们。
+		 */
+		private final FenceTable scratch = new FenceTable();
+
+		/**
+		 * 挂起的节点数量
+		 * <p>
+		 * 挂起节点的执行屏障记录在{@link #barrierFences}中，直到节点恢复执行。
+		 */
+		private int suspends;
+
+		/**
+		 * 恢复队列
+		 * <p>
+		 * 挂起的节点完成异步操作后，由完成异步操作的线程放入恢复队列，并唤醒执行器。
+		 */
+		private final ConcurrentLinkedQueue<RunnableInterceptor> resumes = new ConcurrentLinkedQueue<>();
+
+		/**
+		 * 完成队列
+		 * <p>
+		 * 交给{@link #executor}执行的节点同样视为挂起，执行完成后，由线程池中的线程放入完成队列，并唤醒执行器。
+		 */
+		private final ConcurrentLinkedQueue<RunnableInterceptor> finishes = new ConcurrentLinkedQueue<>();
+
+		/**
+		 * 优先队列
+		 * <p>
+		 * {@link #executeNow(Runnable, Object)}提交的节点不经过事件总线，直接放入所在轨道的优先队列。
+		 * 执行器在读取事件总线之前读取优先队列，优先节点越过所有缓存节点和事件总线上尚未读取的节点，但不能越过屏障。
+		 */
+		private final ConcurrentLinkedQueue<RunnableInterceptor> urgents = new ConcurrentLinkedQueue<>();
+
+		/**
+		 * 被阻塞的优先节点写入位置
+		 */
+		private int urgentIndex;
+
+		/**
+		 * 被阻塞的优先节点
+		 * <p>
+		 * 被屏障拦截的优先节点，屏障释放后，先于缓存队列检查。被阻塞的优先节点是有序的。
+		 */
+		private RunnableInterceptor[] urgentCaches = new RunnableInterceptor[8];
+
+		/**
+		 * 被阻塞的优先节点的执行屏障
+		 * <p>
+		 * 之后的优先节点不能越过它们。
+		 */
+		private final FenceTable urgentFences = new FenceTable();
+
+		/**
+		 * 已完成的任务数量
+		 * <p>
+		 * 只由执行器线程写入，记录执行耗时之后才以release语义更新，其它线程以acquire语义读取，
+		 * 读到的已完成任务都已经计入执行耗时。
+		 */
+		@Contended("t")
+		private long completedTasks;
+
+		/**
+		 * 开始执行的时间（纳秒）
+		 * <p>
+		 * 由守望线程读取，{@code -1}表示没有执行中的任务。
+		 */
+		@Contended("t")
+		private volatile long startTime = -1;
+
+		/**
+		 * 执行中的节点
+		 * <p>
+		 * 在{@link #startTime}之前写入，守望线程读取{@link #startTime}之后才读取，参考{@link #report(long, long)}。
+		 */
+		private RunnableInterceptor current;
+
+		/**
+		 * 被缓存的任务数量
+		 */
+		private long cachedTasks;
+
+		/**
+		 * 产生的屏障数量
+		 */
+		private long barrierTasks;
+
+		/**
+		 * 越障执行的任务数量
+		 */
+		private long overtakes;
+
+		/**
+		 * 等待时间：从发布到开始执行
+		 */
+		private final Histogram waitTime = new Histogram();
+
+		/**
+		 * 执行时间
+		 * <p>
+		 * 使用{@link #executor}时，是从交给线程池到执行完成的时间。挂起的任务是从第一次开始执行到最终完成的时间，包括挂起的时间。
+		 */
+		private final Histogram workTime = new Histogram();
+
+		/**
+		 * 执行器构造方法
+		 * <p>
+		 * {@link RunnableInterceptor}的真正处理者。
+		 *
+		 * @param track 线程运行轨道
+		 */
+		public Walker(int track) {
+			this.track = track;
+			this.thread = threadFactory.newThread(this);
+			this.lane = eventBus instanceof LaneEventBus<RunnableInterceptor> bus ? bus.lane(track) : null;
+			sync = new Sync(thread, waitStrategy);
+		}
+
+		/**
+		 * 增加缓存
+		 *
+		 * @param runnableInterceptor 节点（缓存）
+		 */
+		private void addCache(RunnableInterceptor runnableInterceptor) {
+			if (cacheIndex >= caches.length) {
+				RunnableInterceptor[] tmp = new RunnableInterceptor[cacheIndex << 1];
+				System.arraycopy(caches, 0, tmp, 0, cacheIndex);
+				caches = tmp;
+			}
+			caches[cacheIndex++] = runnableInterceptor;
+			addFences(cacheFences, runnableInterceptor);
+			cachedTasks++;
+		}
+
+		/**
+		 * 添加屏障
+		 *
+		 * @param runnableInterceptor 节点（屏障）
+		 */
+		private void addBarrier(RunnableInterceptor runnableInterceptor) {
+			if (barrierIndex >= barriers.length) {
+				RunnableInterceptor[] tmp = new RunnableInterceptor[barrierIndex << 1];
+				System.arraycopy(barriers, 0, tmp, 0, barrierIndex);
+				barriers = tmp;
+			}
+			barriers[barrierIndex++] = runnableInterceptor;
+			addFences(barrierFences, runnableInterceptor);
+			barrierTasks++;
+		}
+
+		/**
+		 * 移除屏障
+		 * <p>
+		 * 屏障之间是无序的，使用最后一个屏障填补空位。
+		 *
+		 * @param index 屏障下标
+		 */
+		private void removeBarrier(int index) {
+			RunnableInterceptor runnableInterceptor = barriers[index];
+			removeFences(barrierFences, runnableInterceptor);
+			barriers[index] = barriers[--barrierIndex];
+			barriers[barrierIndex] = null;
+		}
+
+		/**
+		 * 增加被阻塞的优先节点
+		 *
+		 * @param runnableInterceptor 节点（优先）
+		 */
+		private void addUrgent(RunnableInterceptor runnableInterceptor) {
+			if (urgentIndex >= urgentCaches.length) {
+				RunnableInterceptor[] tmp = new RunnableInterceptor[urgentIndex << 1];
+				System.arraycopy(urgentCaches, 0, tmp, 0, urgentIndex);
+				urgentCaches = tmp;
+			}
+			urgentCaches[urgentIndex++] = runnableInterceptor;
+			addFences(urgentFences, runnableInterceptor);
+		}
+
+		/**
+		 * 返回下一个可以执行的优先节点
+		 * <p>
+		 * 屏障释放后（{@link #dirty}），按照顺序检查被阻塞的优先节点，之后读取优先队列。
+		 * 优先节点只被屏障和排在它前面的优先节点阻塞，不被缓存节点阻塞。
+		 *
+		 * @return 优先节点，没有可以执行的优先节点时，返回{@code null}
+		 */
+		private @Nullable RunnableInterceptor nextUrgent() {
+			RunnableInterceptor runnableInterceptor;
+			if (dirty && urgentIndex > 0) {
+				FenceTable scratch = this.scratch;
+				for (int i = 0, limit = urgentIndex; i < limit; i++) {
+					runnableInterceptor = urgentCaches[i];
+					if (!isBlocked(runnableInterceptor, barrierFences, scratch)) {
+						System.arraycopy(urgentCaches, i + 1, urgentCaches, i, --urgentIndex - i);
+						urgentCaches[urgentIndex] = null;
+						removeFences(urgentFences, runnableInterceptor);
+						scratch.clear();
+						return runnableInterceptor;
+					}
+					addFences(scratch, runnableInterceptor);
+				}
+				scratch.clear();
+			}
+			while ((runnableInterceptor = urgents.poll()) != null) {
+				if (!isBlocked(runnableInterceptor, barrierFences, urgentFences)) {
+					return runnableInterceptor;
+				}
+				addUrgent(runnableInterceptor);
+			}
+			return null;
+		}
+
+		/**
+		 * 增加就绪节点
+		 *
+		 * @param runnableInterceptor 节点（就绪）
+		 */
+		private void addReady(RunnableInterceptor runnableInterceptor) {
+			if (readyTail >= readies.length) {
+				RunnableInterceptor[] tmp = new RunnableInterceptor[readyTail << 1];
+				System.arraycopy(readies, 0, tmp, 0, readyTail);
+				readies = tmp;
+			}
+			readies[readyTail++] = runnableInterceptor;
+		}
+
+		/**
+		 * 移除已释放的屏障
+		 */
+		private void releaseBarriers() {
+			for (int i = 0; i < barrierIndex; i++) {
+				RunnableInterceptor runnableInterceptor = barriers[i];
+				if (!runnableInterceptor.isIntercepted()) {
+					removeBarrier(i--);
+					free(runnableInterceptor);
+					dirty = true;
+				}
+			}
+		}
+
+		/**
+		 * 检查缓存队列
+		 * <p>
+		 * 按照缓存的顺序检查节点，节点不能越过屏障，也不能越过排在它前面的、仍未执行的缓存节点。
+		 * 可以执行的节点，如果拦截成功，成为屏障，否则，进入就绪队列。
+		 */
+		private void checkCaches() {
+			FenceTable scratch = this.scratch;
+			int index = 0;
+			for (int i = 0, limit = cacheIndex; i < limit; i++) {
+				RunnableInterceptor runnableInterceptor = caches[i];
+				if (!isBlocked(runnableInterceptor, barrierFences, scratch)) {
+					if (index > 0) {
+						// 越过之前仍被阻塞的缓存节点
+						overtakes++;
+					}
+					if (runnableInterceptor.tryIntercept()) {
+						removeFences(cacheFences, runnableInterceptor);
+						addBarrier(runnableInterceptor);
+						runnableInterceptor.weakUp();
+						continue;
+					}
+//					Debug.info("Work-" + track + " 恢复任务：" + node.getTask());
+					addReady(runnableInterceptor);
+				} else {
+					caches[index++] = runnableInterceptor;
+				}
+				addFences(scratch, runnableInterceptor);
+			}
+			for (int i = index; i < cacheIndex; i++) {
+				caches[i] = null;
+			}
+			cacheIndex = index;
+			scratch.clear();
+		}
+
+		/**
+		 * 判断节点是否被阻塞
+		 * <p>
+		 * 只需要检查节点自己的执行屏障，代价与节点的执行屏障数量成正比。
+		 * 读屏障只被写屏障阻塞，写屏障被所有屏障阻塞。全局任务阻塞之后的所有节点，也被之前的所有节点阻塞。
+		 *
+		 * @param runnableInterceptor 节点
+		 * @param fences0             阻塞节点的执行屏障
+		 * @param fences1             阻塞节点的执行屏障
+		 * @return {@code true}节点被阻塞，{@code false}节点可以越过所有屏障和缓存执行
+		 */
+		private boolean isBlocked(RunnableInterceptor runnableInterceptor, FenceTable fences0, FenceTable fences1) {
+			if (fences0.isEmpty() && fences1.isEmpty()) {
+				return false;
+			}
+			// 全局任务之后的节点都被阻塞，全局任务被之前的所有节点阻塞
+			if (fences0.containsGlobal() || fences1.containsGlobal()) {
+				return true;
+			}
+			if (runnableInterceptor instanceof AbstractInterceptorTask task && !task.global
+					&& !fences0.intersects(task.signature) && !fences1.intersects(task.signature)) {
+				// 签名不相交，节点的执行屏障都不在表中
+				return false;
+			}
+			if (runnableInterceptor instanceof AbstractLongInterceptorTask task) {
+				// long执行屏障都是写屏障
+				for (int i = 0, count = task.fenceCount(); i < count; i++) {
+					long fence = task.longFence(i);
+					if (fences0.containsLong(fence) || fences1.containsLong(fence)) {
+						return true;
+					}
+				}
+			} else if (runnableInterceptor instanceof AbstractInterceptorTask task) {
+				if (task.global) {
+					return true;
+				}
+				for (int i = 0, count = task.fenceCount(); i < count; i++) {
+					Object fence = task.fence(i);
+					int hash = task.hash(i);
+					if (task.isRead(i)) {
+						// 读屏障只被写屏障阻塞
+						if (fences0.containsWrite(fence, hash) || fences1.containsWrite(fence, hash)) {
+							return true;
+						}
+					} else if (fences0.contains(fence, hash) || fences1.contains(fence, hash)) {
+						return true;
+					}
+				}
+			} else {
+				for (Object fence : runnableInterceptor.getFences()) {
+					if (fences0.contains(fence) || fences1.contains(fence)) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+
+		private void addFences(FenceTable table, RunnableInterceptor runnableInterceptor) {
+			if (runnableInterceptor instanceof AbstractLongInterceptorTask task) {
+				for (int i = 0, count = task.fenceCount(); i < count; i++) {
+					table.addLong(task.longFence(i), false);
+				}
+			} else if (runnableInterceptor instanceof AbstractInterceptorTask task) {
+				if (task.global) {
+					table.addGlobal();
+					return;
+				}
+				for (int i = 0, count = task.fenceCount(); i < count; i++) {
+					table.add(task.fence(i), task.hash(i), task.isRead(i));
+				}
+			} else {
+				for (Object fence : runnableInterceptor.getFences()) {
+					table.add(fence);
+				}
+			}
+		}
+
+		private void removeFences(FenceTable table, RunnableInterceptor runnableInterceptor) {
+			if (runnableInterceptor instanceof AbstractLongInterceptorTask task) {
+				for (int i = 0, count = task.fenceCount(); i < count; i++) {
+					table.removeLong(task.longFence(i), false);
+				}
+			} else if (runnableInterceptor instanceof AbstractInterceptorTask task) {
+				if (task.global) {
+					table.removeGlobal();
+					return;
+				}
+				for (int i = 0, count = task.fenceCount(); i < count; i++) {
+					table.remove(task.fence(i), task.hash(i), task.isRead(i));
+				}
+			} else {
+				for (Object fence : runnableInterceptor.getFences()) {
+					table.remove(fence);
+				}
+			}
+		}
+
+		/**
+		 * <pre>
+		 *     +------+
+		 *     | read |
+		 *     +------+
+		 *        |
+		 *    +---------+  N   +-----+
+		 *    | isTrack | ---> | END |
+		 *    +---------+      +-----+
+		 *       Y |
+		 *    +---------+  Y   +-------+
+		 *    | blocked | ---> | cache |
+		 *    +---------+      +-------+
+		 *       N |
+		 *    +-----------+  Y   +---------+
+		 *    | intercept | ---> | barrier |
+		 *    +-----------+      +---------+
+		 *       N |
+		 *    +-----+
+		 *    | run |
+		 *    +-----+
+		 * </pre>
+		 *
+		 * @return 下一个节点
+		 */
+		private @Nullable RunnableInterceptor next() {
+			RunnableInterceptor runnableInterceptor;
+			for (; ; ) {
+				// 状态检测，如果线程池已停止
+				if (state >= SHUTDOWN || (state >= CLOSE && eventBus.eof(readerIndex) && barrierIndex <= 0 && cacheIndex <= 0 && readyHead >= readyTail && suspends <= 0 && urgentIndex <= 0 && urgents.isEmpty())) {
+					return null;
+				}
+				// 优先执行就绪的节点，有优先节点时，先执行优先节点
+				if (readyHead < readyTail && urgents.isEmpty()) {
+					runnableInterceptor = readies[readyHead];
+					readies[readyHead++] = null;
+					if (readyHead >= readyTail) {
+						readyHead = readyTail = 0;
+					}
+					removeFences(cacheFences, runnableInterceptor);
+					dirty = true;
+					if (!runnableInterceptor.isExclusive()) {
+						removeEvent(runnableInterceptor.getSequence());
+					}
+					return runnableInterceptor;
+				}
+				Sync sync = this.sync;
+				int stamp = sync.acquireRead();
+				// 恢复挂起的节点，节点的执行屏障在执行完成后释放
+				if (suspends > 0) {
+					while ((runnableInterceptor = finishes.poll()) != null) {
+						suspends--;
+						removeFences(barrierFences, runnableInterceptor);
+						dirty = true;
+						finish(runnableInterceptor);
+					}
+					runnableInterceptor = resumes.poll();
+					if (runnableInterceptor != null) {
+						suspends--;
+						removeFences(barrierFences, runnableInterceptor);
+						dirty = true;
+						return runnableInterceptor;
+					}
+				}
+				if (barrierIndex > 0 && stamp != barrierStamp) {
+					barrierStamp = stamp;
+					releaseBarriers();
+				}
+				// 优先节点越过所有缓存节点和事件总线上的节点
+				if (urgentIndex > 0 || !urgents.isEmpty()) {
+					runnableInterceptor = nextUrgent();
+					if (runnableInterceptor != null) {
+						if (cacheIndex > 0) {
+							overtakes++;
+						}
+						return runnableInterceptor;
+					}
+					// 优先节点都被阻塞，继续执行就绪的节点
+					if (readyHead < readyTail) {
+						continue;
+					}
+				}
+				if (dirty) {
+					dirty = false;
+					if (cacheIndex > 0) {
+						checkCaches();
+						if (readyHead < readyTail) {
+							continue;
+						}
+					}
+				}
+				final long readerIndex;
+				final LaneEventBus.Lane lane = this.lane;
+				if (lane == null) {
+					readerIndex = this.readerIndex;
+					if (readerIndex >= eventBus.writerIndex()) {
+						sync.validate(stamp);
+						continue;
+					}
+				} else {
+					// 先读取事件总线的写入位置，再读取通道，通道读完时，写入位置之前这条轨道上的事件都已读取
+					final long writerIndex = eventBus.writerIndex();
+					final long laneIndex = this.laneIndex;
+					if (laneIndex >= lane.writerIndex()) {
+						this.readerIndex = Math.max(this.readerIndex, writerIndex);
+						sync.validate(stamp);
+						continue;
+					}
+					// 事件在追加到通道之前已经写入事件总线，即使写入位置尚未更新，也可以读取
+					readerIndex = lane.sequence(laneIndex);
+					this.laneIndex = laneIndex + 1;
+					lane.readerIndex(laneIndex + 1);
+				}
+				this.readerIndex = readerIndex + 1;
+				runnableInterceptor = eventBus.getEvent(readerIndex);
+				// 执行器
+				if (runnableInterceptor == null || !runnableInterceptor.isTrack(track)) {
+					continue;
+				}
+				// 节点是可回收的，读取期间节点可能已经被执行并重新投递，再次确认节点仍然位于此位置
+				if (eventBus.getEvent(readerIndex) != runnableInterceptor) {
+					continue;
+				}
+				if (!isBlocked(runnableInterceptor, barrierFences, cacheFences)) {
+					if (cacheIndex > 0) {
+						overtakes++;
+					}
+					if (runnableInterceptor.tryIntercept()) {
+						// only execute thread return event
+						addBarrier(runnableInterceptor);
+					} else {
+						removeEvent(readerIndex);
+						return runnableInterceptor;
+					}
+				} else {
+					if (runnableInterceptor.isExclusive()) {
+						removeEvent(readerIndex);
+					}
+					runnableInterceptor.setSequence(readerIndex);
+					addCache(runnableInterceptor);
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			RunnableInterceptor runnableInterceptor;
+			while ((runnableInterceptor = next()) != null) {
+				if (state >= SHUTDOWN) {
+					// 如果线程池已关闭，确保线程已经中断
+					if (!thread.isInterrupted()) {
+						thread.interrupt();
+					}
+				} else {
+					// 如果线程池未关闭，确保线程没有被中断。
+					// 并发下的一些问题，被中断了，恢复中断。
+					if (thread.isInterrupted() && Thread.interrupted() && state >= SHUTDOWN) {
+						thread.interrupt();
+					}
+				}
+				long startTime = System.nanoTime();
+				// 恢复的节点不再记录等待时间，执行时间从第一次开始执行计算，每个任务只记录一次
+				if (runnableInterceptor instanceof AbstractInterceptorTask task && !isResumed(task)) {
+					waitTime.record(startTime - task.timestamp);
+					task.timestamp = startTime;
+				}
+				if (executor != null && offload(runnableInterceptor)) {
+					continue;
+				}
+				boolean suspended = false;
+				try {
+					current = runnableInterceptor;
+					this.startTime = startTime;
+					runnableInterceptor.run();
+					suspended = suspend(runnableInterceptor);
+				} finally {
+					this.startTime = -1;
+					current = null;
+					if (!suspended) {
+						finish(runnableInterceptor);
+					}
+				}
+			}
+			exit();
+		}
+
+		/**
+		 * 节点执行完成
+		 *
+		 * @param runnableInterceptor 已执行的节点
+		 */
+		private void finish(RunnableInterceptor runnableInterceptor) {
+			if (runnableInterceptor instanceof AbstractInterceptorTask task) {
+				// 释放之前记录，释放之后节点可能已经被回收
+				workTime.record(System.nanoTime() - task.timestamp);
+			}
+			CC.setRelease(this, completedTasks + 1);
+			complete(runnableInterceptor);
+			runnableInterceptor.release();
+			free(runnableInterceptor);
+		}
+
+		/**
+		 * 将节点交给线程池执行
+		 * <p>
+		 * 节点视为挂起，执行屏障作为屏障记录在执行器本地，直到线程池执行完成。
+		 *
+		 * @param runnableInterceptor 节点
+		 * @return {@code true}已交给线程池，{@code false}线程池拒绝执行，由执行器直接执行
+		 */
+		private boolean offload(RunnableInterceptor runnableInterceptor) {
+			addFences(barrierFences, runnableInterceptor);
+			suspends++;
+			try {
+				executor.execute(new Offload(this, runnableInterceptor));
+				return true;
+			} catch (RejectedExecutionException e) {
+				suspends--;
+				removeFences(barrierFences, runnableInterceptor);
+				return false;
+			}
+		}
+
+		/**
+		 * 线程池中的节点执行完成
+		 * <p>
+		 * 由线程池中的线程调用。
+		 *
+		 * @param runnableInterceptor 已执行的节点
+		 */
+		private void offloaded(RunnableInterceptor runnableInterceptor) {
+			finishes.offer(runnableInterceptor);
+			weakUp(track);
+		}
+
+		/**
+		 * 挂起节点
+		 * <p>
+		 * 节点的任务是{@link Suspension}，并且异步操作尚未完成时，节点挂起：不释放节点，执行屏障作为屏障记录在执行器本地。
+		 *
+		 * @param runnableInterceptor 已执行的节点
+		 * @return {@code true}节点已挂起，{@code false}节点已执行完成
+		 */
+		private boolean suspend(RunnableInterceptor runnableInterceptor) {
+			if (runnableInterceptor instanceof AbstractInterceptorTask task
+					&& task.task instanceof Suspension<?> suspension
+					&& suspension.suspend(this, runnableInterceptor)) {
+				addFences(barrierFences, runnableInterceptor);
+				suspends++;
+				return true;
+			}
+			return false;
+		}
+
+		/**
+		 * 提交优先节点
+		 * <p>
+		 * 由生产者线程调用。
+		 *
+		 * @param runnableInterceptor 优先节点
+		 */
+		private void urgent(RunnableInterceptor runnableInterceptor) {
+			urgents.offer(runnableInterceptor);
+			weakUp(track);
+		}
+
+		/**
+		 * 返回节点是否是恢复的挂起节点
+		 *
+		 * @param task 节点
+		 * @return {@code true}恢复的挂起节点，{@code false}第一次执行的节点
+		 */
+		private static boolean isResumed(AbstractInterceptorTask task) {
+			return task.task instanceof Suspension<?> suspension && suspension.isResumed();
+		}
+
+		/**
+		 * 恢复挂起的节点
+		 * <p>
+		 * 由完成异步操作的线程调用。
+		 *
+		 * @param runnableInterceptor 挂起的节点
+		 */
+		private void resume(RunnableInterceptor runnableInterceptor) {
+			resumes.offer(runnableInterceptor);
+			weakUp(track);
+		}
+
+		/**
+		 * 通知路由节点执行完成
+		 *
+		 * @param runnableInterceptor 已执行的任务
+		 */
+		private void complete(RunnableInterceptor runnableInterceptor) {
+			if (runnableInterceptor instanceof AbstractInterceptorTask task) {
+				task.complete();
+			}
+		}
+
+		/**
+		 * 放弃持有节点
+		 * <p>
+		 * 节点可能被多条轨道持有，当所有轨道都放弃持有时，节点归还到生产者的回收站。
+		 *
+		 * @param runnableInterceptor 节点（屏障或已执行的任务）
+		 */
+		private void free(RunnableInterceptor runnableInterceptor) {
+			if (runnableInterceptor instanceof AbstractInterceptorTask task) {
+				task.free();
+			}
+		}
+
+		/**
+		 * 返回执行器的指标快照
+		 *
+		 * @return 指标快照
+		 */
+		private ExplorerMetrics.TrackMetrics metrics() {
+			long completedTasks = (long) CC.getAcquire(this);
+			return new ExplorerMetrics.TrackMetrics(
+					track, completedTasks, cachedTasks, barrierTasks, overtakes, waitTime.copy(), workTime.copy()
+			);
+		}
+
+		/**
+		 * 生成慢任务报告
+		 * <p>
+		 * 由守望线程调用。读取完成后再次检查开始执行的时间，如果任务已经执行完成（节点可能已被复用），快照无效。
+		 * 被阻塞的任务数量统计所有轨道的缓存队列，其它轨道仍在运行，这个数量是近似的。
+		 *
+		 * @param startTime 开始执行的时间
+		 * @param elapsed   已执行时间
+		 * @return 慢任务报告，为{@code null}时，任务已经执行完成
+		 */
+		private @Nullable SlowTaskReport report(long startTime, long elapsed) {
+			RunnableInterceptor node = current;
+			if (node == null) {
+				return null;
+			}
+			StackTraceElement[] stackTrace = thread.getStackTrace();
+			Runnable task;
+			Object[] fences;
+			int blockedTasks = 0;
+			try {
+				task = node instanceof AbstractInterceptorTask t ? t.task : node;
+				fences = node.getFences().clone();
+				boolean global = node instanceof AbstractInterceptorTask t && t.global;
+				for (Walker walker : walkers) {
+					blockedTasks += walker.blocked(node, global);
+				}
+			} catch (RuntimeException e) {
+				// 节点已被复用
+				return null;
+			}
+			VarHandle.acquireFence();
+			if (this.startTime != startTime) {
+				return null;
+			}
+			long pendingTasks = Math.max(0, eventBus.writerIndex() - readerIndex);
+			return new SlowTaskReport(
+					getName(), thread.getName(), track, task, fences, elapsed, stackTrace, blockedTasks, pendingTasks
+			);
+		}
+
+		/**
+		 * 返回缓存队列中被节点阻塞的节点数量
+		 * <p>
+		 * 由守望线程调用，执行器线程可能同时修改缓存队列，读取失败时只返回已统计的数量。
+		 *
+		 * @param node   执行中的节点
+		 * @param global 是否全局任务
+		 * @return 被阻塞的节点数量
+		 */
+		private int blocked(RunnableInterceptor node, boolean global) {
+			int blockedTasks = 0;
+			try {
+				RunnableInterceptor[] caches = this.caches;
+				for (int i = 0, size = Math.min(cacheIndex, caches.length); i < size; i++) {
+					RunnableInterceptor cache = caches[i];
+					if (cache != null && cache != node && (global || !node.isAdvance(cache))) {
+						blockedTasks++;
+					}
+				}
+			} catch (RuntimeException e) {
+				// 缓存的节点已被执行并复用
+			}
+			return blockedTasks;
+		}
+
+		public void exit() {
+			LockSupport.unpark(watcher.thread);
+		}
+
+		@Override
+		public String toString() {
+			return "Walker-" + track;
+		}
+	}
+	// endregion
+
+	/**
+	 * 可挂起的任务
+	 * <p>
+	 * 第一次执行时，调用{@link #task}得到异步操作的阶段；阶段完成后，第二次执行时，调用{@link #resume}。
+	 * 状态转换：
+	 * <pre>
+	 * INIT -> RUNNING -> SUSPENDED -> READY -> DONE（挂起，由完成阶段的线程恢复）
+	 * INIT -> RUNNING -> READY -> DONE（执行期间阶段已完成，不挂起）
 	 * </pre>
-	 * 由IO线程生成任务信息（考虑对象池）并发布在环形Buffer总线上。环形buffer中发布的，不再是单个任务，而是包含Key组的任务，Key组中可能包含一个或多个Key。
-	 * 仅仅维护一个全局的{@code writeIndex}，每个线程维护自己的{@code readIndex}，只要{@code readIndex < writeIndex}
-	 * 则可以继续向下读取，如果当前位置为空，则表明此任务不是这个线程关注的任务，跳过执行，联合{@link RunnableInterceptor}使用。
+	 *
+	 * @param <T> 阶段的结果类型
+	 */
+	private static final class Suspension<T> implements Runnable, BiConsumer<T, Throwable> {
+
+		private static final VarHandle SS = MiscUtils.findVarHandle(Suspension.class, "state", int.class);
+
+		private static final int INIT = 0;
+
+		private static final int RUNNING = 1;
+
+		private static final int SUSPENDED = 2;
+
+		private static final int READY = 3;
+
+		private static final int DONE = 4;
+
+		private final Supplier<? extends CompletionStage<T>> task;
+
+		private final BiConsumer<? super T, ? super Throwable> resume;
+
+		private volatile int state = INIT;
+
+		/**
+		 * 挂起节点的执行器
+		 */
+		private Walker walker;
+
+		/**
+		 * 挂起的节点
+		 */
+		private RunnableInterceptor node;
+
+		private T value;
+
+		private Throwable error;
+
+		private Suspension(Supplier<? extends CompletionStage<T>> task, BiConsumer<? super T, ? super Throwable> resume) {
+			this.task = task;
+			this.resume = resume;
+		}
+
+		@Override
+		public void run() {
+			if (state == READY) {
+				state = DONE;
+				resume.accept(value, error);
+				return;
+			}
+			state = RUNNING;
+			CompletionStage<T> stage;
+			try {
+				stage = Objects.requireNonNull(task.get());
+			} catch (Throwable e) {
+				accept(null, e);
+				return;
+			}
+			stage.whenComplete(this);
+		}
+
+		/**
+		 * 返回是否已经挂起并恢复
+		 * <p>
+		 * 恢复的节点再次开始执行之前，阶段一定已经完成。
+		 *
+		 * @return {@code true}等待执行{@link #resume}，{@code false}尚未开始执行
+		 */
+		private boolean isResumed() {
+			return state == READY;
+		}
+
+		/**
+		 * 尝试挂起
+		 * <p>
+		 * 阶段已经完成时，不挂起，直接执行{@link #resume}。
+		 *
+		 * @param walker 执行器
+		 * @param node   节点
+		 * @return {@code true}已挂起，{@code false}已执行完成
+		 */
+		private boolean suspend(Walker walker, RunnableInterceptor node) {
+			this.walker = walker;
+			this.node = node;
+			if (SS.compareAndSet(this, RUNNING, SUSPENDED)) {
+				return true;
+			}
+			if (state == READY) {
+				run();
+			}
+			return false;
+		}
+
+		/**
+		 * 阶段完成
+		 *
+		 * @param value 阶段的结果
+		 * @param error 阶段的异常
+		 */
+		@Override
+		public void accept(T value, Throwable error) {
+			this.value = value;
+			this.error = error;
+			if (SS.compareAndSet(this, RUNNING, READY)) {
+				// 执行器仍在执行任务，由执行器直接恢复
+				return;
+			}
+			state = READY;
+			walker.resume(node);
+		}
+	}
+
+	/**
+	 * 在线程池中执行的节点
+	 * <p>
+	 * 节点的任务是{@link Suspension}，并且异步操作尚未完成时，节点继续挂起，恢复后再次交给线程池执行。
+	 */
+	private static final class Offload implements Runnable {
+
+		private final Walker walker;
+
+		private final RunnableInterceptor node;
+
+		private Offload(Walker walker, RunnableInterceptor node) {
+			this.walker = walker;
+			this.node = node;
+		}
+
+		@Override
+		public void run() {
+			boolean suspended = false;
+			try {
+				node.run();
+				suspended = node instanceof AbstractInterceptorTask task
+						&& task.task instanceof Suspension<?> suspension
+						&& suspension.suspend(walker, node);
+			} finally {
+				if (!suspended) {
+					walker.offloaded(node);
+				}
+			}
+		}
+	}
+
+	/**
+	 * 带参数的任务
+	 * <p>
+	 * 由节点持有并随节点复用，保存函数和参数，提交带参数的任务时不再需要创建捕获参数的lambda。
+	 * 函数和参数在节点发布之前写入，事件总线的发布保证了它们对于消费者线程可见。
+	 */
+	private static final class Invoker implements Runnable {
+
+		private Consumer<Object> consumer;
+
+		private BiConsumer<Object, Object> biConsumer;
+
+		private Object arg0;
+
+		private Object arg1;
+
+		@Override
+		public void run() {
+			if (consumer != null) {
+				consumer.accept(arg0);
+			} else {
+				biConsumer.accept(arg0, arg1);
+			}
+		}
+
+		private void clear() {
+			consumer = null;
+			biConsumer = null;
+			arg0 = null;
+			arg1 = null;
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(consumer != null ? consumer : biConsumer);
+		}
+	}
+
+	/**
+	 * 合并键
+	 * <p>
+	 * 合并键与执行屏障的组合，执行屏障按照{@link Object#equals(Object)}比较，读屏障与写屏障不会合并。
+	 */
+	private static final class CoalescingKey {
+
+		private final Object key;
+
+		private final Object fence;
+
+		private CoalescingKey(Object key, Object fence) {
+			this.key = key;
+			this.fence = fence;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return this == o || o instanceof CoalescingKey other && key.equals(other.key) && fence.equals(other.fence);
+		}
+
+		@Override
+		public int hashCode() {
+			return key.hashCode() * 31 + fence.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return key + "@" + fence;
+		}
+	}
+
+	/**
+	 * 可合并的任务
+	 * <p>
+	 * 尚未开始执行时，提交者可以替换或合并其中的任务；开始执行或者被拒绝时，先从等待合并的任务中移除，再取出任务，
+	 * 取出之后的合并都会失败，提交者重新排队，所以每一个被合并的任务都会执行（或者随同被拒绝），并且只执行一次。
+	 */
+	private static final class Coalescing implements Runnable {
+
+		private static final VarHandle TT = MiscUtils.findVarHandle(
+				Coalescing.class, "task", Runnable.class
+		);
+
+		private final Map<CoalescingKey, Coalescing> coalescings;
+
+		private final CoalescingKey key;
+
+		/**
+		 * 等待执行的任务，为{@code null}时，任务已经开始执行
+		 */
+		private volatile Runnable task;
+
+		private Coalescing(Map<CoalescingKey, Coalescing> coalescings, CoalescingKey key, Runnable task) {
+			this.coalescings = coalescings;
+			this.key = key;
+			this.task = task;
+		}
+
+		/**
+		 * 合并任务
+		 *
+		 * @param task   新的任务
+		 * @param merger 合并函数，为{@code null}时，替换任务
+		 * @return {@code true}合并成功，{@code false}任务已经开始执行
+		 */
+		private boolean merge(Runnable task, @Nullable BinaryOperator<Runnable> merger) {
+			for (; ; ) {
+				Runnable current = this.task;
+				if (current == null) {
+					return false;
+				}
+				Runnable next = merger == null ? task : Objects.requireNonNull(merger.apply(current, task));
+				if (TT.compareAndSet(this, current, next)) {
+					return true;
+				}
+			}
+		}
+
+		/**
+		 * 取出任务
+		 * <p>
+		 * 取出之后的合并都会失败。
+		 *
+		 * @return 等待执行的任务，为{@code null}时，任务已经被取出
+		 */
+		private @Nullable Runnable take() {
+			return (Runnable) TT.getAndSet(this, null);
+		}
+
+		@Override
+		public void run() {
+			coalescings.remove(key, this);
+			Runnable task = take();
+			if (task != null) {
+				task.run();
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "Coalescing[" + key + "]";
+		}
+	}
+
+	// region Node
+
+	/**
+	 * 任务节点的抽象实现
+	 * <p>
+	 * 包含：任务唯一序列、任务、执行屏障数量、拦截量、是否拦截。
+	 * <p>
+	 * 节点是可回收的。节点由生产者线程从自己的回收站中取出并初始化，发布到事件总线后，可能被多条轨道持有，
+	 * 当所有持有节点的轨道都放弃持有时（执行完成或屏障移除），节点归还到生产者的回收站，等待下一次使用。
+	 * 稳态运行时，任务的发布不再产生任何对象分配。
+	 */
+	public abstract static class AbstractInterceptorTask implements RunnableInterceptor {
+
+		protected static final VarHandle VV = MiscUtils.findVarHandle(
+				AbstractInterceptorTask.class, "forbids", int.class
+		);
+
+		protected static final VarHandle HH = MiscUtils.findVarHandle(
+				AbstractInterceptorTask.class, "holders", int.class
+		);
+
+		/**
+		 * 任务唯一序列
+		 * <p>
+		 * 任务唯一序列只有在有可能用到任务的时候，才会生成这个序列。
+		 */
+		protected long sequence;
+
+		/**
+		 * 等待执行的任务
+		 */
+		protected Runnable task;
+
+		/**
+		 * 任务执行屏障数量
+		 */
+		protected int size;
+
+		/**
+		 * 读屏障
+		 * <p>
+		 * 第{@code i}位表示第{@code i}个执行屏障是否为读屏障，只记录前32个执行屏障，其余的都视为写屏障。
+		 */
+		protected int reads;
+
+		/**
+		 * 时间戳（纳秒）
+		 * <p>
+		 * 发布时是发布的时间，开始执行时由执行器改写为开始执行的时间，用于统计等待时间和执行时间。
+		 * 挂起的节点恢复时，保留第一次开始执行的时间。
+		 */
+		protected long timestamp;
+
+		/**
+		 * 是否全局任务
+		 * <p>
+		 * 全局任务位于所有轨道上，与所有的节点互斥，参考{@link #executeGlobal(Runnable)}。
+		 */
+		protected boolean global;
+
+		/**
+		 * 执行屏障签名
+		 * <p>
+		 * 所有执行屏障的签名按位或，参考{@link FenceTable#signature(int)}。两个节点的签名不相交时，
+		 * 它们一定没有相同的执行屏障，不需要逐个比较。默认所有位都是{@code 1}，不能排除任何执行屏障。
+		 */
+		protected long signature = -1L;
+
+		/**
+		 * 剩余拦截量
+		 */
+		@Contended
+		protected volatile int forbids;
+
+		/**
+		 * 是否拦截中
+		 */
+		protected volatile boolean intercepted = true;
+
+		/**
+		 * 剩余持有者数量
+		 * <p>
+		 * 节点所在的每一条轨道都会持有这个节点，当持有者数量归零时，节点才能被回收。
+		 */
+		protected volatile int holders;
+
+		/**
+		 * 节点所属的回收站
+		 * <p>
+		 * 为{@code null}时，节点不可回收。
+		 */
+		private final Recycler<?> recycler;
+
+		/**
+		 * 回收站中的下一个节点
+		 */
+		private AbstractInterceptorTask next;
+
+		/**
+		 * 归还时回收站中已归还节点的数量（包括这个节点）
+		 */
+		private int depth;
+
+		/**
+		 * 带参数的任务
+		 * <p>
+		 * 第一次提交带参数的任务时创建，之后随节点复用。
+		 */
+		private Invoker invoker;
+
+		protected AbstractInterceptorTask(Runnable task, int size) {
+			this.recycler = null;
+			this.task = task;
+			this.size = size;
+			this.timestamp = System.nanoTime();
+		}
+
+		private AbstractInterceptorTask(Recycler<?> recycler) {
+			this.recycler = recycler;
+		}
+
+		/**
+		 * 初始化节点
+		 * <p>
+		 * 节点发布到事件总线之前调用，事件总线的发布保证了这些字段对于消费者线程可见。
+		 *
+		 * @param task    任务
+		 * @param size    执行屏障数量
+		 * @param forbids 拦截量
+		 * @param holders 持有者数量（轨道数量）
+		 */
+		protected void init(Runnable task, int size, int forbids, int holders) {
+			this.task = task;
+			this.size = size;
+			this.holders = holders;
+			this.forbids = forbids;
+			this.intercepted = true;
+			this.global = false;
+			this.timestamp = System.nanoTime();
+		}
+
+		/**
+		 * 绑定带参数的任务
+		 * <p>
+		 * 节点初始化之后、发布之前调用，函数和参数存放在随节点复用的{@link Invoker}中。
+		 *
+		 * @param task 任务
+		 * @param arg  参数
+		 * @return 当前节点
+		 */
+		@SuppressWarnings("unchecked")
+		private AbstractInterceptorTask bind(Consumer<?> task, Object arg) {
+			Invoker invoker = invoker();
+			invoker.consumer = (Consumer<Object>) task;
+			invoker.arg0 = arg;
+			this.task = invoker;
+			return this;
+		}
+
+		/**
+		 * 绑定带两个参数的任务
+		 *
+		 * @param task 任务
+		 * @param arg0 第一个参数
+		 * @param arg1 第二个参数
+		 * @return 当前节点
+		 * @see #bind(Consumer, Object)
+		 */
+		@SuppressWarnings("unchecked")
+		private AbstractInterceptorTask bind(BiConsumer<?, ?> task, Object arg0, Object arg1) {
+			Invoker invoker = invoker();
+			invoker.biConsumer = (BiConsumer<Object, Object>) task;
+			invoker.arg0 = arg0;
+			invoker.arg1 = arg1;
+			this.task = invoker;
+			return this;
+		}
+
+		private Invoker invoker() {
+			Invoker invoker = this.invoker;
+			if (invoker == null) {
+				invoker = this.invoker = new Invoker();
+			}
+			return invoker;
+		}
+
+		/**
+		 * 清理节点
+		 * <p>
+		 * 节点回收时调用，释放对于任务、参数和执行屏障的引用。
+		 */
+		protected void clear() {
+			if (invoker != null) {
+				invoker.clear();
+			}
+			this.task = null;
+		}
+
+		/**
+		 * 任务完成
+		 * <p>
+		 * 任务执行完成或发布失败时调用，通知路由执行屏障的任务已完成。
+		 */
+		protected void complete() {
+			// do nothing
+		}
+
+		/**
+		 * 放弃持有节点
+		 * <p>
+		 * 最后一个放弃持有的轨道负责回收这个节点。
+		 */
+		protected void free() {
+			if ((int) HH.getAndAdd(this, -1) == 1 && recycler != null) {
+				clear();
+				recycler.recycle(this);
+			}
+		}
+
+		/**
+		 * 丢弃节点
+		 * <p>
+		 * 节点未能发布到事件总线时，由生产者直接归还到回收站。
+		 */
+		protected void discard() {
+			if (recycler != null) {
+				clear();
+				recycler.recycle(this);
+			}
+		}
+
+		/**
+		 * 返回执行屏障数量
+		 * <p>
+		 * 与{@link #getFences()}不同，这个方法不会产生对象分配。
+		 *
+		 * @return 执行屏障数量
+		 */
+		protected int fenceCount() {
+			return getFences().length;
+		}
+
+		/**
+		 * 返回执行屏障
+		 *
+		 * @param index 执行屏障下标
+		 * @return 执行屏障
+		 */
+		protected Object fence(int index) {
+			return getFences()[index];
+		}
+
+		/**
+		 * 返回执行屏障的哈希值
+		 * <p>
+		 * 节点在初始化时计算执行屏障的哈希值，执行器查找和记录执行屏障时不再重复计算。
+		 *
+		 * @param index 执行屏障下标
+		 * @return 哈希值，参考{@link FenceTable#hash(Object)}
+		 */
+		protected int hash(int index) {
+			return FenceTable.hash(fence(index));
+		}
+
+		/**
+		 * 返回执行屏障是否为读屏障
+		 *
+		 * @param index 执行屏障下标
+		 * @return {@code true}读屏障，{@code false}写屏障
+		 */
+		protected boolean isRead(int index) {
+			return index < Integer.SIZE && (reads & (1 << index)) != 0;
+		}
+
+		/**
+		 * 判断另一个节点是否能越过当前节点执行
+		 * <p>
+		 * 两个节点没有相同的执行屏障，或者相同的执行屏障都是读屏障时，可以越过。
+		 *
+		 * @param other 后续节点
+		 * @return {@code true}可以越过当前节点，{@code false}不能越过当前节点
+		 */
+		@Override
+		public boolean isAdvance(RunnableInterceptor other) {
+			if (other instanceof AbstractInterceptorTask node) {
+				if ((signature & node.signature) == 0) {
+					return true;
+				}
+				for (int i = 0, count = fenceCount(); i < count; i++) {
+					Object fence = fence(i);
+					int hash = hash(i);
+					for (int j = 0, size = node.fenceCount(); j < size; j++) {
+						if (hash == node.hash(j) && fence.equals(node.fence(j)) && !(isRead(i) && node.isRead(j))) {
+							return false;
+						}
+					}
+				}
+			} else {
+				for (int i = 0, count = fenceCount(); i < count; i++) {
+					Object fence = fence(i);
+					for (Object v : other.getFences()) {
+						if (fence.equals(v)) {
+							return false;
+						}
+					}
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public long getSequence() {
+			return sequence;
+		}
+
+		@Override
+		public void setSequence(long sequence) {
+			this.sequence = sequence;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean tryIntercept() {
+			int v;
+			do {
+				v = forbids;
+			} while (!VV.compareAndSet(this, v, v - 1));
+			return v > 0;
+		}
+
+		@Override
+		public boolean isIntercepted() {
+			return intercepted;
+		}
+
+		@Override
+		public void run() {
+			task.run();
+		}
+	}
+
+	/**
+	 * 节点回收站
 	 * <p>
-	 * 轨道缓冲区同时也是总线队列，所有任务都是发布在总线上。
+	 * 每个生产者线程拥有自己的回收站，只有所属的生产者线程能够取出节点，任何线程都可以归还节点。
+	 * 归还的节点存放在一个无锁栈中，当本地节点耗尽时，生产者一次性取走所有已归还的节点。
+	 * 由于只有一个线程取出节点，所以这个无锁栈不存在ABA问题。
 	 * <p>
-	 * 其它：
-	 * <ul>
-	 *     <li>任务发布，环形Buffer总线上发布由IO线程生成的任务。</li>
-	 *     <li>占用更多空间（n * ThreadCount），队列利用率下降。</li>
-	 *     <li>任务命中率降至{@code 1/nThreads}。</li>
-	 *     <li>充分利用cpu缓存行能力下降。</li>
-	 * </ul>
+	 * 每个节点记录入栈时栈的深度，栈的深度达到容量时，归还的节点被丢弃，由垃圾回收器回收。
+	 * 回收站最多保留{@code 2 * capacity}个节点（本地节点和已归还的节点各不超过容量），不会一直保留峰值时的节点数量。
 	 *
-	 * @author houyn[monkey@keimons.com]
-	 * @version 1.0
-	 * @since 17
-	 **/
-	private class Walker implements Runnable {
+	 * @param <T> 节点类型
+	 */
+	private static final class Recycler<T extends AbstractInterceptorTask> {
 
-		@Contended
-		protected Thread thread;
+		private static final VarHandle RR = MiscUtils.findVarHandle(
+				Recycler.class, "returned", AbstractInterceptorTask.class
+		);
 
 		/**
-		 * 线程运行轨道
+		 * 已归还节点的最大数量
+		 */
+		private final int capacity;
+
+		/**
+		 * 本地节点（仅由所属的生产者线程访问）
+		 */
+		private AbstractInterceptorTask local;
+
+		/**
+		 * 已归还的节点
+		 */
+		private volatile AbstractInterceptorTask returned;
+
+		Recycler(int capacity) {
+			this.capacity = capacity;
+		}
+
+		/**
+		 * 取出一个节点
+		 *
+		 * @return 可用的节点，如果回收站为空，则返回{@code null}
+		 */
+		@SuppressWarnings("unchecked")
+		@Nullable T acquire() {
+			AbstractInterceptorTask node = local;
+			if (node == null) {
+				if (returned == null) {
+					return null;
+				}
+				node = (AbstractInterceptorTask) RR.getAndSet(this, null);
+			}
+			local = node.next;
+			node.next = null;
+			return (T) node;
+		}
+
+		/**
+		 * 归还一个节点
 		 * <p>
-		 * 线程会有自己的运行轨道，并且，只会处理落在这个轨道上的节点。节点可以由多个线程处理，
-		 * 如果节点由当前线程处理，才会进行后续操作。
+		 * 回收站已满时，丢弃这个节点。
+		 *
+		 * @param node 节点（已清理）
 		 */
-		private final int track;
+		void recycle(AbstractInterceptorTask node) {
+			AbstractInterceptorTask head;
+			do {
+				head = returned;
+				int depth = head == null ? 1 : head.depth + 1;
+				if (depth > capacity) {
+					return;
+				}
+				node.next = head;
+				node.depth = depth;
+			} while (!RR.compareAndSet(this, head, node));
+		}
+	}
+
+	/**
+	 * 带有1个屏障的节点
+	 */
+	private class InterceptorTask1 extends AbstractInterceptorTask {
+
+		private Object fence;
+
+		private int hash;
+
+		private int track;
+
+		public InterceptorTask1(Recycler<InterceptorTask1> recycler) {
+			super(recycler);
+		}
+
+		public void init(Runnable task, Object fence) {
+			this.reads = isReadFence(fence) ? 1 : 0;
+			this.fence = fence = fenceKey(fence);
+			this.hash = FenceTable.hash(fence);
+			this.signature = FenceTable.signature(hash);
+			this.track = router.route(fence);
+			super.init(task, 0, 0, 1);
+		}
+
+		@Override
+		protected void clear() {
+			super.clear();
+			this.fence = null;
+		}
+
+		@Override
+		protected void complete() {
+			router.complete(fence);
+		}
+
+		@Override
+		protected void free() {
+			// 单屏障节点只会被一个轨道持有
+			discard();
+		}
+
+		@Override
+		public void setSequence(long sequence) {
+			// do nothing
+		}
+
+		@Override
+		public long getSequence() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Object[] getFences() {
+			return new Object[]{fence};
+		}
+
+		@Override
+		protected int fenceCount() {
+			return 1;
+		}
+
+		@Override
+		protected Object fence(int index) {
+			return fence;
+		}
+
+		@Override
+		protected int hash(int index) {
+			return hash;
+		}
+
+		@Override
+		public void weakUp() {
+			ReorderExplorer.this.weakUp(track);
+		}
+
+		@Override
+		public boolean isTrack(int track) {
+			return this.track == track;
+		}
+
+		@Override
+		public boolean isExclusive() {
+			return true;
+		}
+
+		@Override
+		public boolean tryIntercept() {
+			// must false
+			return false;
+		}
+
+		@Override
+		public boolean isIntercepted() {
+			return false;
+		}
+
+		@Override
+		public void release() {
+			// do nothing
+		}
+	}
+
+	/**
+	 * 带有2个屏障的节点
+	 */
+	private class InterceptorTask2 extends AbstractInterceptorTask {
+
+		private int track0;
+
+		private Object fence0;
+
+		private int hash0;
+
+		private int track1;
+
+		private Object fence1;
+
+		private int hash1;
+
+		public InterceptorTask2(Recycler<InterceptorTask2> recycler) {
+			super(recycler);
+		}
+
+		public void init(Runnable task, Object fence0, Object fence1) {
+			this.reads = (isReadFence(fence0) ? 1 : 0) | (isReadFence(fence1) ? 2 : 0);
+			this.fence0 = fence0 = fenceKey(fence0);
+			this.fence1 = fence1 = fenceKey(fence1);
+			this.hash0 = FenceTable.hash(fence0);
+			this.hash1 = FenceTable.hash(fence1);
+			this.signature = FenceTable.signature(hash0) | FenceTable.signature(hash1);
+			this.track0 = router.route(fence0);
+			this.track1 = router.route(fence1);
+			if (track0 == track1) {
+				super.init(task, 2, 0, 1);
+			} else {
+				super.init(task, 2, 1, 2);
+			}
+		}
+
+		@Override
+		protected void complete() {
+			router.complete(fence0);
+			router.complete(fence1);
+		}
+
+		@Override
+		protected void clear() {
+			super.clear();
+			this.fence0 = null;
+			this.fence1 = null;
+		}
+
+		@Override
+		public Object[] getFences() {
+			return new Object[]{fence0, fence1};
+		}
+
+		@Override
+		protected int fenceCount() {
+			return 2;
+		}
+
+		@Override
+		protected Object fence(int index) {
+			return index == 0 ? fence0 : fence1;
+		}
+
+		@Override
+		protected int hash(int index) {
+			return index == 0 ? hash0 : hash1;
+		}
+
+		@Override
+		public void weakUp() {
+			ReorderExplorer.this.weakUp(track0);
+			ReorderExplorer.this.weakUp(track1);
+		}
+
+		@Override
+		public boolean isTrack(int track) {
+			return track0 == track || track1 == track;
+		}
+
+		@Override
+		public boolean isExclusive() {
+			return track0 == track1;
+		}
+
+		@Override
+		public void release() {
+			this.intercepted = false;
+			ReorderExplorer.this.weakUp(track0);
+			ReorderExplorer.this.weakUp(track1);
+		}
+	}
+
+	/**
+	 * 带有3个屏障的节点
+	 */
+	private class InterceptorTask3 extends AbstractInterceptorTask {
 
-		/**
-		 * 此执行器事件总线的读取位置
-		 * <p>
-		 * 执行器总是读取事件总线上的所有事件，尽管读出来的事件可能为空。
-		 */
-		private long readerIndex;
+		private int track0;
 
-		/**
-		 * 乐观锁
-		 * <p>
-		 * 乐观锁是一个很精妙的设计，通过这个锁，可以防止事件发布到消息队列，但是没能唤醒对应的处理器。
-		 * Explorer尝试了很多种实现，最终选定乐观锁的解决方案。它的性能要远高于{@link Condition}。
-		 */
-		private final Sync sync;
+		private Object fence0;
 
-		/**
-		 * 缓存队列写入位置
-		 */
-		private int cacheIndex;
+		private int hash0;
 
-		/**
-		 * 缓存队列
-		 * <p>
-		 * 被屏障拦截的节点，缓存在执行器本地，等待拦截器释放后，再执行缓存的消息。
-		 */
-		private RunnableInterceptor[] caches = new RunnableInterceptor[8];
+		private int track1;
 
-		/**
-		 * 执行屏障写入位置
-		 */
-		private int barrierIndex;
+		private Object fence1;
 
-		/**
-		 * 执行屏障
-		 * <p>
-		 * 如果一个任务将由多个线程执行，那么当线程拦截器成功时，该节点就变成了执行屏障。
-		 * 当有屏障存在时，节点必须能够重排序到所有屏障节点和所有缓存节点之前。
-		 */
-		private RunnableInterceptor[] barriers = new RunnableInterceptor[8];
+		private int hash1;
 
-		/**
-		 * 已完成的任务数量
-		 */
-		@Contended("t")
-		private long completedTasks;
+		private int track2;
 
-		@Contended("t")
-		private volatile long startTime = -1;
+		private Object fence2;
 
-		/**
-		 * 执行器构造方法
-		 * <p>
-		 * {@link RunnableInterceptor}的真正处理者。
-		 *
-		 * @param track 线程运行轨道
-		 */
-		public Walker(int track) {
-			this.track = track;
-			this.thread = threadFactory.newThread(this);
-			sync = new Sync(thread);
+		private int hash2;
+
+		public InterceptorTask3(Recycler<InterceptorTask3> recycler) {
+			super(recycler);
 		}
 
-		/**
-		 * 增加缓存
-		 *
-		 * @param runnableInterceptor 节点（缓存）
-		 */
-		private void addCache(RunnableInterceptor runnableInterceptor) {
-			if (cacheIndex >= caches.length) {
-				RunnableInterceptor[] tmp = new RunnableInterceptor[cacheIndex << 1];
-				System.arraycopy(caches, 0, tmp, 0, cacheIndex);
-				caches = tmp;
+		public void init(Runnable task, Object fence0, Object fence1, Object fence2) {
+			this.reads = (isReadFence(fence0) ? 1 : 0) | (isReadFence(fence1) ? 2 : 0) | (isReadFence(fence2) ? 4 : 0);
+			this.fence0 = fence0 = fenceKey(fence0);
+			this.fence1 = fence1 = fenceKey(fence1);
+			this.fence2 = fence2 = fenceKey(fence2);
+			this.hash0 = FenceTable.hash(fence0);
+			this.hash1 = FenceTable.hash(fence1);
+			this.hash2 = FenceTable.hash(fence2);
+			this.signature = FenceTable.signature(hash0) | FenceTable.signature(hash1) | FenceTable.signature(hash2);
+			this.track0 = router.route(fence0);
+			this.track1 = router.route(fence1);
+			this.track2 = router.route(fence2);
+			if (this.track0 == this.track1 && this.track0 == this.track2) {
+				super.init(task, 3, 0, 1);
+			} else if (this.track0 == this.track1 || this.track0 == this.track2 || this.track1 == this.track2) {
+				super.init(task, 3, 1, 2);
+			} else {
+				super.init(task, 3, 2, 3);
 			}
-			caches[cacheIndex++] = runnableInterceptor;
 		}
 
-		/**
-		 * 移除缓存
-		 *
-		 * @param index 缓存下标
-		 */
-		private void removeCache(int index) {
-			for (int i = index, limit = cacheIndex - 1; i < limit; i++) {
-				caches[i] = caches[i + 1];
-			}
-			caches[--cacheIndex] = null;
+		@Override
+		protected void complete() {
+			router.complete(fence0);
+			router.complete(fence1);
+			router.complete(fence2);
 		}
 
-		/**
-		 * 添加屏障
-		 *
-		 * @param runnableInterceptor 节点（屏障）
-		 */
-		private void addBarrier(RunnableInterceptor runnableInterceptor) {
-			if (barrierIndex >= barriers.length) {
-				RunnableInterceptor[] tmp = new RunnableInterceptor[barrierIndex << 1];
-				System.arraycopy(barriers, 0, tmp, 0, barrierIndex);
-				barriers = tmp;
-			}
-			barriers[barrierIndex++] = runnableInterceptor;
+		@Override
+		protected void clear() {
+			super.clear();
+			this.fence0 = null;
+			this.fence1 = null;
+			this.fence2 = null;
 		}
 
-		/**
-		 * 移除屏障
-		 *
-		 * @param index 屏障下标
-		 */
-		private void removeBarrier(int index) {
-			for (int i = index, limit = barrierIndex - 1; i < limit; i++) {
-				barriers[i] = barriers[i + 1];
-			}
-			barriers[--barrierIndex] = null;
+		@Override
+		public Object[] getFences() {
+			return new Object[]{fence0, fence1, fence2};
 		}
 
-		private boolean skip(RunnableInterceptor runnableInterceptor) {
-			// 判断任务是否可以越过所有屏障执行
-			for (int i = 0; i < barrierIndex; i++) {
-				if (!runnableInterceptor.isAdvance(barriers[i])) {
-					return false;
-				}
-			}
-			// 判断任务是否可以越过所有缓存执行
-//			for (int i = 0; i < cacheIndex; i++) {
-//				if (!node.isReorder(caches[i])) {
-//					return false;
-//				}
-//			}
-			return true;
+		@Override
+		protected int fenceCount() {
+			return 3;
 		}
 
-		/**
-		 * <pre>
-		 *     +------+
-		 *     | read |
-		 *     +------+
-		 *        |
-		 *    +---------+  N   +-----+
-		 *    | isTrack | ---> | END |
-		 *    +---------+      +-----+
-		 *       Y |
-		 *    +---------+  Y   +-------+
-		 *    | reorder | ---> | cache |
-		 *    +---------+      +-------+
-		 *       N |
-		 *    +-------+
-		 *    | cache |
-		 *    +-------+
-		 * </pre>
-		 *
-		 * @return 下一个节点
-		 */
-		private @Nullable RunnableInterceptor next() {
-			RunnableInterceptor runnableInterceptor;
-			for (; ; ) {
-				// 状态检测，如果线程池已停止
-				if (state >= SHUTDOWN || (state >= CLOSE && eventBus.eof(readerIndex) && barrierIndex <= 0 && cacheIndex <= 0)) {
-					return null;
-				}
-				Sync sync = this.sync;
-				int stamp = sync.acquireRead();
-				for (int i = 0; i < barrierIndex; i++) {
-					runnableInterceptor = barriers[i];
-					if (!runnableInterceptor.isIntercepted()) {
-						removeBarrier(i);
-					}
-				}
-				for (int i = 0; i < cacheIndex; i++) {
-					runnableInterceptor = caches[i];
-					if (skip(runnableInterceptor)) {
-						// 这个任务已经可以执行了，所以，直接移除
-						removeCache(i);
-						if (runnableInterceptor.tryIntercept()) {
-							addBarrier(runnableInterceptor);
-							runnableInterceptor.weakUp();
-						} else {
-//							Debug.info("Work-" + track + " 恢复任务：" + node.getTask());
-							if (!runnableInterceptor.isExclusive()) {
-								eventBus.removeEvent(runnableInterceptor.getSequence());
-							}
-							return runnableInterceptor;
-						}
-					}
-				}
-				final long readerIndex = this.readerIndex;
-				if (readerIndex < eventBus.writerIndex()) {
-					runnableInterceptor = eventBus.getEvent(readerIndex);
-					this.readerIndex = readerIndex + 1;
-					// 执行器
-					if (runnableInterceptor == null || !runnableInterceptor.isTrack(track)) {
-						continue;
-					}
-					if (skip(runnableInterceptor)) {
-						if (runnableInterceptor.tryIntercept()) {
-							// only execute thread return event
-							addBarrier(runnableInterceptor);
-						} else {
-							eventBus.removeEvent(readerIndex);
-							return runnableInterceptor;
-						}
-					} else {
-						if (runnableInterceptor.isExclusive()) {
-							eventBus.removeEvent(readerIndex);
-						}
-						runnableInterceptor.setSequence(readerIndex);
-						addCache(runnableInterceptor);
-					}
-				} else {
-					sync.validate(stamp);
-				}
-			}
+		@Override
+		protected Object fence(int index) {
+			return switch (index) {
+				case 0 -> fence0;
+				case 1 -> fence1;
+				default -> fence2;
+			};
 		}
 
 		@Override
-		public void run() {
-			RunnableInterceptor runnableInterceptor;
-			while ((runnableInterceptor = next()) != null) {
-				if (state >= SHUTDOWN) {
-					// 如果线程池已关闭，确保线程已经中断
-					if (!thread.isInterrupted()) {
-						thread.interrupt();
-					}
-				} else {
-					// 如果线程池未关闭，确保线程没有被中断。
-					// 并发下的一些问题，被中断了，恢复中断。
-					if (thread.isInterrupted() && Thread.interrupted() && state >= SHUTDOWN) {
-						thread.interrupt();
-					}
-				}
-				try {
-					startTime = System.currentTimeMillis();
-					runnableInterceptor.run();
-				} finally {
-					completedTasks++;
-					startTime = -1;
-					runnableInterceptor.release();
-				}
-			}
-			exit();
+		protected int hash(int index) {
+			return switch (index) {
+				case 0 -> hash0;
+				case 1 -> hash1;
+				default -> hash2;
+			};
 		}
 
-		public void exit() {
-			LockSupport.unpark(watcher.thread);
+		@Override
+		public void weakUp() {
+			ReorderExplorer.this.weakUp(track0);
+			ReorderExplorer.this.weakUp(track1);
+			ReorderExplorer.this.weakUp(track2);
 		}
 
 		@Override
-		public String toString() {
-			return "Walker-" + track;
+		public boolean isTrack(int track) {
+			return track0 == track || track1 == track || track2 == track;
 		}
-	}
-	// endregion
 
-	// region Node
+		@Override
+		public boolean isExclusive() {
+			return track0 == track1 && track0 == track2;
+		}
+
+		@Override
+		public void release() {
+			this.intercepted = false;
+			ReorderExplorer.this.weakUp(track0);
+			ReorderExplorer.this.weakUp(track1);
+			ReorderExplorer.this.weakUp(track2);
+		}
+	}
 
 	/**
-	 * 任务节点的抽象实现
-	 * <p>
-	 * 包含：任务唯一序列、任务、执行屏障数量、拦截量、是否拦截。
+	 * 带有多个屏障的节点
 	 */
-	public abstract static class AbstractInterceptorTask implements RunnableInterceptor {
+	private class InterceptorTaskX extends AbstractInterceptorTask {
 
-		protected static final VarHandle VV = MiscUtils.findVarHandle(
-				AbstractInterceptorTask.class, "forbids", int.class
-		);
+		/**
+		 * 任务位置
+		 * <p>
+		 * 共有{@link #nThreads}条轨道，当前任务所处的轨道位置（可能不止一个）。轨道有序且不重复，
+		 * 轨道数量不受限制，只有前{@link #trackCount}个位置有效。数组随节点一起回收，仅在屏障数量增长时扩容。
+		 */
+		protected int[] tracks = new int[8];
 
 		/**
-		 * 任务唯一序列
+		 * 任务所处的轨道数量
+		 */
+		protected int trackCount;
+
+		/**
+		 * 任务执行屏障
+		 */
+		private Object[] fences;
+
+		/**
+		 * 用于比较的执行屏障
 		 * <p>
-		 * 任务唯一序列只有在有可能用到任务的时候，才会生成这个序列。
+		 * 执行屏障的{@link Fence#key()}，以及子屏障隐含的父屏障（读屏障），只有前{@link #keyCount}个位置有效。
+		 * 数组随节点一起回收，仅在屏障数量增长时扩容。
 		 */
-		protected long sequence;
+		private Object[] keys = new Object[8];
 
 		/**
-		 * 等待执行的任务
+		 * 用于比较的执行屏障的哈希值，与{@link #keys}一一对应
 		 */
-		protected final Runnable task;
+		private int[] hashes = new int[8];
 
 		/**
-		 * 任务执行屏障数量
+		 * 用于比较的执行屏障数量
 		 */
-		protected final int size;
+		private int keyCount;
+
+		public InterceptorTaskX(Recycler<? extends InterceptorTaskX> recycler) {
+			super(recycler);
+		}
+
+		public void init(Runnable task, Object... fences) {
+			this.fences = fences;
+			int[] tracks = this.tracks;
+			if (tracks.length < fences.length) {
+				tracks = this.tracks = new int[fences.length];
+			}
+			FenceHierarchy hierarchy = ReorderExplorer.this.hierarchy;
+			boolean hierarchical = !hierarchy.isEmpty();
+			Object[] keys = this.keys;
+			int limit = hierarchical ? fences.length << 1 : fences.length;
+			if (keys.length < limit) {
+				keys = this.keys = new Object[limit];
+				this.hashes = new int[limit];
+			}
+			int[] hashes = this.hashes;
+			long signature = 0;
+			int keyCount = 0;
+			int count = 0;
+			int reads = 0;
+			boolean broadcast = false;
+			for (int i = 0; i < fences.length; i++) {
+				Object fence = fences[i];
+				Object key = fenceKey(fence);
+				boolean read = isReadFence(fence);
+				if (hierarchical) {
+					if (hierarchy.isParent(key)) {
+						// 父屏障覆盖所有的子屏障，子屏障可能位于任意轨道，所以父屏障位于所有轨道，并且总是写屏障
+						broadcast = true;
+						read = false;
+					} else {
+						Object parent = hierarchy.parent(key);
+						if (parent != null) {
+							// 子屏障隐含父屏障上的读屏障，子屏障之间互不阻塞，但会被父屏障阻塞，这个屏障不参与路由
+							if (keyCount < Integer.SIZE) {
+								reads |= 1 << keyCount;
+							}
+							int hash = FenceTable.hash(parent);
+							signature |= FenceTable.signature(hash);
+							hashes[keyCount] = hash;
+							keys[keyCount++] = parent;
+						}
+					}
+				}
+				if (read && keyCount < Integer.SIZE) {
+					reads |= 1 << keyCount;
+				}
+				int hash = FenceTable.hash(key);
+				signature |= FenceTable.signature(hash);
+				hashes[keyCount] = hash;
+				keys[keyCount++] = key;
+				int track = router.route(key);
+				if (broadcast) {
+					continue;
+				}
+				// 插入排序，同时去重
+				int index = count;
+				while (index > 0 && tracks[index - 1] > track) {
+					index--;
+				}
+				if (index > 0 && tracks[index - 1] == track) {
+					continue;
+				}
+				System.arraycopy(tracks, index, tracks, index + 1, count - index);
+				tracks[index] = track;
+				count++;
+			}
+			if (broadcast) {
+				if (tracks.length < nThreads) {
+					tracks = this.tracks = new int[nThreads];
+				}
+				for (int track = 0; track < nThreads; track++) {
+					tracks[track] = track;
+				}
+				count = nThreads;
+			}
+			this.keyCount = keyCount;
+			this.trackCount = count;
+			this.reads = reads;
+			this.signature = signature;
+			// 最后到达的轨道执行任务，其余轨道拦截
+			super.init(task, fences.length, count - 1, count);
+		}
 
 		/**
-		 * 剩余拦截量
+		 * 初始化全局任务
+		 * <p>
+		 * 全局任务没有执行屏障，位于所有轨道上。
+		 *
+		 * @param task 任务
 		 */
-		@Contended
-		protected volatile int forbids;
+		public void initGlobal(Runnable task) {
+			this.fences = NO_FENCES;
+			int[] tracks = this.tracks;
+			if (tracks.length < nThreads) {
+				tracks = this.tracks = new int[nThreads];
+			}
+			for (int track = 0; track < nThreads; track++) {
+				tracks[track] = track;
+			}
+			this.keyCount = 0;
+			this.trackCount = nThreads;
+			this.reads = 0;
+			this.signature = -1L;
+			super.init(task, 0, nThreads - 1, nThreads);
+			this.global = true;
+		}
+
+		@Override
+		protected void complete() {
+			for (Object fence : fences) {
+				router.complete(fenceKey(fence));
+			}
+		}
+
+		@Override
+		protected void clear() {
+			super.clear();
+			this.fences = null;
+			Arrays.fill(keys, 0, keyCount, null);
+		}
+
+		@Override
+		public Object[] getFences() {
+			return fences;
+		}
+
+		@Override
+		protected int fenceCount() {
+			return keyCount;
+		}
+
+		@Override
+		protected Object fence(int index) {
+			return keys[index];
+		}
 
-		/**
-		 * 是否拦截中
-		 */
-		protected volatile boolean intercepted = true;
+		@Override
+		protected int hash(int index) {
+			return hashes[index];
+		}
 
-		protected AbstractInterceptorTask(Runnable task, int size) {
-			this.task = task;
-			this.size = size;
+		@Override
+		public void weakUp() {
+			for (int i = 0, count = trackCount; i < count; i++) {
+				ReorderExplorer.this.weakUp(tracks[i]);
+			}
 		}
 
 		@Override
-		public long getSequence() {
-			return sequence;
+		public boolean isTrack(int track) {
+			// 轨道是有序的
+			for (int i = 0, count = trackCount; i < count; i++) {
+				int v = tracks[i];
+				if (v >= track) {
+					return v == track;
+				}
+			}
+			return false;
 		}
 
 		@Override
-		public void setSequence(long sequence) {
-			this.sequence = sequence;
+		public boolean isExclusive() {
+			return trackCount <= 1;
 		}
 
 		@Override
-		public int size() {
-			return size;
+		public void release() {
+			this.intercepted = false;
+			for (int i = 0, count = trackCount; i < count; i++) {
+				ReorderExplorer.this.weakUp(tracks[i]);
+			}
+		}
+	}
+
+	/**
+	 * 带有{@code long}屏障的节点
+	 * <p>
+	 * 执行屏障以原始类型存储，执行器比较和记录执行屏障时使用{@code ==}，不会装箱。
+	 * {@link #fence(int)}返回装箱后的执行屏障，仅用于与其它类型的节点比较，以及拒绝和诊断。
+	 * {@code long}执行屏障都是写屏障。
+	 */
+	private abstract class AbstractLongInterceptorTask extends AbstractInterceptorTask {
+
+		protected AbstractLongInterceptorTask(Recycler<?> recycler) {
+			super(recycler);
 		}
 
+		/**
+		 * 返回执行屏障
+		 *
+		 * @param index 执行屏障下标
+		 * @return 执行屏障
+		 */
+		protected abstract long longFence(int index);
+
 		@Override
-		public boolean tryIntercept() {
-			int v;
-			do {
-				v = forbids;
-			} while (!VV.compareAndSet(this, v, v - 1));
-			return v > 0;
+		protected Object fence(int index) {
+			return longFence(index);
 		}
 
 		@Override
-		public boolean isIntercepted() {
-			return intercepted;
+		protected int hash(int index) {
+			return FenceTable.hash(longFence(index));
 		}
 
 		@Override
-		public void run() {
-			task.run();
+		public boolean isAdvance(RunnableInterceptor other) {
+			if (other instanceof AbstractLongInterceptorTask node) {
+				if ((signature & node.signature) == 0) {
+					return true;
+				}
+				for (int i = 0, count = fenceCount(); i < count; i++) {
+					long fence = longFence(i);
+					for (int j = 0, size = node.fenceCount(); j < size; j++) {
+						if (fence == node.longFence(j)) {
+							return false;
+						}
+					}
+				}
+				return true;
+			}
+			return super.isAdvance(other);
 		}
 	}
 
 	/**
-	 * 带有1个屏障的节点
+	 * 带有1个{@code long}屏障的节点
 	 */
-	private class InterceptorTask1 implements RunnableInterceptor {
+	private class LongInterceptorTask1 extends AbstractLongInterceptorTask {
 
-		protected final Runnable task;
+		private long fence;
 
-		private final Object fence;
+		private int track;
 
-		private final int track;
+		public LongInterceptorTask1(Recycler<LongInterceptorTask1> recycler) {
+			super(recycler);
+		}
 
-		public InterceptorTask1(Runnable task, Object fence) {
-			this.task = task;
-			this.track = fence.hashCode() % nThreads;
+		public void init(Runnable task, long fence) {
+			this.reads = 0;
 			this.fence = fence;
+			this.signature = FenceTable.signature(FenceTable.hash(fence));
+			this.track = router.route(fence);
+			super.init(task, 0, 0, 1);
+		}
+
+		@Override
+		protected void complete() {
+			router.complete(fence);
+		}
+
+		@Override
+		protected void free() {
+			// 单屏障节点只会被一个轨道持有
+			discard();
 		}
 
 		@Override
@@ -774,8 +4090,13 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 		}
 
 		@Override
-		public int size() {
-			return 0;
+		protected int fenceCount() {
+			return 1;
+		}
+
+		@Override
+		protected long longFence(int index) {
+			return fence;
 		}
 
 		@Override
@@ -793,31 +4114,6 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 			return true;
 		}
 
-		@Override
-		public boolean isAdvance(RunnableInterceptor other) {
-			switch (other.size()) {
-				case 1 -> throw new IllegalStateException();
-				case 2 -> {
-					InterceptorTask2 node2 = (InterceptorTask2) other;
-					return !(node2.fence0.equals(fence) || node2.fence1.equals(fence));
-				}
-				case 3 -> {
-					InterceptorTask3 node3 = (InterceptorTask3) other;
-					return !(node3.fence0.equals(fence) || node3.fence1.equals(fence) || node3.fence2.equals(fence));
-				}
-				default -> {
-					InterceptorTaskX nodeX = (InterceptorTaskX) other;
-					for (int i = 0, count = nodeX.size; i < count; i++) {
-						Object v = nodeX.fences[i];
-						if (v.equals(fence)) {
-							return false;
-						}
-					}
-					return true;
-				}
-			}
-		}
-
 		@Override
 		public boolean tryIntercept() {
 			// must false
@@ -833,168 +4129,74 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 		public void release() {
 			// do nothing
 		}
-
-		@Override
-		public void run() {
-			task.run();
-		}
 	}
 
 	/**
-	 * 带有2个屏障的节点
+	 * 带有2个{@code long}屏障的节点
 	 */
-	private class InterceptorTask2 extends AbstractInterceptorTask {
+	private class LongInterceptorTask2 extends AbstractLongInterceptorTask {
 
-		private final int track0;
+		private int track0;
 
-		private final Object fence0;
+		private long fence0;
 
-		private final int track1;
+		private int track1;
 
-		private final Object fence1;
-
-		public InterceptorTask2(Runnable task, Object fence0, Object fence1) {
-			super(task, 2);
-			this.track0 = fence0.hashCode() % nThreads;
-			this.track1 = fence1.hashCode() % nThreads;
-			this.fence0 = fence0;
-			this.fence1 = fence1;
-			this.forbids = track0 == track1 ? 0 : 1;
-		}
-
-		@Override
-		public Object[] getFences() {
-			return new Object[]{fence0, fence1};
-		}
+		private long fence1;
 
-		@Override
-		public void weakUp() {
-			ReorderExplorer.this.weakUp(track0);
-			ReorderExplorer.this.weakUp(track1);
+		public LongInterceptorTask2(Recycler<LongInterceptorTask2> recycler) {
+			super(recycler);
 		}
 
-		@Override
-		public boolean isTrack(int track) {
-			return track0 == track || track1 == track;
+		public void init(Runnable task, long fence0, long fence1) {
+			this.reads = 0;
+			this.fence0 = fence0;
+			this.fence1 = fence1;
+			this.signature = FenceTable.signature(FenceTable.hash(fence0)) | FenceTable.signature(FenceTable.hash(fence1));
+			this.track0 = router.route(fence0);
+			this.track1 = router.route(fence1);
+			if (track0 == track1) {
+				super.init(task, 2, 0, 1);
+			} else {
+				super.init(task, 2, 1, 2);
+			}
 		}
 
 		@Override
-		public boolean isExclusive() {
-			return track0 == track1;
+		protected void complete() {
+			router.complete(fence0);
+			router.complete(fence1);
 		}
 
 		@Override
-		public boolean isAdvance(RunnableInterceptor other) {
-			switch (other.size()) {
-				case 1 -> throw new IllegalStateException();
-				case 2 -> {
-					InterceptorTask2 node = (InterceptorTask2) other;
-					return !(node.fence0.equals(fence0) || node.fence0.equals(fence1) || node.fence1.equals(fence0) || node.fence1.equals(fence1));
-				}
-				case 3 -> {
-					InterceptorTask3 node = (InterceptorTask3) other;
-					return !(node.fence0.equals(fence0) || node.fence0.equals(fence1) || node.fence1.equals(fence0) || node.fence1.equals(fence1) || node.fence2.equals(fence0) || node.fence2.equals(fence1));
-				}
-				default -> {
-					InterceptorTaskX node = (InterceptorTaskX) other;
-					for (int i = 0; i < node.size; i++) {
-						Object v = node.fences[i];
-						if (v.equals(fence0) || v.equals(fence1)) {
-							return false;
-						}
-					}
-					return true;
-				}
-			}
+		public Object[] getFences() {
+			return new Object[]{fence0, fence1};
 		}
 
 		@Override
-		public void release() {
-			this.intercepted = false;
-			ReorderExplorer.this.weakUp(track0);
-			ReorderExplorer.this.weakUp(track1);
-		}
-	}
-
-	/**
-	 * 带有3个屏障的节点
-	 */
-	private class InterceptorTask3 extends AbstractInterceptorTask {
-
-		private final int track0;
-
-		private final Object fence0;
-
-		private final int track1;
-
-		private final Object fence1;
-
-		private final int track2;
-
-		private final Object fence2;
-
-		public InterceptorTask3(Runnable task, Object fence0, Object fence1, Object fence2) {
-			super(task, 3);
-			this.track0 = fence0.hashCode() % nThreads;
-			this.track1 = fence1.hashCode() % nThreads;
-			this.track2 = fence2.hashCode() % nThreads;
-			this.fence0 = fence0;
-			this.fence1 = fence1;
-			this.fence2 = fence2;
-			if (this.track0 == this.track1 && this.track0 == this.track2) {
-				this.forbids = 0;
-			} else if (this.track0 == this.track1 || this.track0 == this.track2 || this.track1 == this.track2) {
-				this.forbids = 1;
-			} else {
-				this.forbids = 2;
-			}
+		protected int fenceCount() {
+			return 2;
 		}
 
 		@Override
-		public Object[] getFences() {
-			return new Object[]{fence0, fence1, fence2};
+		protected long longFence(int index) {
+			return index == 0 ? fence0 : fence1;
 		}
 
 		@Override
 		public void weakUp() {
 			ReorderExplorer.this.weakUp(track0);
 			ReorderExplorer.this.weakUp(track1);
-			ReorderExplorer.this.weakUp(track2);
 		}
 
 		@Override
 		public boolean isTrack(int track) {
-			return track0 == track || track1 == track || track2 == track;
+			return track0 == track || track1 == track;
 		}
 
 		@Override
 		public boolean isExclusive() {
-			return track0 == track1 && track0 == track2;
-		}
-
-		@Override
-		public boolean isAdvance(RunnableInterceptor other) {
-			switch (other.size()) {
-				case 1 -> throw new IllegalStateException();
-				case 2 -> {
-					InterceptorTask2 node = (InterceptorTask2) other;
-					return !(node.fence0.equals(fence0) || node.fence0.equals(fence1) || node.fence0.equals(fence2) || node.fence1.equals(fence0) || node.fence1.equals(fence1) || node.fence1.equals(fence2));
-				}
-				case 3 -> {
-					InterceptorTask3 node = (InterceptorTask3) other;
-					return !(node.fence0.equals(fence0) || node.fence0.equals(fence1) || node.fence0.equals(fence2) || node.fence1.equals(fence0) || node.fence1.equals(fence1) || node.fence1.equals(fence2) || node.fence2.equals(fence0) || node.fence2.equals(fence1) || node.fence2.equals(fence2));
-				}
-				default -> {
-					InterceptorTaskX node = (InterceptorTaskX) other;
-					for (int i = 0; i < node.size; i++) {
-						Object v = node.fences[i];
-						if (v.equals(fence0) || v.equals(fence1) || v.equals(fence2)) {
-							return false;
-						}
-					}
-					return true;
-				}
-			}
+			return track0 == track1;
 		}
 
 		@Override
@@ -1002,120 +4204,134 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 			this.intercepted = false;
 			ReorderExplorer.this.weakUp(track0);
 			ReorderExplorer.this.weakUp(track1);
-			ReorderExplorer.this.weakUp(track2);
 		}
 	}
 
 	/**
-	 * 带有多个屏障的节点
+	 * 带有多个{@code long}屏障的节点
 	 */
-	private class InterceptorTaskX extends AbstractInterceptorTask {
+	private class LongInterceptorTaskX extends AbstractLongInterceptorTask {
 
 		/**
 		 * 任务位置
 		 * <p>
-		 * 共有{@link #nThreads}条轨道，当前任务所处的轨道位置（可能不止一个）。轨道数量不超过64，所以使用{@code bits}存储。
+		 * 轨道有序且不重复，只有前{@link #trackCount}个位置有效。数组随节点一起回收，仅在屏障数量增长时扩容。
+		 */
+		private int[] tracks = new int[8];
+
+		/**
+		 * 任务所处的轨道数量
 		 */
-		protected long bits;
+		private int trackCount;
 
 		/**
 		 * 任务执行屏障
+		 * <p>
+		 * 只有前{@link #fenceCount}个位置有效。数组随节点一起回收，仅在屏障数量增长时扩容。
 		 */
-		private final Object[] fences;
+		private long[] fences = new long[8];
 
-		public InterceptorTaskX(Runnable task, Object... fences) {
-			super(task, fences.length);
-			this.fences = fences;
-			for (int i = 0; i < size; i++) {
-				this.bits |= (1L << fences[i].hashCode() % nThreads);
+		/**
+		 * 任务执行屏障数量
+		 */
+		private int fenceCount;
+
+		public LongInterceptorTaskX(Recycler<LongInterceptorTaskX> recycler) {
+			super(recycler);
+		}
+
+		public void init(Runnable task, long[] fences) {
+			int length = fences.length;
+			if (this.fences.length < length) {
+				this.fences = new long[length];
+				this.tracks = new int[length];
+			}
+			System.arraycopy(fences, 0, this.fences, 0, length);
+			int[] tracks = this.tracks;
+			long signature = 0;
+			int count = 0;
+			for (int i = 0; i < length; i++) {
+				signature |= FenceTable.signature(FenceTable.hash(fences[i]));
+				int track = router.route(fences[i]);
+				// 插入排序，同时去重
+				int index = count;
+				while (index > 0 && tracks[index - 1] > track) {
+					index--;
+				}
+				if (index > 0 && tracks[index - 1] == track) {
+					continue;
+				}
+				System.arraycopy(tracks, index, tracks, index + 1, count - index);
+				tracks[index] = track;
+				count++;
+			}
+			this.fenceCount = length;
+			this.trackCount = count;
+			this.reads = 0;
+			this.signature = signature;
+			// 最后到达的轨道执行任务，其余轨道拦截
+			super.init(task, length, count - 1, count);
+		}
+
+		@Override
+		protected void complete() {
+			for (int i = 0; i < fenceCount; i++) {
+				router.complete(fences[i]);
 			}
-			this.forbids = Long.bitCount(bits);
 		}
 
 		@Override
 		public Object[] getFences() {
-			return fences;
+			return boxed(fences, fenceCount);
 		}
 
 		@Override
-		public void weakUp() {
-			for (int i = 0; i < nThreads; i++) {
-				if ((bits & (1L << i)) != 0) {
-					ReorderExplorer.this.weakUp(i);
-				}
-			}
+		protected int fenceCount() {
+			return fenceCount;
 		}
 
 		@Override
-		public boolean isTrack(int track) {
-			return (bits & (1L << track)) != 0;
+		protected long longFence(int index) {
+			return fences[index];
 		}
 
 		@Override
-		public boolean isExclusive() {
-			return Long.bitCount(bits) <= 1;
+		public void weakUp() {
+			for (int i = 0, count = trackCount; i < count; i++) {
+				ReorderExplorer.this.weakUp(tracks[i]);
+			}
 		}
 
-		/**
-		 * 判断另一个节点是否能越过当前节点执行
-		 *
-		 * @param other 后续节点
-		 * @return {@code true}可以越过当前栅栏，{@code false}不能越过当前栅栏
-		 */
 		@Override
-		public boolean isAdvance(RunnableInterceptor other) {
-			switch (other.size()) {
-				case 1 -> throw new IllegalStateException();
-				case 2 -> {
-					InterceptorTask2 node = (InterceptorTask2) other;
-					for (int i = 0; i < size; i++) {
-						Object fence = fences[i];
-						if (fence.equals(node.fence0) || fence.equals(node.fence1)) {
-							return false;
-						}
-					}
-					return true;
-				}
-				case 3 -> {
-					InterceptorTask3 node = (InterceptorTask3) other;
-					for (int i = 0; i < size; i++) {
-						Object fence = fences[i];
-						if (fence.equals(node.fence0) || fence.equals(node.fence1) || fence.equals(node.fence2)) {
-							return false;
-						}
-					}
-					return true;
-				}
-				default -> {
-					InterceptorTaskX node = (InterceptorTaskX) other;
-					for (int i = 0; i < node.size; i++) {
-						Object v = node.fences[i];
-						for (int j = 0; j < size; j++) {
-							if (v.equals(fences[j])) {
-								return false;
-							}
-						}
-					}
-					return true;
+		public boolean isTrack(int track) {
+			// 轨道是有序的
+			for (int i = 0, count = trackCount; i < count; i++) {
+				int v = tracks[i];
+				if (v >= track) {
+					return v == track;
 				}
 			}
+			return false;
+		}
+
+		@Override
+		public boolean isExclusive() {
+			return trackCount <= 1;
 		}
 
 		@Override
 		public void release() {
 			this.intercepted = false;
-			for (int i = 0; i < size; i++) {
-				if ((bits & (1L << i)) != 0) {
-					ReorderExplorer.this.weakUp(i);
-				}
+			for (int i = 0, count = trackCount; i < count; i++) {
+				ReorderExplorer.this.weakUp(tracks[i]);
 			}
 		}
 	}
 
 	private class SharedInterceptorTask extends InterceptorTaskX {
 
-		public SharedInterceptorTask(Runnable task, Object... fences) {
-			super(task, fences);
+		public SharedInterceptorTask(Recycler<SharedInterceptorTask> recycler) {
+			super(recycler);
 		}
 
 		@Override
@@ -1135,17 +4351,33 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 	/**
 	 * 守望线程
 	 * <p>
-	 * 监控执行器的关闭，处理
+	 * 监控执行器的关闭，处理关闭后的回调；监控执行器线程，发现慢任务。
+	 * 运行中的守望线程休眠到最早的任务达到慢任务阈值，没有执行中的任务时休眠一个阈值，
+	 * 执行器线程退出、执行器关闭或者修改阈值时唤醒。
 	 */
 	private class Watcher implements Runnable {
 
+		/**
+		 * 关闭期间检查执行器是否完成的间隔（纳秒）
+		 */
+		private static final long CLOSING_INTERVAL = 1_000_000;
+
 		final Thread thread;
 
+		/**
+		 * 每条轨道最后一次报告的任务开始执行的时间
+		 * <p>
+		 * 同一次执行只报告一次。
+		 */
+		private final long[] reported;
+
 		volatile BlockingQueue<RunnableFuture<?>> tasks = new LinkedBlockingQueue<>();
 
 		volatile BlockingQueue<RunnableFuture<?>> consumers = new LinkedBlockingQueue<>();
 
 		public Watcher() {
+			reported = new long[walkers.length];
+			Arrays.fill(reported, -1);
 			thread = new Thread(this, "ExplorerWatcher-" + EXPLORER_WATCHER_INDEX.getAndIncrement());
 			thread.setDaemon(true);
 			thread.setPriority(Thread.MIN_PRIORITY);
@@ -1165,21 +4397,50 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 						task.run();
 					}
 				} else {
-					// park 1 ms
-					long now = System.currentTimeMillis();
-					for (int i = 0; i < walkers.length; i++) {
-						long startTime = walkers[i].startTime;
-						if (startTime == -1) {
-							continue;
-						}
-						long workTime = now - startTime;
-						if (workTime >= time) {
-							System.out.println(workTime);
-						}
+					long timeout = watch();
+					if (state >= CLOSE) {
+						timeout = Math.min(timeout, CLOSING_INTERVAL);
 					}
-					LockSupport.parkNanos(1_000_000);
+					LockSupport.parkNanos(timeout);
+				}
+			}
+		}
+
+		/**
+		 * 检查所有执行器线程，报告超过阈值的任务
+		 * <p>
+		 * 执行器开始执行任务时不唤醒守望线程，所以没有执行中的任务时，守望线程也只休眠阈值的{@code 1/4}，
+		 * 空闲期间开始执行的任务不需要等待守望线程完整地休眠一个阈值才被检查。
+		 *
+		 * @return 距离下一次检查的时间（纳秒）
+		 */
+		private long watch() {
+			long threshold = slowThreshold;
+			long timeout = Math.max(1, threshold >> 2);
+			long now = System.nanoTime();
+			for (Walker walker : walkers) {
+				long startTime = walker.startTime;
+				if (startTime == -1 || startTime == reported[walker.track]) {
+					continue;
+				}
+				long elapsed = now - startTime;
+				if (elapsed < threshold) {
+					timeout = Math.min(timeout, threshold - elapsed);
+					continue;
+				}
+				SlowTaskReport report = walker.report(startTime, elapsed);
+				if (report == null) {
+					continue;
+				}
+				reported[walker.track] = startTime;
+				try {
+					slowTaskListener.onSlowTask(report);
+				} catch (Throwable e) {
+					// 监听器的异常不能终止守望线程
+					Debug.warn("slow task listener error: " + e);
 				}
 			}
+			return timeout;
 		}
 
 		/**
@@ -1188,11 +4449,12 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 		 * @return {@code true}全部执行完成，{@code false}仍有运行中的线程。
 		 */
 		private boolean isDone() {
-			int sum = 0;
+			long sum = 0;
 			for (Walker walker : walkers) {
-				sum += walker.completedTasks;
+				sum += (long) Walker.CC.getAcquire(walker);
 			}
-			return sum >= eventBus.writerIndex();
+			// 已完成的任务包括优先任务
+			return sum >= eventBus.writerIndex() + urgentTasks.sum();
 		}
 	}
 
@@ -1230,13 +4492,32 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 		 */
 		private final Thread thread;
 
+		/**
+		 * 等待策略
+		 */
+		private final WaitStrategy strategy;
+
+		/**
+		 * 连续空闲的次数
+		 * <p>
+		 * 仅由绑定线程读写，空闲期间版本发生变更（发现新任务）时重置。
+		 */
+		private int idles;
+
+		/**
+		 * 空闲时的版本
+		 */
+		private int idleStamp;
+
 		/**
 		 * 构造绑定线程的同步器
 		 *
-		 * @param thread 绑定线程
+		 * @param thread   绑定线程
+		 * @param strategy 等待策略
 		 */
-		private Sync(Thread thread) {
+		private Sync(Thread thread, WaitStrategy strategy) {
 			this.thread = thread;
+			this.strategy = strategy;
 		}
 
 		@Override
@@ -1246,8 +4527,8 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 
 		@Override
 		public void acquireWrite() {
-			// 版本变更
-			VV.getAndAddRelease(this, 1);
+			// 版本变更（必须是volatile语义，保证版本变更先于状态读取，与validate构成Dekker式互斥）
+			VV.getAndAdd(this, 1);
 			// 验证状态
 			if (blocked) {
 				// 状态变更
@@ -1258,16 +4539,32 @@ public class ReorderExplorer extends AbstractExplorerService implements Ripper {
 
 		@Override
 		public void validate(int stamp) {
-			// 悲观地认为队列中已经没有消息了，设置线程状态为休眠
-			BB.setRelease(this, true);
+			// 读取期间已发生版本变更，继续消耗消息队列
+			if (stamp != this.stamp) {
+				return;
+			}
+			if (stamp != idleStamp) {
+				idleStamp = stamp;
+				idles = 0;
+			}
+			long nanos = strategy.idle(idles++);
+			if (nanos == WaitStrategy.SPIN) {
+				// 自旋期间不设置休眠状态，生产者无需唤醒
+				return;
+			}
+			// 悲观地认为队列中已经没有消息了，设置线程状态为休眠（必须是volatile语义，否则状态写入可能重排到版本读取之后，丢失唤醒）
+			BB.setVolatile(this, true);
 			// 判断读取过程中，事件总线是否发生过版本变更
 			if (stamp == this.stamp) {
-				// 未发生版本变更，线程开始休眠，等待生产者唤醒
-				LockSupport.park();
-			} else {
-				// 已发生版本变更，需要回滚状态，继续消耗消息队列
-				BB.setRelease(this, false);
+				// 未发生版本变更，线程开始休眠，等待生产者唤醒或超时
+				if (nanos > 0) {
+					LockSupport.parkNanos(nanos);
+				} else {
+					LockSupport.park();
+				}
 			}
+			// 回滚状态（被唤醒时生产者已回滚，超时或版本变更时由线程自己回滚）
+			BB.setRelease(this, false);
 		}
 	}
 }
@@ -0,0 +1,43 @@
+package com.keimons.nutshell.explorer.support;
+
+import com.keimons.nutshell.explorer.WaitStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限时休眠
+ * <p>
+ * 没有任务时休眠指定的时长，生产者依然可以提前唤醒执行器。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class TimedParkWaitStrategy implements WaitStrategy {
+
+	/**
+	 * 默认休眠时长（纳秒）
+	 */
+	public static final long DEFAULT_TIMEOUT = TimeUnit.MICROSECONDS.toNanos(100);
+
+	/**
+	 * 休眠时长（纳秒）
+	 */
+	private final long timeout;
+
+	public TimedParkWaitStrategy() {
+		this(DEFAULT_TIMEOUT, TimeUnit.NANOSECONDS);
+	}
+
+	public TimedParkWaitStrategy(long timeout, TimeUnit unit) {
+		if (timeout <= 0) {
+			throw new IllegalArgumentException("timeout: " + timeout);
+		}
+		this.timeout = unit.toNanos(timeout);
+	}
+
+	@Override
+	public long idle(int round) {
+		return timeout;
+	}
+}
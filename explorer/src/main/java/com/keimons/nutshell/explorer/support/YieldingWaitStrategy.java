@@ -0,0 +1,43 @@
+package com.keimons.nutshell.explorer.support;
+
+import com.keimons.nutshell.explorer.WaitStrategy;
+
+/**
+ * 自旋后让出CPU
+ * <p>
+ * 先自旋一定次数，之后调用{@link Thread#yield()}让出CPU。执行器从不休眠，生产者永远不需要唤醒执行器。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class YieldingWaitStrategy implements WaitStrategy {
+
+	/**
+	 * 默认自旋次数
+	 */
+	public static final int DEFAULT_SPINS = 100;
+
+	/**
+	 * 自旋次数
+	 */
+	private final int spins;
+
+	public YieldingWaitStrategy() {
+		this(DEFAULT_SPINS);
+	}
+
+	public YieldingWaitStrategy(int spins) {
+		this.spins = spins;
+	}
+
+	@Override
+	public long idle(int round) {
+		if (round < spins) {
+			Thread.onSpinWait();
+		} else {
+			Thread.yield();
+		}
+		return SPIN;
+	}
+}
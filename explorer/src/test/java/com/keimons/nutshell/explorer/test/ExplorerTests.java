@@ -0,0 +1,42 @@
+package com.keimons.nutshell.explorer.test;
+
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * 测试使用的工具类
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ExplorerTests {
+
+	/**
+	 * 关闭执行器，并等待所有已提交的任务执行完成
+	 *
+	 * @param explorer 执行器
+	 */
+	public static void close(ReorderExplorer explorer) throws InterruptedException, ExecutionException {
+		FutureTask<?> onClose = new FutureTask<>(() -> {
+		}, null);
+		explorer.close(onClose);
+		onClose.get();
+	}
+
+	/**
+	 * 在任务中等待，被中断时恢复中断状态
+	 *
+	 * @param latch 闭锁
+	 */
+	public static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package com.keimons.nutshell.explorer.test.explorer;
+
+import com.keimons.nutshell.explorer.Explorers;
+import com.keimons.nutshell.explorer.support.AbortPolicy;
+import com.keimons.nutshell.explorer.support.QueueExplorer;
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import com.keimons.nutshell.explorer.test.ExplorerTests;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 线程池执行模式测试
+ * <p>
+ * 执行器只负责任务的排序，任务在线程池（虚拟线程或按需创建的平台线程）中执行，任务阻塞时只阻塞相同执行屏障的任务。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ExecutorModeTest {
+
+	@DisplayName("阻塞的任务不阻塞同一条轨道上的其它执行屏障")
+	@Test
+	public void testBlocking() throws InterruptedException, ExecutionException {
+		ExecutorService executor = Explorers.virtualThreadExecutor();
+		// 只有一个执行器，所有执行屏障都在同一条轨道上
+		ReorderExplorer explorer = new ReorderExplorer(1, executor);
+		CountDownLatch blocking = new CountDownLatch(1);
+		CountDownLatch other = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(1);
+		StringBuffer order = new StringBuffer();
+		explorer.execute(() -> {
+			try {
+				blocking.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			order.append("blocking,");
+		}, "player");
+		explorer.execute(() -> {
+			order.append("after,");
+			done.countDown();
+		}, "player");
+		explorer.execute(other::countDown, "other");
+		Assertions.assertTrue(other.await(5, TimeUnit.SECONDS));
+		Assertions.assertFalse(done.await(100, TimeUnit.MILLISECONDS));
+		blocking.countDown();
+		Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+		Assertions.assertEquals("blocking,after,", order.toString());
+		ExplorerTests.close(explorer);
+		executor.shutdown();
+	}
+
+	@DisplayName("线程池执行模式的任务顺序")
+	@Test
+	public void testOrder() throws InterruptedException, ExecutionException {
+		final int threads = 4;
+		final int fences = 16;
+		final int times = 20_000;
+		ExecutorService executor = Explorers.virtualThreadExecutor();
+		ReorderExplorer explorer = new ReorderExplorer(threads, executor);
+		// 每个执行屏障上的任务按照提交顺序执行，任务在不同的线程中执行，所以使用原子变量
+		AtomicInteger[] executed = new AtomicInteger[fences];
+		for (int i = 0; i < fences; i++) {
+			executed[i] = new AtomicInteger();
+		}
+		int[] submitted = new int[fences];
+		AtomicInteger failed = new AtomicInteger();
+		Random random = new Random(0);
+		for (int i = 0; i < times; i++) {
+			int fence0 = random.nextInt(fences);
+			int fence1 = (fence0 + 1 + random.nextInt(fences - 1)) % fences;
+			int expected0 = submitted[fence0]++;
+			int expected1 = submitted[fence1]++;
+			Runnable task = () -> {
+				if (executed[fence0].getAndIncrement() != expected0 || executed[fence1].getAndIncrement() != expected1) {
+					failed.incrementAndGet();
+				}
+			};
+			if (random.nextInt(10) == 0) {
+				explorer.executeSuspend(() -> CompletableFuture.runAsync(task, executor), (v, e) -> {
+				}, fence0, fence1);
+			} else {
+				explorer.execute(task, fence0, fence1);
+			}
+		}
+		ExplorerTests.close(explorer);
+		executor.shutdown();
+		for (int i = 0; i < fences; i++) {
+			Assertions.assertEquals(submitted[i], executed[i].get());
+		}
+		Assertions.assertEquals(0, failed.get());
+	}
+
+	@DisplayName("哈希队列执行器的线程池执行模式")
+	@Test
+	public void testQueueExplorer() throws InterruptedException {
+		final int fences = 8;
+		final int times = 10_000;
+		ExecutorService executor = Explorers.virtualThreadExecutor();
+		QueueExplorer explorer = new QueueExplorer("queue", new AbortPolicy(), executor);
+		int[] values = new int[fences];
+		AtomicInteger failed = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(times);
+		for (int i = 0; i < times; i++) {
+			final int fence = i % fences;
+			final int expected = i / fences;
+			explorer.execute(() -> {
+				if (values[fence]++ != expected) {
+					failed.incrementAndGet();
+				}
+				done.countDown();
+			}, fence);
+		}
+		Assertions.assertTrue(done.await(30, TimeUnit.SECONDS));
+		Assertions.assertEquals(0, failed.get());
+		explorer.shutdown(null);
+		executor.shutdown();
+	}
+}
@@ -0,0 +1,148 @@
+package com.keimons.nutshell.explorer.test.explorer;
+
+import com.keimons.nutshell.explorer.ExplorerMetrics;
+import com.keimons.nutshell.explorer.Explorers;
+import com.keimons.nutshell.explorer.FenceRouter;
+import com.keimons.nutshell.explorer.support.AbortPolicy;
+import com.keimons.nutshell.explorer.support.QueueExplorer;
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import com.keimons.nutshell.explorer.test.ExplorerTests;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.*;
+
+/**
+ * 执行器指标测试
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ExplorerMetricsTest {
+
+	/**
+	 * 整数执行屏障按照取模路由，方便指定执行屏障所在的轨道
+	 */
+	private static final FenceRouter ROUTER = fence -> fence instanceof Integer v ? v % 2 : 0;
+
+	@DisplayName("轨道指标")
+	@Test
+	public void testMetrics() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(2, ROUTER);
+		CountDownLatch blocking = new CountDownLatch(1);
+		// 轨道1被阻塞，轨道0拦截共享任务，执行屏障0上的任务被缓存，执行屏障2上的任务越障执行
+		explorer.execute(() -> ExplorerTests.await(blocking), 1);
+		explorer.execute(() -> {
+		}, 0, 1);
+		explorer.execute(() -> {
+		}, 0);
+		CountDownLatch overtake = new CountDownLatch(1);
+		explorer.execute(overtake::countDown, 2);
+		Assertions.assertTrue(overtake.await(5, TimeUnit.SECONDS));
+		Thread.sleep(20);
+		blocking.countDown();
+		ExplorerTests.close(explorer);
+
+		ExplorerMetrics metrics = explorer.getMetrics();
+		Assertions.assertEquals(4, metrics.getCompletedTasks());
+		Assertions.assertEquals(0, metrics.getRejectedTasks());
+		ExplorerMetrics.TrackMetrics track0 = metrics.getTracks()[0];
+		ExplorerMetrics.TrackMetrics track1 = metrics.getTracks()[1];
+		Assertions.assertEquals(1, track0.getBarriers());
+		Assertions.assertEquals(1, track0.getCachedTasks());
+		Assertions.assertEquals(1, track0.getOvertakes());
+		Assertions.assertEquals(0, track1.getBarriers());
+		// 共享任务由轨道1执行
+		Assertions.assertEquals(2, track0.getCompletedTasks());
+		Assertions.assertEquals(2, track1.getCompletedTasks());
+		Assertions.assertEquals(4, metrics.getWaitTime().getCount());
+		Assertions.assertEquals(4, metrics.getWorkTime().getCount());
+		// 阻塞的任务至少执行了20毫秒，共享任务至少等待了20毫秒
+		Assertions.assertTrue(track1.getWorkTime().getMax() >= TimeUnit.MILLISECONDS.toNanos(20));
+		Assertions.assertTrue(track1.getWaitTime().getMax() >= TimeUnit.MILLISECONDS.toNanos(20));
+	}
+
+	@DisplayName("挂起的任务只记录一次")
+	@Test
+	public void testSuspend() throws InterruptedException, ExecutionException, TimeoutException {
+		ReorderExplorer explorer = new ReorderExplorer(1);
+		CompletableFuture<String> remote = new CompletableFuture<>();
+		CountDownLatch resumed = new CountDownLatch(1);
+		explorer.executeSuspend(() -> remote, (value, error) -> resumed.countDown(), "player");
+		Thread.sleep(20);
+		remote.complete("resume");
+		Assertions.assertTrue(resumed.await(5, TimeUnit.SECONDS));
+		ExplorerTests.close(explorer);
+
+		ExplorerMetrics metrics = explorer.getMetrics();
+		Assertions.assertEquals(1, metrics.getCompletedTasks());
+		Assertions.assertEquals(1, metrics.getWaitTime().getCount());
+		Assertions.assertEquals(1, metrics.getWorkTime().getCount());
+		// 执行时间包括挂起的时间
+		Assertions.assertTrue(metrics.getWorkTime().getMax() >= TimeUnit.MILLISECONDS.toNanos(20));
+	}
+
+	@DisplayName("被拒绝的任务")
+	@Test
+	public void testRejected() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer("rejected", 2, 64, new AbortPolicy(), Explorers.defaultThreadFactory());
+		ExplorerTests.close(explorer);
+		Assertions.assertThrows(RejectedExecutionException.class, () -> explorer.execute(() -> {
+		}, "player"));
+		Assertions.assertThrows(RejectedExecutionException.class, () -> explorer.executeNow(() -> {
+		}, "player"));
+		Assertions.assertEquals(2, explorer.getMetrics().getRejectedTasks());
+	}
+
+	@DisplayName("哈希队列执行器指标")
+	@Test
+	public void testQueueExplorer() throws InterruptedException, ExecutionException, TimeoutException {
+		QueueExplorer explorer = new QueueExplorer("queue", 2, new AbortPolicy());
+		for (int i = 0; i < 100; i++) {
+			explorer.execute(() -> {
+			}, i);
+		}
+		explorer.submit(() -> {
+		}, 0).get(5, TimeUnit.SECONDS);
+		explorer.submit(() -> {
+		}, 1).get(5, TimeUnit.SECONDS);
+		// 任务完成之后才记录
+		Thread.sleep(20);
+		ExplorerMetrics metrics = explorer.getMetrics();
+		Assertions.assertEquals(102, metrics.getCompletedTasks());
+		Assertions.assertEquals(102, metrics.getWorkTime().getCount());
+		Assertions.assertEquals(0, metrics.getWaitTime().getCount());
+		explorer.shutdown(null);
+	}
+
+	@DisplayName("JMX")
+	@Test
+	public void testMXBean() throws InterruptedException, ExecutionException, JMException {
+		ReorderExplorer explorer = new ReorderExplorer(2);
+		for (int i = 0; i < 100; i++) {
+			explorer.execute(() -> {
+			}, i);
+		}
+		ExplorerTests.close(explorer);
+		ObjectName name = Explorers.registerMXBean(explorer);
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			Assertions.assertEquals(100L, server.getAttribute(name, "CompletedTasks"));
+			Assertions.assertEquals(2, server.getAttribute(name, "Threads"));
+			long[] tracks = (long[]) server.getAttribute(name, "TrackCompletedTasks");
+			Assertions.assertEquals(100, tracks[0] + tracks[1]);
+			Assertions.assertTrue((Long) server.getAttribute(name, "WorkTimeMax") >= 0);
+			// 名称重复
+			Assertions.assertThrows(JMException.class, () -> Explorers.registerMXBean(explorer));
+		} finally {
+			Explorers.unregisterMXBean(name);
+		}
+		Assertions.assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+	}
+}
@@ -0,0 +1,147 @@
+package com.keimons.nutshell.explorer.test.explorer;
+
+import com.keimons.nutshell.explorer.FenceRouter;
+import com.keimons.nutshell.explorer.support.AdaptiveFenceRouter;
+import com.keimons.nutshell.explorer.support.ConsistentHashFenceRouter;
+import com.keimons.nutshell.explorer.support.HashFenceRouter;
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link FenceRouter}屏障路由测试
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class FenceRouterTest {
+
+	private static final int THREAD = 4;
+
+	private static final int TIMES = 10_0000;
+
+	/**
+	 * 哈希值高度相关的屏障
+	 */
+	private record Point(int x, int y) {
+	}
+
+	@DisplayName("负数哈希值路由测试")
+	@Test
+	public void testNegative() {
+		for (int nThreads : new int[]{3, 4, 7, 8}) {
+			FenceRouter[] routers = {
+					new HashFenceRouter(nThreads),
+					new ConsistentHashFenceRouter(nThreads),
+					new AdaptiveFenceRouter(nThreads)
+			};
+			for (FenceRouter router : routers) {
+				for (int i = -10000; i < 10000; i++) {
+					int track = router.route(i * 65599);
+					Assertions.assertTrue(track >= 0 && track < nThreads, "track: " + track);
+				}
+			}
+		}
+	}
+
+	@DisplayName("连续ID和坐标分布测试")
+	@Test
+	public void testDistribution() {
+		int[] counts = new int[THREAD];
+		FenceRouter router = new HashFenceRouter(THREAD);
+		for (long id = 10000000000L; id < 10000000000L + TIMES; id++) {
+			counts[router.route(id)]++;
+		}
+		for (int count : counts) {
+			Assertions.assertEquals(TIMES / THREAD, count, "sequential id");
+		}
+		counts = new int[THREAD];
+		router = new ConsistentHashFenceRouter(THREAD);
+		for (int x = 0; x < 100; x++) {
+			for (int y = 0; y < 100; y++) {
+				counts[router.route(new Point(x, y))]++;
+			}
+		}
+		for (int count : counts) {
+			// 允许偏离平均值的30%
+			Assertions.assertTrue(Math.abs(count - 10000 / THREAD) < 10000 / THREAD * 3 / 10, "point: " + count);
+		}
+	}
+
+	@DisplayName("热点屏障迁移测试")
+	@Test
+	public void testMigration() {
+		AdaptiveFenceRouter router = new AdaptiveFenceRouter(new HashFenceRouter(2), 2, 16, 16);
+		Integer hot = 0, other = 2;
+		Assertions.assertEquals(0, router.route(hot));
+		router.complete(hot);
+		for (int i = 0; i < 3000 && router.migrations() == 0; i++) {
+			// 热点屏障的任务总是立即完成，其它屏障的任务积压在轨道上
+			router.route(hot);
+			router.complete(hot);
+			router.route(hot);
+			router.complete(hot);
+			router.route(other);
+		}
+		Assertions.assertEquals(1, router.migrations());
+		Assertions.assertEquals(1, router.route(hot));
+		Assertions.assertEquals(0, router.route(other));
+	}
+
+	@DisplayName("积压的热点屏障迁移测试")
+	@Test
+	public void testBacklogMigration() {
+		AdaptiveFenceRouter router = new AdaptiveFenceRouter(new HashFenceRouter(2), 2, 16, 16);
+		Integer hot = 0;
+		// 热点屏障的任务一直积压在轨道上，检查时不是安全点
+		for (int i = 0; i < 2048; i++) {
+			Assertions.assertEquals(0, router.route(hot));
+		}
+		Assertions.assertEquals(0, router.migrations());
+		for (int i = 0; i < 2047; i++) {
+			router.complete(hot);
+		}
+		Assertions.assertEquals(0, router.migrations());
+		// 最后一个任务完成，条带计数器归零，完成迁移
+		router.complete(hot);
+		Assertions.assertEquals(1, router.migrations());
+		Assertions.assertEquals(1, router.route(hot));
+	}
+
+	@DisplayName("自适应路由顺序测试")
+	@Test
+	public void testAdaptiveOrdered() throws InterruptedException, ExecutionException {
+		AdaptiveFenceRouter router = new AdaptiveFenceRouter(new HashFenceRouter(THREAD), THREAD, 64, 64);
+		ReorderExplorer explorer = new ReorderExplorer(THREAD, router);
+		int[] values = new int[THREAD * 2];
+		AtomicBoolean failed = new AtomicBoolean();
+		for (int i = 0; i < TIMES; i++) {
+			final int value = i;
+			// 一半的任务落在同一个屏障上
+			final int fence = (i & 1) == 0 ? 0 : i % values.length;
+			explorer.execute(() -> {
+				if (values[fence] > value) {
+					failed.set(true);
+				}
+				values[fence] = value;
+			}, fence);
+		}
+		CountDownLatch latch = new CountDownLatch(values.length);
+		for (int i = 0; i < values.length; i++) {
+			explorer.execute(latch::countDown, i);
+		}
+		latch.await();
+		System.out.println("migrations: " + router.migrations());
+		Assertions.assertFalse(failed.get(), "ordered failed.");
+		FutureTask<?> onClose = new FutureTask<>(() -> System.out.println("线程池已关闭"), null);
+		explorer.close(onClose);
+		onClose.get();
+	}
+}
@@ -0,0 +1,114 @@
+package com.keimons.nutshell.explorer.test.explorer;
+
+import com.keimons.nutshell.explorer.ExplorerService;
+import com.keimons.nutshell.explorer.Explorers;
+import com.keimons.nutshell.explorer.support.AbortPolicy;
+import com.keimons.nutshell.explorer.support.LocalPolicy;
+import com.keimons.nutshell.explorer.support.QueueExplorer;
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import com.keimons.nutshell.explorer.test.ExplorerTests;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * {@link ReorderExplorer}带参数的任务测试
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ReorderExplorerArgumentTest {
+
+	private static final int TIMES = 5_0000;
+
+	@DisplayName("参数传递")
+	@Test
+	public void testArguments() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(2);
+		List<String> result = new CopyOnWriteArrayList<>();
+		Consumer<String> consumer = result::add;
+		BiConsumer<String, Integer> biConsumer = (player, message) -> result.add(player + ":" + message);
+		explorer.execute(consumer, "a", "player");
+		explorer.execute(consumer, "b", "player", "union");
+		explorer.execute(consumer, "c", "player", "union", "world");
+		explorer.execute(biConsumer, "d", 1, "player");
+		explorer.execute(biConsumer, "e", 2, "player", "union");
+		explorer.execute(biConsumer, "f", 3, "player", "union", "world");
+		explorer.execute(biConsumer, null, null, "player");
+		ExplorerTests.close(explorer);
+		Assertions.assertEquals(List.of("a", "b", "c", "d:1", "e:2", "f:3", "null:null"), result);
+	}
+
+	@DisplayName("与普通任务共享执行屏障时串行且有序")
+	@Test
+	public void testOrder() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(4);
+		int fenceCount = 16;
+		int[] values = new int[fenceCount];
+		AtomicBoolean failed = new AtomicBoolean();
+		BiConsumer<Integer, Integer> handler = (fence, value) -> {
+			if (values[fence] > value) {
+				failed.set(true);
+			}
+			values[fence] = value;
+		};
+		Random random = new Random(0);
+		for (int i = 0; i < TIMES; i++) {
+			final int value = i;
+			final int fence = random.nextInt(fenceCount);
+			switch (i % 3) {
+				case 0 -> explorer.execute(handler, fence, value, fence);
+				case 1 -> explorer.execute(handler, fence, value, fence, "other");
+				default -> explorer.execute(() -> handler.accept(fence, value), fence);
+			}
+		}
+		ExplorerTests.close(explorer);
+		Assertions.assertFalse(failed.get(), "ordered failed.");
+	}
+
+	@DisplayName("被拒绝的任务")
+	@Test
+	public void testRejected() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer("rejected", 2, 64, new LocalPolicy(), Explorers.defaultThreadFactory());
+		ExplorerTests.close(explorer);
+		// 拒绝策略在调用者线程中执行任务，参数依然可用
+		StringBuilder builder = new StringBuilder();
+		explorer.execute((Consumer<String>) builder::append, "a", "player");
+		explorer.execute((String a, String b) -> builder.append(a).append(b), "b", "c", "player", "union", "world");
+		Assertions.assertEquals("abc", builder.toString());
+
+		ReorderExplorer abort = new ReorderExplorer("rejected", 2, 64, new AbortPolicy(), Explorers.defaultThreadFactory());
+		ExplorerTests.close(abort);
+		Assertions.assertThrows(RejectedExecutionException.class, () -> abort.execute((Consumer<String>) builder::append, "a", "player"));
+		Assertions.assertThrows(NullPointerException.class, () -> abort.execute((Consumer<String>) null, "a", "player"));
+		Assertions.assertThrows(NullPointerException.class, () -> abort.execute((Consumer<String>) builder::append, "a", (Object) null));
+		Assertions.assertEquals(1, abort.getMetrics().getRejectedTasks());
+	}
+
+	@DisplayName("默认实现")
+	@Test
+	public void testDefault() throws InterruptedException {
+		ExplorerService explorer = new QueueExplorer("queue", 2, new AbortPolicy());
+		CountDownLatch latch = new CountDownLatch(2);
+		List<String> result = new CopyOnWriteArrayList<>();
+		explorer.execute((String player) -> {
+			result.add(player);
+			latch.countDown();
+		}, "a", 0);
+		explorer.execute((String player, Integer message) -> {
+			result.add(player + ":" + message);
+			latch.countDown();
+		}, "b", 1, 0);
+		Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+		Assertions.assertEquals(List.of("a", "b:1"), result);
+		explorer.shutdown(null);
+	}
+}
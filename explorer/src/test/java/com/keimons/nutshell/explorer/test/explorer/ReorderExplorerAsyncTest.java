@@ -0,0 +1,104 @@
+package com.keimons.nutshell.explorer.test.explorer;
+
+import com.keimons.nutshell.explorer.CompletedFuture;
+import com.keimons.nutshell.explorer.Explorers;
+import com.keimons.nutshell.explorer.support.AbortPolicy;
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link ReorderExplorer}异步提交测试
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ReorderExplorerAsyncTest {
+
+	@DisplayName("异步提交任务")
+	@Test
+	public void testSubmitAsync() {
+		ReorderExplorer explorer = new ReorderExplorer(4);
+		Assertions.assertEquals("value", explorer.submitAsync(() -> "value", 0).join());
+		Assertions.assertEquals("value", explorer.submitAsync(() -> "value", 0, 1, 2, 3).join());
+		AtomicBoolean done = new AtomicBoolean();
+		explorer.submitAsync(() -> done.set(true), 0).join();
+		Assertions.assertTrue(done.get());
+		explorer.close();
+	}
+
+	@DisplayName("以新的执行屏障串联后续阶段")
+	@Test
+	public void testPipeline() {
+		final int players = 64;
+		final int union = -1;
+		ReorderExplorer explorer = new ReorderExplorer(4);
+		int[] members = new int[1];
+		int[] joined = new int[players];
+		List<CompletedFuture<Void>> futures = new ArrayList<>(players);
+		for (int i = 0; i < players; i++) {
+			final int player = i;
+			// 玩家屏障 -> 组织屏障 -> 玩家屏障，同一组织的修改由组织屏障保证互斥
+			futures.add(explorer.submitAsync(() -> player, player)
+					.thenApplyOn(id -> ++members[0], union)
+					.thenAcceptOn(count -> joined[player] = count, player));
+		}
+		for (CompletedFuture<Void> future : futures) {
+			future.join();
+		}
+		Assertions.assertEquals(players, members[0]);
+		boolean[] seen = new boolean[players + 1];
+		for (int count : joined) {
+			Assertions.assertFalse(seen[count]);
+			seen[count] = true;
+		}
+		explorer.close();
+	}
+
+	@DisplayName("前一阶段异常时不再执行后续阶段")
+	@Test
+	public void testException() {
+		ReorderExplorer explorer = new ReorderExplorer(4);
+		AtomicBoolean executed = new AtomicBoolean();
+		CompletedFuture<Void> future = explorer.submitAsync(() -> {
+			throw new IllegalStateException();
+		}, 0).thenRunOn(() -> executed.set(true), 1);
+		CompletionException e = Assertions.assertThrows(CompletionException.class, future::join);
+		Assertions.assertTrue(e.getCause() instanceof IllegalStateException);
+		Assertions.assertFalse(executed.get());
+		explorer.close();
+	}
+
+	@DisplayName("后续阶段被拒绝")
+	@Test
+	public void testRejected() throws InterruptedException {
+		ReorderExplorer explorer = new ReorderExplorer(ReorderExplorer.DEFAULT_NAME, 1, 16,
+				new AbortPolicy(), Explorers.defaultThreadFactory()
+		);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletedFuture<Void> future = explorer.submitAsync(() -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}, 0).thenRunOn(() -> {
+		}, 0);
+		// 执行器关闭后，排队中的任务依然执行，但是后续阶段不能再提交
+		explorer.close();
+		release.countDown();
+		ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+		Assertions.assertTrue(e.getCause() instanceof RejectedExecutionException);
+	}
+}
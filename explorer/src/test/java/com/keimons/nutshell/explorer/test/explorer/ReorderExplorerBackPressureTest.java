@@ -0,0 +1,200 @@
+package com.keimons.nutshell.explorer.test.explorer;
+
+import com.keimons.nutshell.explorer.Explorers;
+import com.keimons.nutshell.explorer.RejectedExplorerHandler;
+import com.keimons.nutshell.explorer.support.AbortPolicy;
+import com.keimons.nutshell.explorer.support.BlockPolicy;
+import com.keimons.nutshell.explorer.support.BlockingWaitStrategy;
+import com.keimons.nutshell.explorer.support.HashFenceRouter;
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link ReorderExplorer}背压测试
+ * <p>
+ * 执行器被一个长任务阻塞，事件总线写满之后，按照拒绝策略阻塞、限时阻塞或者直接拒绝。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ReorderExplorerBackPressureTest {
+
+	private static final int CAPACITY = 16;
+
+	/**
+	 * 创建单线程执行器，并用一个长任务阻塞执行器
+	 */
+	private ReorderExplorer blocked(RejectedExplorerHandler handler, CountDownLatch release) throws InterruptedException {
+		return blocked(new ReorderExplorer(ReorderExplorer.DEFAULT_NAME, 1, CAPACITY, handler, Explorers.defaultThreadFactory()), release);
+	}
+
+	private ReorderExplorer blocked(ReorderExplorer explorer, CountDownLatch release) throws InterruptedException {
+		CountDownLatch running = new CountDownLatch(1);
+		explorer.execute(() -> {
+			running.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}, 0);
+		running.await();
+		return explorer;
+	}
+
+	@DisplayName("直接拒绝")
+	@Test
+	public void testFailFast() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		ReorderExplorer explorer = blocked(new AbortPolicy(), release);
+		AtomicInteger counter = new AtomicInteger();
+		int accepted = 0;
+		try {
+			for (int i = 0; i < CAPACITY * 2; i++) {
+				explorer.execute(counter::incrementAndGet, 0);
+				accepted++;
+			}
+			Assertions.fail("Event bus never filled.");
+		} catch (RejectedExecutionException e) {
+			// 长任务执行之前已经从事件总线中移除，不再占用位置
+			Assertions.assertEquals(CAPACITY, accepted);
+		}
+		Assertions.assertEquals(0, explorer.getBlockedCount());
+		release.countDown();
+		// 事件总线排空之前，新的任务依然会被拒绝，所以等待已接受的任务执行完成
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (counter.get() < accepted) {
+			Assertions.assertTrue(System.nanoTime() < deadline);
+			Thread.sleep(1);
+		}
+		Assertions.assertEquals(accepted, counter.get());
+		explorer.close();
+	}
+
+	@DisplayName("阻塞直到有空余位置")
+	@Test
+	public void testBlock() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		ReorderExplorer explorer = blocked(new BlockPolicy(), release);
+		AtomicInteger counter = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(1);
+		Thread producer = new Thread(() -> {
+			for (int i = 0; i < CAPACITY * 4; i++) {
+				explorer.execute(counter::incrementAndGet, 0);
+			}
+			explorer.execute(done::countDown, 0);
+		});
+		producer.start();
+		// 生产者阻塞在条件上，而不是自旋
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (producer.getState() != Thread.State.WAITING) {
+			Assertions.assertTrue(System.nanoTime() < deadline, "Producer not blocked: " + producer.getState());
+			Thread.sleep(1);
+		}
+		Thread.sleep(50);
+		release.countDown();
+		Assertions.assertTrue(done.await(10, TimeUnit.SECONDS));
+		Assertions.assertEquals(CAPACITY * 4, counter.get());
+		Assertions.assertTrue(explorer.getBlockedCount() > 0);
+		Assertions.assertTrue(explorer.getBlockedTime(TimeUnit.MILLISECONDS) >= 50);
+		explorer.close();
+	}
+
+	@DisplayName("限时阻塞")
+	@Test
+	public void testTimeout() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		ReorderExplorer explorer = blocked(new BlockPolicy(100, TimeUnit.MILLISECONDS), release);
+		long start = System.nanoTime();
+		Assertions.assertThrows(RejectedExecutionException.class, () -> {
+			for (int i = 0; i < CAPACITY * 2; i++) {
+				explorer.execute(() -> {
+				}, 0);
+			}
+		});
+		Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+		Assertions.assertEquals(1, explorer.getBlockedCount());
+		Assertions.assertTrue(explorer.getBlockedTime(TimeUnit.MILLISECONDS) >= 100);
+		release.countDown();
+		explorer.close();
+	}
+
+	@DisplayName("溢出时既不阻塞也不拒绝")
+	@Test
+	public void testElastic() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		ReorderExplorer explorer = blocked(new ReorderExplorer(ReorderExplorer.DEFAULT_NAME, 1, CAPACITY,
+				new AbortPolicy(), Explorers.defaultThreadFactory(), new HashFenceRouter(1), new BlockingWaitStrategy(), ReorderExplorer.ELASTIC
+		), release);
+		AtomicInteger counter = new AtomicInteger();
+		AtomicInteger failed = new AtomicInteger();
+		for (int i = 0; i < CAPACITY * 10; i++) {
+			final int value = i;
+			explorer.execute(() -> {
+				if (counter.getAndIncrement() != value) {
+					failed.incrementAndGet();
+				}
+			}, 0);
+		}
+		Assertions.assertEquals(0, explorer.getBlockedCount());
+		release.countDown();
+		CountDownLatch done = new CountDownLatch(1);
+		explorer.execute(done::countDown, 0);
+		Assertions.assertTrue(done.await(10, TimeUnit.SECONDS));
+		Assertions.assertEquals(CAPACITY * 10, counter.get());
+		Assertions.assertEquals(0, failed.get());
+		explorer.close();
+	}
+
+	@DisplayName("非2的幂线程数量的溢出测试")
+	@Test
+	public void testElasticCapacity() throws InterruptedException {
+		// 默认容量nThreads * 2048不是2的幂
+		final int nThreads = 3, times = 2_0000;
+		ReorderExplorer explorer = new ReorderExplorer(ReorderExplorer.DEFAULT_NAME, nThreads, nThreads * ReorderExplorer.DEFAULT_THREAD_CAPACITY,
+				new AbortPolicy(), Explorers.defaultThreadFactory(), new HashFenceRouter(nThreads), new BlockingWaitStrategy(), ReorderExplorer.ELASTIC
+		);
+		CountDownLatch done = new CountDownLatch(times);
+		for (int i = 0; i < times; i++) {
+			explorer.execute(done::countDown, i % 7);
+		}
+		Assertions.assertTrue(done.await(10, TimeUnit.SECONDS), "remaining: " + done.getCount());
+		explorer.close();
+	}
+
+	@DisplayName("关闭时唤醒阻塞的生产者")
+	@Test
+	public void testClose() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		ReorderExplorer explorer = blocked(new BlockPolicy(), release);
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		Thread producer = new Thread(() -> {
+			try {
+				for (int i = 0; i < CAPACITY * 2; i++) {
+					explorer.execute(() -> {
+					}, 0);
+				}
+			} catch (Throwable e) {
+				error.set(e);
+			}
+		});
+		producer.start();
+		while (producer.getState() != Thread.State.WAITING) {
+			Thread.sleep(1);
+		}
+		explorer.close();
+		producer.join(10_000);
+		Assertions.assertFalse(producer.isAlive());
+		Assertions.assertTrue(error.get() instanceof RejectedExecutionException);
+		release.countDown();
+	}
+}
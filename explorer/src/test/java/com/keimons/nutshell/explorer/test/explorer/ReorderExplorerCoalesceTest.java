@@ -0,0 +1,181 @@
+package com.keimons.nutshell.explorer.test.explorer;
+
+import com.keimons.nutshell.explorer.Explorers;
+import com.keimons.nutshell.explorer.Fence;
+import com.keimons.nutshell.explorer.support.AbortPolicy;
+import com.keimons.nutshell.explorer.support.LocalPolicy;
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import com.keimons.nutshell.explorer.test.ExplorerTests;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ReorderExplorer}任务合并测试
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ReorderExplorerCoalesceTest {
+
+	@DisplayName("替换尚未执行的任务")
+	@Test
+	public void testReplace() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(2);
+		CountDownLatch blocking = new CountDownLatch(1);
+		StringBuffer order = new StringBuffer();
+		explorer.execute(() -> ExplorerTests.await(blocking), "player");
+		for (int i = 0; i < 10; i++) {
+			final int value = i;
+			explorer.executeCoalesce(() -> order.append("save").append(value).append(','), "save", "player");
+		}
+		explorer.execute(() -> order.append("push,"), "player");
+		blocking.countDown();
+		ExplorerTests.close(explorer);
+		// 替换后的任务在第一次提交的位置执行
+		Assertions.assertEquals("save9,push,", order.toString());
+		Assertions.assertEquals(9, explorer.getMetrics().getCoalescedTasks());
+		Assertions.assertTrue(explorer.getMetrics().toString().contains("coalesced=9"));
+	}
+
+	@DisplayName("合并尚未执行的任务")
+	@Test
+	public void testMerge() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(2);
+		CountDownLatch blocking = new CountDownLatch(1);
+		StringBuffer order = new StringBuffer();
+		explorer.execute(() -> ExplorerTests.await(blocking), "player");
+		for (int i = 0; i < 5; i++) {
+			final int value = i;
+			explorer.executeCoalesce(() -> order.append(value).append(','), "save", "player", (prev, next) -> () -> {
+				prev.run();
+				next.run();
+			});
+		}
+		blocking.countDown();
+		ExplorerTests.close(explorer);
+		Assertions.assertEquals("0,1,2,3,4,", order.toString());
+		Assertions.assertEquals(4, explorer.getMetrics().getCoalescedTasks());
+	}
+
+	@DisplayName("开始执行的任务不再合并")
+	@Test
+	public void testStarted() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(2);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch blocking = new CountDownLatch(1);
+		AtomicInteger count = new AtomicInteger();
+		explorer.executeCoalesce(() -> {
+			count.incrementAndGet();
+			started.countDown();
+			ExplorerTests.await(blocking);
+		}, "save", "player");
+		started.await();
+		explorer.executeCoalesce(count::incrementAndGet, "save", "player");
+		explorer.executeCoalesce(count::incrementAndGet, "save", "player");
+		blocking.countDown();
+		ExplorerTests.close(explorer);
+		Assertions.assertEquals(2, count.get());
+		Assertions.assertEquals(1, explorer.getMetrics().getCoalescedTasks());
+	}
+
+	@DisplayName("不同的合并键和执行屏障")
+	@Test
+	public void testDistinct() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(2);
+		CountDownLatch blocking = new CountDownLatch(1);
+		AtomicInteger count = new AtomicInteger();
+		explorer.execute(() -> ExplorerTests.await(blocking), "player", "union");
+		explorer.executeCoalesce(count::incrementAndGet, "save", "player");
+		explorer.executeCoalesce(count::incrementAndGet, "push", "player");
+		explorer.executeCoalesce(count::incrementAndGet, "save", "union");
+		// 读屏障与写屏障不会合并
+		explorer.executeCoalesce(count::incrementAndGet, "save", Fence.read("player"));
+		explorer.executeCoalesce(count::incrementAndGet, "save", Fence.read("player"));
+		blocking.countDown();
+		ExplorerTests.close(explorer);
+		Assertions.assertEquals(4, count.get());
+		Assertions.assertEquals(1, explorer.getMetrics().getCoalescedTasks());
+	}
+
+	@DisplayName("被拒绝的任务")
+	@Test
+	public void testRejected() throws InterruptedException, ExecutionException {
+		ReorderExplorer local = new ReorderExplorer("rejected", 2, 64, new LocalPolicy(), Explorers.defaultThreadFactory());
+		ExplorerTests.close(local);
+		AtomicInteger count = new AtomicInteger();
+		local.executeCoalesce(count::incrementAndGet, "save", "player");
+		local.executeCoalesce(count::incrementAndGet, "save", "player");
+		Assertions.assertEquals(2, count.get());
+		Assertions.assertEquals(0, local.getMetrics().getCoalescedTasks());
+
+		ReorderExplorer abort = new ReorderExplorer("rejected", 2, 64, new AbortPolicy(), Explorers.defaultThreadFactory());
+		ExplorerTests.close(abort);
+		Assertions.assertThrows(RejectedExecutionException.class, () -> abort.executeCoalesce(count::incrementAndGet, "save", "player"));
+		Assertions.assertThrows(NullPointerException.class, () -> abort.executeCoalesce(count::incrementAndGet, null, "player"));
+		Assertions.assertEquals(1, abort.getMetrics().getRejectedTasks());
+	}
+
+	@DisplayName("事件总线已满时拒绝合并的任务")
+	@Test
+	public void testRejectedFull() throws InterruptedException, ExecutionException {
+		List<Runnable> rejected = new CopyOnWriteArrayList<>();
+		ReorderExplorer explorer = new ReorderExplorer("rejected", 1, 16,
+				(executor, task, fences) -> rejected.add(task), Explorers.defaultThreadFactory());
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch blocking = new CountDownLatch(1);
+		explorer.execute(() -> {
+			running.countDown();
+			ExplorerTests.await(blocking);
+		}, "player");
+		running.await();
+		for (int i = 0; i < 16; i++) {
+			explorer.execute(() -> {
+			}, "player");
+		}
+		Runnable first = () -> {
+		};
+		Runnable second = () -> {
+		};
+		explorer.executeCoalesce(first, "save", "player");
+		// 拒绝的是任务本身，被拒绝的任务不再接受合并
+		explorer.executeCoalesce(second, "save", "player");
+		Assertions.assertEquals(List.of(first, second), rejected);
+		Assertions.assertEquals(0, explorer.getMetrics().getCoalescedTasks());
+		blocking.countDown();
+		ExplorerTests.close(explorer);
+	}
+
+	@DisplayName("并发提交")
+	@Test
+	public void testConcurrent() throws Exception {
+		ReorderExplorer explorer = new ReorderExplorer(4);
+		int nProducer = 4, times = 10_0000;
+		AtomicInteger executed = new AtomicInteger();
+		CyclicBarrier barrier = new CyclicBarrier(nProducer + 1);
+		for (int i = 0; i < nProducer; i++) {
+			Thread thread = new Thread(() -> {
+				for (int j = 0; j < times; j++) {
+					explorer.executeCoalesce(executed::incrementAndGet, j & 3, j & 15);
+				}
+				try {
+					barrier.await();
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			});
+			thread.start();
+		}
+		barrier.await();
+		ExplorerTests.close(explorer);
+		// 每一个被合并的任务都替换了另一个任务，其余的任务都执行且只执行一次
+		long coalesced = explorer.getMetrics().getCoalescedTasks();
+		Assertions.assertEquals(nProducer * times, executed.get() + coalesced);
+		System.out.println("executed: " + executed.get() + ", coalesced: " + coalesced);
+	}
+}
@@ -0,0 +1,122 @@
+package com.keimons.nutshell.explorer.test.explorer;
+
+import com.keimons.nutshell.explorer.Fence;
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ReorderExplorer}读写屏障测试
+ * <p>
+ * 使用整数作为执行屏障，4个线程时，执行屏障{@code i}路由到轨道{@code i}。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ReorderExplorerFenceModeTest {
+
+	private static final int THREAD = 4;
+
+	private static final Integer UNION = 0;
+
+	/**
+	 * 两个任务读取同一个组织，分别写入不同的玩家，返回同时读取组织的最大任务数量
+	 */
+	private int concurrency(Object union) throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(THREAD);
+		// 阻塞玩家轨道，保证组织轨道先到达两个任务并拦截，两个任务最终由玩家轨道执行
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch blocked = new CountDownLatch(2);
+		for (int player = 1; player <= 2; player++) {
+			explorer.execute(() -> {
+				blocked.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}, player);
+		}
+		blocked.await();
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger max = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(2);
+		for (int player = 1; player <= 2; player++) {
+			explorer.execute(() -> {
+				max.accumulateAndGet(active.incrementAndGet(), Math::max);
+				try {
+					Thread.sleep(100);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				active.decrementAndGet();
+				done.countDown();
+			}, union, player);
+		}
+		Thread.sleep(20);
+		release.countDown();
+		done.await();
+		FutureTask<?> onClose = new FutureTask<>(() -> {
+		}, null);
+		explorer.close(onClose);
+		onClose.get();
+		return max.get();
+	}
+
+	@DisplayName("读屏障并行执行")
+	@Test
+	public void testConcurrentReaders() throws InterruptedException, ExecutionException {
+		Assertions.assertEquals(2, concurrency(Fence.read(UNION)));
+		Assertions.assertEquals(1, concurrency(Fence.write(UNION)));
+		Assertions.assertEquals(1, concurrency(UNION));
+	}
+
+	@DisplayName("读写屏障顺序测试")
+	@Test
+	public void testOrder() throws InterruptedException, ExecutionException {
+		final int times = 20_000;
+		ReorderExplorer explorer = new ReorderExplorer(THREAD);
+		// 写任务修改版本号，读任务检查读取到的版本号与提交时一致
+		int[] version = new int[1];
+		AtomicInteger failed = new AtomicInteger();
+		Random random = new Random(0);
+		int writes = 0;
+		for (int i = 0; i < times; i++) {
+			int player = 1 + random.nextInt(THREAD - 1);
+			if (random.nextInt(10) == 0) {
+				writes++;
+				if (random.nextBoolean()) {
+					explorer.execute(() -> version[0]++, UNION);
+				} else {
+					explorer.execute(() -> version[0]++, Fence.write(UNION), player);
+				}
+			} else {
+				final int expected = writes;
+				Runnable task = () -> {
+					if (version[0] != expected) {
+						failed.incrementAndGet();
+					}
+				};
+				switch (random.nextInt(3)) {
+					case 0 -> explorer.execute(task, Fence.read(UNION));
+					case 1 -> explorer.execute(task, Fence.read(UNION), player);
+					default -> explorer.execute(task, Fence.read(UNION), player, Fence.read(player % (THREAD - 1) + 1));
+				}
+			}
+		}
+		FutureTask<?> onClose = new FutureTask<>(() -> {
+		}, null);
+		explorer.close(onClose);
+		onClose.get();
+		Assertions.assertEquals(writes, version[0]);
+		Assertions.assertEquals(0, failed.get());
+	}
+}
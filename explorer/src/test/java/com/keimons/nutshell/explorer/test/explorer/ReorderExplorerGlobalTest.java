@@ -0,0 +1,98 @@
+package com.keimons.nutshell.explorer.test.explorer;
+
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ReorderExplorer}全局任务测试
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ReorderExplorerGlobalTest {
+
+	private static final int THREAD = 4;
+
+	@DisplayName("全局任务与所有任务互斥")
+	@Test
+	public void testGlobal() throws InterruptedException, ExecutionException {
+		final int fences = 64;
+		final int times = 20_000;
+		ReorderExplorer explorer = new ReorderExplorer(THREAD);
+		// 全局任务执行时，之前的任务全部执行完成，并且没有任何任务正在执行；之后的任务能看到全局任务的执行结果
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger executed = new AtomicInteger();
+		int[] globals = new int[1];
+		AtomicInteger failed = new AtomicInteger();
+		Random random = new Random(0);
+		int submitted = 0;
+		int submittedGlobals = 0;
+		for (int i = 0; i < times; i++) {
+			if (random.nextInt(200) == 0) {
+				final int expected = submitted;
+				submittedGlobals++;
+				explorer.executeGlobal(() -> {
+					if (active.get() != 0 || executed.get() != expected) {
+						failed.incrementAndGet();
+					}
+					globals[0]++;
+				});
+			} else {
+				final int expected = submittedGlobals;
+				submitted++;
+				Runnable task = () -> {
+					active.incrementAndGet();
+					if (globals[0] != expected) {
+						failed.incrementAndGet();
+					}
+					executed.incrementAndGet();
+					active.decrementAndGet();
+				};
+				int fence = random.nextInt(fences);
+				if (random.nextBoolean()) {
+					explorer.execute(task, fence);
+				} else {
+					explorer.execute(task, fence, (fence + 1) % fences);
+				}
+			}
+		}
+		FutureTask<?> onClose = new FutureTask<>(() -> {
+		}, null);
+		explorer.close(onClose);
+		onClose.get();
+		Assertions.assertEquals(submitted, executed.get());
+		Assertions.assertEquals(submittedGlobals, globals[0]);
+		Assertions.assertEquals(0, failed.get());
+	}
+
+	@DisplayName("单线程全局任务")
+	@Test
+	public void testSingleThread() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(1);
+		int[] values = new int[1];
+		AtomicInteger failed = new AtomicInteger();
+		for (int i = 0; i < 100; i++) {
+			final int expected = i + 1;
+			explorer.execute(() -> values[0]++, i);
+			explorer.executeGlobal(() -> {
+				if (values[0] != expected) {
+					failed.incrementAndGet();
+				}
+			});
+		}
+		FutureTask<?> onClose = new FutureTask<>(() -> {
+		}, null);
+		explorer.close(onClose);
+		onClose.get();
+		Assertions.assertEquals(100, values[0]);
+		Assertions.assertEquals(0, failed.get());
+	}
+}
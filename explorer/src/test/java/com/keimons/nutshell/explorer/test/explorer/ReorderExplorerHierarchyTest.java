@@ -0,0 +1,120 @@
+package com.keimons.nutshell.explorer.test.explorer;
+
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import com.keimons.nutshell.explorer.test.ExplorerTests;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ReorderExplorer}执行屏障层级测试
+ * <p>
+ * 玩家（子屏障）绑定到组织（父屏障），组织的任务与所有玩家的任务互斥。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ReorderExplorerHierarchyTest {
+
+	private static final int THREAD = 4;
+
+	private static final String UNION = "union";
+
+	@DisplayName("父屏障与子屏障互斥")
+	@Test
+	public void testExclusion() throws InterruptedException, ExecutionException {
+		final int players = 32;
+		final int times = 20_000;
+		ReorderExplorer explorer = new ReorderExplorer(THREAD);
+		for (int player = 0; player < players; player++) {
+			explorer.bind(player, UNION);
+		}
+		// 组织任务检查已经执行的玩家任务数量，玩家任务检查已经执行的组织任务数量，都必须与提交时一致
+		int[] unionTasks = new int[1];
+		AtomicInteger playerTasks = new AtomicInteger();
+		AtomicInteger failed = new AtomicInteger();
+		Random random = new Random(0);
+		int submittedUnion = 0;
+		int submittedPlayer = 0;
+		for (int i = 0; i < times; i++) {
+			if (random.nextInt(50) == 0) {
+				final int expected = submittedPlayer;
+				submittedUnion++;
+				explorer.execute(() -> {
+					if (playerTasks.get() != expected) {
+						failed.incrementAndGet();
+					}
+					unionTasks[0]++;
+				}, UNION);
+			} else {
+				final int expected = submittedUnion;
+				submittedPlayer++;
+				Runnable task = () -> {
+					if (unionTasks[0] != expected) {
+						failed.incrementAndGet();
+					}
+					playerTasks.incrementAndGet();
+				};
+				int player = random.nextInt(players);
+				if (random.nextBoolean()) {
+					explorer.execute(task, player);
+				} else {
+					explorer.execute(task, player, (player + 1) % players);
+				}
+			}
+		}
+		ExplorerTests.close(explorer);
+		Assertions.assertEquals(submittedUnion, unionTasks[0]);
+		Assertions.assertEquals(submittedPlayer, playerTasks.get());
+		Assertions.assertEquals(0, failed.get());
+	}
+
+	@DisplayName("子屏障之间并行执行")
+	@Test
+	public void testParallelChildren() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(THREAD);
+		// 玩家1和玩家2位于不同的轨道
+		explorer.bind(1, UNION);
+		explorer.bind(2, UNION);
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger max = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(2);
+		for (int player = 1; player <= 2; player++) {
+			explorer.execute(() -> {
+				max.accumulateAndGet(active.incrementAndGet(), Math::max);
+				try {
+					Thread.sleep(100);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				active.decrementAndGet();
+				done.countDown();
+			}, player);
+		}
+		done.await();
+		Assertions.assertEquals(2, max.get());
+		ExplorerTests.close(explorer);
+	}
+
+	@DisplayName("绑定和解绑")
+	@Test
+	public void testBind() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(THREAD);
+		explorer.bind(1, UNION);
+		explorer.bind(1, UNION);
+		Assertions.assertThrows(IllegalStateException.class, () -> explorer.bind(1, "other"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> explorer.bind(UNION, "other"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> explorer.bind(2, 1));
+		Assertions.assertTrue(explorer.unbind(1));
+		Assertions.assertFalse(explorer.unbind(1));
+		// 解绑之后，原来的父屏障可以作为子屏障
+		explorer.bind(UNION, "other");
+		ExplorerTests.close(explorer);
+	}
+}
@@ -0,0 +1,136 @@
+package com.keimons.nutshell.explorer.test.explorer;
+
+import com.keimons.nutshell.explorer.Explorers;
+import com.keimons.nutshell.explorer.FenceRouter;
+import com.keimons.nutshell.explorer.support.AbortPolicy;
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import com.keimons.nutshell.explorer.test.ExplorerTests;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * {@link ReorderExplorer}{@code long}执行屏障测试
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ReorderExplorerLongFenceTest {
+
+	private static final int TIMES = 5_0000;
+
+	@DisplayName("相同执行屏障的任务串行且有序")
+	@Test
+	public void testOrder() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(4);
+		int fenceCount = 64;
+		int[] values = new int[fenceCount];
+		AtomicIntegerArray running = new AtomicIntegerArray(fenceCount);
+		AtomicBoolean failed = new AtomicBoolean();
+		Random random = new Random(0);
+		for (int i = 0; i < TIMES; i++) {
+			final int value = i;
+			int count = 1 + random.nextInt(4);
+			long[] fences = new long[count];
+			for (int j = 0; j < count; j++) {
+				// 执行屏障不重复，超出Long的缓存范围
+				fences[j] = 1000 + (random.nextInt(fenceCount / 4) * 4 + j);
+			}
+			Runnable task = () -> {
+				for (long fence : fences) {
+					int index = (int) (fence - 1000);
+					if (running.getAndIncrement(index) != 0 || values[index] > value) {
+						failed.set(true);
+					}
+					values[index] = value;
+				}
+				for (long fence : fences) {
+					running.decrementAndGet((int) (fence - 1000));
+				}
+			};
+			switch (count) {
+				case 1 -> explorer.executeLong(task, fences[0]);
+				case 2 -> explorer.executeLong(task, fences[0], fences[1]);
+				default -> explorer.executeLong(task, fences);
+			}
+		}
+		ExplorerTests.close(explorer);
+		Assertions.assertFalse(failed.get(), "ordered failed.");
+	}
+
+	@DisplayName("long执行屏障与Long执行屏障互斥")
+	@Test
+	public void testBoxed() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(2);
+		CountDownLatch blocking = new CountDownLatch(1);
+		StringBuffer order = new StringBuffer();
+		explorer.executeLong(() -> {
+			ExplorerTests.await(blocking);
+			order.append("long,");
+		}, 1000L);
+		explorer.execute(() -> order.append("boxed,"), Long.valueOf(1000));
+		explorer.execute(() -> order.append("mixed,"), "player", Long.valueOf(1000));
+		explorer.executeLong(() -> order.append("pair,"), 1000L, 2000L);
+		Thread.sleep(20);
+		Assertions.assertEquals("", order.toString());
+		blocking.countDown();
+		ExplorerTests.close(explorer);
+		Assertions.assertEquals("long,boxed,mixed,pair,", order.toString());
+	}
+
+	@DisplayName("自定义路由")
+	@Test
+	public void testRouter() throws InterruptedException, ExecutionException {
+		// 只处理Long执行屏障的路由，long执行屏障装箱后路由
+		FenceRouter router = fence -> fence instanceof Long v ? (int) (v & 1) : 0;
+		ReorderExplorer explorer = new ReorderExplorer(2, router);
+		Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			final int index = i;
+			explorer.executeLong(() -> threads[index] = Thread.currentThread(), i);
+		}
+		ExplorerTests.close(explorer);
+		Assertions.assertSame(threads[0], threads[2]);
+		Assertions.assertSame(threads[1], threads[3]);
+		Assertions.assertNotSame(threads[0], threads[1]);
+	}
+
+	@DisplayName("执行屏障层级")
+	@Test
+	public void testHierarchy() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(2);
+		explorer.bind(1001L, 1L);
+		CountDownLatch blocking = new CountDownLatch(1);
+		StringBuffer order = new StringBuffer();
+		explorer.executeLong(() -> {
+			ExplorerTests.await(blocking);
+			order.append("parent,");
+		}, 1L);
+		explorer.executeLong(() -> order.append("child,"), 1001L);
+		Thread.sleep(20);
+		Assertions.assertEquals("", order.toString());
+		blocking.countDown();
+		ExplorerTests.close(explorer);
+		Assertions.assertEquals("parent,child,", order.toString());
+	}
+
+	@DisplayName("被拒绝的任务")
+	@Test
+	public void testRejected() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer("rejected", 2, 64, new AbortPolicy(), Explorers.defaultThreadFactory());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> explorer.executeLong(() -> {
+		}));
+		ExplorerTests.close(explorer);
+		Assertions.assertThrows(RejectedExecutionException.class, () -> explorer.executeLong(() -> {
+		}, 1L));
+		Assertions.assertThrows(RejectedExecutionException.class, () -> explorer.executeLong(() -> {
+		}, 1L, 2L, 3L));
+		Assertions.assertEquals(2, explorer.getMetrics().getRejectedTasks());
+	}
+}
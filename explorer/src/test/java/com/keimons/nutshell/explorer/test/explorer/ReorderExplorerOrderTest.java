@@ -0,0 +1,153 @@
+package com.keimons.nutshell.explorer.test.explorer;
+
+import com.keimons.nutshell.explorer.Explorers;
+import com.keimons.nutshell.explorer.support.BlockPolicy;
+import com.keimons.nutshell.explorer.support.BlockingWaitStrategy;
+import com.keimons.nutshell.explorer.support.HashFenceRouter;
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ReorderExplorer}顺序测试
+ * <p>
+ * 多个执行屏障落在同一条轨道上，任务不能越过与它共享执行屏障的缓存任务执行。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ReorderExplorerOrderTest {
+
+	private static final int THREAD = 4;
+
+	private static final int TIMES = 5_0000;
+
+	private void run(int nThreads) throws InterruptedException, ExecutionException {
+		run(nThreads, 0);
+	}
+
+	private void run(int nThreads, int options) throws InterruptedException, ExecutionException {
+		// 执行屏障数量，每条轨道4个屏障
+		final int FENCE = nThreads * 4;
+		ReorderExplorer explorer = new ReorderExplorer(ReorderExplorer.DEFAULT_NAME, nThreads, nThreads * ReorderExplorer.DEFAULT_THREAD_CAPACITY,
+				new BlockPolicy(), Explorers.defaultThreadFactory(), new HashFenceRouter(nThreads), new BlockingWaitStrategy(), options
+		);
+		int[] values = new int[FENCE];
+		AtomicInteger counter = new AtomicInteger();
+		AtomicBoolean failed = new AtomicBoolean();
+		for (int i = 1; i <= TIMES; i++) {
+			final int value = i;
+			final int[] fences = switch (i % 3) {
+				case 0 -> new int[]{i % FENCE, (i * 3 + 37) % FENCE};
+				case 1 -> new int[]{i % FENCE, (i * 3 + 37) % FENCE, (i * 5 + 74) % FENCE};
+				default -> new int[]{i % FENCE, (i * 3 + 37) % FENCE, (i * 5 + 74) % FENCE, (i * 7 + 111) % FENCE};
+			};
+			Runnable task = () -> {
+				for (int fence : fences) {
+					// 同一个屏障可能出现多次，所以允许相等
+					if (values[fence] > value) {
+						failed.set(true);
+					}
+					values[fence] = value;
+				}
+				counter.incrementAndGet();
+			};
+			switch (fences.length) {
+				case 2 -> explorer.execute(task, fences[0], fences[1]);
+				case 3 -> explorer.execute(task, fences[0], fences[1], fences[2]);
+				default -> explorer.execute(task, fences[0], fences[1], fences[2], fences[3]);
+			}
+		}
+		CountDownLatch latch = new CountDownLatch(FENCE);
+		for (int i = 0; i < FENCE; i++) {
+			explorer.execute(latch::countDown, i);
+		}
+		latch.await();
+		Assertions.assertEquals(TIMES, counter.get());
+		Assertions.assertFalse(failed.get(), "ordered failed.");
+		FutureTask<?> onClose = new FutureTask<>(() -> System.out.println("线程池已关闭"), null);
+		explorer.close(onClose);
+		onClose.get();
+	}
+
+	@DisplayName("多生产者顺序测试")
+	@Test
+	public void testProducers() throws InterruptedException, ExecutionException {
+		final int producers = 4, fence = THREAD * 4;
+		// 多个生产者同时发布时，使用先占用后发布的事件总线
+		ReorderExplorer explorer = new ReorderExplorer(ReorderExplorer.DEFAULT_NAME, THREAD, THREAD * ReorderExplorer.DEFAULT_THREAD_CAPACITY,
+				new BlockPolicy(), Explorers.defaultThreadFactory(), new HashFenceRouter(THREAD), new BlockingWaitStrategy(), ReorderExplorer.CLAIM
+		);
+		// 每个生产者在每个屏障上提交的任务，必须按照提交顺序执行
+		int[][] values = new int[producers][fence];
+		AtomicInteger counter = new AtomicInteger();
+		AtomicBoolean failed = new AtomicBoolean();
+		Thread[] threads = new Thread[producers];
+		for (int p = 0; p < producers; p++) {
+			final int[] lasts = values[p];
+			threads[p] = new Thread(() -> {
+				for (int i = 1; i <= TIMES; i++) {
+					final int value = i, f0 = i % fence, f1 = (i * 3 + 37) % fence;
+					Runnable task = () -> {
+						if (lasts[f0] >= value || lasts[f1] >= value) {
+							failed.set(true);
+						}
+						lasts[f0] = lasts[f1] = value;
+						counter.incrementAndGet();
+					};
+					if (f0 == f1) {
+						explorer.execute(task, f0);
+					} else {
+						explorer.execute(task, f0, f1);
+					}
+				}
+			});
+			threads[p].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		CountDownLatch latch = new CountDownLatch(fence);
+		for (int i = 0; i < fence; i++) {
+			explorer.execute(latch::countDown, i);
+		}
+		latch.await();
+		Assertions.assertEquals(producers * TIMES, counter.get());
+		Assertions.assertFalse(failed.get(), "ordered failed.");
+		FutureTask<?> onClose = new FutureTask<>(() -> System.out.println("线程池已关闭"), null);
+		explorer.close(onClose);
+		onClose.get();
+	}
+
+	@DisplayName("共享轨道的多屏障任务顺序测试")
+	@Test
+	public void test() throws InterruptedException, ExecutionException {
+		run(THREAD);
+	}
+
+	@DisplayName("通道模式的多屏障任务顺序测试")
+	@Test
+	public void testLanes() throws InterruptedException, ExecutionException {
+		run(16, ReorderExplorer.LANES);
+		// 通道不能与先占用后发布的事件总线同时使用
+		Assertions.assertThrows(IllegalArgumentException.class, () -> run(THREAD, ReorderExplorer.CLAIM | ReorderExplorer.LANES));
+	}
+
+	@DisplayName("非2的幂线程数量的顺序测试")
+	@Test
+	public void testCapacity() throws InterruptedException, ExecutionException {
+		// 默认容量nThreads * 2048不是2的幂
+		for (int nThreads : new int[]{3, 6, 24}) {
+			run(nThreads);
+		}
+		run(24, ReorderExplorer.LANES);
+	}
+}
@@ -0,0 +1,170 @@
+package com.keimons.nutshell.explorer.test.explorer;
+
+import com.keimons.nutshell.explorer.FenceRouter;
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import com.keimons.nutshell.explorer.test.ExplorerTests;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ReorderExplorer}优先任务测试
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ReorderExplorerPriorityTest {
+
+	/**
+	 * 整数执行屏障按照取模路由，方便指定执行屏障所在的轨道
+	 */
+	private static final FenceRouter ROUTER = fence -> fence instanceof Integer v ? v % 2 : 0;
+
+	@DisplayName("优先任务越过相同执行屏障上排队的任务")
+	@Test
+	public void testOvertake() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(2);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch blocking = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(1);
+		StringBuffer order = new StringBuffer();
+		explorer.execute(() -> {
+			started.countDown();
+			ExplorerTests.await(blocking);
+			order.append("block,");
+		}, "player");
+		for (int i = 0; i < 100; i++) {
+			final int index = i;
+			explorer.execute(() -> order.append(index).append(","), "player");
+		}
+		explorer.execute(done::countDown, "player");
+		// 优先任务不能越过正在执行的任务
+		started.await();
+		explorer.executeNow(() -> order.append("kick,"), "player");
+		blocking.countDown();
+		Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+		StringBuilder expected = new StringBuilder("block,kick,");
+		for (int i = 0; i < 100; i++) {
+			expected.append(i).append(",");
+		}
+		Assertions.assertEquals(expected.toString(), order.toString());
+		ExplorerTests.close(explorer);
+	}
+
+	@DisplayName("优先任务越过被缓存的任务")
+	@Test
+	public void testCache() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(2, ROUTER);
+		CountDownLatch blocking = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(1);
+		StringBuffer order = new StringBuffer();
+		// 轨道1被阻塞，轨道0拦截共享任务，之后执行屏障0上的任务被缓存
+		explorer.execute(() -> ExplorerTests.await(blocking), 1);
+		explorer.execute(() -> order.append("shared,"), 0, 1);
+		explorer.execute(() -> order.append("cached,"), 0);
+		explorer.execute(done::countDown, 0);
+		Thread.sleep(50);
+		explorer.executeNow(() -> order.append("now,"), 0);
+		// 优先任务不能越过拦截中的共享任务
+		Thread.sleep(50);
+		Assertions.assertEquals("", order.toString());
+		blocking.countDown();
+		Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+		Assertions.assertEquals("shared,now,cached,", order.toString());
+		ExplorerTests.close(explorer);
+	}
+
+	@DisplayName("优先任务不能越过挂起的任务")
+	@Test
+	public void testSuspend() throws InterruptedException, ExecutionException, TimeoutException {
+		ReorderExplorer explorer = new ReorderExplorer(1);
+		CompletableFuture<String> remote = new CompletableFuture<>();
+		StringBuffer order = new StringBuffer();
+		explorer.executeSuspend(() -> remote, (value, error) -> order.append(value).append(","), "player");
+		explorer.execute(() -> order.append("after,"), "player");
+		Future<?> future = explorer.submitNow(() -> order.append("now,"), "player");
+		Assertions.assertThrows(TimeoutException.class, () -> future.get(100, TimeUnit.MILLISECONDS));
+		remote.complete("resume");
+		future.get(5, TimeUnit.SECONDS);
+		ExplorerTests.close(explorer);
+		Assertions.assertEquals("resume,now,after,", order.toString());
+	}
+
+	@DisplayName("优先任务之间保持提交顺序")
+	@Test
+	public void testOrder() throws InterruptedException, ExecutionException, TimeoutException {
+		ReorderExplorer explorer = new ReorderExplorer(2, ROUTER);
+		CountDownLatch blocking = new CountDownLatch(1);
+		StringBuffer order = new StringBuffer();
+		explorer.execute(() -> ExplorerTests.await(blocking), 1);
+		explorer.execute(() -> order.append("shared,"), 0, 1);
+		Thread.sleep(50);
+		// 被阻塞的优先任务和之后的优先任务
+		StringBuilder expected = new StringBuilder("shared,");
+		for (int i = 0; i < 100; i++) {
+			final int index = i;
+			explorer.executeNow(() -> order.append(index).append(","), 0);
+			expected.append(i).append(",");
+		}
+		Future<Integer> future = explorer.submitNow(() -> 100, 0);
+		blocking.countDown();
+		Assertions.assertEquals(100, (int) future.get(5, TimeUnit.SECONDS));
+		ExplorerTests.close(explorer);
+		Assertions.assertEquals(expected.toString(), order.toString());
+	}
+
+	@DisplayName("父屏障上的优先任务")
+	@Test
+	public void testParent() throws InterruptedException, ExecutionException, TimeoutException {
+		ReorderExplorer explorer = new ReorderExplorer(4);
+		explorer.bind("player", "union");
+		StringBuffer order = new StringBuffer();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch blocking = new CountDownLatch(1);
+		explorer.execute(() -> {
+			started.countDown();
+			ExplorerTests.await(blocking);
+			order.append("player,");
+		}, "player");
+		started.await();
+		Future<?> union = explorer.submitNow(() -> order.append("union,"), "union");
+		Future<?> player = explorer.submitNow(() -> order.append("now,"), "player");
+		blocking.countDown();
+		union.get(5, TimeUnit.SECONDS);
+		player.get(5, TimeUnit.SECONDS);
+		ExplorerTests.close(explorer);
+		// 子屏障上的优先任务越过排队中的父屏障任务，父屏障上的优先任务退化为普通任务
+		Assertions.assertEquals("player,now,union,", order.toString());
+	}
+
+	@DisplayName("关闭时完成优先任务之后提交的任务")
+	@Test
+	public void testClose() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(2);
+		AtomicInteger urgents = new AtomicInteger();
+		AtomicInteger tasks = new AtomicInteger();
+		for (int i = 0; i < 100; i++) {
+			explorer.executeNow(urgents::incrementAndGet, "player");
+		}
+		for (int i = 0; i < 11; i++) {
+			explorer.execute(tasks::incrementAndGet, i);
+		}
+		// 优先任务不经过事件总线，不能提前满足关闭条件
+		ExplorerTests.close(explorer);
+		Assertions.assertEquals(100, urgents.get());
+		Assertions.assertEquals(11, tasks.get());
+	}
+
+	@DisplayName("关闭后拒绝优先任务")
+	@Test
+	public void testRejected() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(2);
+		ExplorerTests.close(explorer);
+		Assertions.assertThrows(RejectedExecutionException.class, () -> explorer.executeNow(() -> {
+		}, "player"));
+	}
+}
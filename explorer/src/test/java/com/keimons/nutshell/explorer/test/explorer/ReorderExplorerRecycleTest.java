@@ -0,0 +1,213 @@
+package com.keimons.nutshell.explorer.test.explorer;
+
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * {@link ReorderExplorer}节点回收测试
+ * <p>
+ * 稳态运行时，任务的发布不应该产生任何对象分配。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ReorderExplorerRecycleTest {
+
+	private static final int THREAD = 4;
+
+	/**
+	 * 预热次数
+	 */
+	private static final int WARMUP = 20_0000;
+
+	/**
+	 * 测试次数
+	 */
+	private static final int TIMES = 10_0000;
+
+	/**
+	 * 测试时每批发布的任务数量（预热时加倍）
+	 * <p>
+	 * 远小于事件总线的容量，发布时事件总线不会写满，生产者不会阻塞。
+	 */
+	private static final int BATCH = 1024;
+
+	/**
+	 * 执行屏障（{@link Integer}缓存范围以内，不会产生装箱）
+	 */
+	private static final Integer[] FENCES = {0, 1, 2, 3};
+
+	/**
+	 * 多个long执行屏障（节点复制执行屏障，数组可以复用）
+	 */
+	private static final long[] LONG_FENCES = {1000, 2000, 3000};
+
+	private static final Runnable TASK = () -> {
+	};
+
+	/**
+	 * 带参数的任务（无捕获，不会在每次提交时创建）
+	 */
+	private static final Consumer<Object> CONSUMER = arg -> {
+	};
+
+	private static final BiConsumer<Object, Object> BI_CONSUMER = (arg0, arg1) -> {
+	};
+
+	/**
+	 * 参数（预先创建，模拟已经存在的玩家和消息）
+	 */
+	private static final Object[] ARGS = {"player", "message"};
+
+	private static final ThreadMXBean MX_BEAN = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private static void publish(ReorderExplorer explorer, int times) {
+		for (int i = 0; i < times; i++) {
+			switch (i & 3) {
+				case 0, 1 -> explorer.execute(TASK, FENCES[i & 3]);
+				case 2 -> explorer.execute(TASK, FENCES[i & 3], FENCES[(i + 1) & 3]);
+				default -> explorer.execute(TASK, FENCES[i & 3], FENCES[(i + 1) & 3], FENCES[(i + 2) & 3]);
+			}
+		}
+	}
+
+	private static void await(ReorderExplorer explorer) throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(THREAD);
+		for (int i = 0; i < THREAD; i++) {
+			explorer.execute(latch::countDown, FENCES[i]);
+		}
+		latch.await();
+	}
+
+	/**
+	 * 分批发布，返回测试时发布任务产生的对象分配
+	 * <p>
+	 * 每批任务执行完成后再发布下一批，只统计发布期间的分配。预热时每批的任务数量是测试时的两倍，
+	 * 回收站预先持有的节点多于测试时同时在途的节点，执行器归还节点的快慢不会导致新的分配。
+	 *
+	 * @param explorer  执行器
+	 * @param publisher 发布任务
+	 * @return 分配的字节数
+	 */
+	private static long allocated(ReorderExplorer explorer, ObjIntConsumer<ReorderExplorer> publisher) throws InterruptedException {
+		for (int i = 0; i < WARMUP; i += BATCH * 2) {
+			publisher.accept(explorer, BATCH * 2);
+			await(explorer);
+		}
+		long threadId = Thread.currentThread().getId();
+		long allocated = 0;
+		for (int i = 0; i < TIMES; i += BATCH) {
+			long before = MX_BEAN.getThreadAllocatedBytes(threadId);
+			publisher.accept(explorer, BATCH);
+			allocated += MX_BEAN.getThreadAllocatedBytes(threadId) - before;
+			await(explorer);
+		}
+		System.out.println("allocated: " + allocated + " bytes, " + (allocated * 1D / TIMES) + " bytes/task");
+		return allocated;
+	}
+
+	@DisplayName("稳态发布零分配测试")
+	@Test
+	public void test() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(THREAD);
+		long allocated = allocated(explorer, ReorderExplorerRecycleTest::publish);
+		Assertions.assertTrue(allocated < TIMES / 100, "allocated " + allocated + " bytes for " + TIMES + " tasks");
+
+		FutureTask<?> onClose = new FutureTask<>(() -> System.out.println("线程池已关闭"), null);
+		explorer.close(onClose);
+		onClose.get();
+	}
+
+	@DisplayName("节点回收后的顺序测试")
+	@Test
+	public void testOrdered() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(THREAD);
+		int[] values = new int[FENCES.length];
+		AtomicBoolean failed = new AtomicBoolean();
+		for (int i = 0; i < TIMES; i++) {
+			final int value = i;
+			final int fence0 = i & 3, fence1 = (i * 3 + 1) & 3;
+			if (fence0 == fence1) {
+				explorer.execute(() -> {
+					if (values[fence0] > value) {
+						failed.set(true);
+					}
+					values[fence0] = value;
+				}, FENCES[fence0]);
+			} else {
+				explorer.execute(() -> {
+					if (values[fence0] > value || values[fence1] > value) {
+						failed.set(true);
+					}
+					values[fence0] = value;
+					values[fence1] = value;
+				}, FENCES[fence0], FENCES[fence1]);
+			}
+		}
+		await(explorer);
+		Assertions.assertFalse(failed.get(), "ordered failed.");
+		FutureTask<?> onClose = new FutureTask<>(() -> System.out.println("线程池已关闭"), null);
+		explorer.close(onClose);
+		onClose.get();
+	}
+
+	private static void publishLong(ReorderExplorer explorer, int times) {
+		for (int i = 0; i < times; i++) {
+			// Long缓存范围以外的执行屏障
+			long fence = 1000 + (i & 1023);
+			switch (i & 3) {
+				case 0, 1 -> explorer.executeLong(TASK, fence);
+				case 2 -> explorer.executeLong(TASK, fence, fence + 1);
+				default -> explorer.executeLong(TASK, LONG_FENCES);
+			}
+		}
+	}
+
+	@DisplayName("long执行屏障稳态发布零分配测试")
+	@Test
+	public void testLong() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(THREAD);
+		long allocated = allocated(explorer, ReorderExplorerRecycleTest::publishLong);
+		Assertions.assertTrue(allocated < TIMES / 100, "allocated " + allocated + " bytes for " + TIMES + " tasks");
+
+		FutureTask<?> onClose = new FutureTask<>(() -> System.out.println("线程池已关闭"), null);
+		explorer.close(onClose);
+		onClose.get();
+	}
+
+	private static void publishArguments(ReorderExplorer explorer, int times) {
+		for (int i = 0; i < times; i++) {
+			switch (i & 3) {
+				case 0 -> explorer.execute(CONSUMER, ARGS[0], FENCES[i & 3]);
+				case 1 -> explorer.execute(BI_CONSUMER, ARGS[0], ARGS[1], FENCES[i & 3]);
+				case 2 -> explorer.execute(CONSUMER, ARGS[0], FENCES[i & 3], FENCES[(i + 1) & 3]);
+				default -> explorer.execute(BI_CONSUMER, ARGS[0], ARGS[1], FENCES[i & 3], FENCES[(i + 1) & 3]);
+			}
+		}
+	}
+
+	@DisplayName("带参数的任务稳态发布零分配测试")
+	@Test
+	public void testArguments() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(THREAD);
+		long allocated = allocated(explorer, ReorderExplorerRecycleTest::publishArguments);
+		Assertions.assertTrue(allocated < TIMES / 100, "allocated " + allocated + " bytes for " + TIMES + " tasks");
+
+		FutureTask<?> onClose = new FutureTask<>(() -> System.out.println("线程池已关闭"), null);
+		explorer.close(onClose);
+		onClose.get();
+	}
+}
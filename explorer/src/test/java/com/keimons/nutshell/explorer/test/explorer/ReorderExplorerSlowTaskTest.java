@@ -0,0 +1,170 @@
+package com.keimons.nutshell.explorer.test.explorer;
+
+import com.keimons.nutshell.explorer.FenceRouter;
+import com.keimons.nutshell.explorer.SlowTaskReport;
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import com.keimons.nutshell.explorer.test.ExplorerTests;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * {@link ReorderExplorer}慢任务监控测试
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ReorderExplorerSlowTaskTest {
+
+	/**
+	 * 整数执行屏障按照取模路由，方便指定执行屏障所在的轨道
+	 */
+	private static final FenceRouter ROUTER = fence -> fence instanceof Integer v ? v % 2 : 0;
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * 等待指定任务的报告
+	 */
+	private static SlowTaskReport poll(BlockingQueue<SlowTaskReport> reports, Runnable task) throws InterruptedException {
+		for (; ; ) {
+			SlowTaskReport report = reports.poll(5, TimeUnit.SECONDS);
+			Assertions.assertNotNull(report);
+			if (report.getTask() == task) {
+				return report;
+			}
+		}
+	}
+
+	@DisplayName("慢任务报告")
+	@Test
+	public void testReport() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(2, ROUTER);
+		BlockingQueue<SlowTaskReport> reports = new LinkedBlockingQueue<>();
+		explorer.setSlowTaskListener(50, TimeUnit.MILLISECONDS, reports::add);
+		CountDownLatch blocking = new CountDownLatch(1);
+		CountDownLatch slow = new CountDownLatch(1);
+		// 轨道1被阻塞，轨道0拦截慢任务，执行屏障2上的任务缓存在轨道0
+		explorer.execute(() -> ExplorerTests.await(blocking), 1);
+		Runnable task = () -> ExplorerTests.await(slow);
+		explorer.execute(task, 1, 2);
+		explorer.execute(() -> {
+		}, 2);
+		explorer.execute(() -> {
+		}, 2);
+		Thread.sleep(20);
+		blocking.countDown();
+		// 轨道1执行慢任务
+		SlowTaskReport report = poll(reports, task);
+		Assertions.assertEquals(1, report.getTrack());
+		Assertions.assertEquals(Set.of(1, 2), Set.of(report.getFences()));
+		Assertions.assertEquals(2, report.getBlockedTasks());
+		Assertions.assertTrue(report.getElapsed() >= TimeUnit.MILLISECONDS.toNanos(50));
+		Assertions.assertTrue(Arrays.stream(report.getStackTrace()).anyMatch(
+				element -> element.getClassName().equals(CountDownLatch.class.getName())
+		));
+		Assertions.assertTrue(report.toString().contains("CountDownLatch.await"));
+		slow.countDown();
+		ExplorerTests.close(explorer);
+	}
+
+	@DisplayName("空闲后开始的慢任务")
+	@Test
+	public void testIdle() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(1);
+		BlockingQueue<SlowTaskReport> reports = new LinkedBlockingQueue<>();
+		explorer.setSlowTaskListener(200, TimeUnit.MILLISECONDS, reports::add);
+		// 守望线程在空闲时休眠
+		Thread.sleep(30);
+		CountDownLatch slow = new CountDownLatch(1);
+		Runnable task = () -> ExplorerTests.await(slow);
+		explorer.execute(task, "player");
+		SlowTaskReport report = poll(reports, task);
+		// 守望线程最多休眠阈值的1/4，留出调度的误差
+		Assertions.assertTrue(report.getElapsed() < TimeUnit.MILLISECONDS.toNanos(350), "elapsed: " + report.getElapsed());
+		slow.countDown();
+		ExplorerTests.close(explorer);
+	}
+
+	@DisplayName("每次执行只报告一次")
+	@Test
+	public void testOnce() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(1);
+		BlockingQueue<SlowTaskReport> reports = new LinkedBlockingQueue<>();
+		explorer.setSlowTaskListener(20, TimeUnit.MILLISECONDS, reports::add);
+		for (int i = 0; i < 1000; i++) {
+			explorer.execute(() -> {
+			}, i);
+		}
+		Runnable task = () -> sleep(200);
+		explorer.execute(task, "player");
+		explorer.execute(task, "player");
+		ExplorerTests.close(explorer);
+		Assertions.assertEquals(2, reports.size());
+		for (SlowTaskReport report : reports) {
+			Assertions.assertSame(task, report.getTask());
+			Assertions.assertEquals(0, report.getTrack());
+		}
+	}
+
+	@DisplayName("排队的任务")
+	@Test
+	public void testPending() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(1);
+		BlockingQueue<SlowTaskReport> reports = new LinkedBlockingQueue<>();
+		explorer.setSlowTaskListener(50, TimeUnit.MILLISECONDS, reports::add);
+		CountDownLatch slow = new CountDownLatch(1);
+		Runnable task = () -> ExplorerTests.await(slow);
+		explorer.execute(task, "player");
+		for (int i = 0; i < 10; i++) {
+			explorer.execute(() -> {
+			}, "player");
+		}
+		SlowTaskReport report = poll(reports, task);
+		Assertions.assertEquals(10, report.getPendingTasks());
+		slow.countDown();
+		ExplorerTests.close(explorer);
+	}
+
+	@DisplayName("监听器异常")
+	@Test
+	public void testListenerException() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(1);
+		BlockingQueue<SlowTaskReport> reports = new LinkedBlockingQueue<>();
+		explorer.setSlowTaskListener(20, TimeUnit.MILLISECONDS, report -> {
+			reports.add(report);
+			throw new IllegalStateException("listener");
+		});
+		Runnable task = () -> sleep(100);
+		explorer.execute(task, "player");
+		explorer.execute(task, "player");
+		ExplorerTests.close(explorer);
+		Assertions.assertEquals(2, reports.size());
+	}
+
+	@DisplayName("阈值参数")
+	@Test
+	public void testThreshold() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(1);
+		Assertions.assertThrows(IllegalArgumentException.class, () -> explorer.setSlowTaskListener(0, TimeUnit.SECONDS, report -> {
+		}));
+		Assertions.assertThrows(NullPointerException.class, () -> explorer.setSlowTaskListener(1, TimeUnit.SECONDS, null));
+		// 阈值之内的任务不报告
+		BlockingQueue<SlowTaskReport> reports = new LinkedBlockingQueue<>();
+		explorer.setSlowTaskListener(1, TimeUnit.SECONDS, reports::add);
+		explorer.execute(() -> sleep(50), "player");
+		ExplorerTests.close(explorer);
+		Assertions.assertTrue(reports.isEmpty());
+	}
+}
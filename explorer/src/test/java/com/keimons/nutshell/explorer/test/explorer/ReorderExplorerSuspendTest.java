@@ -0,0 +1,141 @@
+package com.keimons.nutshell.explorer.test.explorer;
+
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import com.keimons.nutshell.explorer.test.ExplorerTests;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link ReorderExplorer}可挂起任务测试
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ReorderExplorerSuspendTest {
+
+	@DisplayName("挂起期间执行器继续执行其它执行屏障的任务")
+	@Test
+	public void testSuspend() throws InterruptedException, ExecutionException, TimeoutException {
+		// 只有一个执行器，挂起期间如果占用线程，其它任务无法执行
+		ReorderExplorer explorer = new ReorderExplorer(1);
+		CompletableFuture<String> remote = new CompletableFuture<>();
+		StringBuffer order = new StringBuffer();
+		CountDownLatch other = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(1);
+		explorer.executeSuspend(() -> {
+			order.append("suspend,");
+			return remote;
+		}, (value, error) -> order.append(value).append(","), "player");
+		explorer.execute(() -> order.append("after,"), "player");
+		explorer.execute(done::countDown, "player");
+		explorer.execute(other::countDown, "other");
+		Assertions.assertTrue(other.await(5, TimeUnit.SECONDS));
+		// 相同执行屏障的任务被拦截
+		Assertions.assertFalse(done.await(100, TimeUnit.MILLISECONDS));
+		Assertions.assertEquals("suspend,", order.toString());
+		remote.complete("resume");
+		Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+		Assertions.assertEquals("suspend,resume,after,", order.toString());
+		ExplorerTests.close(explorer);
+	}
+
+	@DisplayName("多执行屏障的任务挂起")
+	@Test
+	public void testMultiFence() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(4);
+		CompletableFuture<Integer> remote = new CompletableFuture<>();
+		AtomicInteger resumed = new AtomicInteger();
+		AtomicInteger failed = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(4);
+		explorer.executeSuspend(() -> remote, (value, error) -> resumed.set(value), 0, 1, 2, 3);
+		for (int fence = 0; fence < 4; fence++) {
+			explorer.execute(() -> {
+				if (resumed.get() != 1) {
+					failed.incrementAndGet();
+				}
+				done.countDown();
+			}, fence);
+		}
+		Assertions.assertFalse(done.await(100, TimeUnit.MILLISECONDS));
+		remote.complete(1);
+		done.await();
+		Assertions.assertEquals(0, failed.get());
+		ExplorerTests.close(explorer);
+	}
+
+	@DisplayName("已完成的阶段和异常")
+	@Test
+	public void testCompleted() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(2);
+		AtomicReference<Object> value = new AtomicReference<>();
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		CountDownLatch done = new CountDownLatch(2);
+		explorer.executeSuspend(() -> CompletableFuture.completedFuture("value"), (v, e) -> {
+			value.set(v);
+			done.countDown();
+		}, 1);
+		explorer.executeSuspend(() -> {
+			throw new IllegalStateException();
+		}, (v, e) -> {
+			error.set(e);
+			done.countDown();
+		}, 2);
+		done.await();
+		Assertions.assertEquals("value", value.get());
+		Assertions.assertTrue(error.get() instanceof IllegalStateException);
+		ExplorerTests.close(explorer);
+	}
+
+	@DisplayName("随机挂起的任务顺序")
+	@Test
+	public void testOrder() throws InterruptedException, ExecutionException {
+		final int threads = 4;
+		final int fences = 16;
+		final int times = 10_000;
+		ReorderExplorer explorer = new ReorderExplorer(threads);
+		ScheduledExecutorService remote = Executors.newScheduledThreadPool(2);
+		// 每个执行屏障上的任务按照提交顺序执行，挂起的任务在恢复后才算执行完成
+		int[] submitted = new int[fences];
+		int[] executed = new int[fences];
+		AtomicInteger failed = new AtomicInteger();
+		Random random = new Random(0);
+		for (int i = 0; i < times; i++) {
+			int fence0 = random.nextInt(fences);
+			int fence1 = random.nextInt(fences);
+			int[] fs = fence0 == fence1 ? new int[]{fence0} : new int[]{fence0, fence1};
+			int[] expected = new int[fs.length];
+			for (int j = 0; j < fs.length; j++) {
+				expected[j] = submitted[fs[j]]++;
+			}
+			Runnable check = () -> {
+				for (int j = 0; j < fs.length; j++) {
+					if (executed[fs[j]]++ != expected[j]) {
+						failed.incrementAndGet();
+					}
+				}
+			};
+			Object[] keys = fs.length == 1 ? new Object[]{fs[0]} : new Object[]{fs[0], fs[1]};
+			if (random.nextInt(20) == 0) {
+				long delay = random.nextInt(200);
+				explorer.executeSuspend(() -> {
+					CompletableFuture<Void> future = new CompletableFuture<>();
+					remote.schedule(() -> future.complete(null), delay, TimeUnit.MICROSECONDS);
+					return future;
+				}, (v, e) -> check.run(), keys);
+			} else {
+				explorer.execute(check, keys);
+			}
+		}
+		ExplorerTests.close(explorer);
+		remote.shutdown();
+		Assertions.assertArrayEquals(submitted, executed);
+		Assertions.assertEquals(0, failed.get());
+	}
+}
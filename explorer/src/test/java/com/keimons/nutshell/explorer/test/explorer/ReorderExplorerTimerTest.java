@@ -0,0 +1,132 @@
+package com.keimons.nutshell.explorer.test.explorer;
+
+import com.keimons.nutshell.explorer.Timeout;
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import com.keimons.nutshell.explorer.test.ExplorerTests;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ReorderExplorer}定时任务测试
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ReorderExplorerTimerTest {
+
+	@DisplayName("延迟执行")
+	@Test
+	public void testSchedule() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(2);
+		CountDownLatch done = new CountDownLatch(2);
+		long[] times = new long[2];
+		long startTime = System.nanoTime();
+		explorer.schedule(() -> {
+			times[0] = System.nanoTime() - startTime;
+			done.countDown();
+		}, 50, TimeUnit.MILLISECONDS, "player");
+		explorer.schedule(() -> {
+			times[1] = System.nanoTime() - startTime;
+			done.countDown();
+		}, 20, TimeUnit.MILLISECONDS, "player", "union");
+		Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+		Assertions.assertTrue(times[0] >= TimeUnit.MILLISECONDS.toNanos(50));
+		Assertions.assertTrue(times[1] >= TimeUnit.MILLISECONDS.toNanos(20));
+		Assertions.assertTrue(times[1] < times[0]);
+		ExplorerTests.close(explorer);
+	}
+
+	@DisplayName("定时任务与执行屏障上的普通任务排序")
+	@Test
+	public void testOrder() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(2);
+		CountDownLatch blocking = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(1);
+		StringBuffer order = new StringBuffer();
+		// 定时任务到期时，执行屏障被占用，等待之前的任务执行完成
+		explorer.execute(() -> {
+			try {
+				blocking.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			order.append("before,");
+		}, "player");
+		explorer.schedule(() -> {
+			order.append("timer,");
+			done.countDown();
+		}, 10, TimeUnit.MILLISECONDS, "player");
+		Thread.sleep(50);
+		blocking.countDown();
+		Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+		Assertions.assertEquals("before,timer,", order.toString());
+		ExplorerTests.close(explorer);
+	}
+
+	@DisplayName("取消定时任务")
+	@Test
+	public void testCancel() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(2);
+		AtomicInteger counter = new AtomicInteger();
+		Timeout timeout = explorer.schedule(counter::incrementAndGet, 20, TimeUnit.MILLISECONDS, "player");
+		Assertions.assertTrue(timeout.cancel());
+		Assertions.assertFalse(timeout.cancel());
+		Assertions.assertTrue(timeout.isCancelled());
+		CountDownLatch done = new CountDownLatch(1);
+		Timeout expired = explorer.schedule(done::countDown, 40, TimeUnit.MILLISECONDS, "player");
+		Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+		Assertions.assertTrue(expired.isExpired());
+		Assertions.assertFalse(expired.cancel());
+		Assertions.assertEquals(0, counter.get());
+		ExplorerTests.close(explorer);
+	}
+
+	@DisplayName("周期执行")
+	@Test
+	public void testFixedRate() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(2);
+		AtomicInteger counter = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(5);
+		Timeout timeout = explorer.scheduleAtFixedRate(() -> {
+			counter.incrementAndGet();
+			done.countDown();
+		}, 0, 10, TimeUnit.MILLISECONDS, "union");
+		Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+		Assertions.assertTrue(timeout.cancel());
+		Thread.sleep(50);
+		int count = counter.get();
+		Thread.sleep(50);
+		Assertions.assertEquals(count, counter.get());
+		Assertions.assertFalse(timeout.isExpired());
+		ExplorerTests.close(explorer);
+	}
+
+	@DisplayName("大量定时任务")
+	@Test
+	public void testMany() throws InterruptedException, ExecutionException {
+		final int times = 200_000;
+		ReorderExplorer explorer = new ReorderExplorer(4);
+		AtomicInteger counter = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(times / 2);
+		Timeout[] timeouts = new Timeout[times];
+		for (int i = 0; i < times; i++) {
+			timeouts[i] = explorer.schedule(() -> {
+				counter.incrementAndGet();
+				done.countDown();
+			}, 1000 + i % 500, TimeUnit.MILLISECONDS, i % 64);
+		}
+		// 取消一半
+		for (int i = 0; i < times; i += 2) {
+			Assertions.assertTrue(timeouts[i].cancel());
+		}
+		Assertions.assertTrue(done.await(30, TimeUnit.SECONDS));
+		Thread.sleep(100);
+		Assertions.assertEquals(times / 2, counter.get());
+		ExplorerTests.close(explorer);
+	}
+}
@@ -0,0 +1,166 @@
+package com.keimons.nutshell.explorer.test.internal;
+
+import com.keimons.nutshell.explorer.internal.ClaimEventBus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link ClaimEventBus}测试
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class ClaimEventBusTest {
+
+	private static final int CAPACITY = 16;
+
+	@DisplayName("溢出段写入和释放")
+	@Test
+	public void testOverflow() {
+		ClaimEventBus<Integer> bus = new ClaimEventBus<>(CAPACITY, true);
+		Integer[] events = new Integer[CAPACITY * 10];
+		for (int i = 0; i < events.length; i++) {
+			events[i] = i;
+		}
+		// 环形缓冲区写满后，继续写入溢出段，发布从不失败
+		bus.publishEvents(events, 0, CAPACITY / 2);
+		for (int i = CAPACITY / 2; i < CAPACITY * 5; i++) {
+			Assertions.assertTrue(bus.tryPublishEvent(events[i]));
+		}
+		Assertions.assertTrue(bus.tryPublishEvents(events, CAPACITY * 5, CAPACITY));
+		for (int i = CAPACITY * 6; i < events.length; i++) {
+			Assertions.assertTrue(bus.publishEvent(events[i]));
+		}
+		Assertions.assertEquals(events.length, bus.writerIndex());
+		Assertions.assertEquals(9, bus.segments());
+		for (int i = 0; i < events.length; i++) {
+			Assertions.assertSame(events[i], bus.getEvent(i));
+		}
+		// 按照顺序移除，溢出段随之释放
+		for (int i = 0; i < events.length; i++) {
+			bus.removeEvent(i);
+			Assertions.assertNull(bus.getEvent(i));
+		}
+		Assertions.assertEquals(0, bus.segments());
+		// 负载下降后，事件重新写入环形缓冲区
+		for (int i = 0; i < CAPACITY * 4; i++) {
+			long sequence = events.length + i;
+			Assertions.assertTrue(bus.publishEvent(i));
+			Assertions.assertEquals(Integer.valueOf(i), bus.getEvent(sequence));
+			bus.removeEvent(sequence);
+		}
+		Assertions.assertEquals(0, bus.segments());
+	}
+
+	@DisplayName("非2的幂容量测试")
+	@Test
+	public void testCapacity() {
+		// 容量6向上取整到8
+		ClaimEventBus<Integer> bus = new ClaimEventBus<>(6);
+		long sequence = 0;
+		for (int round = 0; round < 4; round++) {
+			for (int i = 0; i < 8; i++) {
+				Assertions.assertTrue(bus.tryPublishEvent(i), "round: " + round);
+			}
+			Assertions.assertFalse(bus.tryPublishEvent(8));
+			for (int i = 0; i < 8; i++, sequence++) {
+				Assertions.assertEquals(Integer.valueOf(i), bus.getEvent(sequence));
+				bus.removeEvent(sequence);
+			}
+		}
+		// 启用溢出时，溢出段按照取整后的容量划分
+		bus = new ClaimEventBus<>(6, true);
+		for (int i = 0; i < 40; i++) {
+			Assertions.assertTrue(bus.tryPublishEvent(i));
+		}
+		Assertions.assertEquals(4, bus.segments());
+		for (int i = 0; i < 40; i++) {
+			Assertions.assertEquals(Integer.valueOf(i), bus.getEvent(i));
+			bus.removeEvent(i);
+		}
+		Assertions.assertEquals(0, bus.segments());
+	}
+
+	@DisplayName("乱序移除时溢出段的释放")
+	@Test
+	public void testRelease() {
+		ClaimEventBus<Integer> bus = new ClaimEventBus<>(CAPACITY, true);
+		for (int i = 0; i < CAPACITY * 3; i++) {
+			bus.publishEvent(i);
+		}
+		Assertions.assertEquals(2, bus.segments());
+		// 先移除最后一轮的事件，这一轮的溢出段单独释放，最早的溢出段仍有事件
+		for (int i = CAPACITY * 3 - 1; i >= CAPACITY * 2; i--) {
+			bus.removeEvent(i);
+		}
+		Assertions.assertEquals(1, bus.segments());
+		for (int i = 0; i < CAPACITY * 2; i++) {
+			bus.removeEvent(i);
+		}
+		Assertions.assertEquals(0, bus.segments());
+		// 位置空闲之后，新的事件写入环形缓冲区
+		Assertions.assertTrue(bus.publishEvent(-1));
+		Assertions.assertEquals(0, bus.segments());
+	}
+
+	@DisplayName("多生产者溢出测试")
+	@Test
+	public void testConcurrent() throws InterruptedException {
+		final int producers = 4;
+		final int count = 100_000;
+		ClaimEventBus<Integer> bus = new ClaimEventBus<>(CAPACITY, true);
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] threads = new Thread[producers];
+		for (int p = 0; p < producers; p++) {
+			final int producer = p;
+			threads[p] = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+				for (int i = 0; i < count; i++) {
+					bus.publishEvent(producer * count + i);
+				}
+			});
+			threads[p].start();
+		}
+		AtomicBoolean failed = new AtomicBoolean();
+		// 消费者按照事件序列读取，每个生产者的事件顺序不变
+		Thread consumer = new Thread(() -> {
+			int[] last = new int[producers];
+			Arrays.fill(last, -1);
+			for (long sequence = 0; sequence < (long) producers * count; ) {
+				if (sequence >= bus.writerIndex()) {
+					Thread.onSpinWait();
+					continue;
+				}
+				Integer event = bus.getEvent(sequence);
+				if (event == null) {
+					failed.set(true);
+					return;
+				}
+				int producer = event / count;
+				if (event % count != last[producer] + 1) {
+					failed.set(true);
+				}
+				last[producer] = event % count;
+				bus.removeEvent(sequence++);
+			}
+		});
+		consumer.start();
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		consumer.join();
+		Assertions.assertFalse(failed.get());
+		Assertions.assertEquals(0, bus.segments());
+	}
+}
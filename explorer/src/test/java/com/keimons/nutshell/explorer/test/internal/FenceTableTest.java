@@ -0,0 +1,266 @@
+package com.keimons.nutshell.explorer.test.internal;
+
+import com.keimons.nutshell.explorer.internal.FenceTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * {@link FenceTable}执行屏障计数表测试
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class FenceTableTest {
+
+	@DisplayName("执行屏障计数测试")
+	@Test
+	public void test() {
+		FenceTable table = new FenceTable();
+		table.add("a");
+		table.add("a");
+		table.add(new String("b"));
+		Assertions.assertTrue(table.contains(new String("a")));
+		Assertions.assertTrue(table.contains("b"));
+		Assertions.assertEquals(2, table.size());
+		table.remove("a");
+		Assertions.assertTrue(table.contains("a"));
+		table.remove("a");
+		Assertions.assertFalse(table.contains("a"));
+		Assertions.assertTrue(table.contains("b"));
+		table.clear();
+		Assertions.assertTrue(table.isEmpty());
+		Assertions.assertFalse(table.contains("b"));
+	}
+
+	@DisplayName("读写屏障计数测试")
+	@Test
+	public void testReadWrite() {
+		FenceTable table = new FenceTable();
+		table.add("a", true);
+		table.add("a", true);
+		Assertions.assertTrue(table.contains("a"));
+		Assertions.assertFalse(table.containsWrite("a"));
+		table.add("a", false);
+		Assertions.assertTrue(table.containsWrite("a"));
+		table.remove("a", false);
+		Assertions.assertFalse(table.containsWrite("a"));
+		table.remove("a", true);
+		table.remove("a", true);
+		Assertions.assertFalse(table.contains("a"));
+		// 读屏障移除后，同一位置上的写屏障计数重新开始
+		table.add("a", true);
+		Assertions.assertFalse(table.containsWrite("a"));
+	}
+
+	@DisplayName("随机读写增删测试")
+	@Test
+	public void testRandomReadWrite() {
+		FenceTable table = new FenceTable(4);
+		Map<Integer, int[]> expected = new HashMap<>();
+		Random random = new Random(0);
+		for (int i = 0; i < 100_0000; i++) {
+			// 大量冲突的屏障，counts[0]读屏障数量，counts[1]写屏障数量
+			Integer fence = random.nextInt(512) << 8;
+			boolean read = random.nextBoolean();
+			int[] counts = expected.get(fence);
+			if (random.nextBoolean()) {
+				table.add(fence, read);
+				expected.computeIfAbsent(fence, k -> new int[2])[read ? 0 : 1]++;
+			} else if (counts != null && counts[read ? 0 : 1] > 0) {
+				table.remove(fence, read);
+				if (--counts[read ? 0 : 1] == 0 && counts[read ? 1 : 0] == 0) {
+					expected.remove(fence);
+				}
+			}
+			if ((i & 1023) == 0) {
+				for (int j = 0; j < 512; j++) {
+					int[] v = expected.get(j << 8);
+					Assertions.assertEquals(v != null, table.contains(j << 8));
+					Assertions.assertEquals(v != null && v[1] > 0, table.containsWrite(j << 8));
+				}
+				Assertions.assertEquals(expected.size(), table.size());
+			}
+		}
+	}
+
+	@DisplayName("随机增删测试")
+	@Test
+	public void testRandom() {
+		FenceTable table = new FenceTable(4);
+		Map<Integer, Integer> expected = new HashMap<>();
+		Random random = new Random(0);
+		for (int i = 0; i < 100_0000; i++) {
+			// 大量冲突的屏障
+			Integer fence = random.nextInt(512) << 8;
+			if (random.nextBoolean()) {
+				table.add(fence);
+				expected.merge(fence, 1, Integer::sum);
+			} else if (expected.containsKey(fence)) {
+				table.remove(fence);
+				expected.computeIfPresent(fence, (k, v) -> v == 1 ? null : v - 1);
+			}
+			if ((i & 1023) == 0) {
+				for (int j = 0; j < 512; j++) {
+					Assertions.assertEquals(expected.containsKey(j << 8), table.contains(j << 8));
+				}
+				Assertions.assertEquals(expected.size(), table.size());
+			}
+		}
+	}
+
+	@DisplayName("long执行屏障测试")
+	@Test
+	public void testLong() {
+		FenceTable table = new FenceTable();
+		table.addLong(1L, false);
+		table.addLong(1L, true);
+		table.addLong(-1L, true);
+		Assertions.assertEquals(2, table.size());
+		Assertions.assertTrue(table.containsLong(1L));
+		Assertions.assertTrue(table.containsWriteLong(1L));
+		Assertions.assertTrue(table.containsLong(-1L));
+		Assertions.assertFalse(table.containsWriteLong(-1L));
+		Assertions.assertFalse(table.containsLong(2L));
+		// Long执行屏障与相同值的long执行屏障是同一个执行屏障
+		Assertions.assertTrue(table.contains(Long.valueOf(1)));
+		Assertions.assertFalse(table.contains(Integer.valueOf(1)));
+		table.add(Long.valueOf(1000), false);
+		Assertions.assertTrue(table.containsWriteLong(1000L));
+		table.removeLong(1000L, false);
+		Assertions.assertFalse(table.contains(Long.valueOf(1000)));
+		table.removeLong(1L, false);
+		Assertions.assertFalse(table.containsWriteLong(1L));
+		table.remove(Long.valueOf(1), true);
+		Assertions.assertFalse(table.containsLong(1L));
+		table.clear();
+		Assertions.assertTrue(table.isEmpty());
+		Assertions.assertFalse(table.containsLong(-1L));
+	}
+
+	@DisplayName("long执行屏障随机增删测试")
+	@Test
+	public void testLongRandom() {
+		FenceTable table = new FenceTable(4);
+		Map<Long, Integer> expected = new HashMap<>();
+		Random random = new Random(0);
+		for (int i = 0; i < 100_0000; i++) {
+			// 大量冲突的屏障，包括0和负数
+			long fence = (long) (random.nextInt(512) - 256) << 40;
+			if (random.nextBoolean()) {
+				table.addLong(fence, false);
+				expected.merge(fence, 1, Integer::sum);
+			} else if (expected.containsKey(fence)) {
+				table.removeLong(fence, false);
+				expected.computeIfPresent(fence, (k, v) -> v == 1 ? null : v - 1);
+			}
+			if ((i & 1023) == 0) {
+				for (int j = 0; j < 512; j++) {
+					long v = (long) (j - 256) << 40;
+					Assertions.assertEquals(expected.containsKey(v), table.containsLong(v));
+				}
+				Assertions.assertEquals(expected.size(), table.size());
+			}
+		}
+	}
+
+	@DisplayName("扩容后清空测试")
+	@Test
+	public void testClear() {
+		FenceTable table = new FenceTable(4);
+		// 突发流量使表扩容
+		for (int i = 0; i < 4096; i++) {
+			table.add(i);
+			table.addLong(i, false);
+		}
+		table.clear();
+		Assertions.assertTrue(table.isEmpty());
+		Random random = new Random(0);
+		for (int round = 0; round < 10000; round++) {
+			// 部分轮次添加和移除的次数超过记录上限，清空整个表
+			int times = random.nextInt(round % 100 == 0 ? 8192 : 16);
+			for (int i = 0; i < times; i++) {
+				int fence = random.nextInt(512) << 8;
+				if (random.nextBoolean()) {
+					table.add(fence);
+					table.addLong(fence, false);
+				} else if (table.contains(fence)) {
+					table.remove(fence);
+					table.removeLong(fence, false);
+				}
+			}
+			table.clear();
+			Assertions.assertTrue(table.isEmpty());
+			Assertions.assertFalse(table.intersects(-1L));
+			for (int j = 0; j < 512; j++) {
+				Assertions.assertFalse(table.contains(j << 8));
+				Assertions.assertFalse(table.containsLong(j << 8));
+			}
+		}
+	}
+
+	@DisplayName("哈希冲突测试")
+	@Test
+	public void testHashCollision() {
+		FenceTable table = new FenceTable();
+		// "Aa"与"BB"的哈希值相同，但不相等
+		Assertions.assertEquals(FenceTable.hash("Aa"), FenceTable.hash("BB"));
+		table.add("Aa", FenceTable.hash("Aa"), false);
+		Assertions.assertTrue(table.contains("Aa"));
+		Assertions.assertFalse(table.contains("BB"));
+		Assertions.assertTrue(table.intersects(FenceTable.signature(FenceTable.hash("BB"))));
+		table.add("BB", true);
+		Assertions.assertEquals(2, table.size());
+		Assertions.assertFalse(table.containsWrite("BB", FenceTable.hash("BB")));
+		table.remove("Aa", false);
+		Assertions.assertTrue(table.contains("BB"));
+		Assertions.assertFalse(table.contains("Aa"));
+		// Long执行屏障与long执行屏障的哈希值相同
+		Assertions.assertEquals(FenceTable.hash(1000L), FenceTable.hash(Long.valueOf(1000)));
+	}
+
+	@DisplayName("签名测试")
+	@Test
+	public void testSignature() {
+		FenceTable table = new FenceTable(4);
+		Assertions.assertFalse(table.intersects(-1L));
+		Map<Object, Integer> expected = new HashMap<>();
+		Random random = new Random(0);
+		for (int i = 0; i < 100_0000; i++) {
+			// 对象执行屏障和long执行屏障
+			Object fence = random.nextBoolean() ? (Object) random.nextInt(512) : (Object) (random.nextLong(512) << 40);
+			if (random.nextBoolean()) {
+				table.add(fence);
+				expected.merge(fence, 1, Integer::sum);
+			} else if (expected.containsKey(fence)) {
+				table.remove(fence);
+				expected.computeIfPresent(fence, (k, v) -> v == 1 ? null : v - 1);
+			}
+			if ((i & 1023) == 0) {
+				long signature = 0;
+				for (Object key : expected.keySet()) {
+					// 表中的执行屏障一定与签名相交
+					Assertions.assertTrue(table.intersects(FenceTable.signature(FenceTable.hash(key))));
+					signature |= FenceTable.signature(FenceTable.hash(key));
+				}
+				// 不相交的签名一定不在表中
+				Assertions.assertFalse(table.intersects(~signature));
+			}
+		}
+		for (Map.Entry<Object, Integer> entry : expected.entrySet()) {
+			for (int i = 0; i < entry.getValue(); i++) {
+				table.remove(entry.getKey());
+			}
+		}
+		Assertions.assertTrue(table.isEmpty());
+		Assertions.assertFalse(table.intersects(-1L));
+		table.add("a");
+		table.clear();
+		Assertions.assertFalse(table.intersects(-1L));
+	}
+}
@@ -0,0 +1,108 @@
+package com.keimons.nutshell.explorer.test.internal;
+
+import com.keimons.nutshell.explorer.Histogram;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * {@link Histogram}直方图测试
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class HistogramTest {
+
+	private static void assertNear(long expected, long actual) {
+		// 相对误差不超过1/64
+		Assertions.assertTrue(Math.abs(actual - expected) <= Math.max(1, expected / 64), expected + " " + actual);
+	}
+
+	@DisplayName("百分位")
+	@Test
+	public void test() {
+		Histogram histogram = new Histogram();
+		for (int i = 1; i <= 10000; i++) {
+			histogram.record(i);
+		}
+		Assertions.assertEquals(10000, histogram.getCount());
+		Assertions.assertEquals(10000, histogram.getMax());
+		Assertions.assertEquals(5000.5, histogram.getMean(), 0.001);
+		assertNear(5000, histogram.getValueAtPercentile(50));
+		assertNear(9900, histogram.getValueAtPercentile(99));
+		Assertions.assertEquals(10000, histogram.getValueAtPercentile(100));
+		Assertions.assertEquals(1, histogram.getValueAtPercentile(0));
+	}
+
+	@DisplayName("随机值的百分位")
+	@Test
+	public void testRandom() {
+		Random random = new Random(0);
+		Histogram histogram = new Histogram();
+		long[] values = new long[100_000];
+		for (int i = 0; i < values.length; i++) {
+			// 跨越多个数量级
+			values[i] = (long) Math.exp(random.nextDouble() * 30);
+			histogram.record(values[i]);
+		}
+		Arrays.sort(values);
+		for (double percentile : new double[]{1, 10, 50, 90, 99, 99.9}) {
+			long expected = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+			assertNear(expected, histogram.getValueAtPercentile(percentile));
+		}
+	}
+
+	@DisplayName("边界值")
+	@Test
+	public void testBounds() {
+		Histogram histogram = new Histogram();
+		Assertions.assertEquals(0, histogram.getValueAtPercentile(50));
+		histogram.record(-5);
+		histogram.record(0);
+		histogram.record(Long.MAX_VALUE);
+		Assertions.assertEquals(3, histogram.getCount());
+		Assertions.assertEquals(0, histogram.getValueAtPercentile(50));
+		Assertions.assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+	}
+
+	@DisplayName("快照与合并")
+	@Test
+	public void testCopy() {
+		Histogram histogram = new Histogram();
+		histogram.record(100);
+		Histogram copy = histogram.copy();
+		histogram.record(200);
+		Assertions.assertEquals(1, copy.getCount());
+		Assertions.assertEquals(100, copy.getMax());
+		copy.add(histogram);
+		Assertions.assertEquals(3, copy.getCount());
+		Assertions.assertEquals(200, copy.getMax());
+	}
+
+	@DisplayName("记录时读取快照")
+	@Test
+	public void testConcurrentCopy() throws InterruptedException {
+		Histogram histogram = new Histogram();
+		Thread recorder = new Thread(() -> {
+			// 记录的值都大于0，并且递增
+			for (int i = 1; i <= 100_0000; i++) {
+				histogram.record(i);
+			}
+		});
+		recorder.start();
+		while (recorder.isAlive()) {
+			Histogram copy = histogram.copy();
+			long count = copy.getCount();
+			// 快照的记录数量以内的值都已经计入最大值和总和
+			Assertions.assertTrue(copy.getMax() >= count, count + " " + copy.getMax());
+			Assertions.assertTrue(copy.getMean() * count >= count * (count + 1) / 2.0 - 0.5, count + " " + copy.getMean());
+			Assertions.assertTrue(count == 0 || copy.getValueAtPercentile(100) > 0);
+		}
+		recorder.join();
+		Assertions.assertEquals(100_0000, histogram.copy().getCount());
+	}
+}
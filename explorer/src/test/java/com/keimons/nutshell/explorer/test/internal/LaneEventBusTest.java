@@ -0,0 +1,105 @@
+package com.keimons.nutshell.explorer.test.internal;
+
+import com.keimons.nutshell.explorer.internal.LaneEventBus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link LaneEventBus}带有通道的事件总线测试
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class LaneEventBusTest {
+
+	private static final int LANES = 4;
+
+	/**
+	 * 事件落在{@code event % LANES}和{@code (event + 1) % LANES}两个通道上
+	 */
+	private static int select(Integer event, int[] lanes) {
+		lanes[0] = event % LANES;
+		lanes[1] = (event + 1) % LANES;
+		return 2;
+	}
+
+	@DisplayName("通道顺序测试")
+	@Test
+	public void test() {
+		LaneEventBus<Integer> bus = new LaneEventBus<>(1024, LANES, LaneEventBusTest::select);
+		Integer[] events = new Integer[100];
+		for (int i = 0; i < events.length; i++) {
+			events[i] = i;
+		}
+		bus.publishEvents(events, 0, 50);
+		for (int i = 50; i < events.length; i++) {
+			bus.publishEvent(events[i]);
+		}
+		for (int lane = 0; lane < LANES; lane++) {
+			LaneEventBus.Lane l = bus.lane(lane);
+			Assertions.assertEquals(events.length / LANES * 2, l.writerIndex());
+			long last = -1;
+			for (long index = 0; index < l.writerIndex(); index++) {
+				long sequence = l.sequence(index);
+				// 通道中的事件序列按照全局顺序排列
+				Assertions.assertTrue(sequence > last);
+				int event = bus.getEvent(sequence);
+				Assertions.assertTrue(event % LANES == lane || (event + 1) % LANES == lane);
+				last = sequence;
+			}
+		}
+	}
+
+	@DisplayName("通道扩容测试")
+	@Test
+	public void testGrow() {
+		LaneEventBus<Integer> bus = new LaneEventBus<>(1024, LANES, (event, lanes) -> {
+			lanes[0] = 0;
+			return 1;
+		});
+		// 所有事件落在同一个通道上，通道扩容至事件总线的容量
+		for (int i = 0; i < 1024; i++) {
+			Assertions.assertTrue(bus.publishEvent(i));
+		}
+		LaneEventBus.Lane lane = bus.lane(0);
+		for (long index = 0; index < 1024; index++) {
+			Assertions.assertEquals(index, lane.sequence(index));
+			bus.removeEvent(index);
+			lane.readerIndex(index + 1);
+		}
+		// 读取后，通道循环使用
+		for (int i = 1024; i < 4096; i++) {
+			Assertions.assertTrue(bus.publishEvent(i));
+			long index = lane.writerIndex() - 1;
+			Assertions.assertEquals(i, lane.sequence(index));
+			bus.removeEvent(i);
+			lane.readerIndex(index + 1);
+		}
+	}
+
+	@DisplayName("非2的幂容量测试")
+	@Test
+	public void testCapacity() {
+		// 24个线程的默认容量，向上取整到65536
+		int capacity = 24 * 2048;
+		LaneEventBus<Integer> bus = new LaneEventBus<>(capacity, LANES, LaneEventBusTest::select);
+		// 写满后读取，多轮循环使用同一个位置
+		for (int round = 0; round < 4; round++) {
+			int start = round * capacity;
+			for (int i = start; i < start + capacity; i++) {
+				Assertions.assertTrue(bus.publishEvent(i), "sequence: " + i);
+			}
+			for (int i = start; i < start + capacity; i++) {
+				int event = bus.getEvent(i);
+				Assertions.assertEquals(i, event);
+				bus.removeEvent(i);
+			}
+			for (int lane = 0; lane < LANES; lane++) {
+				LaneEventBus.Lane l = bus.lane(lane);
+				l.readerIndex(l.writerIndex());
+			}
+		}
+	}
+}
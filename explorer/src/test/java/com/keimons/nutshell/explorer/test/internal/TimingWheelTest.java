@@ -0,0 +1,118 @@
+package com.keimons.nutshell.explorer.test.internal;
+
+import com.keimons.nutshell.explorer.internal.TimingWheel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * {@link TimingWheel}分层时间轮测试
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ */
+public class TimingWheelTest {
+
+	private static class Node extends TimingWheel.Node {
+
+		long expired = -1;
+
+		Node(long deadline) {
+			setDeadline(deadline);
+		}
+	}
+
+	@DisplayName("到期刻度测试")
+	@Test
+	public void test() {
+		// 每层4个槽位，共3层，范围64个刻度
+		TimingWheel<Node> wheel = new TimingWheel<>(2, 3, 0);
+		List<Node> nodes = new ArrayList<>();
+		for (long deadline = 1; deadline < 200; deadline++) {
+			Node node = new Node(deadline);
+			wheel.add(node);
+			nodes.add(node);
+		}
+		Assertions.assertEquals(199, wheel.size());
+		wheel.advance(250, node -> node.expired = wheel.now());
+		for (Node node : nodes) {
+			Assertions.assertEquals(node.getDeadline(), node.expired);
+		}
+		Assertions.assertEquals(0, wheel.size());
+	}
+
+	@DisplayName("已到期的节点在下一个刻度到期")
+	@Test
+	public void testExpired() {
+		TimingWheel<Node> wheel = new TimingWheel<>(2, 3, 10);
+		Node node = new Node(5);
+		wheel.add(node);
+		wheel.advance(11, n -> n.expired = wheel.now());
+		Assertions.assertEquals(11, node.expired);
+	}
+
+	@DisplayName("随机添加、移除和推进")
+	@Test
+	public void testRandom() {
+		TimingWheel<Node> wheel = new TimingWheel<>(3, 3, 0);
+		Random random = new Random(0);
+		List<Node> alive = new ArrayList<>();
+		List<Node> removed = new ArrayList<>();
+		List<Node> all = new ArrayList<>();
+		long now = 0;
+		for (int i = 0; i < 100_000; i++) {
+			int op = random.nextInt(10);
+			if (op < 6) {
+				// 包括超出范围（512个刻度）的节点
+				Node node = new Node(now + 1 + random.nextInt(2000));
+				wheel.add(node);
+				alive.add(node);
+				all.add(node);
+			} else if (op < 8 && !alive.isEmpty()) {
+				Node node = alive.remove(random.nextInt(alive.size()));
+				if (node.expired < 0) {
+					Assertions.assertTrue(wheel.remove(node));
+					removed.add(node);
+				} else {
+					Assertions.assertFalse(wheel.remove(node));
+				}
+			} else {
+				now += random.nextInt(5);
+				wheel.advance(now, node -> node.expired = wheel.now());
+			}
+		}
+		wheel.advance(now + 5000, node -> node.expired = wheel.now());
+		Assertions.assertEquals(0, wheel.size());
+		for (Node node : removed) {
+			Assertions.assertEquals(-1, node.expired);
+		}
+		for (Node node : all) {
+			if (!removed.contains(node)) {
+				Assertions.assertEquals(node.getDeadline(), node.expired);
+			}
+		}
+	}
+
+	@DisplayName("节点可以在到期时重新添加")
+	@Test
+	public void testPeriodic() {
+		TimingWheel<Node> wheel = new TimingWheel<>(2, 2, 0);
+		Node node = new Node(3);
+		List<Long> ticks = new ArrayList<>();
+		wheel.add(node);
+		wheel.advance(100, n -> {
+			ticks.add(wheel.now());
+			n.setDeadline(n.getDeadline() + 7);
+			wheel.add(n);
+		});
+		Assertions.assertEquals(14, ticks.size());
+		for (int i = 0; i < ticks.size(); i++) {
+			Assertions.assertEquals(3L + 7L * i, (long) ticks.get(i));
+		}
+	}
+}
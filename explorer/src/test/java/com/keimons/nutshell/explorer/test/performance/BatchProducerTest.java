@@ -0,0 +1,107 @@
+package com.keimons.nutshell.explorer.test.performance;
+
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 批量发布性能测试
+ * <p>
+ * 模拟IO线程一次读取多条消息，对比逐个发布和批量发布的耗时。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+@DisplayName("批量发布性能测试")
+public class BatchProducerTest {
+
+	private static final int THREAD = 4;
+
+	/**
+	 * 任务数量
+	 */
+	private static final int TIMES = 100_0000;
+
+	/**
+	 * 执行屏障（玩家ID）
+	 */
+	private static final Integer[] FENCES = new Integer[1024];
+
+	static {
+		for (int i = 0; i < FENCES.length; i++) {
+			FENCES[i] = 10000 + i;
+		}
+	}
+
+	private static long run(int batchSize) throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(THREAD);
+		AtomicInteger counter = new AtomicInteger();
+		Runnable task = counter::incrementAndGet;
+		Runnable[] tasks = new Runnable[Math.max(batchSize, 1)];
+		Object[] fences = new Object[tasks.length];
+		long startTime = System.nanoTime();
+		for (int i = 0; i < TIMES; ) {
+			if (batchSize <= 0) {
+				explorer.execute(task, FENCES[i & 1023]);
+				i++;
+			} else {
+				int size = Math.min(batchSize, TIMES - i);
+				for (int j = 0; j < size; j++, i++) {
+					tasks[j] = task;
+					fences[j] = FENCES[i & 1023];
+				}
+				explorer.executeBatch(tasks, fences, 0, size);
+			}
+		}
+		FutureTask<?> onClose = new FutureTask<>(() -> {
+		}, null);
+		explorer.close(onClose);
+		onClose.get();
+		long time = System.nanoTime() - startTime;
+		Assertions.assertEquals(TIMES, counter.get());
+		return time / 1000000;
+	}
+
+	@DisplayName("逐个发布与批量发布对比测试")
+	@Test
+	public void test() throws InterruptedException, ExecutionException {
+		// 预热
+		run(0);
+		run(64);
+		System.out.println("execute: " + run(0) + "ms");
+		for (int batchSize : new int[]{1, 32, 64, 128, 256}) {
+			System.out.println("executeBatch(" + batchSize + "): " + run(batchSize) + "ms");
+		}
+	}
+
+	@DisplayName("批量提交测试")
+	@Test
+	public void testSubmit() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(THREAD);
+		int[] values = new int[8];
+		Runnable[] tasks = new Runnable[1000];
+		Object[][] fences = new Object[tasks.length][];
+		for (int i = 0; i < tasks.length; i++) {
+			final int value = i, fence0 = i & 7, fence1 = (i * 3 + 1) & 7;
+			tasks[i] = () -> {
+				Assertions.assertTrue(values[fence0] <= value && values[fence1] <= value);
+				values[fence0] = values[fence1] = value;
+			};
+			fences[i] = fence0 == fence1 ? new Object[]{fence0} : new Object[]{fence0, fence1};
+		}
+		Future<?>[] futures = explorer.submitBatch(tasks, fences);
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		FutureTask<?> onClose = new FutureTask<>(() -> System.out.println("线程池已关闭"), null);
+		explorer.close(onClose);
+		onClose.get();
+	}
+}
@@ -0,0 +1,83 @@
+package com.keimons.nutshell.explorer.test.performance;
+
+import com.keimons.nutshell.explorer.internal.ArrayEventBus;
+import com.keimons.nutshell.explorer.internal.DefaultEventBus;
+import com.keimons.nutshell.explorer.internal.EventBus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * 事件总线布局测试
+ * <p>
+ * 对比{@link DefaultEventBus}（节点对象）和{@link ArrayEventBus}（结构数组）的内存占用和吞吐量。
+ * {@code @Contended}只有在{@code -XX:-RestrictContended}时才会生效，生效后节点对象的内存占用会成倍增长。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+@DisplayName("事件总线布局测试")
+public class EventBusLayoutTest {
+
+	/**
+	 * 事件总线容量（4线程的默认容量）
+	 */
+	private static final int CAPACITY = 8192;
+
+	/**
+	 * 每轮的事件数量
+	 */
+	private static final int TIMES = 400_0000;
+
+	@DisplayName("内存占用测试")
+	@Test
+	public void testFootprint() {
+		GraphLayout defaultLayout = GraphLayout.parseInstance(new DefaultEventBus<>(CAPACITY));
+		GraphLayout arrayLayout = GraphLayout.parseInstance(new ArrayEventBus<>(CAPACITY));
+		System.out.println(defaultLayout.toFootprint());
+		System.out.println(arrayLayout.toFootprint());
+		System.out.println("DefaultEventBus: " + defaultLayout.totalSize() + " bytes, " + defaultLayout.totalSize() / CAPACITY + " bytes/slot");
+		System.out.println("ArrayEventBus: " + arrayLayout.totalSize() + " bytes, " + arrayLayout.totalSize() / CAPACITY + " bytes/slot");
+		Assertions.assertTrue(arrayLayout.totalSize() <= defaultLayout.totalSize());
+	}
+
+	/**
+	 * 写满整个事件总线，再依次读取并移除所有事件
+	 *
+	 * @param bus      事件总线
+	 * @param capacity 容量
+	 * @return 平均耗时（纳秒）
+	 */
+	private static double run(EventBus<Object> bus, int capacity) {
+		Object event = new Object();
+		long sequence = 0;
+		int rounds = TIMES / capacity;
+		long startTime = System.nanoTime();
+		for (int round = 0; round < rounds; round++) {
+			for (int i = 0; i < capacity; i++) {
+				bus.publishEvent(event);
+			}
+			for (int i = 0; i < capacity; i++, sequence++) {
+				Assertions.assertSame(event, bus.getEvent(sequence));
+				bus.removeEvent(sequence);
+			}
+		}
+		return (double) (System.nanoTime() - startTime) / ((long) rounds * capacity);
+	}
+
+	@DisplayName("吞吐量对比测试")
+	@Test
+	public void testThroughput() {
+		for (int capacity : new int[]{CAPACITY, 65536, 262144}) {
+			// 预热
+			run(new DefaultEventBus<>(capacity), capacity);
+			run(new ArrayEventBus<>(capacity), capacity);
+			System.out.printf("capacity %d: DefaultEventBus %.1fns/op, ArrayEventBus %.1fns/op%n", capacity,
+					run(new DefaultEventBus<>(capacity), capacity),
+					run(new ArrayEventBus<>(capacity), capacity)
+			);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package com.keimons.nutshell.explorer.test.performance;
+
+import com.keimons.nutshell.explorer.Explorers;
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 线程池执行模式性能测试
+ * <p>
+ * 对比执行器直接执行任务和任务在线程池（虚拟线程，不支持时为按需创建的平台线程）中执行的耗时：
+ * <ul>
+ *     <li>计算密集：每个任务自旋一段时间，线程池模式只增加了任务转交的开销。</li>
+ *     <li>IO密集：10%的任务阻塞一段时间（模拟访问数据库），执行器直接执行时阻塞整条轨道，线程池模式只阻塞相同执行屏障的任务。</li>
+ * </ul>
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+@DisplayName("线程池执行模式性能测试")
+public class ExecutorModePerformanceTest {
+
+	private static final int THREAD = 4;
+
+	private static final int FENCE = 64;
+
+	/**
+	 * 任务数量
+	 */
+	private static final int TIMES = 4000;
+
+	/**
+	 * 计算任务耗时（纳秒）
+	 */
+	private static final long CPU_COST = TimeUnit.MICROSECONDS.toNanos(5);
+
+	/**
+	 * 阻塞任务耗时（纳秒）
+	 */
+	private static final long IO_COST = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private static void spin(long nanos) {
+		long deadline = System.nanoTime() + nanos;
+		while (System.nanoTime() < deadline) {
+			Thread.onSpinWait();
+		}
+	}
+
+	private static long run(@Nullable Executor executor, boolean io) throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = executor == null ? new ReorderExplorer(THREAD) : new ReorderExplorer(THREAD, executor);
+		AtomicInteger counter = new AtomicInteger();
+		Random random = new Random(0);
+		long startTime = System.nanoTime();
+		for (int i = 0; i < TIMES; i++) {
+			boolean blocking = io && random.nextInt(10) == 0;
+			explorer.execute(() -> {
+				if (blocking) {
+					try {
+						TimeUnit.NANOSECONDS.sleep(IO_COST);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				} else {
+					spin(CPU_COST);
+				}
+				counter.incrementAndGet();
+			}, random.nextInt(FENCE));
+		}
+		CountDownLatch latch = new CountDownLatch(FENCE);
+		for (int i = 0; i < FENCE; i++) {
+			explorer.execute(latch::countDown, i);
+		}
+		latch.await();
+		long time = System.nanoTime() - startTime;
+		Assertions.assertEquals(TIMES, counter.get());
+		FutureTask<?> onClose = new FutureTask<>(() -> {
+		}, null);
+		explorer.close(onClose);
+		onClose.get();
+		return time;
+	}
+
+	@DisplayName("计算密集和IO密集")
+	@Test
+	public void test() throws InterruptedException, ExecutionException {
+		ExecutorService executor = Explorers.virtualThreadExecutor();
+		System.out.println("virtual threads: " + Explorers.isVirtualThreadSupported());
+		// 预热
+		run(null, false);
+		run(executor, false);
+		for (boolean io : new boolean[]{false, true}) {
+			long walkers = run(null, io);
+			long offload = run(executor, io);
+			System.out.println((io ? "io" : "cpu") + " walkers: " + TimeUnit.NANOSECONDS.toMillis(walkers) + "ms, executor: " + TimeUnit.NANOSECONDS.toMillis(offload) + "ms");
+		}
+		executor.shutdown();
+	}
+}
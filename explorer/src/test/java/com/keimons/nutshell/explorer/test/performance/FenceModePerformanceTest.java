@@ -0,0 +1,82 @@
+package com.keimons.nutshell.explorer.test.performance;
+
+import com.keimons.nutshell.explorer.Fence;
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 读写屏障性能测试
+ * <p>
+ * 所有玩家都在同一个组织中，90%的任务读取组织并修改玩家，10%的任务修改组织和玩家。
+ * 每个任务模拟一次耗时的操作（例如访问缓存），对比全部使用写屏障和读取组织时使用读屏障的耗时。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+@DisplayName("读写屏障性能测试")
+public class FenceModePerformanceTest {
+
+	private static final int THREAD = 8;
+
+	/**
+	 * 任务数量
+	 */
+	private static final int TIMES = 4000;
+
+	/**
+	 * 任务耗时（纳秒）
+	 */
+	private static final long COST = TimeUnit.MICROSECONDS.toNanos(50);
+
+	private static final Integer UNION = 0;
+
+	private static long run(boolean read) throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(THREAD);
+		Object union = read ? Fence.read(UNION) : UNION;
+		AtomicInteger counter = new AtomicInteger();
+		Random random = new Random(0);
+		long startTime = System.nanoTime();
+		for (int i = 0; i < TIMES; i++) {
+			Integer player = 1 + random.nextInt(THREAD - 1);
+			explorer.execute(() -> {
+				LockSupport.parkNanos(COST);
+				counter.incrementAndGet();
+			}, random.nextInt(10) == 0 ? UNION : union, player);
+		}
+		CountDownLatch latch = new CountDownLatch(THREAD);
+		for (int i = 0; i < THREAD; i++) {
+			explorer.execute(latch::countDown, i);
+		}
+		latch.await();
+		long time = System.nanoTime() - startTime;
+		Assertions.assertEquals(TIMES, counter.get());
+		FutureTask<?> onClose = new FutureTask<>(() -> {
+		}, null);
+		explorer.close(onClose);
+		onClose.get();
+		return time;
+	}
+
+	@DisplayName("90%读10%写")
+	@Test
+	public void test() throws InterruptedException, ExecutionException {
+		// 预热
+		run(false);
+		run(true);
+		long write = run(false);
+		long read = run(true);
+		System.out.println("write fences: " + TimeUnit.NANOSECONDS.toMillis(write) + "ms");
+		System.out.println("read fences: " + TimeUnit.NANOSECONDS.toMillis(read) + "ms");
+	}
+}
@@ -0,0 +1,159 @@
+package com.keimons.nutshell.explorer.test.performance;
+
+import com.keimons.nutshell.explorer.internal.FenceTable;
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 执行屏障签名性能测试
+ * <p>
+ * 模拟迁城任务：每个任务带有5个执行屏障（玩家以及4个坐标），检查任务是否被执行中的任务阻塞。
+ * 对比逐个查找执行屏障（每次查找都计算{@code record}的哈希值）与先比较签名、再使用预先计算的哈希值查找的耗时。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+@DisplayName("执行屏障签名性能测试")
+public class FenceSignaturePerformanceTest {
+
+	/**
+	 * 检查次数
+	 */
+	private static final int TIMES = 1000_0000;
+
+	/**
+	 * 任务数量
+	 */
+	private static final int TASKS = 1024;
+
+	/**
+	 * 每个任务的执行屏障数量
+	 */
+	private static final int FENCES = 5;
+
+	private record Point(int x, int y) {
+	}
+
+	private record Player(long id) {
+	}
+
+	private static Object[][] tasks(Random random) {
+		Object[][] tasks = new Object[TASKS][FENCES];
+		for (int i = 0; i < TASKS; i++) {
+			int x = random.nextInt(1200), y = random.nextInt(1200);
+			tasks[i][0] = new Player(random.nextInt(10_0000));
+			tasks[i][1] = new Point(x, y);
+			tasks[i][2] = new Point(x + 1, y);
+			tasks[i][3] = new Point(x, y + 1);
+			tasks[i][4] = new Point(x + 1, y + 1);
+		}
+		return tasks;
+	}
+
+	private static FenceTable table(Object[][] tasks, int count) {
+		FenceTable table = new FenceTable();
+		for (int i = 0; i < count; i++) {
+			for (Object fence : tasks[i]) {
+				table.add(fence);
+			}
+		}
+		return table;
+	}
+
+	private static int lookup(FenceTable table, Object[][] tasks) {
+		int blocked = 0;
+		for (int i = 0; i < TIMES; i++) {
+			for (Object fence : tasks[i & (TASKS - 1)]) {
+				if (table.contains(fence)) {
+					blocked++;
+					break;
+				}
+			}
+		}
+		return blocked;
+	}
+
+	private static int signature(FenceTable table, Object[][] tasks, int[][] hashes, long[] signatures) {
+		int blocked = 0;
+		for (int i = 0; i < TIMES; i++) {
+			int index = i & (TASKS - 1);
+			if (!table.intersects(signatures[index])) {
+				continue;
+			}
+			Object[] fences = tasks[index];
+			for (int j = 0; j < FENCES; j++) {
+				if (table.contains(fences[j], hashes[index][j])) {
+					blocked++;
+					break;
+				}
+			}
+		}
+		return blocked;
+	}
+
+	private static void compare(int barriers) {
+		Random random = new Random(0);
+		// 执行中的任务
+		FenceTable table = table(tasks(random), barriers);
+		// 等待检查的任务，与执行中的任务基本不相交
+		Object[][] tasks = tasks(random);
+		int[][] hashes = new int[TASKS][FENCES];
+		long[] signatures = new long[TASKS];
+		for (int i = 0; i < TASKS; i++) {
+			for (int j = 0; j < FENCES; j++) {
+				hashes[i][j] = FenceTable.hash(tasks[i][j]);
+				signatures[i] |= FenceTable.signature(hashes[i][j]);
+			}
+		}
+		// 预热
+		lookup(table, tasks);
+		signature(table, tasks, hashes, signatures);
+		long startTime = System.nanoTime();
+		int blocked0 = lookup(table, tasks);
+		long lookupTime = System.nanoTime() - startTime;
+		startTime = System.nanoTime();
+		int blocked1 = signature(table, tasks, hashes, signatures);
+		long signatureTime = System.nanoTime() - startTime;
+		if (blocked0 != blocked1) {
+			throw new AssertionError("blocked " + blocked0 + " != " + blocked1);
+		}
+		System.out.println("barriers " + barriers + ": lookup " + TimeUnit.NANOSECONDS.toMillis(lookupTime) + "ms" +
+				", signature " + TimeUnit.NANOSECONDS.toMillis(signatureTime) + "ms, blocked " + blocked0);
+	}
+
+	@DisplayName("阻塞检查")
+	@Test
+	public void test() {
+		compare(1);
+		compare(2);
+		compare(4);
+		compare(8);
+	}
+
+	@DisplayName("迁城任务吞吐量")
+	@Test
+	public void testExplorer() throws Exception {
+		Random random = new Random(0);
+		Object[][] tasks = tasks(random);
+		for (int round = 0; round < 3; round++) {
+			ReorderExplorer explorer = new ReorderExplorer(4);
+			Runnable task = () -> {
+			};
+			long startTime = System.nanoTime();
+			for (int i = 0; i < TIMES / 10; i++) {
+				explorer.execute(task, tasks[i & (TASKS - 1)]);
+			}
+			FutureTask<?> onClose = new FutureTask<>(() -> {
+			}, null);
+			explorer.close(onClose);
+			onClose.get();
+			System.out.println("5 fences x " + TIMES / 10 + ": " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + "ms");
+		}
+	}
+}
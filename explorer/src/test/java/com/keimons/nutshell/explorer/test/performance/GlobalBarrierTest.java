@@ -0,0 +1,106 @@
+package com.keimons.nutshell.explorer.test.performance;
+
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 全局任务停顿测试
+ * <p>
+ * 每条轨道上持续有任务积压，周期性的发布全局任务。对于每个全局任务，统计：
+ * <ul>
+ *     <li>排空延迟：从发布全局任务到全局任务开始执行。</li>
+ *     <li>停顿时间：每条轨道上，全局任务之前最后一个任务结束，到全局任务之后第一个任务开始，取所有轨道的最大值。</li>
+ * </ul>
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+@DisplayName("全局任务停顿测试")
+public class GlobalBarrierTest {
+
+	private static final int THREAD = 8;
+
+	/**
+	 * 全局任务数量
+	 */
+	private static final int GLOBALS = 50;
+
+	/**
+	 * 两个全局任务之间每条轨道上的任务数量
+	 */
+	private static final int ROUND = 50;
+
+	/**
+	 * 任务耗时（纳秒）
+	 */
+	private static final long COST = TimeUnit.MICROSECONDS.toNanos(10);
+
+	@DisplayName("全局任务停顿时间")
+	@Test
+	public void test() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(THREAD);
+		// [global][fence]
+		long[][] lastEnd = new long[GLOBALS][THREAD];
+		long[][] firstStart = new long[GLOBALS][THREAD];
+		long[] submitTime = new long[GLOBALS];
+		long[] startTime = new long[GLOBALS];
+		for (int g = 0; g <= GLOBALS; g++) {
+			for (int i = 0; i < ROUND; i++) {
+				for (int fence = 0; fence < THREAD; fence++) {
+					final int global = g, f = fence;
+					final boolean first = i == 0, last = i == ROUND - 1;
+					explorer.execute(() -> {
+						if (first && global > 0) {
+							firstStart[global - 1][f] = System.nanoTime();
+						}
+						LockSupport.parkNanos(COST);
+						if (last && global < GLOBALS) {
+							lastEnd[global][f] = System.nanoTime();
+						}
+					}, fence);
+				}
+			}
+			if (g < GLOBALS) {
+				final int global = g;
+				submitTime[g] = System.nanoTime();
+				explorer.executeGlobal(() -> startTime[global] = System.nanoTime());
+			}
+		}
+		CountDownLatch latch = new CountDownLatch(THREAD);
+		for (int i = 0; i < THREAD; i++) {
+			explorer.execute(latch::countDown, i);
+		}
+		latch.await();
+		FutureTask<?> onClose = new FutureTask<>(() -> {
+		}, null);
+		explorer.close(onClose);
+		onClose.get();
+
+		long[] drains = new long[GLOBALS];
+		long[] pauses = new long[GLOBALS];
+		for (int g = 0; g < GLOBALS; g++) {
+			drains[g] = startTime[g] - submitTime[g];
+			long pause = 0;
+			for (int fence = 0; fence < THREAD; fence++) {
+				Assertions.assertTrue(firstStart[g][fence] >= startTime[g]);
+				Assertions.assertTrue(lastEnd[g][fence] <= startTime[g]);
+				pause = Math.max(pause, firstStart[g][fence] - lastEnd[g][fence]);
+			}
+			pauses[g] = pause;
+		}
+		Arrays.sort(drains);
+		Arrays.sort(pauses);
+		System.out.println("drain: p50 " + drains[GLOBALS / 2] / 1000 + "us, max " + drains[GLOBALS - 1] / 1000 + "us");
+		System.out.println("pause: p50 " + pauses[GLOBALS / 2] / 1000 + "us, max " + pauses[GLOBALS - 1] / 1000 + "us");
+	}
+}
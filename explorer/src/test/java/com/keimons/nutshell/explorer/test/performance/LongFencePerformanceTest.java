@@ -0,0 +1,130 @@
+package com.keimons.nutshell.explorer.test.performance;
+
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import com.keimons.nutshell.explorer.test.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code long}执行屏障性能测试
+ * <p>
+ * 与{@link MultiProducerTest}相同的多生产者模型，执行屏障是玩家ID（超出{@link Long}的缓存范围），
+ * 对比装箱后的{@link Long}执行屏障和{@link ReorderExplorer#executeLong(Runnable, long)}的耗时。
+ * 双屏障的任务模拟玩家与公会，执行器需要记录和比较执行屏障。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+@DisplayName("long执行屏障性能测试")
+public class LongFencePerformanceTest {
+
+	/**
+	 * 任务数量
+	 */
+	private static final int TIMES = 1000_0000;
+
+	/**
+	 * 玩家ID起始值
+	 */
+	private static final long PLAYER = 1L << 32;
+
+	/**
+	 * 玩家数量掩码
+	 */
+	private static final int PLAYER_MASK = (1 << 16) - 1;
+
+	/**
+	 * 公会ID起始值
+	 */
+	private static final long UNION = 1L << 40;
+
+	/**
+	 * 公会数量掩码
+	 */
+	private static final int UNION_MASK = (1 << 8) - 1;
+
+	/**
+	 * 测试任务
+	 */
+	private static final Runnable TASK = Task::new;
+
+	private static long run(int nWriter, int nReader, boolean primitive, boolean union) throws Exception {
+		ReorderExplorer explorer = new ReorderExplorer(nReader);
+		CyclicBarrier barrier = new CyclicBarrier(nWriter + 1);
+		long startTime = System.nanoTime();
+		for (int i = 0; i < nWriter; i++) {
+			int start = i;
+			Thread thread = new Thread(() -> {
+				for (int j = start; j < TIMES; j += nWriter) {
+					long player = PLAYER + (j & PLAYER_MASK);
+					if (union) {
+						long fence = UNION + (j & UNION_MASK);
+						if (primitive) {
+							explorer.executeLong(TASK, player, fence);
+						} else {
+							explorer.execute(TASK, (Object) player, (Object) fence);
+						}
+					} else {
+						if (primitive) {
+							explorer.executeLong(TASK, player);
+						} else {
+							explorer.execute(TASK, (Object) player);
+						}
+					}
+				}
+				try {
+					barrier.await();
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			});
+			thread.start();
+		}
+		barrier.await();
+		FutureTask<?> onClose = new FutureTask<>(() -> {
+		}, null);
+		explorer.close(onClose);
+		onClose.get();
+		return System.nanoTime() - startTime;
+	}
+
+	private static void compare(int nWriter, int nReader, boolean union) throws Exception {
+		// 预热
+		run(nWriter, nReader, false, union);
+		run(nWriter, nReader, true, union);
+		System.gc();
+		Thread.sleep(1000);
+		long boxed = run(nWriter, nReader, false, union);
+		System.gc();
+		Thread.sleep(1000);
+		long primitive = run(nWriter, nReader, true, union);
+		System.out.println("writer " + nWriter + ", reader " + nReader + (union ? ", player + union" : ", player") +
+				": Long " + TimeUnit.NANOSECONDS.toMillis(boxed) + "ms" +
+				", long " + TimeUnit.NANOSECONDS.toMillis(primitive) + "ms");
+	}
+
+	@DisplayName("单屏障")
+	@Test
+	public void test() throws Exception {
+		compare(4, 2, false);
+		compare(4, 4, false);
+	}
+
+	@DisplayName("双屏障")
+	@Test
+	public void testUnion() throws Exception {
+		compare(4, 2, true);
+		compare(4, 4, true);
+	}
+
+	@Test
+	public void single() throws Exception {
+		compare(4, 4, false);
+	}
+}
@@ -0,0 +1,107 @@
+package com.keimons.nutshell.explorer.test.performance;
+
+import com.keimons.nutshell.explorer.Explorers;
+import com.keimons.nutshell.explorer.support.BlockPolicy;
+import com.keimons.nutshell.explorer.support.BlockingWaitStrategy;
+import com.keimons.nutshell.explorer.support.HashFenceRouter;
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 超过64个线程的多屏障任务测试
+ * <p>
+ * 每个任务附带4个屏障，屏障分布在所有轨道上，验证任务只执行一次并且同一屏障下的任务是串行执行的。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+public class ManyWalkersTest {
+
+	/**
+	 * 任务数量
+	 */
+	private static final int TIMES = 1_0000;
+
+	public void run(int nThreads) throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(nThreads);
+		// 每条轨道一个屏障
+		Integer[] fences = new Integer[nThreads];
+		for (int i = 0; i < nThreads; i++) {
+			fences[i] = i;
+		}
+		int[] values = new int[nThreads];
+		AtomicInteger counter = new AtomicInteger();
+		AtomicBoolean failed = new AtomicBoolean();
+		long startTime = System.currentTimeMillis();
+		for (int i = 1; i <= TIMES; i++) {
+			final int value = i;
+			final int f0 = i % nThreads, f1 = (i * 7 + 37) % nThreads, f2 = (i * 13 + 71) % nThreads, f3 = (i * 31 + 101) % nThreads;
+			explorer.execute(() -> {
+				if (values[f0] >= value || values[f1] >= value || values[f2] >= value || values[f3] >= value) {
+					failed.set(true);
+				}
+				values[f0] = values[f1] = values[f2] = values[f3] = value;
+				counter.incrementAndGet();
+			}, fences[f0], fences[f1], fences[f2], fences[f3]);
+		}
+		CountDownLatch latch = new CountDownLatch(nThreads);
+		for (int i = 0; i < nThreads; i++) {
+			explorer.execute(latch::countDown, fences[i]);
+		}
+		latch.await();
+		System.out.println("walkers: " + nThreads + ", time: " + (System.currentTimeMillis() - startTime) + "ms");
+		Assertions.assertEquals(TIMES, counter.get());
+		Assertions.assertFalse(failed.get(), "ordered failed.");
+		FutureTask<?> onClose = new FutureTask<>(() -> System.out.println("线程池已关闭"), null);
+		explorer.close(onClose);
+		onClose.get();
+	}
+
+	@DisplayName("32线程单屏障任务测试")
+	@Test
+	public void testSingleFence() throws InterruptedException, ExecutionException {
+		// 对比扫描事件总线和使用通道的耗时
+		for (int options : new int[]{0, ReorderExplorer.LANES}) {
+			runSingleFence(options);
+		}
+	}
+
+	private void runSingleFence(int options) throws InterruptedException, ExecutionException {
+		int nThreads = 32, times = 100_0000;
+		for (int round = 0; round < 3; round++) {
+			ReorderExplorer explorer = new ReorderExplorer(ReorderExplorer.DEFAULT_NAME, nThreads, nThreads * ReorderExplorer.DEFAULT_THREAD_CAPACITY,
+					new BlockPolicy(), Explorers.defaultThreadFactory(), new HashFenceRouter(nThreads), new BlockingWaitStrategy(), options
+			);
+			AtomicInteger counter = new AtomicInteger();
+			Runnable task = counter::incrementAndGet;
+			long startTime = System.currentTimeMillis();
+			for (int i = 0; i < times; i++) {
+				explorer.execute(task, i & 1023);
+			}
+			FutureTask<?> onClose = new FutureTask<>(() -> {
+			}, null);
+			explorer.close(onClose);
+			onClose.get();
+			System.out.println("walkers: " + nThreads + ", lanes: " + (options != 0) + ", single fence time: " + (System.currentTimeMillis() - startTime) + "ms");
+			Assertions.assertEquals(times, counter.get());
+		}
+	}
+
+	@DisplayName("128线程多屏障任务测试")
+	@Test
+	public void test() throws InterruptedException, ExecutionException {
+		run(64);
+		System.gc();
+		Thread.sleep(1000);
+		run(128);
+	}
+}
@@ -0,0 +1,110 @@
+package com.keimons.nutshell.explorer.test.performance;
+
+import com.keimons.nutshell.explorer.support.ReorderExplorer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 优先任务延迟测试
+ * <p>
+ * 生产者持续发布任务，事件总线始终处于已满状态。期间周期性的发布探测任务，分别通过
+ * {@link ReorderExplorer#execute(Runnable, Object)}和{@link ReorderExplorer#executeNow(Runnable, Object)}发布，
+ * 统计从发布到开始执行的延迟。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+@DisplayName("优先任务延迟测试")
+public class PriorityLaneLatencyTest {
+
+	private static final int THREAD = 4;
+
+	/**
+	 * 执行屏障数量
+	 */
+	private static final int FENCES = 256;
+
+	/**
+	 * 每种方式的探测任务数量
+	 */
+	private static final int PROBES = 100;
+
+	/**
+	 * 任务耗时（纳秒）
+	 */
+	private static final long COST = TimeUnit.MICROSECONDS.toNanos(2);
+
+	private static void work() {
+		long end = System.nanoTime() + COST;
+		while (System.nanoTime() < end) {
+			Thread.onSpinWait();
+		}
+	}
+
+	@DisplayName("主通道饱和时的优先任务延迟")
+	@Test
+	public void test() throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(THREAD);
+		Thread producer = new Thread(() -> {
+			try {
+				for (int i = 0; !Thread.currentThread().isInterrupted(); i++) {
+					explorer.execute(PriorityLaneLatencyTest::work, i % FENCES);
+				}
+			} catch (RejectedExecutionException e) {
+				// 阻塞期间被中断
+			}
+		});
+		producer.start();
+		// 等待事件总线被填满
+		Thread.sleep(200);
+		long[] normals = new long[PROBES];
+		long[] urgents = new long[PROBES];
+		for (int i = 0; i < PROBES; i++) {
+			normals[i] = probe(explorer, i % FENCES, false);
+			urgents[i] = probe(explorer, i % FENCES, true);
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+		}
+		producer.interrupt();
+		producer.join();
+		FutureTask<?> onClose = new FutureTask<>(() -> {
+		}, null);
+		explorer.close(onClose);
+		onClose.get();
+
+		Arrays.sort(normals);
+		Arrays.sort(urgents);
+		System.out.println("execute: p50 " + normals[PROBES / 2] / 1000 + "us, p99 " + normals[PROBES * 99 / 100] / 1000 + "us");
+		System.out.println("executeNow: p50 " + urgents[PROBES / 2] / 1000 + "us, p99 " + urgents[PROBES * 99 / 100] / 1000 + "us");
+		Assertions.assertTrue(urgents[PROBES / 2] < normals[PROBES / 2]);
+	}
+
+	/**
+	 * 发布探测任务，返回从发布到开始执行的延迟
+	 */
+	private static long probe(ReorderExplorer explorer, Object fence, boolean now) throws InterruptedException {
+		long[] startTime = new long[1];
+		CountDownLatch latch = new CountDownLatch(1);
+		Runnable task = () -> {
+			startTime[0] = System.nanoTime();
+			latch.countDown();
+		};
+		long submitTime = System.nanoTime();
+		if (now) {
+			explorer.executeNow(task, fence);
+		} else {
+			explorer.execute(task, fence);
+		}
+		latch.await();
+		return startTime[0] - submitTime;
+	}
+}
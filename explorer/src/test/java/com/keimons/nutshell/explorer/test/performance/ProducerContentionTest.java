@@ -0,0 +1,105 @@
+package com.keimons.nutshell.explorer.test.performance;
+
+import com.keimons.nutshell.explorer.internal.ArrayEventBus;
+import com.keimons.nutshell.explorer.internal.ClaimEventBus;
+import com.keimons.nutshell.explorer.internal.DefaultEventBus;
+import com.keimons.nutshell.explorer.internal.EventBus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.IntFunction;
+
+/**
+ * 多生产者竞争测试
+ * <p>
+ * 多个生产者同时向事件总线发布事件，一个消费者按照顺序读取并移除事件，
+ * 对比cas锁定写入位置（{@link DefaultEventBus}、{@link ArrayEventBus}）和先占用后发布（{@link ClaimEventBus}）的耗时。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+@DisplayName("多生产者竞争测试")
+public class ProducerContentionTest {
+
+	private static final int CAPACITY = 8192;
+
+	/**
+	 * 事件数量
+	 */
+	private static final int TIMES = 100_0000;
+
+	private static long run(EventBus<Object> bus, int producers) throws InterruptedException {
+		Object event = new Object();
+		Thread consumer = new Thread(() -> {
+			long readerIndex = 0;
+			while (readerIndex < TIMES) {
+				if (readerIndex < bus.writerIndex()) {
+					Assertions.assertSame(event, bus.getEvent(readerIndex));
+					bus.removeEvent(readerIndex++);
+				} else {
+					Thread.yield();
+				}
+			}
+		});
+		Thread[] threads = new Thread[producers];
+		for (int i = 0; i < producers; i++) {
+			threads[i] = new Thread(() -> {
+				for (int j = 0, count = TIMES / producers; j < count; j++) {
+					bus.publishEvent(event);
+				}
+			});
+		}
+		long startTime = System.nanoTime();
+		consumer.start();
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		consumer.join();
+		Assertions.assertEquals(TIMES, bus.writerIndex());
+		return (System.nanoTime() - startTime) / 1000000;
+	}
+
+	private static void run(String name, IntFunction<EventBus<Object>> factory) throws InterruptedException {
+		// 预热
+		run(factory.apply(CAPACITY), 2);
+		StringBuilder builder = new StringBuilder(name).append(":");
+		for (int producers : new int[]{1, 2, 4, 8, 16}) {
+			builder.append(" ").append(producers).append("P ").append(run(factory.apply(CAPACITY), producers)).append("ms");
+		}
+		System.out.println(builder);
+	}
+
+	@DisplayName("1/2/4/8/16生产者对比测试")
+	@Test
+	public void test() throws InterruptedException {
+		run("DefaultEventBus", DefaultEventBus::new);
+		run("ArrayEventBus", ArrayEventBus::new);
+		run("ClaimEventBus", ClaimEventBus::new);
+	}
+
+	@DisplayName("批量占用测试")
+	@Test
+	public void testTryClaim() {
+		ClaimEventBus<Integer> bus = new ClaimEventBus<>(16);
+		Integer[] events = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+		long sequence = bus.tryClaim(10);
+		Assertions.assertEquals(0, sequence);
+		// 空闲位置不足
+		Assertions.assertEquals(-1, bus.tryClaim(10));
+		bus.publish(sequence, events, 0, 10);
+		Assertions.assertEquals(10, bus.writerIndex());
+		for (int i = 0; i < 10; i++) {
+			Assertions.assertEquals(events[i], bus.getEvent(i));
+			bus.removeEvent(i);
+		}
+		Assertions.assertEquals(10, bus.tryClaim(10));
+		bus.shutdown();
+		Assertions.assertEquals(-1, bus.tryClaim(1));
+		Assertions.assertFalse(bus.publishEvent(0));
+	}
+}
@@ -43,7 +43,7 @@ public class ReorderTest {
 		ReorderExplorer explorer = new ReorderExplorer(ReorderExplorer.DEFAULT_NAME,
 				THREAD,
 				THREAD * ReorderExplorer.DEFAULT_THREAD_CAPACITY,
-				ReorderExplorer.DefaultRejectedHandler,
+				ReorderExplorer.DEFAULT_REJECTED_HANDLER,
 				new IndexThreadFactory()
 		);
 		AtomicInteger busy = new AtomicInteger();
@@ -71,13 +71,14 @@ public class ReorderTest {
 				}
 				// 已初始化100个屏障，开始越过屏障性能测试
 				AtomicLong time = new AtomicLong();
-				explorer.execute(() -> time.set(System.currentTimeMillis()), mark + THREAD);
+				// 计时任务不能与缓存的任务共享屏障，否则无法越过它们
+				explorer.execute(() -> time.set(System.currentTimeMillis()), mark + (THREAD << 2));
 				for (int i = 0; i < COUNT; i++) {
 					explorer.execute(() -> {
 					}, mark + (THREAD << 2));
 				}
 				System.out.println(111);
-				explorer.execute(() -> System.out.println(Thread.currentThread() + ": " + (System.currentTimeMillis() - time.get())), mark + THREAD);
+				explorer.execute(() -> System.out.println(Thread.currentThread() + ": " + (System.currentTimeMillis() - time.get())), mark + (THREAD << 2));
 				break;
 			}
 		}
@@ -0,0 +1,83 @@
+package com.keimons.nutshell.explorer.test.performance;
+
+import com.keimons.nutshell.explorer.Timeout;
+import com.keimons.nutshell.explorer.support.DirectExplorer;
+import com.keimons.nutshell.explorer.support.FenceTimer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 定时器性能测试
+ * <p>
+ * 添加大量长时间未到期的定时任务，然后全部取消，对比{@link FenceTimer}（时间轮，添加和取消都是{@code O(1)}）
+ * 和{@link ScheduledThreadPoolExecutor}（二叉堆，添加和取消都是{@code O(log n)}）的耗时。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+@DisplayName("定时器性能测试")
+public class TimerPerformanceTest {
+
+	/**
+	 * 定时任务数量
+	 */
+	private static final int TIMES = 1_000_000;
+
+	private static final Runnable TASK = () -> {
+	};
+
+	private static long[] runTimer() {
+		FenceTimer timer = new FenceTimer(new DirectExplorer());
+		Timeout[] timeouts = new Timeout[TIMES];
+		long startTime = System.nanoTime();
+		for (int i = 0; i < TIMES; i++) {
+			timeouts[i] = timer.schedule(TASK, 60_000 + i % 3_600_000, TimeUnit.MILLISECONDS, i);
+		}
+		long schedule = System.nanoTime() - startTime;
+		startTime = System.nanoTime();
+		for (int i = 0; i < TIMES; i++) {
+			timeouts[i].cancel();
+		}
+		long cancel = System.nanoTime() - startTime;
+		Assertions.assertEquals(0, timer.size());
+		timer.stop();
+		return new long[]{schedule, cancel};
+	}
+
+	private static long[] runExecutor() {
+		ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+		executor.setRemoveOnCancelPolicy(true);
+		ScheduledFuture<?>[] futures = new ScheduledFuture<?>[TIMES];
+		long startTime = System.nanoTime();
+		for (int i = 0; i < TIMES; i++) {
+			futures[i] = executor.schedule(TASK, 60_000 + i % 3_600_000, TimeUnit.MILLISECONDS);
+		}
+		long schedule = System.nanoTime() - startTime;
+		startTime = System.nanoTime();
+		for (int i = 0; i < TIMES; i++) {
+			futures[i].cancel(false);
+		}
+		long cancel = System.nanoTime() - startTime;
+		Assertions.assertEquals(0, executor.getQueue().size());
+		executor.shutdown();
+		return new long[]{schedule, cancel};
+	}
+
+	@DisplayName("添加和取消100万个定时任务")
+	@Test
+	public void test() {
+		// 预热
+		runTimer();
+		runExecutor();
+		long[] timer = runTimer();
+		long[] executor = runExecutor();
+		System.out.println("FenceTimer schedule: " + timer[0] / TIMES + "ns/op, cancel: " + timer[1] / TIMES + "ns/op");
+		System.out.println("ScheduledThreadPoolExecutor schedule: " + executor[0] / TIMES + "ns/op, cancel: " + executor[1] / TIMES + "ns/op");
+	}
+}
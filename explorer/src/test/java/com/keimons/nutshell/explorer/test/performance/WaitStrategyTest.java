@@ -0,0 +1,86 @@
+package com.keimons.nutshell.explorer.test.performance;
+
+import com.keimons.nutshell.explorer.WaitStrategy;
+import com.keimons.nutshell.explorer.support.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 等待策略性能测试
+ * <p>
+ * 每次发布一个任务，等待任务完成后，间隔一段时间再发布下一个任务，使执行器进入空闲状态，
+ * 统计从发布到开始执行的延迟。
+ *
+ * @author houyn[monkey@keimons.com]
+ * @version 1.0
+ * @since 17
+ **/
+@DisplayName("等待策略性能测试")
+public class WaitStrategyTest {
+
+	private static final int THREAD = 1;
+
+	/**
+	 * 任务数量
+	 */
+	private static final int TIMES = 2000;
+
+	/**
+	 * 发布间隔（纳秒）
+	 */
+	private static final long INTERVAL = TimeUnit.MICROSECONDS.toNanos(50);
+
+	private static long[] run(WaitStrategy strategy) throws InterruptedException, ExecutionException {
+		ReorderExplorer explorer = new ReorderExplorer(THREAD, strategy);
+		long[] latencies = new long[TIMES];
+		AtomicInteger counter = new AtomicInteger();
+		for (int i = 0; i < TIMES; i++) {
+			final int index = i;
+			final long startTime = System.nanoTime();
+			explorer.execute(() -> {
+				latencies[index] = System.nanoTime() - startTime;
+				counter.incrementAndGet();
+			}, 0);
+			while (counter.get() <= i) {
+				Thread.yield();
+			}
+			LockSupport.parkNanos(INTERVAL);
+		}
+		FutureTask<?> onClose = new FutureTask<>(() -> {
+		}, null);
+		explorer.close(onClose);
+		onClose.get();
+		Assertions.assertEquals(TIMES, counter.get());
+		Arrays.sort(latencies);
+		return latencies;
+	}
+
+	@DisplayName("空闲唤醒延迟测试")
+	@Test
+	public void test() throws InterruptedException, ExecutionException {
+		WaitStrategy[] strategies = {
+				new BlockingWaitStrategy(),
+				new BusySpinWaitStrategy(),
+				new YieldingWaitStrategy(),
+				new TimedParkWaitStrategy(),
+				new AdaptiveWaitStrategy()
+		};
+		// 预热
+		run(new BlockingWaitStrategy());
+		for (WaitStrategy strategy : strategies) {
+			long[] latencies = run(strategy);
+			System.out.println(strategy.getClass().getSimpleName() +
+					": p50 " + latencies[TIMES / 2] / 1000 + "us" +
+					", p99 " + latencies[TIMES * 99 / 100] / 1000 + "us"
+			);
+		}
+	}
+}